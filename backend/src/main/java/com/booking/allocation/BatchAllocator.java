@@ -0,0 +1,92 @@
+package com.booking.allocation;
+
+import com.booking.model.AllocationMode;
+import com.booking.model.AllocationRequest;
+import com.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Resolves every request collected by an allocation window in one pass.
+ *
+ * <p>Requests are put in serving order (a seeded shuffle for lotteries, or
+ * priority then arrival), then granted greedily: a request wins if it does not
+ * overlap an interval that is already taken and its user has not reached the
+ * per-user limit. Taken intervals are kept in a sorted map so each overlap
+ * check is a single floor lookup.
+ */
+public final class BatchAllocator {
+
+    public record Result(List<AllocationRequest> winners, List<AllocationRequest> losers) {
+    }
+
+    private final NavigableMap<LocalDateTime, LocalDateTime> taken = new TreeMap<>();
+
+    /**
+     * @param existingBookings bookings that already block part of the release
+     */
+    public BatchAllocator(List<Booking> existingBookings) {
+        for (Booking booking : existingBookings) {
+            take(booking.getStartTime(), booking.getEndTime());
+        }
+    }
+
+    public Result allocate(List<AllocationRequest> requests, AllocationMode mode, long seed, int maxWinsPerUser) {
+        List<AllocationRequest> order = new ArrayList<>(requests);
+        // Sort first so the shuffle does not depend on the order the database returned rows in.
+        order.sort(Comparator.comparing(AllocationRequest::getId));
+        if (mode == AllocationMode.LOTTERY) {
+            Collections.shuffle(order, new Random(seed));
+        } else {
+            order.sort(Comparator.comparing(AllocationRequest::getPriority).reversed()
+                    .thenComparing(AllocationRequest::getCreatedAt)
+                    .thenComparing(AllocationRequest::getId));
+        }
+
+        List<AllocationRequest> winners = new ArrayList<>();
+        List<AllocationRequest> losers = new ArrayList<>();
+        Map<String, Integer> wins = new HashMap<>();
+        for (AllocationRequest request : order) {
+            if (wins.getOrDefault(request.getUserId(), 0) < maxWinsPerUser
+                    && isFree(request.getStartTime(), request.getEndTime())) {
+                take(request.getStartTime(), request.getEndTime());
+                wins.merge(request.getUserId(), 1, Integer::sum);
+                winners.add(request);
+            } else {
+                losers.add(request);
+            }
+        }
+        return new Result(winners, losers);
+    }
+
+    private boolean isFree(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = taken.lowerEntry(end);
+        return before == null || !before.getValue().isAfter(start);
+    }
+
+    private void take(LocalDateTime start, LocalDateTime end) {
+        // Coalesce with everything it overlaps so the map stays disjoint and isFree stays a single lookup.
+        LocalDateTime mergedStart = start;
+        LocalDateTime mergedEnd = end;
+        Map.Entry<LocalDateTime, LocalDateTime> overlap;
+        while ((overlap = taken.lowerEntry(mergedEnd)) != null && overlap.getValue().isAfter(mergedStart)) {
+            if (overlap.getKey().isBefore(mergedStart)) {
+                mergedStart = overlap.getKey();
+            }
+            if (overlap.getValue().isAfter(mergedEnd)) {
+                mergedEnd = overlap.getValue();
+            }
+            taken.remove(overlap.getKey());
+        }
+        taken.put(mergedStart, mergedEnd);
+    }
+}
@@ -0,0 +1,55 @@
+package com.booking.calendar;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signs the token carried in a user's calendar feed URL. Calendar apps
+ * cannot send bearer tokens, so the URL itself is the credential: an
+ * HMAC-SHA256 of the user id. Feed URLs do not expire; rotating
+ * {@code booking.calendar.secret} revokes all of them.
+ */
+@Component
+public class FeedTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ThreadLocal<Mac> macs;
+
+    public FeedTokenSigner(@Value("${booking.calendar.secret:${jwt.secret}}") String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+    }
+
+    public String sign(String userId) {
+        return ENCODER.encodeToString(mac(userId));
+    }
+
+    public boolean verify(String userId, String token) {
+        if (token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(userId).getBytes(StandardCharsets.US_ASCII),
+                token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] mac(String userId) {
+        return macs.get().doFinal(("calendar-feed:" + userId).getBytes(StandardCharsets.UTF_8));
+    }
+}
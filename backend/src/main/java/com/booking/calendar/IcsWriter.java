@@ -0,0 +1,100 @@
+package com.booking.calendar;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders bookings as an RFC 5545 calendar. Times are converted from the
+ * stored local times to UTC, so clients need no time zone definitions;
+ * text values are escaped and lines folded at 75 octets.
+ */
+public class IcsWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final StringBuilder out = new StringBuilder(4096);
+    private final ZoneId zone;
+    private final String dtStamp;
+
+    public IcsWriter(String calendarName, ZoneId zone, Instant generatedAt) {
+        this.zone = zone;
+        this.dtStamp = UTC_FORMAT.format(generatedAt);
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Public Infrastructure Booking//Calendar Feed//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    /** Adds one booking; {@code summary} is the event title. */
+    public IcsWriter event(Booking booking, String summary) {
+        Facility facility = booking.getFacility();
+        line("BEGIN:VEVENT");
+        line("UID:booking-" + booking.getId() + "@public-infrastructure-booking");
+        line("DTSTAMP:" + dtStamp);
+        line("DTSTART:" + utc(booking.getStartTime()));
+        line("DTEND:" + utc(booking.getEndTime()));
+        line("SUMMARY:" + escape(summary));
+        if (facility != null && facility.getLocation() != null) {
+            line("LOCATION:" + escape(facility.getLocation()));
+        }
+        line("STATUS:" + status(booking.getStatus()));
+        if (booking.getUpdatedAt() != null) {
+            line("LAST-MODIFIED:" + utc(booking.getUpdatedAt()));
+        }
+        line("END:VEVENT");
+        return this;
+    }
+
+    public byte[] finish() {
+        line("END:VCALENDAR");
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String utc(LocalDateTime time) {
+        return UTC_FORMAT.format(time.atZone(zone));
+    }
+
+    private static String status(BookingStatus status) {
+        if (status == null || status == BookingStatus.PENDING) {
+            return "TENTATIVE";
+        }
+        return switch (status) {
+            case CONFIRMED, COMPLETED -> "CONFIRMED";
+            default -> "CANCELLED";
+        };
+    }
+
+    static String escape(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+                .replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
+    }
+
+    /** Appends a content line, folding it so no physical line exceeds 75 octets. */
+    private void line(String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.append("\r\n ");
+                octets = 1; // the leading space of the continuation line
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append("\r\n");
+    }
+}
@@ -0,0 +1,32 @@
+package com.booking.cluster;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-facility locks. Writes for one facility are serialized on its
+ * owner node in memory instead of contending on database row locks; two
+ * facilities occasionally share a stripe, which only costs them some
+ * concurrency.
+ */
+public final class FacilityLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public FacilityLocks(int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a positive power of two");
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /** Returns the held lock, or null if it could not be taken in time. */
+    public ReentrantLock tryLock(long facilityId, long timeoutMillis) throws InterruptedException {
+        long spread = facilityId * 0x9e3779b97f4a7c15L;
+        ReentrantLock lock = stripes[(int) (spread >>> 32) & (stripes.length - 1)];
+        return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS) ? lock : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.booking.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signs the {@link OwnerRoutingFilter#FORWARDED_HEADER} a node attaches when
+ * it forwards a request to the facility's owner. The value is
+ * {@code nodeId:timestamp:signature}, an HMAC-SHA256 over the node id, the
+ * timestamp, the method and the path under {@code booking.cluster.secret},
+ * which every node shares. Only a header that verifies, and was signed
+ * within {@code booking.cluster.forward.max-skew.ms} of now, marks a request
+ * as forwarded.
+ */
+@Component
+public class ForwardSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ThreadLocal<Mac> macs;
+    private final long maxSkewMillis;
+
+    public ForwardSigner(@Value("${booking.cluster.secret:${jwt.secret}}") String secret,
+            @Value("${booking.cluster.forward.max-skew.ms:30000}") long maxSkewMillis) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+        this.maxSkewMillis = maxSkewMillis;
+    }
+
+    public String sign(String nodeId, String method, String path) {
+        return sign(nodeId, System.currentTimeMillis(), method, path);
+    }
+
+    String sign(String nodeId, long timestamp, String method, String path) {
+        String prefix = nodeId + ":" + timestamp;
+        return prefix + ":" + ENCODER.encodeToString(mac(prefix, method, path));
+    }
+
+    /** Whether {@code header} was signed by a cluster node, recently, for this method and path. */
+    public boolean verify(String header, String method, String path) {
+        if (header == null) {
+            return false;
+        }
+        int signatureStart = header.lastIndexOf(':');
+        int timestampStart = signatureStart < 0 ? -1 : header.lastIndexOf(':', signatureStart - 1);
+        if (timestampStart < 0) {
+            return false;
+        }
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(header.substring(timestampStart + 1, signatureStart));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - timestamp) > maxSkewMillis) {
+            return false;
+        }
+        String expected = ENCODER.encodeToString(mac(header.substring(0, signatureStart), method, path));
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                header.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] mac(String prefix, String method, String path) {
+        return macs.get().doFinal(("cluster-forward:" + prefix + ":" + method + " " + path)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
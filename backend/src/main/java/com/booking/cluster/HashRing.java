@@ -0,0 +1,86 @@
+package com.booking.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An immutable consistent-hash ring mapping facility ids to node ids. Each
+ * node is placed at {@code virtualNodes} points so that load spreads evenly
+ * and a node joining or leaving moves only the facilities adjacent to its
+ * own points, roughly {@code 1/n} of the total.
+ */
+public final class HashRing {
+
+    private final long[] points;
+    private final String[] owners;
+    private final Set<String> nodes;
+
+    private HashRing(long[] points, String[] owners, Set<String> nodes) {
+        this.points = points;
+        this.owners = owners;
+        this.nodes = nodes;
+    }
+
+    public static HashRing of(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        Set<String> nodes = Set.copyOf(new TreeSet<>(nodeIds));
+        int size = nodes.size() * virtualNodes;
+        long[][] entries = new long[size][];
+        String[] sortedNodes = nodes.stream().sorted().toArray(String[]::new);
+        int n = 0;
+        for (int node = 0; node < sortedNodes.length; node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[n++] = new long[] { hash(sortedNodes[node] + "#" + replica), node };
+            }
+        }
+        // Ties between nodes are broken by node id, so every member builds the same ring.
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] points = new long[size];
+        String[] owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = sortedNodes[(int) entries[i][1]];
+        }
+        return new HashRing(points, owners, nodes);
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /** The node owning the facility: the first point at or after the facility's hash, wrapping around. */
+    public String ownerOf(long facilityId) {
+        long key = mix(facilityId);
+        int index = Arrays.binarySearch(points, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a, then mixed so nearby ids spread over the ring
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
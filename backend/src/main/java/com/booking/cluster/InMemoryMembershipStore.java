@@ -0,0 +1,42 @@
+package com.booking.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node membership: the only member ever seen is this node.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.cluster.membership", havingValue = "memory", matchIfMissing = true)
+public class InMemoryMembershipStore implements MembershipStore {
+
+    private record Lease(String address, long expiresAtMillis) {
+    }
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public void heartbeat(String nodeId, String address, long leaseExpiresAtMillis) {
+        leases.put(nodeId, new Lease(address, leaseExpiresAtMillis));
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        leases.remove(nodeId);
+    }
+
+    @Override
+    public Map<String, String> members(long nowMillis) {
+        Map<String, String> members = new HashMap<>();
+        leases.forEach((nodeId, lease) -> {
+            if (lease.expiresAtMillis() > nowMillis) {
+                members.put(nodeId, lease.address());
+            }
+        });
+        return members;
+    }
+}
@@ -0,0 +1,20 @@
+package com.booking.cluster;
+
+import java.util.Map;
+
+/**
+ * Live cluster members and the base URL each one accepts forwarded requests
+ * on. Members renew a lease with every heartbeat; a member whose lease has
+ * run out is treated as gone.
+ */
+public interface MembershipStore {
+
+    void heartbeat(String nodeId, String address, long leaseExpiresAtMillis);
+
+    void leave(String nodeId);
+
+    /**
+     * Members whose lease is still valid at {@code nowMillis}, by node id.
+     */
+    Map<String, String> members(long nowMillis);
+}
@@ -0,0 +1,242 @@
+package com.booking.cluster;
+
+import com.booking.idempotency.CachedBodyRequest;
+import com.booking.repository.BookingRepository;
+import com.booking.service.ClusterService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends booking writes to the node that owns the booking's facility. On the
+ * owner, writes for one facility run one at a time under a
+ * {@link FacilityLocks} stripe held until the response is written, so the
+ * transaction has committed before the next write reads availability.
+ * Slot listings are forwarded too, since only the owner's in-memory catalog
+ * sees every write.
+ *
+ * <p>Runs ahead of the idempotency and waiting-room filters, so both apply
+ * once, on the owner. A forwarded request carries {@link #FORWARDED_HEADER},
+ * signed by the forwarding node through {@link ForwardSigner}, and is always
+ * handled where it lands, so requests never bounce between nodes that
+ * briefly disagree about ownership. A header that does not verify is
+ * ignored, and never passed on, so a client cannot use it to skip routing
+ * and the facility lock's owner. Requests are handled locally
+ * when the node is alone or the facility cannot be determined.
+ */
+@Component
+@Order(-1)
+public class OwnerRoutingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_HEADER = "X-Forwarded-Owner";
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerRoutingFilter.class);
+
+    private static final Pattern BOOKING_WRITE = Pattern.compile("/api/bookings/(\\d+)/(status|cancel|confirm)");
+    private static final Pattern SLOTS = Pattern.compile("/api/facilities/(\\d+)/slots");
+    private static final Set<String> UNFORWARDED_HEADERS = Set.of(
+            "host", "connection", "content-length", "expect", "upgrade", "keep-alive", "te", "trailer",
+            "transfer-encoding", "http2-settings", "proxy-connection");
+
+    private final ClusterService clusterService;
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    private final ForwardSigner forwardSigner;
+    private final FacilityLocks facilityLocks;
+    private final HttpClient httpClient;
+    private final Duration forwardTimeout;
+    private final long lockTimeoutMillis;
+
+    @Autowired
+    public OwnerRoutingFilter(ClusterService clusterService, BookingRepository bookingRepository,
+            ObjectMapper objectMapper, ForwardSigner forwardSigner,
+            @Value("${booking.cluster.lock.stripes:256}") int lockStripes,
+            @Value("${booking.cluster.lock.timeout.ms:5000}") long lockTimeoutMillis,
+            @Value("${booking.cluster.forward.timeout.ms:5000}") long forwardTimeoutMillis) {
+        this.clusterService = clusterService;
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+        this.forwardSigner = forwardSigner;
+        this.facilityLocks = new FacilityLocks(lockStripes);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(forwardTimeout)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!clusterService.isClustered()) {
+            return true;
+        }
+        String path = path(request);
+        return !isCreate(request, path) && !isWrite(request, path)
+                && !("GET".equals(request.getMethod()) && SLOTS.matcher(path).matches());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = path(request);
+        HttpServletRequest current = request;
+        byte[] body = null;
+        Long facilityId;
+        if (isCreate(request, path)) {
+            body = StreamUtils.copyToByteArray(request.getInputStream());
+            current = new CachedBodyRequest(request, body);
+            facilityId = facilityIdFromBody(request, body);
+        } else if (isWrite(request, path)) {
+            Matcher matcher = BOOKING_WRITE.matcher(path);
+            facilityId = matcher.matches()
+                    ? bookingRepository.findFacilityIdById(Long.valueOf(matcher.group(1))).orElse(null)
+                    : null;
+        } else {
+            Matcher matcher = SLOTS.matcher(path);
+            facilityId = matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+        }
+        if (facilityId == null) {
+            chain.doFilter(current, response);
+            return;
+        }
+
+        if (!isForwarded(request)) {
+            String ownerAddress = clusterService.getOwnerAddress(facilityId).orElse(null);
+            if (ownerAddress != null) {
+                if (body == null) {
+                    body = StreamUtils.copyToByteArray(request.getInputStream());
+                }
+                forward(request, body, ownerAddress, response);
+                return;
+            }
+        }
+        if (!isCreate(request, path) && !isWrite(request, path)) {
+            chain.doFilter(current, response);
+            return;
+        }
+
+        ReentrantLock lock;
+        try {
+            lock = facilityLocks.tryLock(facilityId, lockTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lock = null;
+        }
+        if (lock == null) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Facility is busy");
+            return;
+        }
+        try {
+            chain.doFilter(current, response);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isForwarded(HttpServletRequest request) {
+        String header = request.getHeader(FORWARDED_HEADER);
+        if (header == null) {
+            return false;
+        }
+        if (forwardSigner.verify(header, request.getMethod(), request.getRequestURI())) {
+            return true;
+        }
+        log.debug("Ignoring unverified {} on {} {}", FORWARDED_HEADER, request.getMethod(), request.getRequestURI());
+        return false;
+    }
+
+    private void forward(HttpServletRequest request, byte[] body, String ownerAddress, HttpServletResponse response)
+            throws IOException {
+        String target = ownerAddress + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target))
+                .timeout(forwardTimeout)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!UNFORWARDED_HEADERS.contains(name.toLowerCase()) && !FORWARDED_HEADER.equalsIgnoreCase(name)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.header(name, value);
+                }
+            }
+        }
+        builder.header(FORWARDED_HEADER, forwardSigner.sign(clusterService.getLocalNodeId(), request.getMethod(),
+                request.getRequestURI()));
+
+        HttpResponse<byte[]> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            log.warn("Cannot forward {} {} to owner {}", request.getMethod(), request.getRequestURI(),
+                    ownerAddress, e);
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Facility owner unavailable");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Interrupted");
+            return;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().map().forEach((name, values) -> {
+            if (!UNFORWARDED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    private Long facilityIdFromBody(HttpServletRequest request, byte[] body) {
+        String contentType = request.getContentType();
+        if (body.length == 0 || (contentType != null && !contentType.contains("json"))) {
+            return null;
+        }
+        try {
+            JsonNode id = objectMapper.readTree(body).path("facility").path("id");
+            return id.canConvertToLong() ? id.asLong() : null;
+        } catch (IOException e) {
+            return null; // let the controller reject it
+        }
+    }
+
+    private static boolean isCreate(HttpServletRequest request, String path) {
+        return "POST".equals(request.getMethod()) && "/api/bookings".equals(path);
+    }
+
+    private static boolean isWrite(HttpServletRequest request, String path) {
+        return "PATCH".equals(request.getMethod()) && BOOKING_WRITE.matcher(path).matches();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,66 @@
+package com.booking.cluster;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cluster membership in Redis. Leases are a sorted set scored by expiry
+ * time, so expired members are dropped with one range delete; addresses
+ * live in a hash beside it.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.cluster.membership", havingValue = "redis")
+public class RedisMembershipStore implements MembershipStore {
+
+    private static final String LEASES_KEY = "cluster:leases";
+    private static final String ADDRESSES_KEY = "cluster:addresses";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisMembershipStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void heartbeat(String nodeId, String address, long leaseExpiresAtMillis) {
+        redisTemplate.opsForHash().put(ADDRESSES_KEY, nodeId, address);
+        redisTemplate.opsForZSet().add(LEASES_KEY, nodeId, leaseExpiresAtMillis);
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        redisTemplate.opsForZSet().remove(LEASES_KEY, nodeId);
+        redisTemplate.opsForHash().delete(ADDRESSES_KEY, nodeId);
+    }
+
+    @Override
+    public Map<String, String> members(long nowMillis) {
+        Set<String> expired = redisTemplate.opsForZSet().rangeByScore(LEASES_KEY, 0, nowMillis);
+        if (expired != null && !expired.isEmpty()) {
+            redisTemplate.opsForZSet().removeRangeByScore(LEASES_KEY, 0, nowMillis);
+            redisTemplate.opsForHash().delete(ADDRESSES_KEY, expired.toArray());
+        }
+        Set<String> live = redisTemplate.opsForZSet().rangeByScore(LEASES_KEY, nowMillis + 1, Double.MAX_VALUE);
+        Map<String, String> members = new HashMap<>();
+        if (live == null || live.isEmpty()) {
+            return members;
+        }
+        List<Object> nodeIds = new ArrayList<>(live);
+        List<Object> addresses = redisTemplate.opsForHash().multiGet(ADDRESSES_KEY, nodeIds);
+        for (int i = 0; i < nodeIds.size(); i++) {
+            if (addresses.get(i) != null) {
+                members.put((String) nodeIds.get(i), (String) addresses.get(i));
+            }
+        }
+        return members;
+    }
+}
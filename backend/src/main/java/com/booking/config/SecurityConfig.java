@@ -0,0 +1,77 @@
+package com.booking.config;
+
+import com.booking.model.UserRole;
+import com.booking.security.ClaimsCache;
+import com.booking.security.JwtAuthenticationFilter;
+import com.booking.security.JwtService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Stateless bearer-token security: no sessions, no CSRF, no login form. The
+ * catalogue, quotes and availability reads stay public; administration
+ * endpoints need the ADMIN role and everything else a valid token.
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    private static final String ADMIN = UserRole.ADMIN.name();
+
+    @Bean
+    public ClaimsCache claimsCache(@Value("${booking.security.claims-cache.size:10000}") int size) {
+        return new ClaimsCache(size);
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService,
+            ClaimsCache claimsCache) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(Customizer.withDefaults())
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, claimsCache),
+                        UsernamePasswordAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers("/api/outbox/**", "/api/notifications/**", "/api/cluster/**",
+                                "/api/facility-closures/**", "/api/exports/**",
+                                "/api/payments/reconciliation/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/waiting-room/*/activate",
+                                "/api/waiting-room/*/deactivate").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PATCH, "/api/bookings/*/status").hasRole(ADMIN)
+                        // Whole bookings of other users: who booked, their payment and cancellation reason
+                        .requestMatchers(HttpMethod.GET, "/api/bookings/facility/*",
+                                "/api/bookings/status/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/allocation-windows").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/facilities/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/facilities/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PATCH, "/api/facilities/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/facilities/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.GET, "/api/facilities/**", "/api/waiting-room",
+                                "/api/waiting-room/status", "/api/bookings/check-availability",
+                                "/api/bookings/facility/*/upcoming", "/api/calendar/facilities/**").permitAll()
+                        // Personal feeds carry a signed token in the URL instead
+                        .requestMatchers(HttpMethod.GET, "/api/calendar/users/**").permitAll()
+                        .requestMatchers("/api/quotes/**", "/error").permitAll()
+                        .anyRequest().authenticated());
+        return http.build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.booking.config;
+
+import com.booking.dto.QuoteRequest;
+import com.booking.dto.QuoteResponse;
+import com.booking.dto.SlotView;
+import com.booking.dto.WaitingRoomStatus;
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationWindow;
+import com.booking.model.Booking;
+import com.booking.model.Facility;
+import com.booking.model.SlotTemplate;
+import com.booking.model.WaitlistEntry;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Startup tuning shared by the regular and the {@code fast-startup} modes.
+ * With {@code spring.main.lazy-initialization} on, beans are created on
+ * first use; beans that own {@link Scheduled} jobs are kept eager, since a
+ * lazy scheduler bean would simply never run.
+ */
+@Configuration
+@ImportRuntimeHints(StartupConfig.PayloadHints.class)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null)
+                .isEmpty();
+    }
+
+    /**
+     * Reflection hints for request and response payloads that are not
+     * discoverable from controller signatures, so a native image binds them
+     * the same way the JVM does.
+     */
+    static class PayloadHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : new Class<?>[] {
+                    Facility.class, Booking.class, SlotTemplate.class, WaitlistEntry.class,
+                    AllocationWindow.class, AllocationRequest.class,
+                    QuoteRequest.class, QuoteResponse.class, SlotView.class, WaitingRoomStatus.class }) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+        }
+    }
+}
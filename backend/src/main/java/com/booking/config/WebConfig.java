@@ -0,0 +1,27 @@
+package com.booking.config;
+
+import com.booking.wire.CompactCborHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of Jackson's reflective CBOR converter, but after the JSON one so that
+        // clients sending Accept: */* keep getting JSON.
+        int index = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2CborHttpMessageConverter) {
+                index = i;
+                break;
+            }
+        }
+        converters.add(index, new CompactCborHttpMessageConverter());
+    }
+}
@@ -0,0 +1,69 @@
+package com.booking.controller;
+
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationWindow;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.AllocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/allocation-windows")
+@CrossOrigin(origins = "*")
+public class AllocationController {
+
+    private final AllocationService allocationService;
+
+    @Autowired
+    public AllocationController(AllocationService allocationService) {
+        this.allocationService = allocationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<AllocationWindow> openWindow(@RequestBody AllocationWindow window) {
+        try {
+            return ResponseEntity.ok(allocationService.openWindow(window));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AllocationWindow> getWindowById(@PathVariable Long id) {
+        return allocationService.getWindowById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/facility/{facilityId}")
+    public ResponseEntity<List<AllocationWindow>> getWindowsByFacilityId(@PathVariable Long facilityId) {
+        return ResponseEntity.ok(allocationService.getWindowsByFacilityId(facilityId));
+    }
+
+    @PostMapping("/{id}/requests")
+    public ResponseEntity<AllocationRequest> submitRequest(@PathVariable Long id,
+            @RequestBody AllocationRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        // Who is asking, and so their priority, comes from the token, whatever the body claims.
+        request.setUserId(user.userId());
+        request.setRole(user.role());
+        try {
+            return ResponseEntity.ok(allocationService.submitRequest(id, request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/requests/user/{userId}")
+    public ResponseEntity<List<AllocationRequest>> getRequestsByUserId(@PathVariable String userId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(allocationService.getRequestsByUserId(userId));
+    }
+}
@@ -1,14 +1,33 @@
 package com.booking.controller;
 
+import com.booking.dto.UserDashboard;
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
+import com.booking.model.UserRole;
+import com.booking.projection.FieldProjection;
+import com.booking.projection.FieldProjections;
+import com.booking.security.AuthenticatedUser;
 import com.booking.service.BookingService;
+import com.booking.service.DashboardService;
+import com.booking.service.PaymentService;
+import com.booking.service.ProjectionService;
+import com.booking.service.VersionStampService;
+import com.booking.service.WaitingRoomService;
+import com.booking.waitingroom.AdmissionTokenSigner.Claims;
+import com.booking.waitingroom.WaitingRoomFilter;
+import com.stripe.model.PaymentIntent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -16,46 +35,185 @@ import java.util.Map;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final WaitingRoomService waitingRoomService;
+    private final VersionStampService versionStampService;
+    private final ProjectionService projectionService;
+    private final FieldProjections fieldProjections;
+    private final DashboardService dashboardService;
+    private final PaymentService paymentService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, WaitingRoomService waitingRoomService,
+            VersionStampService versionStampService, ProjectionService projectionService,
+            FieldProjections fieldProjections, DashboardService dashboardService, PaymentService paymentService) {
         this.bookingService = bookingService;
+        this.waitingRoomService = waitingRoomService;
+        this.versionStampService = versionStampService;
+        this.projectionService = projectionService;
+        this.fieldProjections = fieldProjections;
+        this.dashboardService = dashboardService;
+        this.paymentService = paymentService;
     }
 
     @PostMapping
-    public ResponseEntity<Booking> createBooking(@RequestBody Booking booking) {
+    public ResponseEntity<Booking> createBooking(@RequestBody Booking booking,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestAttribute(name = WaitingRoomFilter.ADMISSION_ATTRIBUTE, required = false) Claims admission) {
+        Long facilityId = booking.getFacility() == null ? null : booking.getFacility().getId();
+        // An admission is good for one booking, by the user it was issued to, at the facility it names.
+        boolean redeemed = false;
+        if (facilityId != null && waitingRoomService.isActive(facilityId)) {
+            if (admission == null || admission.facilityId() != facilityId
+                    || !user.userId().equals(admission.userId()) || !waitingRoomService.redeemAdmission(admission)) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+            }
+            redeemed = true;
+        }
+        // The booking belongs to whoever the token says, whatever the body claims.
+        booking.setUserId(user.userId());
         try {
             return ResponseEntity.ok(bookingService.createBooking(booking));
         } catch (RuntimeException e) {
+            if (redeemed) {
+                waitingRoomService.releaseAdmission(admission);
+            }
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
-        return bookingService.getBookingById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getBookingById(@PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldProjection projection = projection(fields);
+            Optional<Booking> booking = bookingService.getBookingById(id);
+            if (booking.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!user.canActFor(booking.get().getUserId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            // The owner check needs the entity, so project from it rather than read the row twice.
+            return ResponseEntity.ok(projection == null ? booking.get() : projection.toRow(booking.get()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyBookings(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String fields) {
+        return getBookingsByUserId(user.userId(), user, fields);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Booking>> getBookingsByUserId(@PathVariable String userId) {
-        return ResponseEntity.ok(bookingService.getBookingsByUserId(userId));
+    public ResponseEntity<?> getBookingsByUserId(@PathVariable String userId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String fields) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            FieldProjection projection = projection(fields);
+            // Entities go out as arrays so that the compact CBOR converter still sees their type.
+            return ResponseEntity.ok(projection == null
+                    ? bookingService.getBookingsByUserId(userId).toArray(Booking[]::new)
+                    : projectionService.getBookingsByUserId(userId, projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/me/dashboard")
+    public ResponseEntity<UserDashboard> getMyDashboard(@AuthenticationPrincipal AuthenticatedUser user) {
+        return getDashboard(user.userId(), user);
+    }
+
+    @GetMapping("/user/{userId}/dashboard")
+    public ResponseEntity<UserDashboard> getDashboard(@PathVariable String userId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(dashboardService.getDashboard(userId));
+    }
+
+    @GetMapping("/me/history")
+    public ResponseEntity<List<Booking>> getMyHistory(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        return getHistory(user.userId(), user, page, size);
+    }
+
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<Booking>> getHistory(@PathVariable String userId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(bookingService.getBookingHistory(userId, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/facility/{facilityId}")
-    public ResponseEntity<List<Booking>> getBookingsByFacilityId(@PathVariable Long facilityId) {
-        return ResponseEntity.ok(bookingService.getBookingsByFacilityId(facilityId));
+    public ResponseEntity<?> getBookingsByFacilityId(@PathVariable Long facilityId,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldProjection projection = projection(fields);
+            return ResponseEntity.ok(projection == null
+                    ? bookingService.getBookingsByFacilityId(facilityId).toArray(Booking[]::new)
+                    : projectionService.getBookingsByFacilityId(facilityId, projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable BookingStatus status) {
-        return ResponseEntity.ok(bookingService.getBookingsByStatus(status));
+    public ResponseEntity<?> getBookingsByStatus(@PathVariable BookingStatus status,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldProjection projection = projection(fields);
+            return ResponseEntity.ok(projection == null
+                    ? bookingService.getBookingsByStatus(status).toArray(Booking[]::new)
+                    : projectionService.getBookingsByStatus(status, projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
+    /**
+     * Public schedule of a facility. Administrators get whole bookings;
+     * everyone else only the public fields, never who booked or what they paid.
+     */
     @GetMapping("/facility/{facilityId}/upcoming")
-    public ResponseEntity<List<Booking>> getUpcomingBookings(@PathVariable Long facilityId) {
-        return ResponseEntity.ok(bookingService.getUpcomingBookings(facilityId));
+    public ResponseEntity<?> getUpcomingBookings(@PathVariable Long facilityId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            boolean admin = user != null && user.hasRole(UserRole.ADMIN);
+            FieldProjection projection = admin ? projection(fields) : fieldProjections.forPublicBooking(fields);
+            // The list also shrinks as bookings start, so the tag rolls over every minute as well.
+            long minute = System.currentTimeMillis() / 60_000;
+            String resource = "upcoming-" + facilityId + "-" + minute
+                    + (projection == null ? "" : (admin ? "-f" : "-p") + projection.getKey());
+            String eTag = ETags.of(request, resource, versionStampService.getScheduleVersion(facilityId));
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.AUTHORIZATION)
+                    .body(projection == null
+                            ? bookingService.getUpcomingBookings(facilityId).toArray(Booking[]::new)
+                            : projectionService.getUpcomingBookings(facilityId, projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/check-availability")
@@ -83,7 +241,15 @@ public class BookingController {
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<Booking> cancelBooking(
             @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody Map<String, String> cancellationRequest) {
+        Optional<Booking> booking = bookingService.getBookingById(id);
+        if (booking.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!user.canActFor(booking.get().getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         try {
             return ResponseEntity.ok(bookingService.cancelBooking(id, cancellationRequest.get("reason")));
         } catch (RuntimeException e) {
@@ -91,14 +257,48 @@ public class BookingController {
         }
     }
 
+    /**
+     * Confirms a pending booking. Administrators may confirm with any payment
+     * id; the booking's owner only with a payment the provider reports as
+     * succeeded for this booking.
+     */
     @PatchMapping("/{id}/confirm")
     public ResponseEntity<Booking> confirmBooking(
             @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody Map<String, String> confirmationRequest) {
+        String paymentId = confirmationRequest.get("paymentId");
+        if (!user.hasRole(UserRole.ADMIN)) {
+            Optional<Booking> booking = bookingService.getBookingById(id);
+            if (booking.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!user.canActFor(booking.get().getUserId()) || !isPaidFor(paymentId, id)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        }
         try {
-            return ResponseEntity.ok(bookingService.confirmBooking(id, confirmationRequest.get("paymentId")));
+            return ResponseEntity.ok(bookingService.confirmBooking(id, paymentId));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    private boolean isPaidFor(String paymentId, Long bookingId) {
+        if (paymentId == null) {
+            return false;
+        }
+        try {
+            PaymentIntent intent = paymentService.getPaymentIntent(paymentId);
+            Map<String, String> metadata = intent.getMetadata();
+            return "succeeded".equals(intent.getStatus()) && metadata != null
+                    && bookingId.toString().equals(metadata.get("bookingId"));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private FieldProjection projection(String fields) {
+        return fields == null ? null : fieldProjections.forBooking(fields);
+    }
+}
@@ -0,0 +1,82 @@
+package com.booking.controller;
+
+import com.booking.calendar.FeedTokenSigner;
+import com.booking.dto.CalendarFeed;
+import com.booking.dto.CalendarFeedLink;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.CalendarFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Optional;
+
+/**
+ * iCalendar feeds for calendar apps. Apps poll feeds every few minutes, so
+ * every response carries an ETag and Last-Modified, and a poll with nothing
+ * new is answered 304 from the cached feed.
+ */
+@RestController
+@RequestMapping("/api/calendar")
+@CrossOrigin(origins = "*")
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedService calendarFeedService;
+    private final FeedTokenSigner feedTokenSigner;
+
+    @Autowired
+    public CalendarController(CalendarFeedService calendarFeedService, FeedTokenSigner feedTokenSigner) {
+        this.calendarFeedService = calendarFeedService;
+        this.feedTokenSigner = feedTokenSigner;
+    }
+
+    @GetMapping("/facilities/{facilityId}.ics")
+    public ResponseEntity<byte[]> getFacilityFeed(@PathVariable Long facilityId, WebRequest request) {
+        Optional<CalendarFeed> feed = calendarFeedService.getFacilityFeed(facilityId);
+        if (feed.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return respond(feed.get(), request, CacheControl.noCache().cachePublic());
+    }
+
+    @GetMapping("/users/{userId}.ics")
+    public ResponseEntity<byte[]> getUserFeed(@PathVariable String userId, @RequestParam(required = false) String token,
+            WebRequest request) {
+        if (!feedTokenSigner.verify(userId, token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return respond(calendarFeedService.getUserFeed(userId), request, CacheControl.noCache().cachePrivate());
+    }
+
+    /** The caller's personal feed URL, to paste into a calendar app. */
+    @GetMapping("/me")
+    public ResponseEntity<CalendarFeedLink> getMyFeedLink(@AuthenticationPrincipal AuthenticatedUser user) {
+        String path = UriComponentsBuilder.fromPath("/api/calendar/users/{userId}.ics")
+                .queryParam("token", feedTokenSigner.sign(user.userId()))
+                .buildAndExpand(user.userId())
+                .encode()
+                .toUriString();
+        return ResponseEntity.ok(new CalendarFeedLink(path));
+    }
+
+    private static ResponseEntity<byte[]> respond(CalendarFeed feed, WebRequest request, CacheControl cacheControl) {
+        String eTag = "\"ics-" + feed.getStamp() + "\"";
+        if (request.checkNotModified(eTag, feed.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(feed.getLastModified())
+                .cacheControl(cacheControl)
+                .contentType(TEXT_CALENDAR)
+                .body(feed.getContent());
+    }
+}
@@ -0,0 +1,34 @@
+package com.booking.controller;
+
+import com.booking.dto.ClusterStatus;
+import com.booking.service.ClusterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cluster")
+@CrossOrigin(origins = "*")
+public class ClusterController {
+
+    private final ClusterService clusterService;
+
+    @Autowired
+    public ClusterController(ClusterService clusterService) {
+        this.clusterService = clusterService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ClusterStatus> getStatus() {
+        return ResponseEntity.ok(new ClusterStatus(clusterService.getLocalNodeId(), clusterService.getMembers()));
+    }
+
+    @GetMapping("/facilities/{facilityId}/owner")
+    public ResponseEntity<Map<String, String>> getOwner(@PathVariable Long facilityId) {
+        String owner = clusterService.getOwner(facilityId);
+        return ResponseEntity.ok(Map.of("nodeId", owner,
+                "address", clusterService.getMembers().getOrDefault(owner, "")));
+    }
+}
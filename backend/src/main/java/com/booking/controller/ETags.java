@@ -0,0 +1,39 @@
+package com.booking.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builds strong ETags from version stamps. The tag includes the negotiated
+ * representation, since JSON and CBOR bodies for the same version differ.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(WebRequest request, String resource, long version) {
+        return "\"" + resource + "-" + version + "-" + variant(request) + "\"";
+    }
+
+    private static String variant(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "json";
+        }
+        // Mirrors content negotiation: highest quality wins, and an explicit type beats a wildcard.
+        double json = -1;
+        double cbor = -1;
+        boolean explicitJson = false;
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+                cbor = Math.max(cbor, mediaType.getQualityValue());
+            } else if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
+                json = Math.max(json, mediaType.getQualityValue());
+                explicitJson |= !mediaType.isWildcardType() && !mediaType.isWildcardSubtype();
+            }
+        }
+        return cbor > json || (cbor >= 0 && cbor == json && !explicitJson) ? "cbor" : "json";
+    }
+}
@@ -0,0 +1,81 @@
+package com.booking.controller;
+
+import com.booking.dto.BookingExportRequest;
+import com.booking.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finance exports. The response is written while rows are read, so it is
+ * produced directly on the servlet response rather than returned as a body;
+ * gzip is applied when the client accepts it. To resume an interrupted
+ * export, repeat the request with {@code after} set to the last booking id
+ * received.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/bookings")
+    public void exportBookings(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        BookingExportRequest request;
+        try {
+            request = BookingExportRequest.of(from, to, after, format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String filename = "bookings-" + from + "-" + to + (after == null ? "" : "-after-" + after)
+                + "." + request.getFormat().getExtension();
+        response.setContentType(request.getFormat().getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename.replace(':', '-')).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_BYTES)
+                : response.getOutputStream();
+        try {
+            exportService.exportBookings(request, out);
+        } catch (IllegalStateException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            // Refused before any row was written, so the buffered response can still be replaced.
+            response.reset();
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+            return;
+        }
+        out.close();
+    }
+}
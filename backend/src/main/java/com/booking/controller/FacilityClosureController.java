@@ -0,0 +1,34 @@
+package com.booking.controller;
+
+import com.booking.model.FacilityClosure;
+import com.booking.service.FacilityClosureService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/facility-closures")
+@CrossOrigin(origins = "*")
+public class FacilityClosureController {
+
+    private final FacilityClosureService facilityClosureService;
+
+    @Autowired
+    public FacilityClosureController(FacilityClosureService facilityClosureService) {
+        this.facilityClosureService = facilityClosureService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FacilityClosure> getClosure(@PathVariable Long id) {
+        return facilityClosureService.getClosure(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/facility/{facilityId}")
+    public ResponseEntity<List<FacilityClosure>> getClosuresByFacility(@PathVariable Long facilityId) {
+        return ResponseEntity.ok(facilityClosureService.getClosuresByFacility(facilityId));
+    }
+}
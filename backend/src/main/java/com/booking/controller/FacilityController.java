@@ -1,12 +1,24 @@
 package com.booking.controller;
 
+import com.booking.dto.NearbyFacility;
 import com.booking.model.Facility;
+import com.booking.projection.FieldProjection;
+import com.booking.projection.FieldProjections;
 import com.booking.service.FacilityService;
+import com.booking.service.GeoSearchService;
+import com.booking.service.ProjectionService;
+import com.booking.service.VersionStampService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/facilities")
@@ -14,48 +26,137 @@ import java.util.List;
 public class FacilityController {
 
     private final FacilityService facilityService;
+    private final VersionStampService versionStampService;
+    private final ProjectionService projectionService;
+    private final FieldProjections fieldProjections;
+    private final GeoSearchService geoSearchService;
+    private final CacheControl catalogCacheControl;
 
     @Autowired
-    public FacilityController(FacilityService facilityService) {
+    public FacilityController(FacilityService facilityService, VersionStampService versionStampService,
+            ProjectionService projectionService, FieldProjections fieldProjections,
+            GeoSearchService geoSearchService,
+            @Value("${booking.cache.catalog.max-age.seconds:30}") long catalogMaxAge,
+            @Value("${booking.cache.catalog.shared-max-age.seconds:60}") long catalogSharedMaxAge) {
         this.facilityService = facilityService;
+        this.versionStampService = versionStampService;
+        this.projectionService = projectionService;
+        this.fieldProjections = fieldProjections;
+        this.geoSearchService = geoSearchService;
+        this.catalogCacheControl = CacheControl.maxAge(catalogMaxAge, TimeUnit.SECONDS)
+                .sMaxAge(catalogSharedMaxAge, TimeUnit.SECONDS)
+                .cachePublic();
     }
 
     @GetMapping
-    public ResponseEntity<List<Facility>> getAllFacilities() {
-        return ResponseEntity.ok(facilityService.getAllFacilities());
+    public ResponseEntity<?> getAllFacilities(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            FieldProjection projection = projection(fields);
+            String eTag = ETags.of(request, resource("facilities", projection), versionStampService.getCatalogVersion());
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            // Entities go out as arrays so that the compact CBOR converter still sees their type.
+            return catalogResponse(eTag).body(projection == null
+                    ? facilityService.getAllFacilities().toArray(Facility[]::new)
+                    : projectionService.getAllFacilities(projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Facility> getFacilityById(@PathVariable Long id) {
-        return facilityService.getFacilityById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getFacilityById(@PathVariable Long id, @RequestParam(required = false) String fields,
+            WebRequest request) {
+        try {
+            FieldProjection projection = projection(fields);
+            String eTag = ETags.of(request, resource("facility-" + id, projection),
+                    versionStampService.getCatalogVersion());
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            Optional<?> facility = projection == null
+                    ? facilityService.getFacilityById(id)
+                    : projectionService.getFacilityById(id, projection);
+            return facility.<ResponseEntity<?>>map(body -> catalogResponse(eTag).body(body))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Facility>> getFacilitiesByType(@PathVariable String type) {
-        return ResponseEntity.ok(facilityService.getFacilitiesByType(type));
+    public ResponseEntity<?> getFacilitiesByType(@PathVariable String type,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldProjection projection = projection(fields);
+            return ResponseEntity.ok(projection == null
+                    ? facilityService.getFacilitiesByType(type).toArray(Facility[]::new)
+                    : projectionService.getFacilitiesByType(type, projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Facility>> getActiveFacilities() {
-        return ResponseEntity.ok(facilityService.getActiveFacilities());
+    public ResponseEntity<?> getActiveFacilities(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            FieldProjection projection = projection(fields);
+            String eTag = ETags.of(request, resource("facilities-active", projection),
+                    versionStampService.getCatalogVersion());
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            return catalogResponse(eTag).body(projection == null
+                    ? facilityService.getActiveFacilities().toArray(Facility[]::new)
+                    : projectionService.getActiveFacilities(projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Facility>> searchFacilitiesByLocation(@RequestParam String location) {
-        return ResponseEntity.ok(facilityService.searchFacilitiesByLocation(location));
+    public ResponseEntity<?> searchFacilitiesByLocation(@RequestParam String location,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldProjection projection = projection(fields);
+            return ResponseEntity.ok(projection == null
+                    ? facilityService.searchFacilitiesByLocation(location).toArray(Facility[]::new)
+                    : projectionService.searchFacilitiesByLocation(location, projection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyFacility>> getNearbyFacilities(@RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "true") Boolean active) {
+        try {
+            return ResponseEntity.ok(geoSearchService.findNearby(lat, lon, limit, radiusKm, type, active));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping
     public ResponseEntity<Facility> createFacility(@RequestBody Facility facility) {
-        return ResponseEntity.ok(facilityService.createFacility(facility));
+        try {
+            return ResponseEntity.ok(facilityService.createFacility(facility));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Facility> updateFacility(@PathVariable Long id, @RequestBody Facility facility) {
         try {
             return ResponseEntity.ok(facilityService.updateFacility(id, facility));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -84,4 +185,19 @@ public class FacilityController {
         facilityService.activateFacility(id);
         return ResponseEntity.ok().build();
     }
+
+    private FieldProjection projection(String fields) {
+        return fields == null ? null : fieldProjections.forFacility(fields);
+    }
+
+    private static String resource(String name, FieldProjection projection) {
+        return projection == null ? name : name + "-f" + projection.getKey();
+    }
+
+    private ResponseEntity.BodyBuilder catalogResponse(String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(catalogCacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.booking.controller;
+
+import com.booking.dto.NotificationStats;
+import com.booking.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @Autowired
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<NotificationStats>> getStats() {
+        return ResponseEntity.ok(notificationService.getStats());
+    }
+}
@@ -0,0 +1,25 @@
+package com.booking.controller;
+
+import com.booking.dto.OutboxStats;
+import com.booking.service.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/outbox")
+@CrossOrigin(origins = "*")
+public class OutboxController {
+
+    private final OutboxService outboxService;
+
+    @Autowired
+    public OutboxController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<OutboxStats> getStats() {
+        return ResponseEntity.ok(outboxService.getStats());
+    }
+}
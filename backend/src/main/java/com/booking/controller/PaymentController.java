@@ -1,11 +1,14 @@
 package com.booking.controller;
 
 import com.booking.model.Booking;
+import com.booking.security.AuthenticatedUser;
 import com.booking.service.BookingService;
 import com.booking.service.PaymentService;
 import com.stripe.model.PaymentIntent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -26,10 +29,14 @@ public class PaymentController {
     }
 
     @PostMapping("/create-intent/{bookingId}")
-    public ResponseEntity<Map<String, String>> createPaymentIntent(@PathVariable Long bookingId) {
+    public ResponseEntity<Map<String, String>> createPaymentIntent(@PathVariable Long bookingId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
             Booking booking = bookingService.getBookingById(bookingId)
                     .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+            if (!user.canActFor(booking.getUserId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
 
             PaymentIntent paymentIntent = paymentService.createPaymentIntent(booking);
 
@@ -0,0 +1,51 @@
+package com.booking.controller;
+
+import com.booking.dto.QuoteRequest;
+import com.booking.dto.QuoteResponse;
+import com.booking.service.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/quotes")
+@CrossOrigin(origins = "*")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+    private final int maxBatchSize;
+
+    @Autowired
+    public QuoteController(QuoteService quoteService,
+            @Value("${booking.pricing.quote.max.batch:5000}") int maxBatchSize) {
+        this.quoteService = quoteService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @GetMapping
+    public ResponseEntity<QuoteResponse> getQuote(
+            @RequestParam Long facilityId,
+            @RequestParam String startTime,
+            @RequestParam String endTime) {
+        QuoteRequest request = new QuoteRequest(
+                facilityId,
+                java.time.LocalDateTime.parse(startTime),
+                java.time.LocalDateTime.parse(endTime));
+        QuoteResponse response = quoteService.quote(List.of(request)).get(0);
+        if (response.getError() != null) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping
+    public ResponseEntity<List<QuoteResponse>> getQuotes(@RequestBody List<QuoteRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(quoteService.quote(requests));
+    }
+}
@@ -0,0 +1,35 @@
+package com.booking.controller;
+
+import com.booking.dto.ReconciliationReport;
+import com.booking.service.PaymentReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payments/reconciliation")
+@CrossOrigin(origins = "*")
+public class ReconciliationController {
+
+    private final PaymentReconciliationService reconciliationService;
+
+    @Autowired
+    public ReconciliationController(PaymentReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ReconciliationReport> getLastReport() {
+        return reconciliationService.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<ReconciliationReport> reconcile() {
+        return reconciliationService.reconcile()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.booking.controller;
+
+import com.booking.dto.SlotView;
+import com.booking.model.SlotTemplate;
+import com.booking.service.SlotCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/facilities/{facilityId}")
+@CrossOrigin(origins = "*")
+public class SlotController {
+
+    private final SlotCatalogService slotCatalogService;
+
+    @Autowired
+    public SlotController(SlotCatalogService slotCatalogService) {
+        this.slotCatalogService = slotCatalogService;
+    }
+
+    @GetMapping("/slot-template")
+    public ResponseEntity<SlotTemplate> getTemplate(@PathVariable Long facilityId) {
+        return slotCatalogService.getTemplate(facilityId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/slot-template")
+    public ResponseEntity<SlotTemplate> saveTemplate(@PathVariable Long facilityId,
+            @RequestBody SlotTemplate template) {
+        try {
+            return ResponseEntity.ok(slotCatalogService.saveTemplate(facilityId, template));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/slot-template")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable Long facilityId) {
+        slotCatalogService.deleteTemplate(facilityId);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/slots")
+    public ResponseEntity<List<SlotView>> getSlots(@PathVariable Long facilityId, @RequestParam String date) {
+        try {
+            return ResponseEntity.ok(slotCatalogService.getSlots(facilityId, java.time.LocalDate.parse(date)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.booking.controller;
+
+import com.booking.dto.WaitingRoomStatus;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+@CrossOrigin(origins = "*")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Autowired
+    public WaitingRoomController(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<Long, Double>> getActiveRooms() {
+        return ResponseEntity.ok(waitingRoomService.getActiveRooms());
+    }
+
+    @PostMapping("/{facilityId}/activate")
+    public ResponseEntity<Void> activate(@PathVariable Long facilityId,
+            @RequestBody Map<String, Double> activationRequest) {
+        try {
+            waitingRoomService.activate(facilityId, activationRequest.getOrDefault("admissionsPerSecond", 0.0));
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{facilityId}/deactivate")
+    public ResponseEntity<Void> deactivate(@PathVariable Long facilityId) {
+        waitingRoomService.deactivate(facilityId);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{facilityId}/join")
+    public ResponseEntity<WaitingRoomStatus> join(@PathVariable Long facilityId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.join(facilityId, user.userId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<WaitingRoomStatus> getStatus(@RequestParam String ticket) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.getStatus(ticket));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.booking.controller;
+
+import com.booking.model.WaitlistEntry;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @Autowired
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@RequestBody WaitlistEntry entry,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        // Who is queueing, and so their priority, comes from the token, whatever the body claims.
+        entry.setUserId(user.userId());
+        entry.setRole(user.role());
+        try {
+            return ResponseEntity.ok(waitlistService.joinWaitlist(entry));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntry> getEntryById(@PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return waitlistService.getEntryById(id)
+                .map(entry -> user.canActFor(entry.getUserId())
+                        ? ResponseEntity.ok(entry)
+                        : ResponseEntity.status(HttpStatus.FORBIDDEN).<WaitlistEntry>build())
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/position")
+    public ResponseEntity<Map<String, Long>> getPosition(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(Map.of("position", waitlistService.getPosition(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<WaitlistEntry>> getEntriesByUserId(@PathVariable String userId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (!user.canActFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(waitlistService.getEntriesByUserId(userId));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<WaitlistEntry> leaveWaitlist(@PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        Optional<WaitlistEntry> entry = waitlistService.getEntryById(id);
+        if (entry.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!user.canActFor(entry.get().getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(waitlistService.leaveWaitlist(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.dto;
+
+import com.booking.export.ExportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportRequest {
+    // Bookings created in [from, to)
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // Resume after this booking id; null for a fresh export
+    private Long afterId;
+    private ExportFormat format;
+
+    /**
+     * Parses request parameters. Bounds are ISO dates, meaning midnight, or
+     * ISO local date-times.
+     *
+     * @throws IllegalArgumentException if a value does not parse or the range is empty
+     */
+    public static BookingExportRequest of(String from, String to, Long afterId, String format) {
+        BookingExportRequest request = new BookingExportRequest(bound(from), bound(to), afterId,
+                ExportFormat.parse(format));
+        if (!request.from.isBefore(request.to)) {
+            throw new IllegalArgumentException("Export range must end after it starts");
+        }
+        return request;
+    }
+
+    private static LocalDateTime bound(String value) {
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportResult {
+    private long rows;
+    // Resume point for the next export: the id of the last booking written, or the request's afterId
+    private Long lastBookingId;
+}
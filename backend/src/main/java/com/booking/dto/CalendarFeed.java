@@ -0,0 +1,15 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeed {
+    private byte[] content; // text/calendar, UTF-8
+    // Version stamps the feed was rendered from; changes whenever the content may have
+    private String stamp;
+    private long lastModified; // epoch millis, when the feed was rendered
+}
@@ -0,0 +1,13 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedLink {
+    // Path of the caller's personal feed, including its access token
+    private String path;
+}
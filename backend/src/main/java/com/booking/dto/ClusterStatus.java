@@ -0,0 +1,16 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterStatus {
+    private String localNodeId;
+    // Live members by node id, with the address each accepts forwarded requests on.
+    private Map<String, String> members;
+}
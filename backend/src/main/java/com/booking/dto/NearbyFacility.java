@@ -0,0 +1,14 @@
+package com.booking.dto;
+
+import com.booking.model.Facility;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyFacility {
+    private Facility facility;
+    private double distanceKm;
+}
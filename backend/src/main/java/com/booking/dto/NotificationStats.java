@@ -0,0 +1,20 @@
+package com.booking.dto;
+
+import com.booking.notification.Channel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationStats {
+    private Channel channel;
+    private int queued;
+    private int awaitingRetry;
+    private long sent;
+    private long retried;
+    private long failed; // gave up after the last attempt
+    private long dropped; // rejected because the queue was full
+    private long shed; // bulk notifications turned away under load
+}
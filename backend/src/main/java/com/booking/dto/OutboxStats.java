@@ -0,0 +1,23 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStats {
+    private long pendingEvents;
+    private LocalDateTime oldestPendingCreatedAt;
+    // Age of the oldest unpublished event; 0 when the outbox is drained.
+    private long lagMillis;
+    private long publishedTotal;
+    private int lastBatchSize;
+    // Longest time from append to publication within the last batch.
+    private long lastBatchMaxLagMillis;
+    private LocalDateTime lastRelayAt;
+    private String lastError;
+}
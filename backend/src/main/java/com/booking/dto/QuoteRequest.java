@@ -0,0 +1,16 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteRequest {
+    private Long facilityId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,19 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteResponse {
+    private Long facilityId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal totalAmount;
+    private String error; // set instead of totalAmount when the candidate cannot be priced
+}
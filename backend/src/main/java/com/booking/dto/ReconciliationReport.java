@@ -0,0 +1,28 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReport {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Start of the window read from each provider list, in epoch seconds.
+    private long intentsCreatedFrom;
+    private long refundsCreatedFrom;
+    private int intentsScanned;
+    private int refundsScanned;
+    // Provider records without a bookingId, or naming a booking that does not exist here.
+    private int unmatched;
+    private int paymentsRecorded;
+    private int bookingsConfirmed;
+    private int bookingsRefunded;
+    // Captured payments that are not the payment of their booking; left for a person to settle.
+    private int orphanedPayments;
+    private String lastError;
+}
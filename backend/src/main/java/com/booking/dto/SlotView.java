@@ -0,0 +1,17 @@
+package com.booking.dto;
+
+import com.booking.model.SlotStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotView {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private SlotStatus status;
+}
@@ -0,0 +1,22 @@
+package com.booking.dto;
+
+import com.booking.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpcomingBooking {
+    private Long id;
+    private Long facilityId;
+    private String facilityName;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BookingStatus status;
+    private BigDecimal totalAmount;
+}
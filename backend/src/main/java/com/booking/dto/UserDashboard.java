@@ -0,0 +1,26 @@
+package com.booking.dto;
+
+import com.booking.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDashboard {
+    private String userId;
+    private Map<BookingStatus, Long> countsByStatus;
+    private long totalBookings;
+    // PENDING bookings, which still have to be paid.
+    private long outstandingPayments;
+    private BigDecimal outstandingAmount;
+    // Sum over CONFIRMED and COMPLETED bookings.
+    private BigDecimal totalSpend;
+    // The next PENDING or CONFIRMED bookings, soonest first.
+    private List<UpcomingBooking> upcoming;
+}
@@ -0,0 +1,16 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomStatus {
+    private Long facilityId;
+    private String ticket; // signed queue ticket, presented when polling
+    private long position; // 0 once admitted
+    private long retryAfterSeconds;
+    private String admissionToken; // set once admitted; send as X-Waiting-Room-Token
+}
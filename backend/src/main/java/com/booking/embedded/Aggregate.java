@@ -0,0 +1,118 @@
+package com.booking.embedded;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * How one of the smaller aggregates is keyed and laid out in the
+ * {@link EmbeddedStore}. Unlike facilities and bookings these are few per
+ * facility, so their rows are kept as entities rather than columns and the
+ * repositories filter them directly. References to a facility or window
+ * are stored as the referenced id and filled in by {@link #resolve} when a
+ * row is handed out.
+ */
+abstract class Aggregate<K extends Comparable<K>, T> {
+
+    final byte kind;
+    final String name;
+
+    Aggregate(int kind, String name) {
+        this.kind = (byte) kind;
+        this.name = name;
+    }
+
+    abstract K key(T row);
+
+    /** Gives a new row the next generated key; aggregates with natural keys require one. */
+    abstract void assignKey(T row, long next);
+
+    /** The generated key as a long, so the table can advance its sequence past replayed rows. */
+    long sequenceOf(K key) {
+        return 0;
+    }
+
+    abstract void writeKey(DataOutput out, K key) throws IOException;
+
+    abstract K readKey(DataInput in) throws IOException;
+
+    abstract void write(DataOutput out, T row) throws IOException;
+
+    abstract T read(DataInput in) throws IOException;
+
+    /** Applies what the entity's {@code @PrePersist} callback does. */
+    void onInsert(T row, LocalDateTime now) {
+    }
+
+    /** Applies what the entity's {@code @PreUpdate} callback does. */
+    void onUpdate(T row, LocalDateTime now) {
+    }
+
+    /** Replaces stored id-only references with copies of the referenced rows. Called under the read lock. */
+    void resolve(T row, EmbeddedStore store) {
+    }
+
+    /** A detached copy of {@code row}, made by a round trip through its encoding. */
+    T copy(T row) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            write(out, row);
+            return read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** An aggregate keyed by a generated {@code Long} id, as {@code GenerationType.IDENTITY} assigns it. */
+    abstract static class Sequenced<T> extends Aggregate<Long, T> {
+
+        Sequenced(int kind, String name) {
+            super(kind, name);
+        }
+
+        @Override
+        long sequenceOf(Long key) {
+            return key;
+        }
+
+        @Override
+        void writeKey(DataOutput out, Long key) throws IOException {
+            out.writeLong(key);
+        }
+
+        @Override
+        Long readKey(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    }
+
+    /** An aggregate keyed by a natural {@code String} id that the caller always sets. */
+    abstract static class Named<T> extends Aggregate<String, T> {
+
+        Named(int kind, String name) {
+            super(kind, name);
+        }
+
+        @Override
+        void assignKey(T row, long next) {
+            throw new IllegalArgumentException(name + " rows need an id");
+        }
+
+        @Override
+        void writeKey(DataOutput out, String key) throws IOException {
+            out.writeUTF(key);
+        }
+
+        @Override
+        String readKey(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    }
+}
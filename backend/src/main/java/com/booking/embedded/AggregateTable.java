@@ -0,0 +1,59 @@
+package com.booking.embedded;
+
+import java.util.Collection;
+import java.util.TreeMap;
+
+/**
+ * The rows of one {@link Aggregate}, in key order. Rows are only ever put
+ * freshly decoded, so nothing outside the store holds a reference to them.
+ * Not thread-safe; the {@link EmbeddedStore} lock guards it.
+ */
+final class AggregateTable<K extends Comparable<K>, T> {
+
+    final Aggregate<K, T> aggregate;
+    private final TreeMap<K, T> rows = new TreeMap<>();
+    private long nextId = 1;
+
+    AggregateTable(Aggregate<K, T> aggregate) {
+        this.aggregate = aggregate;
+    }
+
+    T get(K key) {
+        return rows.get(key);
+    }
+
+    boolean contains(K key) {
+        return rows.containsKey(key);
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    Collection<T> rows() {
+        return rows.values();
+    }
+
+    long nextId() {
+        return nextId;
+    }
+
+    void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+
+    void put(T row) {
+        K key = aggregate.key(row);
+        rows.put(key, row);
+        nextId = Math.max(nextId, aggregate.sequenceOf(key) + 1);
+    }
+
+    void remove(K key) {
+        rows.remove(key);
+    }
+
+    void clear() {
+        rows.clear();
+        nextId = 1;
+    }
+}
@@ -0,0 +1,554 @@
+package com.booking.embedded;
+
+import com.booking.model.AllocationMode;
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationRequestStatus;
+import com.booking.model.AllocationWindow;
+import com.booking.model.AllocationWindowStatus;
+import com.booking.model.BookingRefund;
+import com.booking.model.BookingStatus;
+import com.booking.model.ClosureStatus;
+import com.booking.model.Facility;
+import com.booking.model.FacilityClosure;
+import com.booking.model.OutboxEvent;
+import com.booking.model.Payment;
+import com.booking.model.PaymentStatus;
+import com.booking.model.ReconciliationWatermark;
+import com.booking.model.RefundStatus;
+import com.booking.model.SlotTemplate;
+import com.booking.model.UserBookingSummary;
+import com.booking.model.UserRole;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.booking.embedded.RowCodec.readBoolean;
+import static com.booking.embedded.RowCodec.readDateTime;
+import static com.booking.embedded.RowCodec.readDecimal;
+import static com.booking.embedded.RowCodec.readDouble;
+import static com.booking.embedded.RowCodec.readEnum;
+import static com.booking.embedded.RowCodec.readInteger;
+import static com.booking.embedded.RowCodec.readLong;
+import static com.booking.embedded.RowCodec.readString;
+import static com.booking.embedded.RowCodec.readText;
+import static com.booking.embedded.RowCodec.readTimeOfDay;
+import static com.booking.embedded.RowCodec.writeBoolean;
+import static com.booking.embedded.RowCodec.writeDateTime;
+import static com.booking.embedded.RowCodec.writeDecimal;
+import static com.booking.embedded.RowCodec.writeDouble;
+import static com.booking.embedded.RowCodec.writeEnum;
+import static com.booking.embedded.RowCodec.writeInteger;
+import static com.booking.embedded.RowCodec.writeLong;
+import static com.booking.embedded.RowCodec.writeString;
+import static com.booking.embedded.RowCodec.writeText;
+import static com.booking.embedded.RowCodec.writeTimeOfDay;
+
+/**
+ * The aggregates the {@link EmbeddedStore} keeps besides facilities and
+ * bookings, with their row layouts. A kind is written into every log record
+ * and snapshot, so kinds must never be renumbered; new fields go at the end
+ * of a layout only together with a new snapshot version.
+ */
+final class Aggregates {
+
+    static final Aggregate<Long, WaitlistEntry> WAITLIST_ENTRY = new Aggregate.Sequenced<>(1, "Waitlist entry") {
+
+        @Override
+        Long key(WaitlistEntry row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(WaitlistEntry row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, WaitlistEntry row) throws IOException {
+            out.writeLong(row.getId());
+            out.writeLong(facilityId(row.getFacility()));
+            writeString(out, row.getUserId());
+            writeDateTime(out, row.getStartTime());
+            writeDateTime(out, row.getEndTime());
+            writeEnum(out, row.getRole());
+            writeInteger(out, row.getPriority());
+            writeEnum(out, row.getStatus());
+            writeLong(out, row.getBookingId());
+            writeDateTime(out, row.getCreatedAt());
+            writeDateTime(out, row.getUpdatedAt());
+        }
+
+        @Override
+        WaitlistEntry read(DataInput in) throws IOException {
+            WaitlistEntry row = new WaitlistEntry();
+            row.setId(in.readLong());
+            row.setFacility(facilityStub(in.readLong()));
+            row.setUserId(readString(in));
+            row.setStartTime(readDateTime(in));
+            row.setEndTime(readDateTime(in));
+            row.setRole(readEnum(in, UserRole.values()));
+            row.setPriority(readInteger(in));
+            row.setStatus(readEnum(in, WaitlistStatus.values()));
+            row.setBookingId(readLong(in));
+            row.setCreatedAt(readDateTime(in));
+            row.setUpdatedAt(readDateTime(in));
+            return row;
+        }
+
+        @Override
+        void onInsert(WaitlistEntry row, LocalDateTime now) {
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+        }
+
+        @Override
+        void onUpdate(WaitlistEntry row, LocalDateTime now) {
+            row.setUpdatedAt(now);
+        }
+
+        @Override
+        void resolve(WaitlistEntry row, EmbeddedStore store) {
+            row.setFacility(store.facilities().reference(row.getFacility().getId()));
+        }
+    };
+
+    static final Aggregate<Long, AllocationWindow> ALLOCATION_WINDOW =
+            new Aggregate.Sequenced<>(2, "Allocation window") {
+
+        @Override
+        Long key(AllocationWindow row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(AllocationWindow row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, AllocationWindow row) throws IOException {
+            out.writeLong(row.getId());
+            out.writeLong(facilityId(row.getFacility()));
+            writeDateTime(out, row.getReleaseStart());
+            writeDateTime(out, row.getReleaseEnd());
+            writeDateTime(out, row.getOpensAt());
+            writeDateTime(out, row.getClosesAt());
+            writeEnum(out, row.getMode());
+            writeInteger(out, row.getMaxWinsPerUser());
+            writeEnum(out, row.getStatus());
+            writeLong(out, row.getSeed());
+            writeDateTime(out, row.getAllocatedAt());
+        }
+
+        @Override
+        AllocationWindow read(DataInput in) throws IOException {
+            AllocationWindow row = new AllocationWindow();
+            row.setId(in.readLong());
+            row.setFacility(facilityStub(in.readLong()));
+            row.setReleaseStart(readDateTime(in));
+            row.setReleaseEnd(readDateTime(in));
+            row.setOpensAt(readDateTime(in));
+            row.setClosesAt(readDateTime(in));
+            row.setMode(readEnum(in, AllocationMode.values()));
+            row.setMaxWinsPerUser(readInteger(in));
+            row.setStatus(readEnum(in, AllocationWindowStatus.values()));
+            row.setSeed(readLong(in));
+            row.setAllocatedAt(readDateTime(in));
+            return row;
+        }
+
+        @Override
+        void resolve(AllocationWindow row, EmbeddedStore store) {
+            row.setFacility(store.facilities().reference(row.getFacility().getId()));
+        }
+    };
+
+    static final Aggregate<Long, AllocationRequest> ALLOCATION_REQUEST =
+            new Aggregate.Sequenced<>(3, "Allocation request") {
+
+        @Override
+        Long key(AllocationRequest row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(AllocationRequest row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, AllocationRequest row) throws IOException {
+            out.writeLong(row.getId());
+            out.writeLong(row.getWindow() == null || row.getWindow().getId() == null ? 0L : row.getWindow().getId());
+            writeString(out, row.getUserId());
+            writeDateTime(out, row.getStartTime());
+            writeDateTime(out, row.getEndTime());
+            writeEnum(out, row.getRole());
+            writeInteger(out, row.getPriority());
+            writeEnum(out, row.getStatus());
+            writeLong(out, row.getBookingId());
+            writeDateTime(out, row.getCreatedAt());
+        }
+
+        @Override
+        AllocationRequest read(DataInput in) throws IOException {
+            AllocationRequest row = new AllocationRequest();
+            row.setId(in.readLong());
+            AllocationWindow window = new AllocationWindow();
+            window.setId(in.readLong());
+            row.setWindow(window);
+            row.setUserId(readString(in));
+            row.setStartTime(readDateTime(in));
+            row.setEndTime(readDateTime(in));
+            row.setRole(readEnum(in, UserRole.values()));
+            row.setPriority(readInteger(in));
+            row.setStatus(readEnum(in, AllocationRequestStatus.values()));
+            row.setBookingId(readLong(in));
+            row.setCreatedAt(readDateTime(in));
+            return row;
+        }
+
+        @Override
+        void onInsert(AllocationRequest row, LocalDateTime now) {
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+        }
+
+        @Override
+        void resolve(AllocationRequest row, EmbeddedStore store) {
+            AllocationWindow window = store.table(ALLOCATION_WINDOW).get(row.getWindow().getId());
+            if (window != null) {
+                window = ALLOCATION_WINDOW.copy(window);
+                ALLOCATION_WINDOW.resolve(window, store);
+                row.setWindow(window);
+            }
+        }
+    };
+
+    static final Aggregate<Long, SlotTemplate> SLOT_TEMPLATE = new Aggregate.Sequenced<>(4, "Slot template") {
+
+        @Override
+        Long key(SlotTemplate row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(SlotTemplate row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, SlotTemplate row) throws IOException {
+            out.writeLong(row.getId());
+            out.writeLong(facilityId(row.getFacility()));
+            writeTimeOfDay(out, row.getOpeningTime());
+            writeTimeOfDay(out, row.getClosingTime());
+            writeInteger(out, row.getSlotMinutes());
+            writeInteger(out, row.getBufferMinutes());
+        }
+
+        @Override
+        SlotTemplate read(DataInput in) throws IOException {
+            SlotTemplate row = new SlotTemplate();
+            row.setId(in.readLong());
+            row.setFacility(facilityStub(in.readLong()));
+            row.setOpeningTime(readTimeOfDay(in));
+            row.setClosingTime(readTimeOfDay(in));
+            row.setSlotMinutes(readInteger(in));
+            row.setBufferMinutes(readInteger(in));
+            return row;
+        }
+
+        @Override
+        void resolve(SlotTemplate row, EmbeddedStore store) {
+            row.setFacility(store.facilities().reference(row.getFacility().getId()));
+        }
+    };
+
+    static final Aggregate<Long, FacilityClosure> FACILITY_CLOSURE =
+            new Aggregate.Sequenced<>(5, "Facility closure") {
+
+        @Override
+        Long key(FacilityClosure row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(FacilityClosure row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, FacilityClosure row) throws IOException {
+            out.writeLong(row.getId());
+            writeLong(out, row.getFacilityId());
+            writeText(out, row.getReason());
+            writeEnum(out, row.getStatus());
+            writeBoolean(out, row.getDeleteFacility());
+            writeDateTime(out, row.getCutoff());
+            writeLong(out, row.getLastBookingId());
+            writeInteger(out, row.getCancelledCount());
+            writeInteger(out, row.getRefundsRequested());
+            writeInteger(out, row.getRefundsSucceeded());
+            writeInteger(out, row.getRefundsFailed());
+            writeDateTime(out, row.getCreatedAt());
+            writeDateTime(out, row.getCompletedAt());
+        }
+
+        @Override
+        FacilityClosure read(DataInput in) throws IOException {
+            FacilityClosure row = new FacilityClosure();
+            row.setId(in.readLong());
+            row.setFacilityId(readLong(in));
+            row.setReason(readText(in));
+            row.setStatus(readEnum(in, ClosureStatus.values()));
+            row.setDeleteFacility(readBoolean(in));
+            row.setCutoff(readDateTime(in));
+            row.setLastBookingId(readLong(in));
+            row.setCancelledCount(readInteger(in));
+            row.setRefundsRequested(readInteger(in));
+            row.setRefundsSucceeded(readInteger(in));
+            row.setRefundsFailed(readInteger(in));
+            row.setCreatedAt(readDateTime(in));
+            row.setCompletedAt(readDateTime(in));
+            return row;
+        }
+
+        @Override
+        void onInsert(FacilityClosure row, LocalDateTime now) {
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+        }
+    };
+
+    static final Aggregate<Long, BookingRefund> BOOKING_REFUND = new Aggregate.Sequenced<>(6, "Booking refund") {
+
+        @Override
+        Long key(BookingRefund row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(BookingRefund row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, BookingRefund row) throws IOException {
+            out.writeLong(row.getId());
+            writeLong(out, row.getBookingId());
+            writeLong(out, row.getFacilityId());
+            writeLong(out, row.getClosureId());
+            writeString(out, row.getUserId());
+            writeString(out, row.getPaymentId());
+            writeDecimal(out, row.getAmount());
+            writeEnum(out, row.getStatus());
+            writeInteger(out, row.getAttempts());
+            writeString(out, row.getProviderRefundId());
+            writeText(out, row.getLastError());
+            writeDateTime(out, row.getCreatedAt());
+            writeDateTime(out, row.getRefundedAt());
+        }
+
+        @Override
+        BookingRefund read(DataInput in) throws IOException {
+            BookingRefund row = new BookingRefund();
+            row.setId(in.readLong());
+            row.setBookingId(readLong(in));
+            row.setFacilityId(readLong(in));
+            row.setClosureId(readLong(in));
+            row.setUserId(readString(in));
+            row.setPaymentId(readString(in));
+            row.setAmount(readDecimal(in));
+            row.setStatus(readEnum(in, RefundStatus.values()));
+            row.setAttempts(readInteger(in));
+            row.setProviderRefundId(readString(in));
+            row.setLastError(readText(in));
+            row.setCreatedAt(readDateTime(in));
+            row.setRefundedAt(readDateTime(in));
+            return row;
+        }
+
+        @Override
+        void onInsert(BookingRefund row, LocalDateTime now) {
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+        }
+    };
+
+    static final Aggregate<Long, OutboxEvent> OUTBOX_EVENT = new Aggregate.Sequenced<>(7, "Outbox event") {
+
+        @Override
+        Long key(OutboxEvent row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(OutboxEvent row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, OutboxEvent row) throws IOException {
+            out.writeLong(row.getId());
+            writeString(out, row.getAggregateType());
+            writeLong(out, row.getAggregateId());
+            writeLong(out, row.getFacilityId());
+            writeString(out, row.getEventType());
+            writeText(out, row.getPayload());
+            writeDateTime(out, row.getCreatedAt());
+            writeDateTime(out, row.getPublishedAt());
+        }
+
+        @Override
+        OutboxEvent read(DataInput in) throws IOException {
+            OutboxEvent row = new OutboxEvent();
+            row.setId(in.readLong());
+            row.setAggregateType(readString(in));
+            row.setAggregateId(readLong(in));
+            row.setFacilityId(readLong(in));
+            row.setEventType(readString(in));
+            row.setPayload(readText(in));
+            row.setCreatedAt(readDateTime(in));
+            row.setPublishedAt(readDateTime(in));
+            return row;
+        }
+
+        @Override
+        void onInsert(OutboxEvent row, LocalDateTime now) {
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+        }
+    };
+
+    static final Aggregate<Long, Payment> PAYMENT = new Aggregate.Sequenced<>(8, "Payment") {
+
+        @Override
+        Long key(Payment row) {
+            return row.getId();
+        }
+
+        @Override
+        void assignKey(Payment row, long next) {
+            row.setId(next);
+        }
+
+        @Override
+        void write(DataOutput out, Payment row) throws IOException {
+            out.writeLong(row.getId());
+            writeLong(out, row.getBookingId());
+            writeDouble(out, row.getAmount());
+            writeEnum(out, row.getStatus());
+            writeString(out, row.getTransactionId());
+            writeDateTime(out, row.getCreatedAt());
+            writeDateTime(out, row.getRefundedAt());
+            writeDouble(out, row.getRefundAmount());
+        }
+
+        @Override
+        Payment read(DataInput in) throws IOException {
+            Payment row = new Payment();
+            row.setId(in.readLong());
+            row.setBookingId(readLong(in));
+            row.setAmount(readDouble(in));
+            row.setStatus(readEnum(in, PaymentStatus.values()));
+            row.setTransactionId(readString(in));
+            row.setCreatedAt(readDateTime(in));
+            row.setRefundedAt(readDateTime(in));
+            row.setRefundAmount(readDouble(in));
+            return row;
+        }
+    };
+
+    static final Aggregate<String, ReconciliationWatermark> RECONCILIATION_WATERMARK =
+            new Aggregate.Named<>(9, "Reconciliation watermark") {
+
+        @Override
+        String key(ReconciliationWatermark row) {
+            return row.getStream();
+        }
+
+        @Override
+        void write(DataOutput out, ReconciliationWatermark row) throws IOException {
+            out.writeUTF(row.getStream());
+            writeLong(out, row.getCreatedFrom());
+            writeDateTime(out, row.getUpdatedAt());
+        }
+
+        @Override
+        ReconciliationWatermark read(DataInput in) throws IOException {
+            ReconciliationWatermark row = new ReconciliationWatermark();
+            row.setStream(in.readUTF());
+            row.setCreatedFrom(readLong(in));
+            row.setUpdatedAt(readDateTime(in));
+            return row;
+        }
+    };
+
+    static final Aggregate<String, UserBookingSummary> USER_BOOKING_SUMMARY =
+            new Aggregate.Named<>(10, "User booking summary") {
+
+        @Override
+        String key(UserBookingSummary row) {
+            return row.getUserId();
+        }
+
+        @Override
+        void write(DataOutput out, UserBookingSummary row) throws IOException {
+            out.writeUTF(row.getUserId());
+            out.writeByte(row.getCounts().size());
+            for (Map.Entry<BookingStatus, Long> count : row.getCounts().entrySet()) {
+                writeEnum(out, count.getKey());
+                out.writeLong(count.getValue());
+            }
+            writeDecimal(out, row.getOutstandingAmount());
+            writeDecimal(out, row.getTotalSpend());
+            writeDateTime(out, row.getUpdatedAt());
+        }
+
+        @Override
+        UserBookingSummary read(DataInput in) throws IOException {
+            UserBookingSummary row = new UserBookingSummary();
+            row.setUserId(in.readUTF());
+            Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+            for (int i = in.readByte(); i > 0; i--) {
+                counts.put(readEnum(in, BookingStatus.values()), in.readLong());
+            }
+            row.setCounts(counts);
+            row.setOutstandingAmount(readDecimal(in));
+            row.setTotalSpend(readDecimal(in));
+            row.setUpdatedAt(readDateTime(in));
+            return row;
+        }
+    };
+
+    /** Every aggregate, in the order snapshots write them. */
+    static final List<Aggregate<?, ?>> ALL = List.of(WAITLIST_ENTRY, ALLOCATION_WINDOW, ALLOCATION_REQUEST,
+            SLOT_TEMPLATE, FACILITY_CLOSURE, BOOKING_REFUND, OUTBOX_EVENT, PAYMENT, RECONCILIATION_WATERMARK,
+            USER_BOOKING_SUMMARY);
+
+    private Aggregates() {
+    }
+
+    private static long facilityId(Facility facility) {
+        return facility == null || facility.getId() == null ? 0L : facility.getId();
+    }
+
+    private static Facility facilityStub(long id) {
+        Facility facility = new Facility();
+        facility.setId(id);
+        return facility;
+    }
+}
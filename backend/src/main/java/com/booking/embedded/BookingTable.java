@@ -0,0 +1,250 @@
+package com.booking.embedded;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Bookings stored column-wise in primitive arrays: times as epoch
+ * microseconds, amounts as unscaled longs, statuses as ordinals and user ids
+ * as pooled references. Rows are dense; removing a row moves the last row
+ * into its place. Ids map to rows through {@link LongIntMap}, and ascending
+ * id lists per facility and per user serve the indexed queries.
+ * Not thread-safe; {@link EmbeddedStore} guards access.
+ */
+final class BookingTable {
+
+    private final LongIntMap rowsById = new LongIntMap(1024);
+    private final Map<Long, LongList> idsByFacility = new HashMap<>();
+    private final List<LongList> idsByUser = new ArrayList<>();
+    private final StringPool users = new StringPool();
+
+    private int size;
+    private long[] ids = new long[1024];
+    private long[] facilityIds = new long[1024];
+    private int[] userRefs = new int[1024];
+    private long[] startTimes = new long[1024];
+    private long[] endTimes = new long[1024];
+    private long[] amounts = new long[1024];
+    private byte[] amountScales = new byte[1024];
+    private byte[] statuses = new byte[1024];
+    private long[] createdAts = new long[1024];
+    private long[] updatedAts = new long[1024];
+    private long[] reminderSentAts = new long[1024];
+    private String[] paymentIds = new String[1024];
+    private String[] cancellationReasons = new String[1024];
+
+    int size() {
+        return size;
+    }
+
+    int rowOf(long id) {
+        return rowsById.get(id);
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    long facilityId(int row) {
+        return facilityIds[row];
+    }
+
+    int userRef(int row) {
+        return userRefs[row];
+    }
+
+    long startTime(int row) {
+        return startTimes[row];
+    }
+
+    long endTime(int row) {
+        return endTimes[row];
+    }
+
+    byte status(int row) {
+        return statuses[row];
+    }
+
+    long createdAt(int row) {
+        return createdAts[row];
+    }
+
+    long updatedAt(int row) {
+        return updatedAts[row];
+    }
+
+    long reminderSentAt(int row) {
+        return reminderSentAts[row];
+    }
+
+    /** Pooled reference of a user id, or -1 if no booking ever had it. */
+    int findUser(String userId) {
+        return users.find(userId);
+    }
+
+    LongList idsForFacility(long facilityId) {
+        return idsByFacility.get(facilityId);
+    }
+
+    LongList idsForUser(int userRef) {
+        return userRef < 0 || userRef >= idsByUser.size() ? null : idsByUser.get(userRef);
+    }
+
+    /** Inserts the booking, or overwrites the row with the same id. */
+    void put(Booking booking) {
+        long id = booking.getId();
+        int row = rowsById.get(id);
+        if (row < 0) {
+            row = size++;
+            ensureCapacity(size);
+            rowsById.put(id, row);
+        } else {
+            unindex(row);
+        }
+        ids[row] = id;
+        facilityIds[row] = booking.getFacility() == null || booking.getFacility().getId() == null
+                ? 0L : booking.getFacility().getId();
+        userRefs[row] = users.intern(booking.getUserId());
+        startTimes[row] = RowCodec.encodeTime(booking.getStartTime());
+        endTimes[row] = RowCodec.encodeTime(booking.getEndTime());
+        BigDecimal amount = booking.getTotalAmount();
+        amounts[row] = amount == null ? 0L : amount.unscaledValue().longValueExact();
+        amountScales[row] = amount == null ? -1 : (byte) amount.scale();
+        statuses[row] = RowCodec.encodeStatus(booking.getStatus());
+        createdAts[row] = RowCodec.encodeTime(booking.getCreatedAt());
+        updatedAts[row] = RowCodec.encodeTime(booking.getUpdatedAt());
+        reminderSentAts[row] = RowCodec.encodeTime(booking.getReminderSentAt());
+        paymentIds[row] = booking.getPaymentId();
+        cancellationReasons[row] = booking.getCancellationReason();
+        index(row);
+    }
+
+    boolean remove(long id) {
+        int row = rowsById.get(id);
+        if (row < 0) {
+            return false;
+        }
+        unindex(row);
+        rowsById.remove(id);
+        int last = --size;
+        if (row != last) {
+            moveRow(last, row);
+            rowsById.put(ids[row], row);
+        }
+        paymentIds[last] = null;
+        cancellationReasons[last] = null;
+        return true;
+    }
+
+    Booking read(int row, LongFunction<Facility> facilities) {
+        Booking booking = new Booking();
+        booking.setId(ids[row]);
+        booking.setFacility(facilities.apply(facilityIds[row]));
+        booking.setUserId(users.get(userRefs[row]));
+        booking.setStartTime(RowCodec.decodeTime(startTimes[row]));
+        booking.setEndTime(RowCodec.decodeTime(endTimes[row]));
+        booking.setTotalAmount(amountScales[row] < 0 ? null : BigDecimal.valueOf(amounts[row], amountScales[row]));
+        booking.setStatus(RowCodec.decodeStatus(statuses[row]));
+        booking.setCreatedAt(RowCodec.decodeTime(createdAts[row]));
+        booking.setUpdatedAt(RowCodec.decodeTime(updatedAts[row]));
+        booking.setReminderSentAt(RowCodec.decodeTime(reminderSentAts[row]));
+        booking.setPaymentId(paymentIds[row]);
+        booking.setCancellationReason(cancellationReasons[row]);
+        return booking;
+    }
+
+    /** Removes every booking at the facility and returns their ids. */
+    long[] removeFacility(long facilityId) {
+        LongList list = idsByFacility.get(facilityId);
+        if (list == null) {
+            return new long[0];
+        }
+        long[] removed = new long[list.size()];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = list.get(i);
+        }
+        for (long id : removed) {
+            remove(id);
+        }
+        return removed;
+    }
+
+    void clear() {
+        rowsById.clear();
+        idsByFacility.clear();
+        idsByUser.clear();
+        Arrays.fill(paymentIds, 0, size, null);
+        Arrays.fill(cancellationReasons, 0, size, null);
+        size = 0;
+    }
+
+    private void index(int row) {
+        idsByFacility.computeIfAbsent(facilityIds[row], key -> new LongList()).add(ids[row]);
+        int user = userRefs[row];
+        if (user >= 0) {
+            while (idsByUser.size() <= user) {
+                idsByUser.add(new LongList());
+            }
+            idsByUser.get(user).add(ids[row]);
+        }
+    }
+
+    private void unindex(int row) {
+        LongList byFacility = idsByFacility.get(facilityIds[row]);
+        if (byFacility != null) {
+            byFacility.remove(ids[row]);
+            if (byFacility.size() == 0) {
+                idsByFacility.remove(facilityIds[row]);
+            }
+        }
+        LongList byUser = idsForUser(userRefs[row]);
+        if (byUser != null) {
+            byUser.remove(ids[row]);
+        }
+    }
+
+    private void moveRow(int from, int to) {
+        ids[to] = ids[from];
+        facilityIds[to] = facilityIds[from];
+        userRefs[to] = userRefs[from];
+        startTimes[to] = startTimes[from];
+        endTimes[to] = endTimes[from];
+        amounts[to] = amounts[from];
+        amountScales[to] = amountScales[from];
+        statuses[to] = statuses[from];
+        createdAts[to] = createdAts[from];
+        updatedAts[to] = updatedAts[from];
+        reminderSentAts[to] = reminderSentAts[from];
+        paymentIds[to] = paymentIds[from];
+        cancellationReasons[to] = cancellationReasons[from];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        facilityIds = Arrays.copyOf(facilityIds, capacity);
+        userRefs = Arrays.copyOf(userRefs, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        endTimes = Arrays.copyOf(endTimes, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        amountScales = Arrays.copyOf(amountScales, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        createdAts = Arrays.copyOf(createdAts, capacity);
+        updatedAts = Arrays.copyOf(updatedAts, capacity);
+        reminderSentAts = Arrays.copyOf(reminderSentAts, capacity);
+        paymentIds = Arrays.copyOf(paymentIds, capacity);
+        cancellationReasons = Arrays.copyOf(cancellationReasons, capacity);
+    }
+}
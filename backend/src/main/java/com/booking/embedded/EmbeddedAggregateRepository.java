@@ -0,0 +1,102 @@
+package com.booking.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A repository over one {@link AggregateTable}. Finders filter the stored
+ * rows under the read lock and hand out detached copies, in key order, with
+ * their references resolved.
+ */
+abstract class EmbeddedAggregateRepository<K extends Comparable<K>, T> extends EmbeddedRepository<T, K> {
+
+    protected final EmbeddedStore store;
+    private final Aggregate<K, T> aggregate;
+
+    EmbeddedAggregateRepository(EmbeddedStore store, Aggregate<K, T> aggregate) {
+        this.store = store;
+        this.aggregate = aggregate;
+    }
+
+    @Override
+    protected K idOf(T entity) {
+        return aggregate.key(entity);
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        store.saveRow(aggregate, entity);
+        return entity;
+    }
+
+    @Override
+    public Optional<T> findById(K id) {
+        return Optional.ofNullable(store.read(() -> {
+            T row = store.table(aggregate).get(id);
+            return row == null ? null : copy(row);
+        }));
+    }
+
+    @Override
+    public boolean existsById(K id) {
+        return store.read(() -> store.table(aggregate).contains(id));
+    }
+
+    @Override
+    public List<T> findAll() {
+        return where(row -> true);
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> store.table(aggregate).size());
+    }
+
+    @Override
+    public void deleteById(K id) {
+        store.deleteRow(aggregate, id);
+    }
+
+    protected List<T> where(Predicate<T> filter) {
+        return store.read(() -> {
+            List<T> matches = new ArrayList<>();
+            for (T row : store.table(aggregate).rows()) {
+                if (filter.test(row)) {
+                    matches.add(copy(row));
+                }
+            }
+            return matches;
+        });
+    }
+
+    protected Optional<T> first(Predicate<T> filter) {
+        return Optional.ofNullable(store.read(() -> {
+            for (T row : store.table(aggregate).rows()) {
+                if (filter.test(row)) {
+                    return copy(row);
+                }
+            }
+            return null;
+        }));
+    }
+
+    protected boolean any(Predicate<T> filter) {
+        return store.read(() -> store.table(aggregate).rows().stream().anyMatch(filter));
+    }
+
+    protected int updateWhere(Predicate<T> change) {
+        return store.updateRows(aggregate, change);
+    }
+
+    protected int deleteWhere(Predicate<T> filter) {
+        return store.deleteRows(aggregate, filter);
+    }
+
+    private T copy(T row) {
+        T copy = aggregate.copy(row);
+        aggregate.resolve(copy, store);
+        return copy;
+    }
+}
@@ -0,0 +1,54 @@
+package com.booking.embedded;
+
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationRequestStatus;
+import com.booking.model.AllocationWindow;
+import com.booking.repository.AllocationRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedAllocationRequestRepository extends EmbeddedAggregateRepository<Long, AllocationRequest>
+        implements AllocationRequestRepository {
+
+    @Autowired
+    public EmbeddedAllocationRequestRepository(EmbeddedStore store) {
+        super(store, Aggregates.ALLOCATION_REQUEST);
+    }
+
+    @Override
+    public List<AllocationRequest> findByWindowIdAndStatus(Long windowId, AllocationRequestStatus status) {
+        return where(request -> Objects.equals(request.getWindow().getId(), windowId)
+                && request.getStatus() == status);
+    }
+
+    @Override
+    public List<AllocationRequest> findByUserId(String userId) {
+        return where(request -> Objects.equals(request.getUserId(), userId));
+    }
+
+    @Override
+    public boolean existsByWindowIdAndUserIdAndStartTimeAndEndTime(Long windowId, String userId,
+            LocalDateTime startTime, LocalDateTime endTime) {
+        return any(request -> Objects.equals(request.getWindow().getId(), windowId)
+                && Objects.equals(request.getUserId(), userId)
+                && Objects.equals(request.getStartTime(), startTime) && Objects.equals(request.getEndTime(), endTime));
+    }
+
+    @Override
+    public int deleteByWindowFacilityId(Long facilityId) {
+        Set<Long> windowIds = store.read(() -> store.table(Aggregates.ALLOCATION_WINDOW).rows().stream()
+                .filter(window -> Objects.equals(window.getFacility().getId(), facilityId))
+                .map(AllocationWindow::getId)
+                .collect(Collectors.toSet()));
+        return deleteWhere(request -> windowIds.contains(request.getWindow().getId()));
+    }
+}
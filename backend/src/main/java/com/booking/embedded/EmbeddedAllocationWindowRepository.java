@@ -0,0 +1,58 @@
+package com.booking.embedded;
+
+import com.booking.model.AllocationWindow;
+import com.booking.model.AllocationWindowStatus;
+import com.booking.repository.AllocationWindowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedAllocationWindowRepository extends EmbeddedAggregateRepository<Long, AllocationWindow>
+        implements AllocationWindowRepository {
+
+    @Autowired
+    public EmbeddedAllocationWindowRepository(EmbeddedStore store) {
+        super(store, Aggregates.ALLOCATION_WINDOW);
+    }
+
+    @Override
+    public List<AllocationWindow> findByFacilityId(Long facilityId) {
+        return where(window -> Objects.equals(window.getFacility().getId(), facilityId));
+    }
+
+    @Override
+    public List<AllocationWindow> findByStatusAndClosesAtLessThanEqual(AllocationWindowStatus status,
+            LocalDateTime now) {
+        return where(window -> window.getStatus() == status && !window.getClosesAt().isAfter(now));
+    }
+
+    @Override
+    public boolean existsUnallocatedOverlapping(Long facilityId, AllocationWindowStatus allocatedStatus,
+            LocalDateTime startTime, LocalDateTime endTime) {
+        return any(window -> Objects.equals(window.getFacility().getId(), facilityId)
+                && window.getStatus() != allocatedStatus
+                && window.getReleaseStart().isBefore(endTime) && window.getReleaseEnd().isAfter(startTime));
+    }
+
+    @Override
+    public int transitionStatus(Long id, AllocationWindowStatus from, AllocationWindowStatus to) {
+        return updateWhere(window -> {
+            if (!window.getId().equals(id) || window.getStatus() != from) {
+                return false;
+            }
+            window.setStatus(to);
+            return true;
+        });
+    }
+
+    @Override
+    public int deleteByFacilityId(Long facilityId) {
+        return deleteWhere(window -> Objects.equals(window.getFacility().getId(), facilityId));
+    }
+}
@@ -0,0 +1,49 @@
+package com.booking.embedded;
+
+import com.booking.model.BookingRefund;
+import com.booking.model.RefundStatus;
+import com.booking.repository.BookingRefundRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedBookingRefundRepository extends EmbeddedAggregateRepository<Long, BookingRefund>
+        implements BookingRefundRepository {
+
+    @Autowired
+    public EmbeddedBookingRefundRepository(EmbeddedStore store) {
+        super(store, Aggregates.BOOKING_REFUND);
+    }
+
+    @Override
+    public List<BookingRefund> findByStatusAndIdGreaterThanOrderByIdAsc(RefundStatus status, Long afterId,
+            Pageable pageable) {
+        List<BookingRefund> refunds = where(refund -> refund.getStatus() == status && refund.getId() > afterId);
+        return pageable.isPaged() ? refunds.stream().limit(pageable.getPageSize()).toList() : refunds;
+    }
+
+    @Override
+    public long countByClosureIdAndStatus(Long closureId, RefundStatus status) {
+        return store.read(() -> store.table(Aggregates.BOOKING_REFUND).rows().stream()
+                .filter(refund -> Objects.equals(refund.getClosureId(), closureId) && refund.getStatus() == status)
+                .count());
+    }
+
+    @Override
+    public Optional<BookingRefund> findByBookingId(Long bookingId) {
+        return first(refund -> Objects.equals(refund.getBookingId(), bookingId));
+    }
+
+    @Override
+    public List<BookingRefund> findByBookingIdIn(Collection<Long> bookingIds) {
+        return where(refund -> bookingIds.contains(refund.getBookingId()));
+    }
+}
@@ -0,0 +1,321 @@
+package com.booking.embedded;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+import static com.booking.embedded.RowCodec.NULL_TIME;
+import static com.booking.embedded.RowCodec.encodeStatus;
+import static com.booking.embedded.RowCodec.encodeTime;
+
+/**
+ * {@link BookingRepository} over the {@link EmbeddedStore}. Finders by
+ * facility or user walk that entity's id index; the rest scan the primitive
+ * columns and materialise only the matching rows. Query parameters are
+ * encoded once so each row costs a few primitive comparisons.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedBookingRepository extends EmbeddedRepository<Booking, Long> implements BookingRepository {
+
+    private final EmbeddedStore store;
+
+    @Autowired
+    public EmbeddedBookingRepository(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected Long idOf(Booking booking) {
+        return booking.getId();
+    }
+
+    @Override
+    public <S extends Booking> S save(S booking) {
+        store.saveBooking(booking);
+        return booking;
+    }
+
+    @Override
+    public Optional<Booking> findById(Long id) {
+        return Optional.ofNullable(store.read(() -> {
+            int row = store.bookings().rowOf(id);
+            return row < 0 ? null : store.bookings().read(row, store.facilities()::reference);
+        }));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.read(() -> store.bookings().rowOf(id) >= 0);
+    }
+
+    @Override
+    public List<Booking> findAll() {
+        return scan(row -> true);
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> store.bookings().size());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        store.deleteBooking(id);
+    }
+
+    @Override
+    public List<Booking> findByUserId(String userId) {
+        return store.read(() -> {
+            BookingTable table = store.bookings();
+            LongList ids = table.idsForUser(table.findUser(userId));
+            List<Booking> matches = new ArrayList<>();
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                matches.add(table.read(table.rowOf(ids.get(i)), store.facilities()::reference));
+            }
+            return matches;
+        });
+    }
+
+    @Override
+    public List<Booking> findByFacilityId(Long facilityId) {
+        return atFacility(facilityId, 0L, Integer.MAX_VALUE, row -> true);
+    }
+
+    @Override
+    public List<Booking> findByStatus(BookingStatus status) {
+        byte code = encodeStatus(status);
+        BookingTable table = store.bookings();
+        return scan(row -> table.status(row) == code);
+    }
+
+    @Override
+    public List<Booking> findOverlappingBookings(Long facilityId, BookingStatus status, LocalDateTime startTime,
+            LocalDateTime endTime) {
+        byte code = encodeStatus(status);
+        long start = encodeTime(startTime);
+        long end = encodeTime(endTime);
+        BookingTable table = store.bookings();
+        return atFacility(facilityId, 0L, Integer.MAX_VALUE, row -> {
+            long s = table.startTime(row);
+            long e = table.endTime(row);
+            return table.status(row) == code
+                    && ((s <= start && e > start) || (s < end && e >= end) || (s >= start && e <= end));
+        });
+    }
+
+    @Override
+    public List<Booking> findUpcomingBookings(Long facilityId, BookingStatus status, LocalDateTime now) {
+        byte code = encodeStatus(status);
+        long from = encodeTime(now);
+        BookingTable table = store.bookings();
+        return atFacility(facilityId, 0L, Integer.MAX_VALUE,
+                row -> table.status(row) == code && table.startTime(row) >= from);
+    }
+
+    @Override
+    public List<Booking> findByFacilityIdAndStartTimeBetween(Long facilityId, LocalDateTime start,
+            LocalDateTime end) {
+        long from = encodeTime(start);
+        long to = encodeTime(end);
+        BookingTable table = store.bookings();
+        return atFacility(facilityId, 0L, Integer.MAX_VALUE,
+                row -> table.startTime(row) >= from && table.startTime(row) <= to);
+    }
+
+    @Override
+    public List<Booking> findByUserIdAndStatus(String userId, BookingStatus status) {
+        return findByUserId(userId).stream().filter(booking -> booking.getStatus() == status).toList();
+    }
+
+    @Override
+    public List<Booking> findByUserIdOrderByStartTimeDescIdDesc(String userId, Pageable pageable) {
+        return findByUserId(userId).stream()
+                .sorted(Comparator.comparing(Booking::getStartTime).thenComparing(Booking::getId).reversed())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    @Override
+    public List<Booking> findByUserIdAndStatusInAndStartTimeAfterOrderByStartTimeAsc(String userId,
+            Collection<BookingStatus> statuses, LocalDateTime after, Pageable pageable) {
+        return findByUserId(userId).stream()
+                .filter(booking -> statuses.contains(booking.getStatus()) && booking.getStartTime().isAfter(after))
+                .sorted(Comparator.comparing(Booking::getStartTime))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    @Override
+    public List<Booking> findByStatusAndCreatedAtBefore(BookingStatus status, LocalDateTime cutoff) {
+        byte code = encodeStatus(status);
+        long before = encodeTime(cutoff);
+        BookingTable table = store.bookings();
+        return scan(row -> table.status(row) == code && table.createdAt(row) != NULL_TIME
+                && table.createdAt(row) < before);
+    }
+
+    @Override
+    public List<Booking> findByFacilityIdAndStatusInOverlapping(Long facilityId,
+            Collection<BookingStatus> statuses, LocalDateTime startTime, LocalDateTime endTime) {
+        boolean[] wanted = statusMask(statuses);
+        long start = encodeTime(startTime);
+        long end = encodeTime(endTime);
+        BookingTable table = store.bookings();
+        return atFacility(facilityId, 0L, Integer.MAX_VALUE, row -> matches(wanted, table.status(row))
+                && table.startTime(row) < end && table.endTime(row) > start);
+    }
+
+    @Override
+    public List<Booking> findByStatusAndStartTimeBetweenAndReminderSentAtIsNull(BookingStatus status,
+            LocalDateTime from, LocalDateTime to) {
+        byte code = encodeStatus(status);
+        long lower = encodeTime(from);
+        long upper = encodeTime(to);
+        BookingTable table = store.bookings();
+        return scan(row -> table.status(row) == code && table.reminderSentAt(row) == NULL_TIME
+                && table.startTime(row) >= lower && table.startTime(row) <= upper);
+    }
+
+    @Override
+    public int markReminderSent(Long id, LocalDateTime sentAt) {
+        return store.updateBookings(List.of(id), booking -> {
+            if (booking.getReminderSentAt() != null) {
+                return false;
+            }
+            booking.setReminderSentAt(sentAt);
+            return true;
+        });
+    }
+
+    @Override
+    public int releaseReminders(Collection<Long> ids, LocalDateTime sentAt) {
+        return store.updateBookings(ids, booking -> {
+            if (!sentAt.equals(booking.getReminderSentAt())) {
+                return false;
+            }
+            booking.setReminderSentAt(null);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean existsByFacilityIdAndStatusInAndStartTimeAfter(Long facilityId,
+            Collection<BookingStatus> statuses, LocalDateTime after) {
+        boolean[] wanted = statusMask(statuses);
+        long from = encodeTime(after);
+        BookingTable table = store.bookings();
+        return !atFacility(facilityId, 0L, 1,
+                row -> matches(wanted, table.status(row)) && table.startTime(row) > from).isEmpty();
+    }
+
+    @Override
+    public List<Booking> findClosable(Long facilityId, Collection<BookingStatus> statuses, LocalDateTime after,
+            Long afterId, Pageable pageable) {
+        boolean[] wanted = statusMask(statuses);
+        long from = encodeTime(after);
+        BookingTable table = store.bookings();
+        return atFacility(facilityId, afterId, pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE,
+                row -> matches(wanted, table.status(row)) && table.startTime(row) > from);
+    }
+
+    @Override
+    public List<Long> cancelAll(Collection<Long> ids, Collection<String> statuses, String reason,
+            LocalDateTime updatedAt) {
+        List<Long> cancelled = new ArrayList<>();
+        store.updateBookings(ids, booking -> {
+            if (!statuses.contains(booking.getStatus().name())) {
+                return false;
+            }
+            booking.setStatus(BookingStatus.CANCELLED);
+            booking.setCancellationReason(reason);
+            booking.setUpdatedAt(updatedAt);
+            cancelled.add(booking.getId());
+            return true;
+        });
+        return cancelled;
+    }
+
+    @Override
+    public List<Booking> findChangedSince(LocalDateTime since) {
+        long after = encodeTime(since);
+        BookingTable table = store.bookings();
+        return scan(row -> table.createdAt(row) > after || table.updatedAt(row) > after);
+    }
+
+    /** Bookings created in [from, to) with an id above {@code afterId}, in id order; used by exports. */
+    public List<Booking> findCreatedBetween(LocalDateTime from, LocalDateTime to, long afterId) {
+        long start = encodeTime(from);
+        long end = encodeTime(to);
+        BookingTable table = store.bookings();
+        return scan(row -> table.id(row) > afterId && table.createdAt(row) != NULL_TIME
+                && table.createdAt(row) >= start && table.createdAt(row) < end);
+    }
+
+    @Override
+    public Optional<Long> findFacilityIdById(Long id) {
+        return Optional.ofNullable(store.read(() -> {
+            int row = store.bookings().rowOf(id);
+            return row < 0 ? null : store.bookings().facilityId(row);
+        }));
+    }
+
+    private List<Booking> scan(IntPredicate filter) {
+        List<Booking> matches = store.read(() -> {
+            BookingTable table = store.bookings();
+            List<Booking> rows = new ArrayList<>();
+            for (int row = 0; row < table.size(); row++) {
+                if (filter.test(row)) {
+                    rows.add(table.read(row, store.facilities()::reference));
+                }
+            }
+            return rows;
+        });
+        matches.sort(Comparator.comparing(Booking::getId)); // rows are dense, not in id order
+        return matches;
+    }
+
+    private List<Booking> atFacility(Long facilityId, long afterId, int limit, IntPredicate filter) {
+        return store.read(() -> {
+            BookingTable table = store.bookings();
+            LongList ids = table.idsForFacility(facilityId);
+            List<Booking> matches = new ArrayList<>();
+            if (ids == null) {
+                return matches;
+            }
+            for (int i = ids.indexAfter(afterId); i < ids.size() && matches.size() < limit; i++) {
+                int row = table.rowOf(ids.get(i));
+                if (filter.test(row)) {
+                    matches.add(table.read(row, store.facilities()::reference));
+                }
+            }
+            return matches;
+        });
+    }
+
+    private static boolean[] statusMask(Collection<BookingStatus> statuses) {
+        boolean[] mask = new boolean[BookingStatus.values().length];
+        for (BookingStatus status : statuses) {
+            mask[status.ordinal()] = true;
+        }
+        return mask;
+    }
+
+    private static boolean matches(boolean[] mask, byte status) {
+        return status >= 0 && mask[status];
+    }
+}
@@ -0,0 +1,87 @@
+package com.booking.embedded;
+
+import com.booking.dto.BookingExportRequest;
+import com.booking.dto.BookingExportResult;
+import com.booking.export.BookingExportRow;
+import com.booking.export.BookingExportWriter;
+import com.booking.model.Booking;
+import com.booking.model.BookingRefund;
+import com.booking.model.Facility;
+import com.booking.repository.BookingRefundRepository;
+import com.booking.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ExportService} for the embedded store. The matching bookings are
+ * copied out of memory in one scan; refunds are looked up one batch of
+ * bookings at a time. Payments are not joined, so payment status columns
+ * are empty.
+ */
+@Service
+@Profile("embedded")
+public class EmbeddedExportService implements ExportService {
+
+    private final EmbeddedBookingRepository bookingRepository;
+    private final BookingRefundRepository refundRepository;
+    private final int batchRows;
+
+    @Autowired
+    public EmbeddedExportService(EmbeddedBookingRepository bookingRepository,
+            BookingRefundRepository refundRepository,
+            @Value("${booking.export.batch-rows:10000}") int batchRows) {
+        this.bookingRepository = bookingRepository;
+        this.refundRepository = refundRepository;
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    public BookingExportResult exportBookings(BookingExportRequest request, OutputStream out) throws IOException {
+        long afterId = request.getAfterId() == null ? 0L : request.getAfterId();
+        List<Booking> bookings = bookingRepository.findCreatedBetween(request.getFrom(), request.getTo(), afterId);
+        BookingExportWriter writer = request.getFormat().open(out, request.getAfterId() != null, batchRows);
+        for (int from = 0; from < bookings.size(); from += batchRows) {
+            List<Booking> batch = bookings.subList(from, Math.min(from + batchRows, bookings.size()));
+            Map<Long, BookingRefund> refunds = refundRepository.findByBookingIdIn(
+                            batch.stream().map(Booking::getId).toList()).stream()
+                    .collect(Collectors.toMap(BookingRefund::getBookingId, Function.identity()));
+            for (Booking booking : batch) {
+                writer.write(toRow(booking, refunds.get(booking.getId())));
+            }
+        }
+        writer.finish();
+        return new BookingExportResult(bookings.size(),
+                bookings.isEmpty() ? request.getAfterId() : bookings.get(bookings.size() - 1).getId());
+    }
+
+    private static BookingExportRow toRow(Booking booking, BookingRefund refund) {
+        Facility facility = booking.getFacility();
+        return new BookingExportRow(
+                booking.getId(),
+                booking.getCreatedAt(),
+                facility == null ? null : facility.getId(),
+                facility == null ? null : facility.getName(),
+                facility == null ? null : facility.getType(),
+                booking.getUserId(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                booking.getStatus() == null ? null : booking.getStatus().name(),
+                booking.getTotalAmount(),
+                booking.getPaymentId(),
+                null,
+                null,
+                null,
+                refund == null ? null : refund.getStatus().name(),
+                refund == null ? null : refund.getAmount(),
+                refund == null ? null : refund.getRefundedAt());
+    }
+}
@@ -0,0 +1,41 @@
+package com.booking.embedded;
+
+import com.booking.model.ClosureStatus;
+import com.booking.model.FacilityClosure;
+import com.booking.repository.FacilityClosureRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedFacilityClosureRepository extends EmbeddedAggregateRepository<Long, FacilityClosure>
+        implements FacilityClosureRepository {
+
+    @Autowired
+    public EmbeddedFacilityClosureRepository(EmbeddedStore store) {
+        super(store, Aggregates.FACILITY_CLOSURE);
+    }
+
+    @Override
+    public List<FacilityClosure> findByStatusNotOrderByIdAsc(ClosureStatus status) {
+        return where(closure -> closure.getStatus() != status);
+    }
+
+    @Override
+    public Optional<FacilityClosure> findFirstByFacilityIdAndStatusNot(Long facilityId, ClosureStatus status) {
+        return first(closure -> Objects.equals(closure.getFacilityId(), facilityId) && closure.getStatus() != status);
+    }
+
+    @Override
+    public List<FacilityClosure> findByFacilityIdOrderByIdDesc(Long facilityId) {
+        List<FacilityClosure> closures = where(closure -> Objects.equals(closure.getFacilityId(), facilityId));
+        closures.sort(Comparator.comparing(FacilityClosure::getId).reversed());
+        return closures;
+    }
+}
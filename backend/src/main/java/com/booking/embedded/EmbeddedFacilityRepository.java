@@ -0,0 +1,108 @@
+package com.booking.embedded;
+
+import com.booking.model.Facility;
+import com.booking.repository.FacilityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedFacilityRepository extends EmbeddedRepository<Facility, Long> implements FacilityRepository {
+
+    private final EmbeddedStore store;
+
+    @Autowired
+    public EmbeddedFacilityRepository(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected Long idOf(Facility facility) {
+        return facility.getId();
+    }
+
+    @Override
+    public <S extends Facility> S save(S facility) {
+        store.saveFacility(facility);
+        return facility;
+    }
+
+    @Override
+    public Optional<Facility> findById(Long id) {
+        return Optional.ofNullable(store.read(() -> store.facilities().get(id)));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.read(() -> store.facilities().contains(id));
+    }
+
+    @Override
+    public List<Facility> findAll() {
+        return where(facility -> true);
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> store.facilities().size());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        store.deleteFacility(id);
+    }
+
+    @Override
+    public List<Facility> findByType(String type) {
+        return where(facility -> Objects.equals(facility.getType(), type));
+    }
+
+    @Override
+    public List<Facility> findByIsActiveTrue() {
+        return where(facility -> Boolean.TRUE.equals(facility.getIsActive()));
+    }
+
+    @Override
+    public List<Facility> findByLocationContainingIgnoreCase(String location) {
+        String needle = location.toLowerCase(Locale.ROOT);
+        return where(facility -> facility.getLocation() != null
+                && facility.getLocation().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Override
+    public List<Facility> findByIsActive(Boolean isActive) {
+        return where(facility -> Objects.equals(facility.getIsActive(), isActive));
+    }
+
+    @Override
+    public List<Facility> findByTypeAndIsActive(String type, Boolean isActive) {
+        return where(facility -> Objects.equals(facility.getType(), type)
+                && Objects.equals(facility.getIsActive(), isActive));
+    }
+
+    @Override
+    public boolean existsByNameAndLocation(String name, String location) {
+        return !where(facility -> Objects.equals(facility.getName(), name)
+                && Objects.equals(facility.getLocation(), location)).isEmpty();
+    }
+
+    private List<Facility> where(Predicate<Facility> filter) {
+        return store.read(() -> {
+            List<Facility> matches = new ArrayList<>();
+            for (Facility row : store.facilities().rows()) {
+                if (filter.test(row)) {
+                    matches.add(row);
+                }
+            }
+            return store.facilities().copies(matches);
+        });
+    }
+}
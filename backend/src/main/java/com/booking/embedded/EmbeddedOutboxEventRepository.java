@@ -0,0 +1,77 @@
+package com.booking.embedded;
+
+import com.booking.model.OutboxEvent;
+import com.booking.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link OutboxEventRepository} over the {@link EmbeddedStore}. The
+ * partition and relay locks are {@link TransactionLocks} in place of
+ * PostgreSQL advisory locks, which is enough on a single node.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedOutboxEventRepository extends EmbeddedAggregateRepository<Long, OutboxEvent>
+        implements OutboxEventRepository {
+
+    private final TransactionLocks locks;
+
+    @Autowired
+    public EmbeddedOutboxEventRepository(EmbeddedStore store, TransactionLocks locks) {
+        super(store, Aggregates.OUTBOX_EVENT);
+        this.locks = locks;
+    }
+
+    @Override
+    public List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable) {
+        List<OutboxEvent> pending = where(event -> event.getPublishedAt() == null);
+        return pageable.isPaged() ? pending.stream().limit(pageable.getPageSize()).toList() : pending;
+    }
+
+    @Override
+    public Optional<OutboxEvent> findFirstByPublishedAtIsNullOrderByIdAsc() {
+        return first(event -> event.getPublishedAt() == null);
+    }
+
+    @Override
+    public long countByPublishedAtIsNull() {
+        return store.read(() -> store.table(Aggregates.OUTBOX_EVENT).rows().stream()
+                .filter(event -> event.getPublishedAt() == null)
+                .count());
+    }
+
+    @Override
+    public int markPublished(Collection<Long> ids, LocalDateTime publishedAt) {
+        return updateWhere(event -> {
+            if (!ids.contains(event.getId())) {
+                return false;
+            }
+            event.setPublishedAt(publishedAt);
+            return true;
+        });
+    }
+
+    @Override
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return deleteWhere(event -> event.getPublishedAt() != null && event.getPublishedAt().isBefore(cutoff));
+    }
+
+    @Override
+    public long lockPartition(long partitionKey) {
+        locks.lock(partitionKey);
+        return 1;
+    }
+
+    @Override
+    public boolean tryRelayLock(long lockKey) {
+        return locks.tryLock(lockKey);
+    }
+}
@@ -0,0 +1,26 @@
+package com.booking.embedded;
+
+import com.booking.model.Payment;
+import com.booking.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedPaymentRepository extends EmbeddedAggregateRepository<Long, Payment>
+        implements PaymentRepository {
+
+    @Autowired
+    public EmbeddedPaymentRepository(EmbeddedStore store) {
+        super(store, Aggregates.PAYMENT);
+    }
+
+    @Override
+    public List<Payment> findByTransactionIdIn(Collection<String> transactionIds) {
+        return where(payment -> transactionIds.contains(payment.getTransactionId()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.booking.embedded;
+
+import com.booking.model.BookingStatus;
+import com.booking.projection.FieldProjection;
+import com.booking.service.ProjectionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link ProjectionService} for the embedded store. Rows are already in
+ * memory, so projections are taken from the repositories' results instead
+ * of narrowed queries.
+ */
+@Service
+@Profile("embedded")
+public class EmbeddedProjectionService implements ProjectionService {
+
+    private final EmbeddedFacilityRepository facilityRepository;
+    private final EmbeddedBookingRepository bookingRepository;
+
+    @Autowired
+    public EmbeddedProjectionService(EmbeddedFacilityRepository facilityRepository,
+            EmbeddedBookingRepository bookingRepository) {
+        this.facilityRepository = facilityRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllFacilities(FieldProjection projection) {
+        return rows(facilityRepository.findAll(), projection);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getFacilityById(Long id, FieldProjection projection) {
+        return facilityRepository.findById(id).map(projection::toRow);
+    }
+
+    @Override
+    public List<Map<String, Object>> getFacilitiesByType(String type, FieldProjection projection) {
+        return rows(facilityRepository.findByType(type), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> getActiveFacilities(FieldProjection projection) {
+        return rows(facilityRepository.findByIsActiveTrue(), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFacilitiesByLocation(String location, FieldProjection projection) {
+        return rows(facilityRepository.findByLocationContainingIgnoreCase(location), projection);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getBookingById(Long id, FieldProjection projection) {
+        return bookingRepository.findById(id).map(projection::toRow);
+    }
+
+    @Override
+    public List<Map<String, Object>> getBookingsByUserId(String userId, FieldProjection projection) {
+        return rows(bookingRepository.findByUserId(userId), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> getBookingsByFacilityId(Long facilityId, FieldProjection projection) {
+        return rows(bookingRepository.findByFacilityId(facilityId), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> getBookingsByStatus(BookingStatus status, FieldProjection projection) {
+        return rows(bookingRepository.findByStatus(status), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> getUpcomingBookings(Long facilityId, FieldProjection projection) {
+        return rows(bookingRepository.findUpcomingBookings(facilityId, BookingStatus.CONFIRMED,
+                LocalDateTime.now()), projection);
+    }
+
+    private static List<Map<String, Object>> rows(List<?> entities, FieldProjection projection) {
+        return entities.stream().map(projection::toRow).toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.booking.embedded;
+
+import com.booking.model.ReconciliationWatermark;
+import com.booking.repository.ReconciliationWatermarkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedReconciliationWatermarkRepository
+        extends EmbeddedAggregateRepository<String, ReconciliationWatermark>
+        implements ReconciliationWatermarkRepository {
+
+    @Autowired
+    public EmbeddedReconciliationWatermarkRepository(EmbeddedStore store) {
+        super(store, Aggregates.RECONCILIATION_WATERMARK);
+    }
+}
@@ -0,0 +1,184 @@
+package com.booking.embedded;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The generic part of {@link JpaRepository} over the {@link EmbeddedStore},
+ * so the embedded repositories implement only their entity's primitives and
+ * finder methods. Results are in id order. Sorting and query-by-example are
+ * not supported; nothing in the services uses them.
+ */
+abstract class EmbeddedRepository<T, ID> implements JpaRepository<T, ID> {
+
+    protected abstract ID idOf(T entity);
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<T> found = new ArrayList<>();
+        for (ID id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        for (ID id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAll(findAll());
+    }
+
+    @Override
+    public void flush() {
+        // every write is already in the log
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<ID> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(ID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getById(ID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public T getReferenceById(ID id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("No entity with id " + id));
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        requireUnsorted(sort);
+        return findAll();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        requireUnsorted(pageable.getSort());
+        List<T> all = findAll();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example,
+            Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    private static void requireUnsorted(Sort sort) {
+        if (sort.isSorted()) {
+            throw new UnsupportedOperationException("Sorting is not supported by the embedded store");
+        }
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the embedded store");
+    }
+}
@@ -0,0 +1,31 @@
+package com.booking.embedded;
+
+import com.booking.model.SlotTemplate;
+import com.booking.repository.SlotTemplateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedSlotTemplateRepository extends EmbeddedAggregateRepository<Long, SlotTemplate>
+        implements SlotTemplateRepository {
+
+    @Autowired
+    public EmbeddedSlotTemplateRepository(EmbeddedStore store) {
+        super(store, Aggregates.SLOT_TEMPLATE);
+    }
+
+    @Override
+    public Optional<SlotTemplate> findByFacilityId(Long facilityId) {
+        return first(template -> Objects.equals(template.getFacility().getId(), facilityId));
+    }
+
+    @Override
+    public void deleteByFacilityId(Long facilityId) {
+        deleteWhere(template -> Objects.equals(template.getFacility().getId(), facilityId));
+    }
+}
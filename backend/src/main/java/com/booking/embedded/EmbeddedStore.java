@@ -0,0 +1,495 @@
+package com.booking.embedded;
+
+import com.booking.model.Booking;
+import com.booking.model.Facility;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Storage for deployments without a database server. Facilities and
+ * bookings are kept in column tables; the remaining {@link Aggregates} are
+ * kept as rows in an {@link AggregateTable} each. State lives in memory; every change is appended to the
+ * {@link WriteAheadLog} before it is applied, and a snapshot of the whole
+ * state is written once enough records have accumulated. Startup loads the
+ * latest snapshot and replays the log segments written since.
+ * <p>
+ * A snapshot first rotates the log to a new segment, then writes the state
+ * under a read lock and atomically renames it into place; only then are
+ * older segments deleted, so a crash at any point leaves a snapshot plus
+ * every segment needed to reach the latest state.
+ * <p>
+ * Changes are durable as soon as the repository call returns; they are not
+ * rolled back with a surrounding transaction (see
+ * {@link EmbeddedTransactionManager}).
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedStore.class);
+
+    private static final int SNAPSHOT_V1_MAGIC = 0x424b5331; // "BKS1": facilities and bookings only
+    private static final int SNAPSHOT_MAGIC = 0x424b5332; // "BKS2"
+    private static final String SNAPSHOT = "snapshot.bin";
+
+    static final byte PUT_FACILITY = 1;
+    static final byte DELETE_FACILITY = 2;
+    static final byte PUT_BOOKING = 3;
+    static final byte DELETE_BOOKING = 4;
+    static final byte PUT_ROW = 5;
+    static final byte DELETE_ROW = 6;
+
+    private final Path directory;
+    private final int snapshotRecords;
+    private final WriteAheadLog wal;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FacilityTable facilities = new FacilityTable();
+    private final BookingTable bookings = new BookingTable();
+    private final Map<Byte, AggregateTable<?, ?>> tables = new LinkedHashMap<>();
+
+    private long nextFacilityId = 1;
+    private long nextBookingId = 1;
+    private volatile int recordsSinceSnapshot;
+
+    @Autowired
+    public EmbeddedStore(@Value("${booking.embedded.dir:data/embedded}") String directory,
+            @Value("${booking.embedded.wal.sync:true}") boolean sync,
+            @Value("${booking.embedded.snapshot.records:10000}") int snapshotRecords) {
+        this.directory = Paths.get(directory);
+        this.snapshotRecords = snapshotRecords;
+        this.wal = new WriteAheadLog(this.directory, sync);
+        for (Aggregate<?, ?> aggregate : Aggregates.ALL) {
+            tables.put(aggregate.kind, new AggregateTable<>(aggregate));
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            facilities.clear();
+            bookings.clear();
+            tables.values().forEach(AggregateTable::clear);
+            long generation = loadSnapshot();
+            int replayed = 0;
+            for (Path segment : WriteAheadLog.segments(directory)) {
+                long segmentGeneration = WriteAheadLog.generationOf(segment);
+                if (segmentGeneration >= generation) {
+                    replayed += WriteAheadLog.replay(segment, this::apply);
+                    generation = segmentGeneration;
+                }
+            }
+            wal.open(generation);
+            recordsSinceSnapshot = replayed;
+            log.info("Embedded store opened at {}: {} facilities, {} bookings, {} other rows, {} log records replayed",
+                    directory, facilities.size(), bookings.size(),
+                    tables.values().stream().mapToInt(AggregateTable::size).sum(), replayed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (recordsSinceSnapshot > 0) {
+            snapshot();
+        }
+        lock.writeLock().lock();
+        try {
+            wal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.embedded.snapshot.check.ms:60000}")
+    public void snapshotIfDue() throws IOException {
+        if (recordsSinceSnapshot >= snapshotRecords) {
+            snapshot();
+        }
+    }
+
+    /** Writes a snapshot of the current state and drops the log segments it covers. */
+    public void snapshot() throws IOException {
+        long generation;
+        lock.writeLock().lock();
+        try {
+            generation = wal.generation() + 1;
+            wal.rotate(generation);
+            recordsSinceSnapshot = 0;
+            lock.readLock().lock(); // downgrade: readers proceed while the snapshot is written
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            writeSnapshot(generation);
+        } finally {
+            lock.readLock().unlock();
+        }
+        wal.deleteBefore(generation);
+    }
+
+    <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    FacilityTable facilities() {
+        return facilities;
+    }
+
+    BookingTable bookings() {
+        return bookings;
+    }
+
+    @SuppressWarnings("unchecked")
+    <K extends Comparable<K>, T> AggregateTable<K, T> table(Aggregate<K, T> aggregate) {
+        return (AggregateTable<K, T>) tables.get(aggregate.kind);
+    }
+
+    Facility saveFacility(Facility facility) {
+        lock.writeLock().lock();
+        try {
+            if (facility.getId() == null) {
+                facility.setId(nextFacilityId);
+            }
+            commit(PUT_FACILITY, out -> RowCodec.writeFacility(out, facility));
+            return facility;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Deletes the facility together with its bookings, as the JPA cascade does. */
+    boolean deleteFacility(long id) {
+        lock.writeLock().lock();
+        try {
+            if (!facilities.contains(id)) {
+                return false;
+            }
+            commit(DELETE_FACILITY, out -> out.writeLong(id));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Booking saveBooking(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            if (booking.getId() == null || bookings.rowOf(booking.getId()) < 0) {
+                if (booking.getId() == null) {
+                    booking.setId(nextBookingId);
+                }
+                if (booking.getCreatedAt() == null) {
+                    booking.setCreatedAt(LocalDateTime.now());
+                }
+            } else {
+                booking.setUpdatedAt(LocalDateTime.now());
+            }
+            commit(PUT_BOOKING, out -> RowCodec.writeBooking(out, booking));
+            return booking;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean deleteBooking(long id) {
+        lock.writeLock().lock();
+        try {
+            if (bookings.rowOf(id) < 0) {
+                return false;
+            }
+            commit(DELETE_BOOKING, out -> out.writeLong(id));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies {@code change} to each listed booking under one lock and logs
+     * the rows it reports as changed. Returns how many changed.
+     */
+    int updateBookings(Iterable<Long> ids, Predicate<Booking> change) {
+        lock.writeLock().lock();
+        try {
+            int changed = 0;
+            for (Long id : ids) {
+                int row = bookings.rowOf(id);
+                if (row < 0) {
+                    continue;
+                }
+                Booking booking = bookings.read(row, facilities::reference);
+                if (change.test(booking)) {
+                    commit(PUT_BOOKING, out -> RowCodec.writeBooking(out, booking));
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    <K extends Comparable<K>, T> T saveRow(Aggregate<K, T> aggregate, T row) {
+        lock.writeLock().lock();
+        try {
+            AggregateTable<K, T> table = table(aggregate);
+            K key = aggregate.key(row);
+            if (key == null) {
+                aggregate.assignKey(row, table.nextId());
+                aggregate.onInsert(row, LocalDateTime.now());
+            } else if (table.contains(key)) {
+                aggregate.onUpdate(row, LocalDateTime.now());
+            } else {
+                aggregate.onInsert(row, LocalDateTime.now());
+            }
+            commit(PUT_ROW, out -> {
+                out.writeByte(aggregate.kind);
+                aggregate.write(out, row);
+            });
+            return row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    <K extends Comparable<K>, T> boolean deleteRow(Aggregate<K, T> aggregate, K key) {
+        lock.writeLock().lock();
+        try {
+            if (!table(aggregate).contains(key)) {
+                return false;
+            }
+            commit(DELETE_ROW, out -> {
+                out.writeByte(aggregate.kind);
+                aggregate.writeKey(out, key);
+            });
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies {@code change} to a copy of every row of {@code aggregate} under
+     * one lock and logs the rows it reports as changed, like a bulk JPQL
+     * update: no update callbacks run. Returns how many changed.
+     */
+    <K extends Comparable<K>, T> int updateRows(Aggregate<K, T> aggregate, Predicate<T> change) {
+        lock.writeLock().lock();
+        try {
+            int changed = 0;
+            for (T stored : List.copyOf(table(aggregate).rows())) {
+                T row = aggregate.copy(stored);
+                if (change.test(row)) {
+                    commit(PUT_ROW, out -> {
+                        out.writeByte(aggregate.kind);
+                        aggregate.write(out, row);
+                    });
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Deletes every row of {@code aggregate} that {@code filter} accepts; returns how many. */
+    <K extends Comparable<K>, T> int deleteRows(Aggregate<K, T> aggregate, Predicate<T> filter) {
+        lock.writeLock().lock();
+        try {
+            List<K> keys = new ArrayList<>();
+            for (T row : table(aggregate).rows()) {
+                if (filter.test(row)) {
+                    keys.add(aggregate.key(row));
+                }
+            }
+            keys.forEach(key -> deleteRow(aggregate, key));
+            return keys.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void commit(byte op, RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(op);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] record = bytes.toByteArray();
+        try {
+            wal.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to the embedded store log", e);
+        }
+        apply(record);
+        recordsSinceSnapshot++;
+    }
+
+    private void apply(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            switch (in.readByte()) {
+                case PUT_FACILITY -> {
+                    Facility facility = RowCodec.readFacility(in);
+                    facilities.put(facility);
+                    nextFacilityId = Math.max(nextFacilityId, facility.getId() + 1);
+                }
+                case DELETE_FACILITY -> {
+                    long id = in.readLong();
+                    facilities.remove(id);
+                    bookings.removeFacility(id);
+                }
+                case PUT_BOOKING -> {
+                    Booking booking = RowCodec.readBooking(in);
+                    bookings.put(booking);
+                    nextBookingId = Math.max(nextBookingId, booking.getId() + 1);
+                }
+                case DELETE_BOOKING -> bookings.remove(in.readLong());
+                case PUT_ROW -> applyPut(tableOf(in.readByte()), in);
+                case DELETE_ROW -> applyDelete(tableOf(in.readByte()), in);
+                default -> throw new IllegalStateException("Unknown embedded store record type");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AggregateTable<?, ?> tableOf(byte kind) {
+        AggregateTable<?, ?> table = tables.get(kind);
+        if (table == null) {
+            throw new IllegalStateException("Unknown embedded store aggregate " + kind);
+        }
+        return table;
+    }
+
+    private static <K extends Comparable<K>, T> void applyPut(AggregateTable<K, T> table, DataInput in)
+            throws IOException {
+        table.put(table.aggregate.read(in));
+    }
+
+    private static <K extends Comparable<K>, T> void applyDelete(AggregateTable<K, T> table, DataInput in)
+            throws IOException {
+        table.remove(table.aggregate.readKey(in));
+    }
+
+    private static <K extends Comparable<K>, T> void writeRows(DataOutput out, AggregateTable<K, T> table)
+            throws IOException {
+        out.writeByte(table.aggregate.kind);
+        out.writeLong(table.nextId());
+        out.writeInt(table.size());
+        for (T row : table.rows()) {
+            table.aggregate.write(out, row);
+        }
+    }
+
+    private long loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            if (magic != SNAPSHOT_MAGIC && magic != SNAPSHOT_V1_MAGIC) {
+                throw new IOException("Not an embedded store snapshot: " + file);
+            }
+            long generation = in.readLong();
+            nextFacilityId = in.readLong();
+            nextBookingId = in.readLong();
+            int facilityCount = in.readInt();
+            for (int i = 0; i < facilityCount; i++) {
+                facilities.put(RowCodec.readFacility(in));
+            }
+            int bookingCount = in.readInt();
+            for (int i = 0; i < bookingCount; i++) {
+                bookings.put(RowCodec.readBooking(in));
+            }
+            for (int t = magic == SNAPSHOT_MAGIC ? in.readInt() : 0; t > 0; t--) {
+                AggregateTable<?, ?> table = tableOf(in.readByte());
+                long nextId = in.readLong();
+                for (int i = in.readInt(); i > 0; i--) {
+                    applyPut(table, in);
+                }
+                table.setNextId(nextId);
+            }
+            return generation;
+        }
+    }
+
+    private void writeSnapshot(long generation) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(generation);
+            out.writeLong(nextFacilityId);
+            out.writeLong(nextBookingId);
+            out.writeInt(facilities.size());
+            for (Facility facility : facilities.rows()) {
+                RowCodec.writeFacility(out, facility);
+            }
+            out.writeInt(bookings.size());
+            for (int row = 0; row < bookings.size(); row++) {
+                RowCodec.writeBooking(out, bookings.read(row, facilities::reference));
+            }
+            out.writeInt(tables.size());
+            for (AggregateTable<?, ?> table : tables.values()) {
+                writeRows(out, table);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
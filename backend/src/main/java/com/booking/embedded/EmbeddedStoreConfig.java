@@ -0,0 +1,23 @@
+package com.booking.embedded;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Under the {@code embedded} profile every repository is served by the
+ * {@link EmbeddedStore}, so no datasource is needed;
+ * application-embedded.properties switches off the JPA and DataSource
+ * auto-configuration. Transactions are managed by the
+ * {@link EmbeddedTransactionManager}.
+ */
+@Configuration
+@Profile("embedded")
+public class EmbeddedStoreConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new EmbeddedTransactionManager();
+    }
+}
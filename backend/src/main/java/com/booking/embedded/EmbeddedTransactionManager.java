@@ -0,0 +1,88 @@
+package com.booking.embedded;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager for the {@code embedded} profile, where there is no
+ * database to begin or commit against. It keeps Spring's transaction
+ * bookkeeping: {@code MANDATORY} propagation finds the caller's transaction,
+ * after-commit listeners run once the outermost transaction ends, and
+ * {@link TransactionLocks} are released then. Writes to the
+ * {@link EmbeddedStore} are not undone on rollback.
+ */
+class EmbeddedTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Transaction((State) TransactionSynchronizationManager.getResource(this));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((Transaction) transaction).state != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        State state = new State();
+        TransactionSynchronizationManager.bindResource(this, state);
+        ((Transaction) transaction).state = state;
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((Transaction) transaction).state = null;
+        return TransactionSynchronizationManager.unbindResource(this);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(this, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        // every write is already in the log
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        // nothing to undo; see the class comment
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((Transaction) status.getTransaction()).state.rollbackOnly = true;
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResource(this);
+    }
+
+    /** Shared by every participant, so a participant's rollback-only mark fails the outer commit. */
+    private static final class State {
+        boolean rollbackOnly;
+    }
+
+    private static final class Transaction implements SmartTransactionObject {
+        State state;
+
+        Transaction(State state) {
+            this.state = state;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return state != null && state.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
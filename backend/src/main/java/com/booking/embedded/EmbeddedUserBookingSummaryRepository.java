@@ -0,0 +1,27 @@
+package com.booking.embedded;
+
+import com.booking.model.UserBookingSummary;
+import com.booking.repository.UserBookingSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedUserBookingSummaryRepository extends EmbeddedAggregateRepository<String, UserBookingSummary>
+        implements UserBookingSummaryRepository {
+
+    private final TransactionLocks locks;
+
+    @Autowired
+    public EmbeddedUserBookingSummaryRepository(EmbeddedStore store, TransactionLocks locks) {
+        super(store, Aggregates.USER_BOOKING_SUMMARY);
+        this.locks = locks;
+    }
+
+    @Override
+    public long lockUser(long lockKey) {
+        locks.lock(lockKey);
+        return 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.embedded;
+
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.repository.WaitlistEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedWaitlistEntryRepository extends EmbeddedAggregateRepository<Long, WaitlistEntry>
+        implements WaitlistEntryRepository {
+
+    @Autowired
+    public EmbeddedWaitlistEntryRepository(EmbeddedStore store) {
+        super(store, Aggregates.WAITLIST_ENTRY);
+    }
+
+    @Override
+    public List<WaitlistEntry> findByUserId(String userId) {
+        return where(entry -> Objects.equals(entry.getUserId(), userId));
+    }
+
+    @Override
+    public List<WaitlistEntry> findByStatus(WaitlistStatus status) {
+        return where(entry -> entry.getStatus() == status);
+    }
+
+    @Override
+    public List<WaitlistEntry> findOverlapping(Long facilityId, WaitlistStatus status, LocalDateTime startTime,
+            LocalDateTime endTime) {
+        return where(entry -> Objects.equals(entry.getFacility().getId(), facilityId) && entry.getStatus() == status
+                && entry.getStartTime().isBefore(endTime) && entry.getEndTime().isAfter(startTime));
+    }
+
+    @Override
+    public int deleteByFacilityId(Long facilityId) {
+        return deleteWhere(entry -> Objects.equals(entry.getFacility().getId(), facilityId));
+    }
+}
@@ -0,0 +1,84 @@
+package com.booking.embedded;
+
+import com.booking.model.Facility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Facilities in id order. There are few of them next to bookings, so rows
+ * are kept as detached copies rather than columns. Not thread-safe;
+ * {@link EmbeddedStore} guards access.
+ */
+final class FacilityTable {
+
+    private final TreeMap<Long, Facility> rows = new TreeMap<>();
+
+    int size() {
+        return rows.size();
+    }
+
+    boolean contains(long id) {
+        return rows.containsKey(id);
+    }
+
+    /** A copy of the facility, or {@code null} when absent. */
+    Facility get(long id) {
+        Facility row = rows.get(id);
+        return row == null ? null : copy(row);
+    }
+
+    /** The facility as referenced from a booking; an id-only stub once it is gone. */
+    Facility reference(long id) {
+        Facility facility = get(id);
+        if (facility == null) {
+            facility = new Facility();
+            facility.setId(id);
+        }
+        return facility;
+    }
+
+    Collection<Facility> rows() {
+        return rows.values();
+    }
+
+    List<Facility> copies(Collection<Facility> matches) {
+        List<Facility> copies = new ArrayList<>(matches.size());
+        for (Facility row : matches) {
+            copies.add(copy(row));
+        }
+        return copies;
+    }
+
+    void put(Facility facility) {
+        rows.put(facility.getId(), copy(facility));
+    }
+
+    boolean remove(long id) {
+        return rows.remove(id) != null;
+    }
+
+    void clear() {
+        rows.clear();
+    }
+
+    static Facility copy(Facility source) {
+        Facility copy = new Facility();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setType(source.getType());
+        copy.setDescription(source.getDescription());
+        copy.setLocation(source.getLocation());
+        copy.setLatitude(source.getLatitude());
+        copy.setLongitude(source.getLongitude());
+        copy.setHourlyRate(source.getHourlyRate());
+        copy.setCapacity(source.getCapacity());
+        copy.setIsActive(source.getIsActive());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setContactNumber(source.getContactNumber());
+        copy.setEmail(source.getEmail());
+        return copy;
+    }
+}
@@ -0,0 +1,49 @@
+package com.booking.embedded;
+
+import java.util.Arrays;
+
+/**
+ * Growable ascending list of {@code long} ids. Ids are allocated in
+ * increasing order, so inserts are almost always appends. Not thread-safe.
+ */
+final class LongList {
+
+    private long[] values = new long[8];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    void add(long value) {
+        int at = size == 0 || values[size - 1] < value ? size : Arrays.binarySearch(values, 0, size, value);
+        if (at >= 0 && at < size) {
+            return; // already present
+        }
+        int index = at >= 0 ? at : -at - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    void remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /** Index of the first value greater than {@code value}. */
+    int indexAfter(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -0,0 +1,247 @@
+package com.booking.embedded;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layout of facility and booking rows, shared by log records and
+ * snapshots. Times are stored as UTC epoch microseconds with
+ * {@link #NULL_TIME} for absent values; a booking stores only its
+ * facility's id. The field helpers are also used by {@link Aggregates}.
+ */
+final class RowCodec {
+
+    static final long NULL_TIME = Long.MIN_VALUE;
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private RowCodec() {
+    }
+
+    static long encodeTime(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime decodeTime(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    static byte encodeStatus(BookingStatus status) {
+        return status == null ? -1 : (byte) status.ordinal();
+    }
+
+    static BookingStatus decodeStatus(byte ordinal) {
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    static void writeFacility(DataOutput out, Facility facility) throws IOException {
+        out.writeLong(facility.getId());
+        writeString(out, facility.getName());
+        writeString(out, facility.getType());
+        writeString(out, facility.getDescription());
+        writeString(out, facility.getLocation());
+        writeDecimal(out, facility.getHourlyRate());
+        out.writeInt(facility.getCapacity() == null ? -1 : facility.getCapacity());
+        out.writeByte(facility.getIsActive() == null ? -1 : facility.getIsActive() ? 1 : 0);
+        writeString(out, facility.getImageUrl());
+        writeString(out, facility.getContactNumber());
+        writeString(out, facility.getEmail());
+        writeDouble(out, facility.getLatitude());
+        writeDouble(out, facility.getLongitude());
+    }
+
+    static Facility readFacility(DataInput in) throws IOException {
+        Facility facility = new Facility();
+        facility.setId(in.readLong());
+        facility.setName(readString(in));
+        facility.setType(readString(in));
+        facility.setDescription(readString(in));
+        facility.setLocation(readString(in));
+        facility.setHourlyRate(readDecimal(in));
+        int capacity = in.readInt();
+        facility.setCapacity(capacity < 0 ? null : capacity);
+        byte active = in.readByte();
+        facility.setIsActive(active < 0 ? null : active == 1);
+        facility.setImageUrl(readString(in));
+        facility.setContactNumber(readString(in));
+        facility.setEmail(readString(in));
+        facility.setLatitude(readDouble(in));
+        facility.setLongitude(readDouble(in));
+        return facility;
+    }
+
+    static void writeBooking(DataOutput out, Booking booking) throws IOException {
+        out.writeLong(booking.getId());
+        out.writeLong(booking.getFacility() == null || booking.getFacility().getId() == null
+                ? 0L : booking.getFacility().getId());
+        writeString(out, booking.getUserId());
+        out.writeLong(encodeTime(booking.getStartTime()));
+        out.writeLong(encodeTime(booking.getEndTime()));
+        writeDecimal(out, booking.getTotalAmount());
+        out.writeByte(encodeStatus(booking.getStatus()));
+        out.writeLong(encodeTime(booking.getCreatedAt()));
+        out.writeLong(encodeTime(booking.getUpdatedAt()));
+        writeString(out, booking.getPaymentId());
+        writeString(out, booking.getCancellationReason());
+        out.writeLong(encodeTime(booking.getReminderSentAt()));
+    }
+
+    /** Reads a booking whose facility carries only its id. */
+    static Booking readBooking(DataInput in) throws IOException {
+        Booking booking = new Booking();
+        booking.setId(in.readLong());
+        Facility facility = new Facility();
+        facility.setId(in.readLong());
+        booking.setFacility(facility);
+        booking.setUserId(readString(in));
+        booking.setStartTime(decodeTime(in.readLong()));
+        booking.setEndTime(decodeTime(in.readLong()));
+        booking.setTotalAmount(readDecimal(in));
+        booking.setStatus(decodeStatus(in.readByte()));
+        booking.setCreatedAt(decodeTime(in.readLong()));
+        booking.setUpdatedAt(decodeTime(in.readLong()));
+        booking.setPaymentId(readString(in));
+        booking.setCancellationReason(readString(in));
+        booking.setReminderSentAt(decodeTime(in.readLong()));
+        return booking;
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeDouble(DataOutput out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    static Double readDouble(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeByte(-1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+
+    static BigDecimal readDecimal(DataInput in) throws IOException {
+        int length = in.readByte();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), in.readInt());
+    }
+
+    /** Like {@link #writeString} but without {@code writeUTF}'s 64 KB limit, for free-form text. */
+    static void writeText(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readText(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    static void writeBoolean(DataOutput out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    static Boolean readBoolean(DataInput in) throws IOException {
+        byte value = in.readByte();
+        return value < 0 ? null : value == 1;
+    }
+
+    static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        byte ordinal = in.readByte();
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    static void writeTimeOfDay(DataOutput out, LocalTime value) throws IOException {
+        out.writeLong(value == null ? -1 : value.toNanoOfDay());
+    }
+
+    static LocalTime readTimeOfDay(DataInput in) throws IOException {
+        long nanos = in.readLong();
+        return nanos < 0 ? null : LocalTime.ofNanoOfDay(nanos);
+    }
+
+    static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeLong(encodeTime(value));
+    }
+
+    static LocalDateTime readDateTime(DataInput in) throws IOException {
+        return decodeTime(in.readLong());
+    }
+}
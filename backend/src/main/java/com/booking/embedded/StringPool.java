@@ -0,0 +1,45 @@
+package com.booking.embedded;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns repeated strings such as user ids so each booking row stores a
+ * four-byte reference. Entries are never released; the set of distinct
+ * users is small next to the number of bookings. Not thread-safe.
+ */
+final class StringPool {
+
+    private final Map<String, Integer> refs = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /** Returns the reference for {@code value}, adding it if needed; -1 for null. */
+    int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer ref = refs.get(value);
+        if (ref == null) {
+            ref = values.size();
+            values.add(value);
+            refs.put(value, ref);
+        }
+        return ref;
+    }
+
+    /** Returns the reference for {@code value} without adding it; -1 when unknown. */
+    int find(String value) {
+        Integer ref = value == null ? null : refs.get(value);
+        return ref == null ? -1 : ref;
+    }
+
+    String get(int ref) {
+        return ref < 0 ? null : values.get(ref);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,76 @@
+package com.booking.embedded;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process stand-in for PostgreSQL's transaction-level advisory locks,
+ * which the outbox and summary repositories take. A lock is held until the
+ * surrounding transaction completes, or released at once outside one, as
+ * an autocommit statement would. Like advisory locks, a transaction may
+ * take the same key more than once. Only keys currently held or awaited
+ * have an entry, so the table stays small.
+ */
+@Component
+@Profile("embedded")
+class TransactionLocks {
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    void lock(long key) {
+        Entry entry = acquire(key);
+        entry.lock.lock();
+        releaseAtEnd(key, entry);
+    }
+
+    boolean tryLock(long key) {
+        Entry entry = acquire(key);
+        if (!entry.lock.tryLock()) {
+            release(key, entry, false);
+            return false;
+        }
+        releaseAtEnd(key, entry);
+        return true;
+    }
+
+    private synchronized Entry acquire(long key) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.users++;
+        return entry;
+    }
+
+    private void releaseAtEnd(long key, Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(key, entry, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(key, entry, true);
+            }
+        });
+    }
+
+    private void release(long key, Entry entry, boolean held) {
+        if (held) {
+            entry.lock.unlock();
+        }
+        synchronized (this) {
+            if (--entry.users == 0) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+        int users;
+    }
+}
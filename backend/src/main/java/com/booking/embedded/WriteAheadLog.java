@@ -0,0 +1,146 @@
+package com.booking.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only record log split into numbered segments
+ * ({@code wal-<generation>.log}). Each record is framed as length, CRC32 and
+ * payload. Replay stops at the first short or corrupt frame, which is
+ * where a crash interrupted the last write, and truncates the segment there.
+ * Not thread-safe; {@link EmbeddedStore} serialises appends.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final boolean sync;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    private FileChannel channel;
+    private long generation;
+
+    WriteAheadLog(Path directory, boolean sync) {
+        this.directory = directory;
+        this.sync = sync;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    void open(long generation) throws IOException {
+        close();
+        this.generation = generation;
+        this.channel = FileChannel.open(segment(directory, generation), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    void append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        header.clear();
+        header.putInt(payload.length).putInt((int) crc.getValue()).flip();
+        ByteBuffer[] frame = {header, ByteBuffer.wrap(payload)};
+        while (frame[1].hasRemaining()) {
+            channel.write(frame);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    /** Starts a new segment; later appends go there. */
+    void rotate(long nextGeneration) throws IOException {
+        open(nextGeneration);
+    }
+
+    /** Deletes segments older than {@code generation}. */
+    void deleteBefore(long generation) throws IOException {
+        for (Path segment : segments(directory)) {
+            if (generationOf(segment) < generation) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    static Path segment(Path directory, long generation) {
+        return directory.resolve(PREFIX + generation + SUFFIX);
+    }
+
+    static long generationOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /** Segments in the directory, oldest first. */
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(WriteAheadLog::generationOf));
+        return segments;
+    }
+
+    /**
+     * Feeds every intact record of the segment to {@code consumer} in order
+     * and returns how many there were.
+     */
+    static int replay(Path segment, Consumer<byte[]> consumer) throws IOException {
+        int records = 0;
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer frameHeader = ByteBuffer.allocate(HEADER_BYTES);
+            long position = 0;
+            long end = in.size();
+            while (end - position >= HEADER_BYTES) {
+                frameHeader.clear();
+                in.read(frameHeader, position);
+                frameHeader.flip();
+                int length = frameHeader.getInt();
+                int checksum = frameHeader.getInt();
+                if (length < 0 || length > MAX_RECORD_BYTES || end - position - HEADER_BYTES < length) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                while (payload.hasRemaining()) {
+                    in.read(payload, position + HEADER_BYTES + payload.position());
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload.array());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                consumer.accept(payload.array());
+                position += HEADER_BYTES + length;
+                records++;
+            }
+            if (position < end) {
+                in.truncate(position); // drop the torn tail so new appends follow the last good record
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,18 @@
+package com.booking.event;
+
+import com.booking.model.AllocationRequest;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published once an allocation window has been resolved, so that winners and
+ * losers can be notified.
+ */
+@Value
+public class AllocationCompletedEvent {
+    Long windowId;
+    Long facilityId;
+    List<AllocationRequest> winners;
+    List<AllocationRequest> losers;
+}
@@ -0,0 +1,33 @@
+package com.booking.event;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the booking service whenever a booking is created or changes
+ * status. {@code previousStatus} is {@code null} for newly created bookings.
+ */
+@Value
+public class BookingChangedEvent {
+    Long bookingId;
+    Long facilityId;
+    String userId;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    BookingStatus previousStatus;
+    BookingStatus status;
+
+    public static BookingChangedEvent of(Booking booking, BookingStatus previousStatus) {
+        return new BookingChangedEvent(
+                booking.getId(),
+                booking.getFacility().getId(),
+                booking.getUserId(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                previousStatus,
+                booking.getStatus());
+    }
+}
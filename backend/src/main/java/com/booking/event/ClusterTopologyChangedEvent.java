@@ -0,0 +1,22 @@
+package com.booking.event;
+
+import com.booking.cluster.HashRing;
+import lombok.Value;
+
+/**
+ * Published when a node joins or leaves the cluster and facility ownership
+ * has been recomputed, so that state only an owner keeps current can be
+ * dropped or rebuilt for the facilities that moved.
+ */
+@Value
+public class ClusterTopologyChangedEvent {
+
+    String localNodeId;
+    HashRing previous;
+    HashRing current;
+
+    /** Whether this node gained or lost the facility in this change. */
+    public boolean ownershipChanged(long facilityId) {
+        return localNodeId.equals(previous.ownerOf(facilityId)) != localNodeId.equals(current.ownerOf(facilityId));
+    }
+}
@@ -0,0 +1,23 @@
+package com.booking.event;
+
+import lombok.Value;
+
+/**
+ * Published by the facility service after a facility row has been mutated, so
+ * that caches derived from facility data can be invalidated without the
+ * service knowing about them.
+ */
+@Value
+public class FacilityChangedEvent {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ACTIVATED,
+        DEACTIVATED
+    }
+
+    Long facilityId;
+    Change change;
+}
@@ -0,0 +1,100 @@
+package com.booking.export;
+
+import com.booking.dto.BookingExportRequest;
+import com.booking.dto.BookingExportResult;
+import com.booking.service.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Command-line export: runs one export to a file, then shuts the
+ * application down. For example:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none \
+ *     --booking.export.cli.output=bookings-2026-09.csv.gz \
+ *     --booking.export.cli.from=2026-09-01 --booking.export.cli.to=2026-10-01
+ * </pre>
+ * Output ending in {@code .gz} is gzipped. With
+ * {@code booking.export.cli.after} the export resumes after that booking id
+ * and appends to the file. Gzip members, CBOR sequences and header-less CSV
+ * all concatenate, so the file ends up as if it had been written in one run.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.export.cli.output")
+public class BookingExportJob implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportJob.class);
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final ExportService exportService;
+    private final ConfigurableApplicationContext context;
+    private final Path output;
+    private final String from;
+    private final String to;
+    private final Long after;
+    private final String format;
+
+    @Autowired
+    public BookingExportJob(ExportService exportService, ConfigurableApplicationContext context,
+            @Value("${booking.export.cli.output}") String output,
+            @Value("${booking.export.cli.from}") String from,
+            @Value("${booking.export.cli.to}") String to,
+            @Value("${booking.export.cli.after:#{null}}") Long after,
+            @Value("${booking.export.cli.format:csv}") String format) {
+        this.exportService = exportService;
+        this.context = context;
+        this.output = Path.of(output);
+        this.from = from;
+        this.to = to;
+        this.after = after;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = export();
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    int export() {
+        BookingExportRequest request;
+        try {
+            request = BookingExportRequest.of(from, to, after, format);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid export: {}", e.getMessage());
+            return 2;
+        }
+        StandardOpenOption mode = after == null ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND;
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(output,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode), BUFFER_BYTES);
+                OutputStream out = output.toString().endsWith(".gz")
+                        ? new GZIPOutputStream(file, BUFFER_BYTES) : file) {
+            long started = System.nanoTime();
+            BookingExportResult result = exportService.exportBookings(request, out);
+            log.info("Exported {} bookings to {} in {} ms; last booking id {}", result.getRows(), output,
+                    (System.nanoTime() - started) / 1_000_000, result.getLastBookingId());
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("Export to {} failed; resume with booking.export.cli.after set to the last complete row's "
+                    + "booking id", output, e);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.booking.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One exported booking with its facility, payment and refund. Payment and
+ * refund fields are null when the booking has none.
+ */
+public record BookingExportRow(
+        long bookingId,
+        LocalDateTime createdAt,
+        Long facilityId,
+        String facilityName,
+        String facilityType,
+        String userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String status,
+        BigDecimal totalAmount,
+        String paymentId,
+        String paymentStatus,
+        Double paymentAmount,
+        String paymentTransactionId,
+        String refundStatus,
+        BigDecimal refundAmount,
+        LocalDateTime refundedAt) {
+
+    /** A named export column; {@code type} is recorded in the columnar schema. */
+    public record Column(String name, String type, Function<BookingExportRow, Object> value) {
+    }
+
+    /** Every column, in export order. Appending is compatible; reordering is not. */
+    public static final List<Column> COLUMNS = List.of(
+            new Column("bookingId", "int64", BookingExportRow::bookingId),
+            new Column("createdAt", "timestamp", BookingExportRow::createdAt),
+            new Column("facilityId", "int64", BookingExportRow::facilityId),
+            new Column("facilityName", "string", BookingExportRow::facilityName),
+            new Column("facilityType", "string", BookingExportRow::facilityType),
+            new Column("userId", "string", BookingExportRow::userId),
+            new Column("startTime", "timestamp", BookingExportRow::startTime),
+            new Column("endTime", "timestamp", BookingExportRow::endTime),
+            new Column("status", "string", BookingExportRow::status),
+            new Column("totalAmount", "decimal", BookingExportRow::totalAmount),
+            new Column("paymentId", "string", BookingExportRow::paymentId),
+            new Column("paymentStatus", "string", BookingExportRow::paymentStatus),
+            new Column("paymentAmount", "float64", BookingExportRow::paymentAmount),
+            new Column("paymentTransactionId", "string", BookingExportRow::paymentTransactionId),
+            new Column("refundStatus", "string", BookingExportRow::refundStatus),
+            new Column("refundAmount", "decimal", BookingExportRow::refundAmount),
+            new Column("refundedAt", "timestamp", BookingExportRow::refundedAt));
+}
@@ -0,0 +1,15 @@
+package com.booking.export;
+
+import java.io.IOException;
+
+/**
+ * Writes exported rows to a stream as they arrive. Implementations buffer at
+ * most a fixed number of rows, so memory does not grow with the export.
+ */
+public interface BookingExportWriter {
+
+    void write(BookingExportRow row) throws IOException;
+
+    /** Writes anything still buffered and flushes; the underlying stream stays open. */
+    void finish() throws IOException;
+}
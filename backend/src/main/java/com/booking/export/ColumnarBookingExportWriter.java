@@ -0,0 +1,102 @@
+package com.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * A column-oriented export as a CBOR sequence (RFC 8742). The first item is
+ * the schema, {@code {"columns": [{"name": ..., "type": ...}, ...]}}; each
+ * following item is a record batch of up to {@code batchRows} rows,
+ * {@code {"rows": n, "columns": {name: [values...], ...}}}. Timestamps are
+ * seconds since 1970-01-01T00:00 on the stored local time line, as in the
+ * compact wire format, and decimals are CBOR decimal fractions.
+ *
+ * <p>Only one batch is held in memory at a time, and a reader can likewise
+ * process the export one batch at a time.
+ */
+public class ColumnarBookingExportWriter implements BookingExportWriter {
+
+    public static final String CONTENT_TYPE = "application/cbor-seq";
+
+    private static final CBORFactory FACTORY = new CBORFactory();
+
+    private final JsonGenerator generator;
+    private final BookingExportRow[] batch;
+    private int size;
+
+    public ColumnarBookingExportWriter(OutputStream out, int batchRows) throws IOException {
+        if (batchRows < 1) {
+            throw new IllegalArgumentException("Batch must hold at least one row");
+        }
+        this.generator = FACTORY.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.batch = new BookingExportRow[batchRows];
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("columns");
+        for (BookingExportRow.Column column : BookingExportRow.COLUMNS) {
+            generator.writeStartObject();
+            generator.writeStringField("name", column.name());
+            generator.writeStringField("type", column.type());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void write(BookingExportRow row) throws IOException {
+        batch[size++] = row;
+        if (size == batch.length) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (size > 0) {
+            writeBatch();
+        }
+        generator.flush();
+    }
+
+    private void writeBatch() throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("rows", size);
+        generator.writeObjectFieldStart("columns");
+        for (BookingExportRow.Column column : BookingExportRow.COLUMNS) {
+            generator.writeArrayFieldStart(column.name());
+            for (int i = 0; i < size; i++) {
+                writeValue(column.value().apply(batch[i]));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        Arrays.fill(batch, 0, size, null);
+        size = 0;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Double number) {
+            generator.writeNumber(number);
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof LocalDateTime dateTime) {
+            generator.writeNumber(dateTime.toEpochSecond(ZoneOffset.UTC));
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
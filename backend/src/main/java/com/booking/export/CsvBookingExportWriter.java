@@ -0,0 +1,71 @@
+package com.booking.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row of column names. Date-times are ISO-8601
+ * local date-times, amounts plain decimals and missing values empty.
+ */
+public class CsvBookingExportWriter implements BookingExportWriter {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final Writer writer;
+
+    public CsvBookingExportWriter(OutputStream out, boolean header) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+        if (header) {
+            for (int i = 0; i < BookingExportRow.COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(BookingExportRow.COLUMNS.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    @Override
+    public void write(BookingExportRow row) throws IOException {
+        for (int i = 0; i < BookingExportRow.COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = BookingExportRow.COLUMNS.get(i).value().apply(row);
+            if (value instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+            } else if (value instanceof String text) {
+                writeText(text);
+            } else if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeText(String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
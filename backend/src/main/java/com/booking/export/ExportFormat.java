@@ -0,0 +1,45 @@
+package com.booking.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    COLUMNAR(ColumnarBookingExportWriter.CONTENT_TYPE, "cbor");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Opens a writer on {@code out}. A resumed CSV export leaves out the header
+     * line, so the pieces of an export concatenate into one file.
+     */
+    public BookingExportWriter open(OutputStream out, boolean resumed, int batchRows) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvBookingExportWriter(out, !resumed);
+            case COLUMNAR -> new ColumnarBookingExportWriter(out, batchRows);
+        };
+    }
+
+    public static ExportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + value);
+        }
+    }
+}
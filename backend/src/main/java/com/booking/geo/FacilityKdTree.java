@@ -0,0 +1,316 @@
+package com.booking.geo;
+
+import com.booking.model.Facility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An immutable 3-d tree over facility coordinates. Each point is stored as
+ * its unit vector on the sphere, so the straight-line (chord) distance
+ * between two vectors orders points exactly as great-circle distance does,
+ * without trigonometry in the search loop and without special cases at the
+ * poles or the antimeridian.
+ *
+ * <p>The tree is laid out implicitly: the node for a range of the arrays is
+ * its middle element, with the lower half on one side of the splitting
+ * plane and the upper half on the other. Facilities are copied on build,
+ * so results never reach back into a persistence context.
+ */
+public final class FacilityKdTree {
+
+    /** Mean earth radius in kilometres (IUGG). */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final FacilityKdTree EMPTY = new FacilityKdTree(new Facility[0], new double[0], new byte[0]);
+
+    private final Facility[] facilities;
+    private final double[] coordinates; // x, y, z per point
+    private final byte[] axes;
+
+    private FacilityKdTree(Facility[] facilities, double[] coordinates, byte[] axes) {
+        this.facilities = facilities;
+        this.coordinates = coordinates;
+        this.axes = axes;
+    }
+
+    public static FacilityKdTree empty() {
+        return EMPTY;
+    }
+
+    /** Builds a tree over the facilities that have both coordinates; the rest are skipped. */
+    public static FacilityKdTree build(Collection<Facility> source) {
+        List<Facility> located = new ArrayList<>(source.size());
+        for (Facility facility : source) {
+            if (isLocated(facility)) {
+                located.add(copy(facility));
+            }
+        }
+        if (located.isEmpty()) {
+            return EMPTY;
+        }
+        int size = located.size();
+        Facility[] facilities = located.toArray(new Facility[0]);
+        double[] coordinates = new double[size * 3];
+        for (int i = 0; i < size; i++) {
+            unitVector(facilities[i].getLatitude(), facilities[i].getLongitude(), coordinates, i * 3);
+        }
+        byte[] axes = new byte[size];
+        split(facilities, coordinates, axes, 0, size);
+        return new FacilityKdTree(facilities, coordinates, axes);
+    }
+
+    public static boolean isLocated(Facility facility) {
+        return facility.getLatitude() != null && facility.getLongitude() != null;
+    }
+
+    public int size() {
+        return facilities.length;
+    }
+
+    /**
+     * Returns up to {@code limit} facilities accepted by {@code filter},
+     * nearest first, no further than {@code maxKm} from the given point.
+     * Pass {@link Double#POSITIVE_INFINITY} for no radius.
+     */
+    public List<Match> nearest(double latitude, double longitude, int limit, double maxKm,
+            Predicate<Facility> filter) {
+        if (limit <= 0 || facilities.length == 0) {
+            return List.of();
+        }
+        double[] query = new double[3];
+        unitVector(latitude, longitude, query, 0);
+        Search search = new Search(query, Math.min(limit, facilities.length), chordSquared(maxKm), filter);
+        search.visit(0, facilities.length);
+        return search.results();
+    }
+
+    public record Match(Facility facility, double distanceKm) {
+    }
+
+    /** Great-circle distance in kilometres between two points given in degrees. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double[] a = new double[6];
+        unitVector(lat1, lon1, a, 0);
+        unitVector(lat2, lon2, a, 3);
+        double dx = a[0] - a[3];
+        double dy = a[1] - a[4];
+        double dz = a[2] - a[5];
+        return chordToKm(dx * dx + dy * dy + dz * dz);
+    }
+
+    private final class Search {
+        private final double[] query;
+        private final int limit;
+        private final Predicate<Facility> filter;
+        private final int[] heap; // max-heap on distance, so the worst kept match is on top
+        private final double[] heapDistances;
+        private final double radiusSquared;
+        private int heapSize;
+
+        Search(double[] query, int limit, double radiusSquared, Predicate<Facility> filter) {
+            this.query = query;
+            this.limit = limit;
+            this.radiusSquared = radiusSquared;
+            this.filter = filter;
+            this.heap = new int[limit];
+            this.heapDistances = new double[limit];
+        }
+
+        void visit(int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            int node = (from + to) >>> 1;
+            int base = node * 3;
+            double dx = query[0] - coordinates[base];
+            double dy = query[1] - coordinates[base + 1];
+            double dz = query[2] - coordinates[base + 2];
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (distance <= bound() && filter.test(facilities[node])) {
+                offer(node, distance);
+            }
+            int axis = axes[node];
+            double delta = query[axis] - coordinates[base + axis];
+            if (delta < 0) {
+                visit(from, node);
+                if (delta * delta <= bound()) {
+                    visit(node + 1, to);
+                }
+            } else {
+                visit(node + 1, to);
+                if (delta * delta <= bound()) {
+                    visit(from, node);
+                }
+            }
+        }
+
+        private double bound() {
+            return heapSize < limit ? radiusSquared : Math.min(radiusSquared, heapDistances[0]);
+        }
+
+        private void offer(int node, double distance) {
+            if (heapSize < limit) {
+                int i = heapSize++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heapDistances[parent] >= distance) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    heapDistances[i] = heapDistances[parent];
+                    i = parent;
+                }
+                heap[i] = node;
+                heapDistances[i] = distance;
+                return;
+            }
+            if (distance >= heapDistances[0]) {
+                return;
+            }
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapDistances[child + 1] > heapDistances[child]) {
+                    child++;
+                }
+                if (heapDistances[child] <= distance) {
+                    break;
+                }
+                heap[i] = heap[child];
+                heapDistances[i] = heapDistances[child];
+                i = child;
+            }
+            heap[i] = node;
+            heapDistances[i] = distance;
+        }
+
+        List<Match> results() {
+            Integer[] order = new Integer[heapSize];
+            for (int i = 0; i < heapSize; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(heapDistances[a], heapDistances[b]));
+            List<Match> matches = new ArrayList<>(heapSize);
+            for (Integer i : order) {
+                matches.add(new Match(facilities[heap[i]], chordToKm(heapDistances[i])));
+            }
+            return matches;
+        }
+    }
+
+    /** Arranges {@code [from, to)} so its middle element splits it along the widest axis, recursively. */
+    private static void split(Facility[] facilities, double[] coordinates, byte[] axes, int from, int to) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = widestAxis(coordinates, from, to);
+        int middle = (from + to) >>> 1;
+        select(facilities, coordinates, axis, from, to - 1, middle);
+        axes[middle] = (byte) axis;
+        split(facilities, coordinates, axes, from, middle);
+        split(facilities, coordinates, axes, middle + 1, to);
+    }
+
+    private static int widestAxis(double[] coordinates, int from, int to) {
+        int widest = 0;
+        double widestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = coordinates[i * 3 + axis];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = axis;
+            }
+        }
+        return widest;
+    }
+
+    /** Quickselect: puts the k-th smallest point along {@code axis} at {@code k}, smaller ones before it. */
+    private static void select(Facility[] facilities, double[] coordinates, int axis, int left, int right, int k) {
+        while (left < right) {
+            double pivot = coordinates[((left + right) >>> 1) * 3 + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinates[i * 3 + axis] < pivot) {
+                    i++;
+                }
+                while (coordinates[j * 3 + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(facilities, coordinates, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(Facility[] facilities, double[] coordinates, int a, int b) {
+        Facility facility = facilities[a];
+        facilities[a] = facilities[b];
+        facilities[b] = facility;
+        for (int axis = 0; axis < 3; axis++) {
+            double value = coordinates[a * 3 + axis];
+            coordinates[a * 3 + axis] = coordinates[b * 3 + axis];
+            coordinates[b * 3 + axis] = value;
+        }
+    }
+
+    private static void unitVector(double latitude, double longitude, double[] target, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        target[offset] = cosLat * Math.cos(lon);
+        target[offset + 1] = cosLat * Math.sin(lon);
+        target[offset + 2] = Math.sin(lat);
+    }
+
+    private static double chordSquared(double km) {
+        if (km >= Math.PI * EARTH_RADIUS_KM) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double chord = 2 * Math.sin(km / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    private static double chordToKm(double chordSquared) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(chordSquared) / 2));
+    }
+
+    private static Facility copy(Facility source) {
+        Facility copy = new Facility();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setType(source.getType());
+        copy.setDescription(source.getDescription());
+        copy.setLocation(source.getLocation());
+        copy.setLatitude(source.getLatitude());
+        copy.setLongitude(source.getLongitude());
+        copy.setHourlyRate(source.getHourlyRate());
+        copy.setCapacity(source.getCapacity());
+        copy.setIsActive(source.getIsActive());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setContactNumber(source.getContactNumber());
+        copy.setEmail(source.getEmail());
+        return copy;
+    }
+}
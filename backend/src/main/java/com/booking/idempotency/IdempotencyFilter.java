@@ -0,0 +1,132 @@
+package com.booking.idempotency;
+
+import com.booking.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code Idempotency-Key} support for the create endpoints that clients
+ * retry. Keys are scoped to the authenticated user. The first response with
+ * a settled outcome is stored and replayed byte for byte; a retry with the
+ * same key but a different method, path or body is rejected with 422.
+ *
+ * <p>Runs after the security filters, so the user is known, and before the
+ * waiting-room filter, so replays cost no admission.
+ */
+@Component
+@Order(0)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> GUARDED_PATHS = List.of("/api/bookings", "/api/payments/create-intent/*");
+    // Outcomes a retry would reproduce; anything else (429, 5xx, ...) is left for the client to retry.
+    private static final Set<Integer> STORED_CLIENT_ERRORS = Set.of(400, 404, 409, 422);
+
+    private final IdempotencyService idempotencyService;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return GUARDED_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid Idempotency-Key");
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        Principal principal = request.getUserPrincipal();
+        String key = (principal == null ? "anonymous" : principal.getName()) + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+
+        IdempotencyRecord stored;
+        try {
+            stored = idempotencyService.begin(key, fingerprint);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.CONFLICT.value(), e.getMessage());
+            return;
+        }
+        if (stored != null) {
+            replay(stored, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), captured);
+            int status = captured.getStatus();
+            if ((status >= 200 && status < 300) || STORED_CLIENT_ERRORS.contains(status)) {
+                idempotencyService.complete(key, new IdempotencyRecord(fingerprint, status,
+                        captured.getContentType(), captured.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.release(key, fingerprint);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyRecord stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
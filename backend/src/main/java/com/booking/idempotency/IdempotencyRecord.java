@@ -0,0 +1,33 @@
+package com.booking.idempotency;
+
+import java.util.Base64;
+
+/**
+ * What is kept under an idempotency key: the fingerprint of the request that
+ * claimed it and, once that request finishes, its response. A status of 0
+ * marks a request still in flight.
+ */
+public record IdempotencyRecord(String fingerprint, int status, String contentType, byte[] body) {
+
+    public static IdempotencyRecord inFlight(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, 0, null, new byte[0]);
+    }
+
+    public boolean isComplete() {
+        return status != 0;
+    }
+
+    /**
+     * Single-string form used by the Redis store: {@code status|fingerprint|contentType|base64(body)}.
+     */
+    public String encode() {
+        return status + "|" + fingerprint + "|" + (contentType == null ? "" : contentType) + "|"
+                + Base64.getEncoder().encodeToString(body);
+    }
+
+    public static IdempotencyRecord decode(String value) {
+        String[] parts = value.split("\\|", -1);
+        return new IdempotencyRecord(parts[1], Integer.parseInt(parts[0]),
+                parts[2].isEmpty() ? null : parts[2], Base64.getDecoder().decode(parts[3]));
+    }
+}
@@ -0,0 +1,29 @@
+package com.booking.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Shared storage for idempotency keys. A key is claimed by the first request
+ * carrying it; the claim lapses after {@code lockTtl} if that request never
+ * completes or releases it.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key} for the caller. Returns null if the claim succeeded,
+     * otherwise the record already held under the key.
+     */
+    IdempotencyRecord claim(String key, String fingerprint, Duration lockTtl);
+
+    IdempotencyRecord get(String key);
+
+    /**
+     * Stores the finished response, replacing the in-flight claim.
+     */
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Drops an in-flight claim held with {@code fingerprint} so the request can be retried.
+     */
+    void release(String key, String fingerprint);
+}
@@ -0,0 +1,58 @@
+package com.booking.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node idempotency keys.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(IdempotencyRecord record, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public IdempotencyRecord claim(String key, String fingerprint, Duration lockTtl) {
+        Entry claimed = new Entry(IdempotencyRecord.inFlight(fingerprint), expiry(lockTtl));
+        Entry current = entries.compute(key, (k, existing) ->
+                existing == null || existing.expiresAt() <= System.currentTimeMillis() ? claimed : existing);
+        return current == claimed ? null : current.record();
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.expiresAt() <= System.currentTimeMillis() ? null : entry.record();
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        entries.put(key, new Entry(record, expiry(ttl)));
+    }
+
+    @Override
+    public void release(String key, String fingerprint) {
+        entries.computeIfPresent(key, (k, existing) ->
+                !existing.record().isComplete() && existing.record().fingerprint().equals(fingerprint)
+                        ? null : existing);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.sweep.ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private static long expiry(Duration ttl) {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+}
@@ -0,0 +1,61 @@
+package com.booking.idempotency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cluster-wide idempotency keys. A claim is a {@code SET NX} with the lock
+ * TTL; completion overwrites it with the response and the retention TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public IdempotencyRecord claim(String key, String fingerprint, Duration lockTtl) {
+        Boolean claimed = redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + key, IdempotencyRecord.inFlight(fingerprint).encode(), lockTtl);
+        if (Boolean.TRUE.equals(claimed)) {
+            return null;
+        }
+        IdempotencyRecord existing = get(key);
+        // The holder may have expired between the two commands; treat that as a lost race and retry.
+        return existing != null ? existing : claim(key, fingerprint, lockTtl);
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        return value == null ? null : IdempotencyRecord.decode(value);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, record.encode(), ttl);
+    }
+
+    @Override
+    public void release(String key, String fingerprint) {
+        redisTemplate.execute(RELEASE, List.of(KEY_PREFIX + key), IdempotencyRecord.inFlight(fingerprint).encode());
+    }
+}
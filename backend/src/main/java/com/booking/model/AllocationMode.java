@@ -0,0 +1,6 @@
+package com.booking.model;
+
+public enum AllocationMode {
+    LOTTERY, // Requests are served in a seeded random order
+    PRIORITY // Requests are served by priority tier, then arrival
+}
@@ -0,0 +1,53 @@
+package com.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "allocation_requests", indexes = {
+        @Index(name = "idx_allocation_request_window", columnList = "window_id, status")
+})
+public class AllocationRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne
+    @JoinColumn(name = "window_id", nullable = false)
+    private AllocationWindow window;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserRole role = UserRole.CITIZEN;
+
+    @Column(nullable = false)
+    private Integer priority = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AllocationRequestStatus status;
+
+    @Column
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
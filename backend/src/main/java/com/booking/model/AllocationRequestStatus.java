@@ -0,0 +1,7 @@
+package com.booking.model;
+
+public enum AllocationRequestStatus {
+    SUBMITTED, // Waiting for the window to close
+    WON, // A pending booking was created
+    LOST // Not allocated
+}
@@ -0,0 +1,48 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "allocation_windows")
+public class AllocationWindow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "facility_id", nullable = false)
+    private Facility facility;
+
+    // Range of slots released through this window; direct bookings inside it are refused while it is open.
+    @Column(nullable = false)
+    private LocalDateTime releaseStart;
+
+    @Column(nullable = false)
+    private LocalDateTime releaseEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime opensAt;
+
+    @Column(nullable = false)
+    private LocalDateTime closesAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AllocationMode mode = AllocationMode.LOTTERY;
+
+    @Column(nullable = false)
+    private Integer maxWinsPerUser = 1;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AllocationWindowStatus status;
+
+    @Column
+    private Long seed; // recorded so a lottery draw can be audited and replayed
+
+    @Column
+    private LocalDateTime allocatedAt;
+}
@@ -0,0 +1,7 @@
+package com.booking.model;
+
+public enum AllocationWindowStatus {
+    OPEN, // Collecting requests
+    ALLOCATING, // Claimed by a node running the allocator
+    ALLOCATED // Winners booked, losers notified
+}
@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_created_at", columnList = "created_at"),
+        @Index(name = "idx_bookings_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_bookings_user_start", columnList = "user_id, start_time")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,6 +49,9 @@ public class Booking {
     @Column
     private String cancellationReason;
 
+    @Column
+    private LocalDateTime reminderSentAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,61 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A refund owed for a cancelled booking. Bookings are referenced by id only,
+ * so the refund survives deletion of the facility and its bookings.
+ */
+@Data
+@Entity
+@Table(name = "booking_refunds", indexes = @Index(name = "idx_booking_refunds_status", columnList = "status, id"))
+public class BookingRefund {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Long facilityId;
+
+    @Column
+    private Long closureId; // set when the refund comes from a facility closure
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private String paymentId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RefundStatus status = RefundStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column
+    private String providerRefundId;
+
+    @Column
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime refundedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
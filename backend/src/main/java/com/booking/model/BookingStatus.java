@@ -6,5 +6,6 @@ public enum BookingStatus {
     CANCELLED, // Booking cancelled by user
     COMPLETED, // Booking time has passed
     REFUNDED, // Cancelled and refunded
-    REJECTED // Rejected by admin
+    REJECTED, // Rejected by admin
+    EXPIRED // Pending hold lapsed before payment
 }
\ No newline at end of file
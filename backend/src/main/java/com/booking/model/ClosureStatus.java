@@ -0,0 +1,7 @@
+package com.booking.model;
+
+public enum ClosureStatus {
+    CANCELLING, // Future bookings are being cancelled in chunks
+    REFUNDING, // All bookings cancelled; waiting for refunds to be issued
+    COMPLETED
+}
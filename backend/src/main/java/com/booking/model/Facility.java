@@ -25,6 +25,12 @@ public class Facility {
     @Column(nullable = false)
     private String location;
 
+    @Column
+    private Double latitude; // WGS84 degrees; optional, needed for nearby search
+
+    @Column
+    private Double longitude;
+
     @Column(nullable = false)
     private BigDecimal hourlyRate;
 
@@ -0,0 +1,61 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of taking a facility offline. The job cancels bookings starting
+ * after {@code cutoff} in id order and records the last id handled, so it
+ * resumes where it stopped after a restart.
+ */
+@Data
+@Entity
+@Table(name = "facility_closures")
+public class FacilityClosure {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long facilityId;
+
+    @Column(nullable = false)
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ClosureStatus status = ClosureStatus.CANCELLING;
+
+    @Column(nullable = false)
+    private Boolean deleteFacility = false; // delete the facility once every refund is settled
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(nullable = false)
+    private Long lastBookingId = 0L;
+
+    @Column(nullable = false)
+    private Integer cancelledCount = 0;
+
+    @Column(nullable = false)
+    private Integer refundsRequested = 0;
+
+    @Column
+    private Integer refundsSucceeded;
+
+    @Column
+    private Integer refundsFailed;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
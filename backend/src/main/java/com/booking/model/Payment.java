@@ -6,19 +6,24 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
+/**
+ * The provider's view of one payment intent taken for a booking, as last
+ * seen by the reconciliation job. Bookings are referenced by id only, so the
+ * record survives deletion of the facility and its bookings; a booking paid
+ * twice has two rows.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = @Index(name = "idx_payments_booking_id", columnList = "booking_id"))
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
-    @JoinColumn(name = "booking_id", nullable = false)
-    private Booking booking;
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
 
     @Column(nullable = false)
     private Double amount;
@@ -27,15 +32,15 @@ public class Payment {
     @Column(nullable = false)
     private PaymentStatus status = PaymentStatus.PENDING;
 
-    @Column(nullable = false)
-    private String transactionId;
+    @Column(nullable = false, unique = true)
+    private String transactionId; // the provider's payment intent id
 
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @Column
-    private LocalDateTime refundedAt;
+    private LocalDateTime refundedAt; // when the job first saw a refund
 
     @Column
     private Double refundAmount;
-}
\ No newline at end of file
+}
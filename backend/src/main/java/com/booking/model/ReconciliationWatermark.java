@@ -0,0 +1,25 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far the payment reconciliation job has read one of the provider's
+ * lists: everything created before {@code createdFrom} (epoch seconds, the
+ * provider's clock) has been reconciled at least once.
+ */
+@Data
+@Entity
+@Table(name = "reconciliation_watermarks")
+public class ReconciliationWatermark {
+    @Id
+    private String stream;
+
+    @Column(nullable = false)
+    private Long createdFrom;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.booking.model;
+
+public enum RefundStatus {
+    PENDING, // Waiting to be issued with the payment provider
+    SUCCEEDED,
+    FAILED // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,7 @@
+package com.booking.model;
+
+public enum SlotStatus {
+    FREE, // No pending or confirmed booking overlaps the slot
+    HELD, // At least one pending booking is waiting for payment
+    BOOKED // A confirmed booking occupies the slot
+}
@@ -0,0 +1,32 @@
+package com.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalTime;
+
+@Data
+@Entity
+@Table(name = "slot_templates")
+public class SlotTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @OneToOne
+    @JoinColumn(name = "facility_id", nullable = false, unique = true)
+    private Facility facility;
+
+    @Column(name = "opening_time", nullable = false)
+    private LocalTime openingTime;
+
+    @Column(name = "closing_time", nullable = false)
+    private LocalTime closingTime;
+
+    @Column(name = "slot_minutes", nullable = false)
+    private Integer slotMinutes;
+
+    @Column(name = "buffer_minutes", nullable = false)
+    private Integer bufferMinutes = 0;
+}
@@ -32,7 +32,8 @@ public class User {
     @Column(nullable = false)
     private UserRole role = UserRole.CITIZEN;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    // Bookings reference users by userId rather than by association.
+    @Transient
     private List<Booking> bookings;
 
     @Column(name = "created_at", nullable = false)
@@ -0,0 +1,37 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A user's booking totals, kept up to date by applying each booking change
+ * as it is written rather than by counting the user's bookings on read.
+ */
+@Data
+@Entity
+@Table(name = "user_booking_summaries")
+public class UserBookingSummary {
+    @Id
+    private String userId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_booking_status_counts", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "status")
+    @Column(name = "bookings", nullable = false)
+    private Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+
+    @Column(nullable = false)
+    private BigDecimal outstandingAmount = BigDecimal.ZERO; // PENDING bookings awaiting payment
+
+    @Column(nullable = false)
+    private BigDecimal totalSpend = BigDecimal.ZERO; // CONFIRMED and COMPLETED bookings
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.booking.model;
+
+public enum WaitlistStatus {
+    WAITING, // Queued for the slot
+    PROMOTED, // Given a pending booking hold
+    CANCELLED, // Left the waitlist
+    SKIPPED // Passed over because a hold could not be created when its turn came
+}
@@ -0,0 +1,6 @@
+package com.booking.notification;
+
+public enum Channel {
+    EMAIL,
+    SMS
+}
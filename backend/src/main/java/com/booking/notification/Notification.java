@@ -0,0 +1,10 @@
+package com.booking.notification;
+
+/**
+ * A message for one user on one channel. The recipient is the booking's
+ * user id; senders resolve it to an address. {@code id} is stable for a given
+ * event so that providers supporting deduplication can use it.
+ */
+public record Notification(String id, Channel channel, String recipient, NotificationType type, Long bookingId,
+        String subject, String body) {
+}
@@ -0,0 +1,240 @@
+package com.booking.notification;
+
+import com.booking.dto.NotificationStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends notifications off the request path. Each channel has its own bounded
+ * queue and worker thread, so a slow SMS provider never holds up email.
+ * Workers send whatever has accumulated, up to the batch size, in one call.
+ *
+ * <p>{@link #submit} never blocks. When a channel's queue passes the shed
+ * threshold, bulk notifications are turned away; when it is full, everything
+ * is. Failed deliveries are retried with exponential backoff and jitter until
+ * the attempt limit.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Map<Channel, Lane> lanes = new EnumMap<>(Channel.class);
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private volatile boolean running;
+
+    @Autowired
+    public NotificationDispatcher(List<NotificationSender> senders,
+            @Value("${booking.notifications.queue.capacity:10000}") int queueCapacity,
+            @Value("${booking.notifications.batch.size:100}") int batchSize,
+            @Value("${booking.notifications.shed.threshold:0.8}") double shedThreshold,
+            @Value("${booking.notifications.retry.max-attempts:5}") int maxAttempts,
+            @Value("${booking.notifications.retry.base.ms:1000}") long backoffBaseMillis,
+            @Value("${booking.notifications.retry.max.ms:300000}") long backoffMaxMillis) {
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        for (NotificationSender sender : senders) {
+            if (lanes.put(sender.getChannel(), new Lane(sender, queueCapacity,
+                    (int) Math.ceil(queueCapacity * shedThreshold))) != null) {
+                throw new IllegalStateException("More than one sender for " + sender.getChannel());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Lane lane : lanes.values()) {
+            Thread worker = new Thread(lane, "notify-" + lane.sender.getChannel().name().toLowerCase());
+            worker.setDaemon(true);
+            lane.worker = worker;
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes.values()) {
+            if (lane.worker != null) {
+                lane.worker.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+
+    /**
+     * Queues a notification. Returns false if it was dropped because its
+     * channel is backed up or has no sender.
+     */
+    public boolean submit(Notification notification) {
+        Lane lane = lanes.get(notification.channel());
+        if (lane == null) {
+            return false;
+        }
+        if (notification.type().isBulk() && lane.queue.size() >= lane.shedThreshold) {
+            lane.shed.incrementAndGet();
+            return false;
+        }
+        if (!lane.queue.offer(new Delivery(notification, 0, 0))) {
+            if (lane.dropped.getAndIncrement() % 1000 == 0) {
+                log.warn("{} notification queue is full; dropping notifications", notification.channel());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public List<NotificationStats> getStats() {
+        List<NotificationStats> stats = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            stats.add(new NotificationStats(lane.sender.getChannel(), lane.queue.size(), lane.retries.size(),
+                    lane.sent.get(), lane.retried.get(), lane.failed.get(), lane.dropped.get(), lane.shed.get()));
+        }
+        return stats;
+    }
+
+    private record Delivery(Notification notification, int attempt, long dueAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtNanos, ((Delivery) other).dueAtNanos);
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        final NotificationSender sender;
+        final BlockingQueue<Delivery> queue;
+        final DelayQueue<Delivery> retries = new DelayQueue<>();
+        final int capacity;
+        final int shedThreshold;
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong retried = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong shed = new AtomicLong();
+        Thread worker;
+
+        Lane(NotificationSender sender, int capacity, int shedThreshold) {
+            this.sender = sender;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.capacity = capacity;
+            this.shedThreshold = shedThreshold;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    List<Delivery> batch = nextBatch();
+                    if (!batch.isEmpty()) {
+                        deliver(batch);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("{} notification worker error", sender.getChannel(), e);
+                }
+            }
+            // Best effort on shutdown: one pass over what is still queued, without retries.
+            List<Delivery> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                deliver(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+            }
+        }
+
+        private List<Delivery> nextBatch() throws InterruptedException {
+            List<Delivery> batch = new ArrayList<>(batchSize);
+            Delivery due;
+            while (batch.size() < batchSize && (due = retries.poll()) != null) {
+                batch.add(due);
+            }
+            if (batch.isEmpty()) {
+                Delivery first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    return batch;
+                }
+                batch.add(first);
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            return batch;
+        }
+
+        private void deliver(List<Delivery> batch) {
+            List<Notification> notifications = new ArrayList<>(batch.size());
+            for (Delivery delivery : batch) {
+                notifications.add(delivery.notification());
+            }
+            List<Notification> undelivered;
+            try {
+                undelivered = sender.send(notifications);
+            } catch (Exception e) {
+                log.warn("{} batch of {} failed: {}", sender.getChannel(), batch.size(), e.getMessage());
+                undelivered = notifications;
+            }
+            sent.addAndGet(batch.size() - undelivered.size());
+            if (undelivered.isEmpty()) {
+                return;
+            }
+            if (!running) {
+                failed.addAndGet(undelivered.size());
+                return;
+            }
+            Set<Notification> retry = Collections.newSetFromMap(new IdentityHashMap<>());
+            retry.addAll(undelivered);
+            for (Delivery delivery : batch) {
+                if (retry.contains(delivery.notification())) {
+                    scheduleRetry(delivery);
+                }
+            }
+        }
+
+        private void scheduleRetry(Delivery delivery) {
+            int attempt = delivery.attempt() + 1;
+            if (attempt >= maxAttempts || retries.size() >= capacity) {
+                failed.incrementAndGet();
+                log.warn("Giving up on {} notification {} after {} attempts", sender.getChannel(),
+                        delivery.notification().id(), attempt);
+                return;
+            }
+            long backoff = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempt - 1, 30));
+            long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            retries.add(new Delivery(delivery.notification(), attempt,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(jittered)));
+            retried.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.booking.notification;
+
+import java.util.List;
+
+/**
+ * Delivers notifications for one channel, a batch at a time.
+ */
+public interface NotificationSender {
+
+    Channel getChannel();
+
+    /**
+     * Sends the batch and returns the notifications that could not be
+     * delivered and should be retried. Throwing fails the whole batch.
+     */
+    List<Notification> send(List<Notification> batch) throws Exception;
+}
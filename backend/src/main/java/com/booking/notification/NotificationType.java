@@ -0,0 +1,25 @@
+package com.booking.notification;
+
+public enum NotificationType {
+    BOOKING_CONFIRMED(false),
+    BOOKING_CANCELLED(false),
+    BOOKING_REJECTED(false),
+    BOOKING_REFUNDED(false),
+    BOOKING_EXPIRED(false),
+    ALLOCATION_WON(false),
+    ALLOCATION_LOST(false),
+    BOOKING_REMINDER(true);
+
+    private final boolean bulk;
+
+    NotificationType(boolean bulk) {
+        this.bulk = bulk;
+    }
+
+    /**
+     * Bulk notifications are the first to be shed when a channel backs up.
+     */
+    public boolean isBulk() {
+        return bulk;
+    }
+}
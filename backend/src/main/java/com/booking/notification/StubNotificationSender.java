@@ -0,0 +1,47 @@
+package com.booking.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Logs notifications instead of sending them and keeps the most recent ones
+ * for inspection. Used until a provider is configured, and in tests.
+ */
+public class StubNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(StubNotificationSender.class);
+    private static final int RETAINED = 1000;
+
+    private final Channel channel;
+    private final Deque<Notification> sent = new ArrayDeque<>();
+
+    public StubNotificationSender(Channel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public Channel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public synchronized List<Notification> send(List<Notification> batch) {
+        for (Notification notification : batch) {
+            log.debug("{} to {}: {}", channel, notification.recipient(), notification.subject());
+            if (sent.size() == RETAINED) {
+                sent.removeFirst();
+            }
+            sent.addLast(notification);
+        }
+        return List.of();
+    }
+
+    public synchronized List<Notification> getSent() {
+        return new ArrayList<>(sent);
+    }
+}
@@ -0,0 +1,20 @@
+package com.booking.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.notifications.sender", havingValue = "stub", matchIfMissing = true)
+public class StubSenderConfig {
+
+    @Bean
+    public StubNotificationSender stubEmailSender() {
+        return new StubNotificationSender(Channel.EMAIL);
+    }
+
+    @Bean
+    public StubNotificationSender stubSmsSender() {
+        return new StubNotificationSender(Channel.SMS);
+    }
+}
@@ -0,0 +1,31 @@
+package com.booking.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers each message as an application event, for consumers living in
+ * the same JVM and for tests.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.outbox.publisher", havingValue = "local", matchIfMissing = true)
+public class InProcessOutboxPublisher implements OutboxPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public InProcessOutboxPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            eventPublisher.publishEvent(message);
+        }
+    }
+}
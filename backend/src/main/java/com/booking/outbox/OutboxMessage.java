@@ -0,0 +1,18 @@
+package com.booking.outbox;
+
+import com.booking.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox row as handed to a publisher. Delivery is at-least-once, so
+ * consumers should deduplicate on {@code id}.
+ */
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, Long facilityId, String eventType,
+        String payload, LocalDateTime createdAt) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getFacilityId(), event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
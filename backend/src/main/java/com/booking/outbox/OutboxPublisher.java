@@ -0,0 +1,13 @@
+package com.booking.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. A batch holds messages in id order;
+ * if {@link #publish} throws, the whole batch is offered again later.
+ */
+public interface OutboxPublisher {
+
+    void publish(List<OutboxMessage> batch) throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.booking.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+
+/**
+ * Peak, off-peak and weekend multipliers applied on top of
+ * {@code Facility.hourlyRate}. Multipliers are held in basis points
+ * (10000 = 1.0) so that rate tables can be compiled to plain longs.
+ */
+@Component
+public class PricingPolicy {
+
+    static final int BASIS_POINTS = 10_000;
+
+    private final int peakStartHour;
+    private final int peakEndHour;
+    private final int peakMultiplier;
+    private final int offPeakMultiplier;
+    private final int weekendMultiplier;
+
+    public PricingPolicy(
+            @Value("${booking.pricing.peak.start.hour:17}") int peakStartHour,
+            @Value("${booking.pricing.peak.end.hour:22}") int peakEndHour,
+            @Value("${booking.pricing.peak.multiplier:1.0}") BigDecimal peakMultiplier,
+            @Value("${booking.pricing.offpeak.multiplier:1.0}") BigDecimal offPeakMultiplier,
+            @Value("${booking.pricing.weekend.multiplier:1.0}") BigDecimal weekendMultiplier) {
+        if (peakStartHour < 0 || peakEndHour > 24 || peakStartHour > peakEndHour) {
+            throw new IllegalArgumentException("Invalid peak hours: " + peakStartHour + "-" + peakEndHour);
+        }
+        this.peakStartHour = peakStartHour;
+        this.peakEndHour = peakEndHour;
+        this.peakMultiplier = toBasisPoints(peakMultiplier);
+        this.offPeakMultiplier = toBasisPoints(offPeakMultiplier);
+        this.weekendMultiplier = toBasisPoints(weekendMultiplier);
+    }
+
+    /**
+     * Combined multiplier, in basis points, for the given hour of the given
+     * day. Weekend and peak multipliers compound.
+     */
+    public int multiplier(DayOfWeek day, int hour) {
+        long multiplier = hour >= peakStartHour && hour < peakEndHour ? peakMultiplier : offPeakMultiplier;
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            multiplier = multiplier * weekendMultiplier / BASIS_POINTS;
+        }
+        return (int) multiplier;
+    }
+
+    private static int toBasisPoints(BigDecimal multiplier) {
+        if (multiplier.signum() < 0) {
+            throw new IllegalArgumentException("Pricing multiplier must not be negative: " + multiplier);
+        }
+        return multiplier.movePointRight(4).intValue();
+    }
+}
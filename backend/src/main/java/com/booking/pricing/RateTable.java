@@ -0,0 +1,79 @@
+package com.booking.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Precompiled weekly price table for a single facility.
+ *
+ * <p>Each of the 168 hours of the week carries an effective rate expressed as
+ * {@code cents * basisPoints} per hour, and a prefix sum over those hours lets
+ * any interval be priced with two lookups regardless of its length. All
+ * arithmetic is done on longs; {@link BigDecimal} is only used when compiling
+ * the table and when presenting the final amount.
+ *
+ * <p>Intervals are priced at minute granularity; seconds are truncated.
+ */
+public final class RateTable {
+
+    private static final int HOURS_PER_WEEK = 7 * 24;
+    private static final long MINUTES_PER_WEEK = HOURS_PER_WEEK * 60L;
+    // 1970-01-01 was a Thursday; shifting by three days puts minute 0 of every week on a Monday.
+    private static final long EPOCH_TO_MONDAY_MINUTES = 3L * 24 * 60;
+    // Per-minute costs are accumulated in units of (cents * basis points / 60).
+    private static final long UNITS_PER_CENT = 60L * PricingPolicy.BASIS_POINTS;
+
+    private final BigDecimal hourlyRate;
+    private final long[] hourRates = new long[HOURS_PER_WEEK];
+    private final long[] hourPrefix = new long[HOURS_PER_WEEK + 1];
+
+    private RateTable(BigDecimal hourlyRate) {
+        this.hourlyRate = hourlyRate;
+    }
+
+    public static RateTable compile(BigDecimal hourlyRate, PricingPolicy policy) {
+        if (hourlyRate == null || hourlyRate.signum() < 0) {
+            throw new IllegalArgumentException("Hourly rate must be a non-negative amount");
+        }
+        long rateCents = hourlyRate.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+        RateTable table = new RateTable(hourlyRate);
+        for (int hourOfWeek = 0; hourOfWeek < HOURS_PER_WEEK; hourOfWeek++) {
+            DayOfWeek day = DayOfWeek.of(hourOfWeek / 24 + 1);
+            long rate = Math.multiplyExact(rateCents, (long) policy.multiplier(day, hourOfWeek % 24));
+            table.hourRates[hourOfWeek] = rate;
+            table.hourPrefix[hourOfWeek + 1] = Math.addExact(table.hourPrefix[hourOfWeek], rate);
+        }
+        return table;
+    }
+
+    /**
+     * Hourly rate this table was compiled from, used to detect stale entries.
+     */
+    public BigDecimal getHourlyRate() {
+        return hourlyRate;
+    }
+
+    /**
+     * Price of {@code [start, end)} in cents, rounded half-up.
+     */
+    public long priceCents(LocalDateTime start, LocalDateTime end) {
+        long units = cumulative(minuteIndex(end)) - cumulative(minuteIndex(start));
+        return (units + UNITS_PER_CENT / 2) / UNITS_PER_CENT;
+    }
+
+    private long cumulative(long minuteIndex) {
+        long week = Math.floorDiv(minuteIndex, MINUTES_PER_WEEK);
+        int minuteOfWeek = (int) Math.floorMod(minuteIndex, MINUTES_PER_WEEK);
+        int hour = minuteOfWeek / 60;
+        return week * hourPrefix[HOURS_PER_WEEK] * 60
+                + hourPrefix[hour] * 60
+                + (minuteOfWeek % 60) * hourRates[hour];
+    }
+
+    private static long minuteIndex(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L) + EPOCH_TO_MONDAY_MINUTES;
+    }
+}
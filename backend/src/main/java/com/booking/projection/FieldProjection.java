@@ -0,0 +1,77 @@
+package com.booking.projection;
+
+import jakarta.persistence.Tuple;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled field selection for one entity: the JPQL select clause that
+ * reads only the chosen columns, and the property names the rows are
+ * written under. Instances are immutable and shared across requests.
+ */
+public final class FieldProjection {
+
+    static final String ALIAS = "e";
+
+    private final String key;
+    private final String[] properties;
+    private final String[] paths;
+    private final String select;
+
+    FieldProjection(String entityName, String key, String[] properties, String[] paths) {
+        this.key = key;
+        this.properties = properties;
+        this.paths = paths;
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i < paths.length; i++) {
+            if (i > 0) {
+                jpql.append(", ");
+            }
+            jpql.append(ALIAS).append('.').append(paths[i]);
+        }
+        this.select = jpql.append(" FROM ").append(entityName).append(' ').append(ALIAS).toString();
+    }
+
+    /**
+     * Short identifier of the field set, stable for a given selection
+     * regardless of the order or repetition of names in the request.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public List<String> getProperties() {
+        return Arrays.asList(properties);
+    }
+
+    /**
+     * Full JPQL for this selection, with {@code where} appended when given.
+     * The entity alias is {@code e}.
+     */
+    public String jpql(String where) {
+        return where == null ? select : select + " WHERE " + where;
+    }
+
+    public Map<String, Object> toRow(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>(properties.length * 2);
+        for (int i = 0; i < properties.length; i++) {
+            row.put(properties[i], tuple.get(i));
+        }
+        return row;
+    }
+
+    /** Reads the selected properties from an already loaded entity. */
+    public Map<String, Object> toRow(Object entity) {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Map<String, Object> row = new LinkedHashMap<>(properties.length * 2);
+        for (int i = 0; i < properties.length; i++) {
+            row.put(properties[i], bean.getPropertyValue(paths[i]));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,108 @@
+package com.booking.projection;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses {@code ?fields=} values and hands out compiled projections. Each
+ * distinct field set is compiled once per entity; permutations and
+ * duplicates of the same names resolve to the same cached instance.
+ */
+@Component
+public class FieldProjections {
+
+    private static final String[] FACILITY_PROPERTIES = {
+            "id", "name", "type", "description", "location", "hourlyRate", "capacity", "isActive",
+            "imageUrl", "contactNumber", "email", "latitude", "longitude"
+    };
+
+    // Bookings expose their facility by id only, read from the foreign key without a join.
+    private static final String[] BOOKING_PROPERTIES = {
+            "id", "facilityId", "userId", "startTime", "endTime", "totalAmount", "status", "createdAt",
+            "updatedAt", "paymentId", "cancellationReason"
+    };
+    private static final String[] BOOKING_PATHS = {
+            "id", "facility.id", "userId", "startTime", "endTime", "totalAmount", "status", "createdAt",
+            "updatedAt", "paymentId", "cancellationReason"
+    };
+
+    // What anyone may see of a facility's schedule: when it is taken, not by whom or for how much.
+    private static final String[] PUBLIC_BOOKING_PROPERTIES = {"id", "facilityId", "startTime", "endTime", "status"};
+    private static final String[] PUBLIC_BOOKING_PATHS = {"id", "facility.id", "startTime", "endTime", "status"};
+    private static final String ALL_PUBLIC_BOOKING_FIELDS = String.join(",", PUBLIC_BOOKING_PROPERTIES);
+
+    private final Catalog facilities = new Catalog("Facility", FACILITY_PROPERTIES, FACILITY_PROPERTIES);
+    private final Catalog bookings = new Catalog("Booking", BOOKING_PROPERTIES, BOOKING_PATHS);
+    private final Catalog publicBookings = new Catalog("Booking", PUBLIC_BOOKING_PROPERTIES, PUBLIC_BOOKING_PATHS);
+
+    public FieldProjection forFacility(String fields) {
+        return facilities.resolve(fields);
+    }
+
+    public FieldProjection forBooking(String fields) {
+        return bookings.resolve(fields);
+    }
+
+    /**
+     * A booking projection limited to the fields safe to show anonymous
+     * callers; {@code null} selects all of them.
+     */
+    public FieldProjection forPublicBooking(String fields) {
+        return publicBookings.resolve(fields == null ? ALL_PUBLIC_BOOKING_FIELDS : fields);
+    }
+
+    private static final class Catalog {
+
+        private final String entityName;
+        private final String[] properties;
+        private final String[] paths;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Map<Integer, FieldProjection> compiled = new ConcurrentHashMap<>();
+
+        Catalog(String entityName, String[] properties, String[] paths) {
+            this.entityName = entityName;
+            this.properties = properties;
+            this.paths = paths;
+            for (int i = 0; i < properties.length; i++) {
+                indexes.put(properties[i], i);
+            }
+        }
+
+        FieldProjection resolve(String fields) {
+            int mask = 0;
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                Integer index = indexes.get(name);
+                if (index == null) {
+                    throw new IllegalArgumentException("Unknown field for " + entityName + ": " + name);
+                }
+                mask |= 1 << index;
+            }
+            if (mask == 0) {
+                throw new IllegalArgumentException("At least one field must be selected");
+            }
+            return compiled.computeIfAbsent(mask, this::compile);
+        }
+
+        private FieldProjection compile(int mask) {
+            int count = Integer.bitCount(mask);
+            String[] selectedProperties = new String[count];
+            String[] selectedPaths = new String[count];
+            int next = 0;
+            for (int i = 0; i < properties.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    selectedProperties[next] = properties[i];
+                    selectedPaths[next] = paths[i];
+                    next++;
+                }
+            }
+            return new FieldProjection(entityName, Integer.toHexString(mask), selectedProperties, selectedPaths);
+        }
+    }
+}
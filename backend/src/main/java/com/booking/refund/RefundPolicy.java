@@ -0,0 +1,50 @@
+package com.booking.refund;
+
+import com.booking.model.Booking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * How much of a booking's total is returned when it is cancelled. A user
+ * cancelling at least {@code threshold} hours ahead gets the configured
+ * percentage back and nothing later than that; when the facility is closed
+ * the closure percentage applies regardless of notice.
+ */
+@Component
+public class RefundPolicy {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final long thresholdHours;
+    private final BigDecimal percentage;
+    private final BigDecimal closurePercentage;
+
+    public RefundPolicy(
+            @Value("${booking.cancellation.refund.threshold.hours:24}") long thresholdHours,
+            @Value("${booking.cancellation.refund.percentage:80}") BigDecimal percentage,
+            @Value("${booking.closure.refund.percentage:100}") BigDecimal closurePercentage) {
+        this.thresholdHours = thresholdHours;
+        this.percentage = percentage;
+        this.closurePercentage = closurePercentage;
+    }
+
+    public BigDecimal forCancellation(Booking booking, LocalDateTime cancelledAt) {
+        if (Duration.between(cancelledAt, booking.getStartTime()).toHours() < thresholdHours) {
+            return BigDecimal.ZERO;
+        }
+        return share(booking.getTotalAmount(), percentage);
+    }
+
+    public BigDecimal forClosure(Booking booking) {
+        return share(booking.getTotalAmount(), closurePercentage);
+    }
+
+    private static BigDecimal share(BigDecimal amount, BigDecimal percent) {
+        return amount.multiply(percent).divide(HUNDRED, 2, RoundingMode.HALF_DOWN);
+    }
+}
@@ -0,0 +1,25 @@
+package com.booking.repository;
+
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationRequestStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AllocationRequestRepository extends JpaRepository<AllocationRequest, Long> {
+    List<AllocationRequest> findByWindowIdAndStatus(Long windowId, AllocationRequestStatus status);
+
+    List<AllocationRequest> findByUserId(String userId);
+
+    boolean existsByWindowIdAndUserIdAndStartTimeAndEndTime(Long windowId, String userId,
+            LocalDateTime startTime, LocalDateTime endTime);
+
+    @Modifying
+    @Query("DELETE FROM AllocationRequest r WHERE r.window.id IN " +
+            "(SELECT w.id FROM AllocationWindow w WHERE w.facility.id = ?1)")
+    int deleteByWindowFacilityId(Long facilityId);
+}
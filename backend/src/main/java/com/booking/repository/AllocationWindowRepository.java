@@ -0,0 +1,30 @@
+package com.booking.repository;
+
+import com.booking.model.AllocationWindow;
+import com.booking.model.AllocationWindowStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AllocationWindowRepository extends JpaRepository<AllocationWindow, Long> {
+    List<AllocationWindow> findByFacilityId(Long facilityId);
+
+    List<AllocationWindow> findByStatusAndClosesAtLessThanEqual(AllocationWindowStatus status, LocalDateTime now);
+
+    @Query("SELECT COUNT(w) > 0 FROM AllocationWindow w WHERE w.facility.id = ?1 AND w.status <> ?2 AND " +
+            "w.releaseStart < ?4 AND w.releaseEnd > ?3")
+    boolean existsUnallocatedOverlapping(Long facilityId, AllocationWindowStatus allocatedStatus,
+            LocalDateTime startTime, LocalDateTime endTime);
+
+    @Modifying
+    @Query("UPDATE AllocationWindow w SET w.status = ?3 WHERE w.id = ?1 AND w.status = ?2")
+    int transitionStatus(Long id, AllocationWindowStatus from, AllocationWindowStatus to);
+
+    @Modifying
+    @Query("DELETE FROM AllocationWindow w WHERE w.facility.id = ?1")
+    int deleteByFacilityId(Long facilityId);
+}
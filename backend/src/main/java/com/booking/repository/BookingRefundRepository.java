@@ -0,0 +1,23 @@
+package com.booking.repository;
+
+import com.booking.model.BookingRefund;
+import com.booking.model.RefundStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingRefundRepository extends JpaRepository<BookingRefund, Long> {
+    List<BookingRefund> findByStatusAndIdGreaterThanOrderByIdAsc(RefundStatus status, Long afterId,
+            Pageable pageable);
+
+    long countByClosureIdAndStatus(Long closureId, RefundStatus status);
+
+    Optional<BookingRefund> findByBookingId(Long bookingId);
+
+    List<BookingRefund> findByBookingIdIn(Collection<Long> bookingIds);
+}
@@ -2,11 +2,17 @@ package com.booking.repository;
 
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -29,4 +35,48 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         List<Booking> findByFacilityIdAndStartTimeBetween(Long facilityId, LocalDateTime start, LocalDateTime end);
 
         List<Booking> findByUserIdAndStatus(String userId, BookingStatus status);
+
+        List<Booking> findByUserIdOrderByStartTimeDescIdDesc(String userId, Pageable pageable);
+
+        List<Booking> findByUserIdAndStatusInAndStartTimeAfterOrderByStartTimeAsc(String userId,
+                        Collection<BookingStatus> statuses, LocalDateTime after, Pageable pageable);
+
+        List<Booking> findByStatusAndCreatedAtBefore(BookingStatus status, LocalDateTime cutoff);
+
+        @Query("SELECT b FROM Booking b WHERE b.facility.id = ?1 AND b.status IN ?2 AND " +
+                        "b.startTime < ?4 AND b.endTime > ?3")
+        List<Booking> findByFacilityIdAndStatusInOverlapping(Long facilityId, Collection<BookingStatus> statuses,
+                        LocalDateTime startTime, LocalDateTime endTime);
+
+        List<Booking> findByStatusAndStartTimeBetweenAndReminderSentAtIsNull(BookingStatus status,
+                        LocalDateTime from, LocalDateTime to);
+
+        @Modifying
+        @Query("UPDATE Booking b SET b.reminderSentAt = ?2 WHERE b.id = ?1 AND b.reminderSentAt IS NULL")
+        int markReminderSent(Long id, LocalDateTime sentAt);
+
+        @Modifying
+        @Query("UPDATE Booking b SET b.reminderSentAt = NULL WHERE b.id IN ?1 AND b.reminderSentAt = ?2")
+        int releaseReminders(Collection<Long> ids, LocalDateTime sentAt);
+
+        boolean existsByFacilityIdAndStatusInAndStartTimeAfter(Long facilityId, Collection<BookingStatus> statuses,
+                        LocalDateTime after);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Booking b WHERE b.facility.id = ?1 AND b.status IN ?2 AND b.startTime > ?3 " +
+                        "AND b.id > ?4 ORDER BY b.id")
+        List<Booking> findClosable(Long facilityId, Collection<BookingStatus> statuses, LocalDateTime after,
+                        Long afterId, Pageable pageable);
+
+        /** Cancels those of {@code ids} still in one of {@code statuses} (by name); returns the ids it cancelled. */
+        @Query(value = "UPDATE bookings SET status = 'CANCELLED', cancellation_reason = ?3, updated_at = ?4 " +
+                        "WHERE id IN ?1 AND status IN ?2 RETURNING id", nativeQuery = true)
+        List<Long> cancelAll(Collection<Long> ids, Collection<String> statuses, String reason,
+                        LocalDateTime updatedAt);
+
+        @Query("SELECT b FROM Booking b WHERE b.createdAt > ?1 OR b.updatedAt > ?1")
+        List<Booking> findChangedSince(LocalDateTime since);
+
+        @Query("SELECT b.facility.id FROM Booking b WHERE b.id = ?1")
+        Optional<Long> findFacilityIdById(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.booking.repository;
+
+import com.booking.model.ClosureStatus;
+import com.booking.model.FacilityClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FacilityClosureRepository extends JpaRepository<FacilityClosure, Long> {
+    List<FacilityClosure> findByStatusNotOrderByIdAsc(ClosureStatus status);
+
+    Optional<FacilityClosure> findFirstByFacilityIdAndStatusNot(Long facilityId, ClosureStatus status);
+
+    List<FacilityClosure> findByFacilityIdOrderByIdDesc(Long facilityId);
+}
@@ -17,5 +17,5 @@ public interface FacilityRepository extends JpaRepository<Facility, Long> {
 
     List<Facility> findByTypeAndIsActive(String type, Boolean isActive);
 
-    boolean existsByNameAndAddress(String name, String address);
+    boolean existsByNameAndLocation(String name, String location);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.booking.repository;
+
+import com.booking.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+        List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+        Optional<OutboxEvent> findFirstByPublishedAtIsNullOrderByIdAsc();
+
+        long countByPublishedAtIsNull();
+
+        @Modifying
+        @Query("UPDATE OutboxEvent e SET e.publishedAt = ?2 WHERE e.id IN ?1")
+        int markPublished(Collection<Long> ids, LocalDateTime publishedAt);
+
+        @Modifying
+        @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < ?1")
+        int deletePublishedBefore(LocalDateTime cutoff);
+
+        /**
+         * Serializes outbox writes for one partition until the transaction
+         * ends, so row ids follow commit order within the partition.
+         */
+        @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(?1)) AS partition_lock", nativeQuery = true)
+        long lockPartition(long partitionKey);
+
+        /**
+         * Makes the calling transaction the only active relay, or returns false.
+         */
+        @Query(value = "SELECT pg_try_advisory_xact_lock(?1)", nativeQuery = true)
+        boolean tryRelayLock(long lockKey);
+}
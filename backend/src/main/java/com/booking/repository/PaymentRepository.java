@@ -0,0 +1,13 @@
+package com.booking.repository;
+
+import com.booking.model.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    List<Payment> findByTransactionIdIn(Collection<String> transactionIds);
+}
@@ -0,0 +1,13 @@
+package com.booking.repository;
+
+import com.booking.model.SlotTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface SlotTemplateRepository extends JpaRepository<SlotTemplate, Long> {
+    Optional<SlotTemplate> findByFacilityId(Long facilityId);
+
+    void deleteByFacilityId(Long facilityId);
+}
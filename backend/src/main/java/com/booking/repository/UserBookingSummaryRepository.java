@@ -0,0 +1,16 @@
+package com.booking.repository;
+
+import com.booking.model.UserBookingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserBookingSummaryRepository extends JpaRepository<UserBookingSummary, String> {
+        /**
+         * Serializes summary updates for one user until the transaction ends,
+         * including the first one, which creates the row.
+         */
+        @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(?1)) AS summary_lock", nativeQuery = true)
+        long lockUser(long lockKey);
+}
@@ -0,0 +1,26 @@
+package com.booking.repository;
+
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    List<WaitlistEntry> findByUserId(String userId);
+
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.facility.id = ?1 AND w.status = ?2 AND " +
+            "w.startTime < ?4 AND w.endTime > ?3")
+    List<WaitlistEntry> findOverlapping(Long facilityId, WaitlistStatus status,
+            LocalDateTime startTime, LocalDateTime endTime);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.facility.id = ?1")
+    int deleteByFacilityId(Long facilityId);
+}
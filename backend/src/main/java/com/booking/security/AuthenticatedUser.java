@@ -0,0 +1,49 @@
+package com.booking.security;
+
+import com.booking.model.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The caller identified by a verified token. Authorities and implied roles
+ * are computed once per {@link UserRole} rather than per request, so a role
+ * check is an enum-set lookup.
+ */
+public record AuthenticatedUser(String userId, UserRole role, long expiresAtMillis) implements Principal {
+
+    private static final Map<UserRole, Set<UserRole>> IMPLIED_ROLES = new EnumMap<>(UserRole.class);
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        IMPLIED_ROLES.put(UserRole.CITIZEN, EnumSet.of(UserRole.CITIZEN));
+        IMPLIED_ROLES.put(UserRole.ADMIN, EnumSet.of(UserRole.ADMIN, UserRole.CITIZEN));
+        IMPLIED_ROLES.forEach((role, implied) -> AUTHORITIES.put(role, implied.stream()
+                .<GrantedAuthority>map(r -> new SimpleGrantedAuthority("ROLE_" + r.name()))
+                .toList()));
+    }
+
+    public boolean hasRole(UserRole required) {
+        return IMPLIED_ROLES.get(role).contains(required);
+    }
+
+    /** Whether this user may read or act on data belonging to {@code userId}. */
+    public boolean canActFor(String userId) {
+        return this.userId.equals(userId) || hasRole(UserRole.ADMIN);
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+}
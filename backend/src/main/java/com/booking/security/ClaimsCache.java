@@ -0,0 +1,59 @@
+package com.booking.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded LRU of verified tokens, so a client's repeat requests skip the
+ * signature check. Entries are keyed by the token's SHA-256, so raw tokens
+ * are never kept, and are served only until the token expires.
+ */
+public class ClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<String, AuthenticatedUser> entries;
+
+    public ClaimsCache(int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AuthenticatedUser> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /** The cached user for the token, or null if absent or expired. */
+    public AuthenticatedUser get(String token, long nowMillis) {
+        String key = key(token);
+        AuthenticatedUser user = entries.get(key);
+        if (user != null && user.expiresAtMillis() <= nowMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return user;
+    }
+
+    public void put(String token, AuthenticatedUser user) {
+        entries.put(key(token), user);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String key(String token) {
+        return Base64.getEncoder().encodeToString(DIGESTS.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.booking.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates {@code Authorization: Bearer} requests from the token alone.
+ * A token seen before is served from the {@link ClaimsCache}; a new one is
+ * verified and cached until it expires. Requests without a token continue
+ * unauthenticated and are left to the authorization rules; a token that
+ * fails verification is rejected with 401 straight away.
+ *
+ * <p>Registered inside the security filter chain only, not as a servlet
+ * filter of its own.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final ClaimsCache claimsCache;
+
+    public JwtAuthenticationFilter(JwtService jwtService, ClaimsCache claimsCache) {
+        this.jwtService = jwtService;
+        this.claimsCache = claimsCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        AuthenticatedUser user = claimsCache.get(token, System.currentTimeMillis());
+        if (user == null) {
+            try {
+                user = jwtService.verify(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+                response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired token");
+                return;
+            }
+            claimsCache.put(token, user);
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, user.authorities()));
+        SecurityContextHolder.setContext(context);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.booking.security;
+
+import com.booking.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Issues and verifies HS256 tokens signed with {@code jwt.secret}. The
+ * subject is the user id and the {@code role} claim a {@link UserRole}.
+ * Verification needs only the secret, so no node looks the user up.
+ */
+@Component
+public class JwtService {
+
+    static final String ROLE_CLAIM = "role";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expirationMillis;
+
+    @Autowired
+    public JwtService(@Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration:86400000}") long expirationMillis,
+            @Value("${booking.security.clock-skew.seconds:30}") long clockSkewSeconds) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(clockSkewSeconds)
+                .build();
+        this.expirationMillis = expirationMillis;
+    }
+
+    public String issue(String userId, UserRole role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(userId)
+                .claim(ROLE_CLAIM, role.name())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Returns the user of a correctly signed, unexpired token.
+     *
+     * @throws JwtException if the token is malformed, forged, expired or lacks a known role
+     */
+    public AuthenticatedUser verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token must carry a subject and an expiry");
+        }
+        UserRole role;
+        try {
+            role = UserRole.valueOf(claims.get(ROLE_CLAIM, String.class));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new JwtException("Unknown role in token");
+        }
+        return new AuthenticatedUser(claims.getSubject(), role, claims.getExpiration().getTime());
+    }
+}
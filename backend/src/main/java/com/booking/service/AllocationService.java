@@ -0,0 +1,22 @@
+package com.booking.service;
+
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationWindow;
+import java.util.List;
+import java.util.Optional;
+
+public interface AllocationService {
+    AllocationWindow openWindow(AllocationWindow window);
+
+    Optional<AllocationWindow> getWindowById(Long id);
+
+    List<AllocationWindow> getWindowsByFacilityId(Long facilityId);
+
+    AllocationRequest submitRequest(Long windowId, AllocationRequest request);
+
+    List<AllocationRequest> getRequestsByUserId(String userId);
+
+    AllocationWindow allocate(Long windowId);
+
+    void allocateDueWindows();
+}
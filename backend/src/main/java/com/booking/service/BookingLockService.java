@@ -0,0 +1,24 @@
+package com.booking.service;
+
+import com.booking.event.BookingChangedEvent;
+
+import java.util.Collection;
+
+public interface BookingLockService {
+    /**
+     * Takes the advisory locks that recording {@code events} needs, each
+     * facility's outbox partition and each user's dashboard summary, in one
+     * global order: facilities ascending, then users ascending. Transactions
+     * changing several bookings call this before publishing any of them, so
+     * they cannot deadlock each other or a single change. Locks are held until
+     * the transaction ends, and taking one again is free.
+     */
+    void lockForChanges(Collection<BookingChangedEvent> events);
+
+    void lockForChange(BookingChangedEvent event);
+
+    /**
+     * Takes only the user's summary lock, for work that touches no facility.
+     */
+    void lockUser(String userId);
+}
@@ -9,6 +9,9 @@ import java.util.Optional;
 public interface BookingService {
     List<Booking> getBookingsByUserId(String userId);
 
+    /** One page of a user's bookings, latest start first. */
+    List<Booking> getBookingHistory(String userId, int page, int size);
+
     List<Booking> getBookingsByFacilityId(Long facilityId);
 
     Optional<Booking> getBookingById(Long id);
@@ -30,4 +33,6 @@ public interface BookingService {
     Booking updateBookingStatus(Long id, BookingStatus status);
 
     void processCompletedBookings();
+
+    void expirePendingBookings();
 }
\ No newline at end of file
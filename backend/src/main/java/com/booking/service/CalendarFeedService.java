@@ -0,0 +1,14 @@
+package com.booking.service;
+
+import com.booking.dto.CalendarFeed;
+
+import java.util.Optional;
+
+public interface CalendarFeedService {
+
+    /** Upcoming confirmed bookings of a facility; empty if the facility does not exist. */
+    Optional<CalendarFeed> getFacilityFeed(Long facilityId);
+
+    /** A user's bookings, from {@code booking.calendar.history.days} ago onwards. */
+    CalendarFeed getUserFeed(String userId);
+}
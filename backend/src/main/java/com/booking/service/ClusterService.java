@@ -0,0 +1,26 @@
+package com.booking.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface ClusterService {
+    String getLocalNodeId();
+
+    /**
+     * Live members, by node id, with the base URL each accepts forwarded
+     * requests on.
+     */
+    Map<String, String> getMembers();
+
+    String getOwner(long facilityId);
+
+    /**
+     * The base URL of the facility's owner, or empty when this node owns it.
+     */
+    Optional<String> getOwnerAddress(long facilityId);
+
+    boolean isClustered();
+
+    /** Renews this node's lease and recomputes ownership if the membership changed. */
+    void heartbeat();
+}
@@ -0,0 +1,11 @@
+package com.booking.service;
+
+import com.booking.dto.UserDashboard;
+
+public interface DashboardService {
+    /**
+     * A user's booking totals and next bookings, read from the maintained
+     * summary rather than from the user's booking history.
+     */
+    UserDashboard getDashboard(String userId);
+}
@@ -0,0 +1,19 @@
+package com.booking.service;
+
+import com.booking.dto.BookingExportRequest;
+import com.booking.dto.BookingExportResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    /**
+     * Streams the bookings created in the request's range, in id order and
+     * after {@code afterId}, to {@code out} in the request's format. Rows are
+     * written as they are read, so memory use does not depend on the range.
+     *
+     * @throws IllegalStateException if too many exports are already running
+     */
+    BookingExportResult exportBookings(BookingExportRequest request, OutputStream out) throws IOException;
+}
@@ -0,0 +1,27 @@
+package com.booking.service;
+
+import com.booking.model.FacilityClosure;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FacilityClosureService {
+    /**
+     * Starts cancelling the facility's future bookings, or returns the closure
+     * already in progress. With {@code deleteFacility} the facility is deleted
+     * once every refund has been settled.
+     */
+    FacilityClosure beginClosure(Long facilityId, String reason, boolean deleteFacility);
+
+    boolean hasOpenBookings(Long facilityId);
+
+    /**
+     * Advances every open closure and returns how many bookings were
+     * cancelled. Runs on a schedule; progress survives restarts.
+     */
+    int runClosures();
+
+    Optional<FacilityClosure> getClosure(Long id);
+
+    List<FacilityClosure> getClosuresByFacility(Long facilityId);
+}
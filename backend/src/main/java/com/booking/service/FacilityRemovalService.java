@@ -0,0 +1,12 @@
+package com.booking.service;
+
+public interface FacilityRemovalService {
+    /**
+     * Deletes a facility together with the rows that reference it: its slot
+     * template, waitlist entries and allocation windows with their requests.
+     * Its bookings go with it through the facility's cascade, so callers
+     * cancel and refund them first. Publishes the facility's DELETED change.
+     * Does nothing if the facility is already gone.
+     */
+    void remove(Long facilityId);
+}
@@ -0,0 +1,18 @@
+package com.booking.service;
+
+import com.booking.dto.NearbyFacility;
+
+import java.util.List;
+
+public interface GeoSearchService {
+    /**
+     * Finds facilities nearest to the given point, closest first. A null
+     * {@code limit} uses the default, a null {@code radiusKm} means no
+     * radius, and null {@code type} or {@code active} match any facility.
+     */
+    List<NearbyFacility> findNearby(double latitude, double longitude, Integer limit, Double radiusKm,
+            String type, Boolean active);
+
+    /** Rebuilds the spatial index from the facility table. */
+    void reload();
+}
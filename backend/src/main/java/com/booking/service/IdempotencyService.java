@@ -0,0 +1,20 @@
+package com.booking.service;
+
+import com.booking.idempotency.IdempotencyRecord;
+
+public interface IdempotencyService {
+    /**
+     * Claims {@code key} for a request with the given fingerprint. Returns
+     * null if the caller should execute the request and then call
+     * {@link #complete} or {@link #release}; otherwise returns the stored
+     * response, waiting for it if the key is in flight elsewhere.
+     *
+     * @throws IllegalArgumentException if the key was used for a different request
+     * @throws IllegalStateException if the in-flight request does not finish in time
+     */
+    IdempotencyRecord begin(String key, String fingerprint);
+
+    void complete(String key, IdempotencyRecord record);
+
+    void release(String key, String fingerprint);
+}
@@ -0,0 +1,15 @@
+package com.booking.service;
+
+import com.booking.dto.NotificationStats;
+
+import java.util.List;
+
+public interface NotificationService {
+    /**
+     * Queues reminders for confirmed bookings starting within the reminder
+     * lead time that have not been reminded yet. Returns how many were queued.
+     */
+    int sendReminders();
+
+    List<NotificationStats> getStats();
+}
@@ -0,0 +1,15 @@
+package com.booking.service;
+
+import com.booking.dto.OutboxStats;
+
+public interface OutboxService {
+    /**
+     * Publishes pending outbox events in batches and returns how many were
+     * published. Runs on a schedule; at most one node relays at a time.
+     */
+    int relay();
+
+    void purgePublished();
+
+    OutboxStats getStats();
+}
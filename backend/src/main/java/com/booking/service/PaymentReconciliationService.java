@@ -0,0 +1,17 @@
+package com.booking.service;
+
+import com.booking.dto.ReconciliationReport;
+
+import java.util.Optional;
+
+public interface PaymentReconciliationService {
+    /**
+     * Reads the payment intents and refunds the provider has created since
+     * the last run, records them as payments and repairs bookings whose
+     * status disagrees with them. Empty when a run is already in progress.
+     */
+    Optional<ReconciliationReport> reconcile();
+
+    /** The outcome of the last run, or empty before the first one. */
+    Optional<ReconciliationReport> getLastReport();
+}
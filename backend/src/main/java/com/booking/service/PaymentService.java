@@ -2,6 +2,8 @@ package com.booking.service;
 
 import com.booking.model.Booking;
 import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.model.RefundCollection;
 
 public interface PaymentService {
     PaymentIntent createPaymentIntent(Booking booking) throws Exception;
@@ -11,4 +13,25 @@ public interface PaymentService {
     PaymentIntent cancelPayment(String paymentIntentId) throws Exception;
 
     PaymentIntent getPaymentIntent(String paymentIntentId) throws Exception;
+
+    /**
+     * Refunds part of a captured payment and returns the provider's refund id.
+     * Repeating a call with the same idempotency key does not refund twice.
+     */
+    String refundPayment(String paymentIntentId, long amountCents, String idempotencyKey) throws Exception;
+
+    /**
+     * Lists payment intents created at or after {@code createdFrom} (epoch
+     * seconds), newest first, {@code limit} per page, with each intent's
+     * latest charge expanded. Pass the last id of a page as
+     * {@code startingAfter} to get the next one.
+     */
+    PaymentIntentCollection listPaymentIntents(long createdFrom, String startingAfter, int limit) throws Exception;
+
+    /**
+     * Lists refunds created at or after {@code createdFrom} (epoch seconds),
+     * newest first, with each refund's payment intent and that intent's
+     * latest charge expanded. Paged like {@link #listPaymentIntents}.
+     */
+    RefundCollection listRefunds(long createdFrom, String startingAfter, int limit) throws Exception;
 }
\ No newline at end of file
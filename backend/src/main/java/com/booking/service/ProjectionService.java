@@ -0,0 +1,35 @@
+package com.booking.service;
+
+import com.booking.model.BookingStatus;
+import com.booking.projection.FieldProjection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read paths for {@code ?fields=} requests. Each method mirrors a read on
+ * {@link FacilityService} or {@link BookingService} but selects only the
+ * projected columns.
+ */
+public interface ProjectionService {
+    List<Map<String, Object>> getAllFacilities(FieldProjection projection);
+
+    Optional<Map<String, Object>> getFacilityById(Long id, FieldProjection projection);
+
+    List<Map<String, Object>> getFacilitiesByType(String type, FieldProjection projection);
+
+    List<Map<String, Object>> getActiveFacilities(FieldProjection projection);
+
+    List<Map<String, Object>> searchFacilitiesByLocation(String location, FieldProjection projection);
+
+    Optional<Map<String, Object>> getBookingById(Long id, FieldProjection projection);
+
+    List<Map<String, Object>> getBookingsByUserId(String userId, FieldProjection projection);
+
+    List<Map<String, Object>> getBookingsByFacilityId(Long facilityId, FieldProjection projection);
+
+    List<Map<String, Object>> getBookingsByStatus(BookingStatus status, FieldProjection projection);
+
+    List<Map<String, Object>> getUpcomingBookings(Long facilityId, FieldProjection projection);
+}
@@ -0,0 +1,14 @@
+package com.booking.service;
+
+import com.booking.dto.QuoteRequest;
+import com.booking.dto.QuoteResponse;
+import com.booking.model.Facility;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface QuoteService {
+    BigDecimal quote(Facility facility, LocalDateTime startTime, LocalDateTime endTime);
+
+    List<QuoteResponse> quote(List<QuoteRequest> requests);
+}
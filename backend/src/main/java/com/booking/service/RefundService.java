@@ -0,0 +1,22 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingRefund;
+
+import java.util.Optional;
+
+public interface RefundService {
+    /**
+     * Records the refund owed for a booking the user has just cancelled, as
+     * computed by the refund policy. Empty when nothing is owed.
+     */
+    Optional<BookingRefund> requestCancellationRefund(Booking booking);
+
+    /**
+     * Issues pending refunds with the payment provider and returns how many
+     * were settled. Runs on a schedule and is safe to repeat.
+     */
+    int processPendingRefunds();
+
+    long countPending(Long closureId);
+}
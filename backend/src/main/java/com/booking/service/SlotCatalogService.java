@@ -0,0 +1,25 @@
+package com.booking.service;
+
+import com.booking.dto.SlotView;
+import com.booking.model.SlotTemplate;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SlotCatalogService {
+    Optional<SlotTemplate> getTemplate(Long facilityId);
+
+    SlotTemplate saveTemplate(Long facilityId, SlotTemplate template);
+
+    void deleteTemplate(Long facilityId);
+
+    List<SlotView> getSlots(Long facilityId, LocalDate date);
+
+    void refreshCatalogs();
+
+    /**
+     * Writes the schedule snapshot that the next startup restores catalogs
+     * from. Runs on a schedule and at shutdown.
+     */
+    void writeSnapshot();
+}
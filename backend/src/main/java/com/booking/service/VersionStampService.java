@@ -0,0 +1,9 @@
+package com.booking.service;
+
+public interface VersionStampService {
+    long getCatalogVersion();
+
+    long getScheduleVersion(Long facilityId);
+
+    long getUserScheduleVersion(String userId);
+}
@@ -0,0 +1,42 @@
+package com.booking.service;
+
+import com.booking.dto.WaitingRoomStatus;
+import com.booking.waitingroom.AdmissionTokenSigner.Claims;
+import java.util.Map;
+
+public interface WaitingRoomService {
+    void activate(Long facilityId, double admissionsPerSecond);
+
+    void deactivate(Long facilityId);
+
+    Map<Long, Double> getActiveRooms();
+
+    boolean hasActiveRooms();
+
+    boolean isActive(Long facilityId);
+
+    /**
+     * Queues {@code userId} for the facility. The ticket, and the admission
+     * it turns into, are good only for that user.
+     */
+    WaitingRoomStatus join(Long facilityId, String userId);
+
+    WaitingRoomStatus getStatus(String ticket);
+
+    /**
+     * The claims of a valid admission token, or {@code null}.
+     */
+    Claims verifyAdmission(String admissionToken);
+
+    /**
+     * Spends an admission on one booking attempt. Returns {@code false} if
+     * it has already been spent.
+     */
+    boolean redeemAdmission(Claims admission);
+
+    /**
+     * Returns a spent admission after the booking attempt failed, so the
+     * user may retry without queueing again.
+     */
+    void releaseAdmission(Claims admission);
+}
@@ -0,0 +1,17 @@
+package com.booking.service;
+
+import com.booking.model.WaitlistEntry;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistService {
+    WaitlistEntry joinWaitlist(WaitlistEntry entry);
+
+    WaitlistEntry leaveWaitlist(Long id);
+
+    Optional<WaitlistEntry> getEntryById(Long id);
+
+    List<WaitlistEntry> getEntriesByUserId(String userId);
+
+    long getPosition(Long id);
+}
@@ -0,0 +1,228 @@
+package com.booking.service.impl;
+
+import com.booking.allocation.BatchAllocator;
+import com.booking.event.AllocationCompletedEvent;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationRequestStatus;
+import com.booking.model.AllocationWindow;
+import com.booking.model.AllocationWindowStatus;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.UserRole;
+import com.booking.repository.AllocationRequestRepository;
+import com.booking.repository.AllocationWindowRepository;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.service.AllocationService;
+import com.booking.service.BookingLockService;
+import com.booking.service.QuoteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class AllocationServiceImpl implements AllocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationServiceImpl.class);
+
+    private final AllocationWindowRepository allocationWindowRepository;
+    private final AllocationRequestRepository allocationRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final FacilityRepository facilityRepository;
+    private final QuoteService quoteService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingLockService bookingLockService;
+    private final Environment environment;
+    private final TransactionTemplate windowTransaction;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public AllocationServiceImpl(AllocationWindowRepository allocationWindowRepository,
+            AllocationRequestRepository allocationRequestRepository,
+            BookingRepository bookingRepository,
+            FacilityRepository facilityRepository,
+            QuoteService quoteService,
+            ApplicationEventPublisher eventPublisher,
+            BookingLockService bookingLockService,
+            Environment environment,
+            PlatformTransactionManager transactionManager) {
+        this.allocationWindowRepository = allocationWindowRepository;
+        this.allocationRequestRepository = allocationRequestRepository;
+        this.bookingRepository = bookingRepository;
+        this.facilityRepository = facilityRepository;
+        this.quoteService = quoteService;
+        this.eventPublisher = eventPublisher;
+        this.bookingLockService = bookingLockService;
+        this.environment = environment;
+        this.windowTransaction = new TransactionTemplate(transactionManager);
+        this.windowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public AllocationWindow openWindow(AllocationWindow window) {
+        if (window.getReleaseStart() == null || window.getReleaseEnd() == null
+                || !window.getReleaseEnd().isAfter(window.getReleaseStart())) {
+            throw new IllegalArgumentException("Release end must be after release start");
+        }
+        if (window.getOpensAt() == null || window.getClosesAt() == null
+                || !window.getClosesAt().isAfter(window.getOpensAt())) {
+            throw new IllegalArgumentException("Window must close after it opens");
+        }
+        if (window.getMaxWinsPerUser() == null || window.getMaxWinsPerUser() < 1) {
+            throw new IllegalArgumentException("Max wins per user must be at least 1");
+        }
+        Long facilityId = window.getFacility() == null ? null : window.getFacility().getId();
+        Facility facility = facilityId == null ? null : facilityRepository.findById(facilityId).orElse(null);
+        if (facility == null) {
+            throw new IllegalArgumentException("Facility not found with id: " + facilityId);
+        }
+        window.setFacility(facility);
+        window.setStatus(AllocationWindowStatus.OPEN);
+        return allocationWindowRepository.save(window);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AllocationWindow> getWindowById(Long id) {
+        return allocationWindowRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AllocationWindow> getWindowsByFacilityId(Long facilityId) {
+        return allocationWindowRepository.findByFacilityId(facilityId);
+    }
+
+    /**
+     * Records a request against an open window. Nothing is written to the
+     * bookings table until the window is allocated.
+     */
+    @Override
+    public AllocationRequest submitRequest(Long windowId, AllocationRequest request) {
+        AllocationWindow window = allocationWindowRepository.findById(windowId)
+                .orElseThrow(() -> new IllegalArgumentException("Allocation window not found with id: " + windowId));
+        LocalDateTime now = LocalDateTime.now();
+        if (window.getStatus() != AllocationWindowStatus.OPEN
+                || now.isBefore(window.getOpensAt()) || !now.isBefore(window.getClosesAt())) {
+            throw new IllegalArgumentException("Allocation window is not accepting requests");
+        }
+        if (request.getStartTime() == null || request.getEndTime() == null
+                || !request.getEndTime().isAfter(request.getStartTime())
+                || request.getStartTime().isBefore(window.getReleaseStart())
+                || request.getEndTime().isAfter(window.getReleaseEnd())) {
+            throw new IllegalArgumentException("Requested slot is outside the released range");
+        }
+        if (allocationRequestRepository.existsByWindowIdAndUserIdAndStartTimeAndEndTime(
+                windowId, request.getUserId(), request.getStartTime(), request.getEndTime())) {
+            throw new IllegalArgumentException("Slot already requested by this user");
+        }
+        if (request.getRole() == null) {
+            request.setRole(UserRole.CITIZEN);
+        }
+        request.setWindow(window);
+        request.setPriority(environment.getProperty(
+                "booking.allocation.priority." + request.getRole().name().toLowerCase(), Integer.class, 0));
+        request.setStatus(AllocationRequestStatus.SUBMITTED);
+        return allocationRequestRepository.save(request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AllocationRequest> getRequestsByUserId(String userId) {
+        return allocationRequestRepository.findByUserId(userId);
+    }
+
+    /**
+     * Resolves a closed window in a single transaction: claims it, orders and
+     * grants its requests against the bookings already in the released range,
+     * and inserts all winning bookings together.
+     */
+    @Override
+    public AllocationWindow allocate(Long windowId) {
+        if (allocationWindowRepository.transitionStatus(windowId,
+                AllocationWindowStatus.OPEN, AllocationWindowStatus.ALLOCATING) == 0) {
+            throw new IllegalArgumentException("Allocation window is not open: " + windowId);
+        }
+        AllocationWindow window = allocationWindowRepository.findById(windowId)
+                .orElseThrow(() -> new IllegalArgumentException("Allocation window not found with id: " + windowId));
+        Facility facility = window.getFacility();
+
+        List<Booking> existing = bookingRepository.findByFacilityIdAndStatusInOverlapping(facility.getId(),
+                EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED),
+                window.getReleaseStart(), window.getReleaseEnd());
+        List<AllocationRequest> requests = allocationRequestRepository.findByWindowIdAndStatus(
+                windowId, AllocationRequestStatus.SUBMITTED);
+        long seed = random.nextLong();
+        BatchAllocator.Result result = new BatchAllocator(existing)
+                .allocate(requests, window.getMode(), seed, window.getMaxWinsPerUser());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(result.winners().size());
+        for (AllocationRequest winner : result.winners()) {
+            Booking booking = new Booking();
+            booking.setFacility(facility);
+            booking.setUserId(winner.getUserId());
+            booking.setStartTime(winner.getStartTime());
+            booking.setEndTime(winner.getEndTime());
+            booking.setTotalAmount(quoteService.quote(facility, winner.getStartTime(), winner.getEndTime()));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setCreatedAt(now);
+            bookings.add(booking);
+        }
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        List<BookingChangedEvent> events = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            result.winners().get(i).setStatus(AllocationRequestStatus.WON);
+            result.winners().get(i).setBookingId(saved.get(i).getId());
+            events.add(BookingChangedEvent.of(saved.get(i), null));
+        }
+        bookingLockService.lockForChanges(events);
+        events.forEach(eventPublisher::publishEvent);
+        result.losers().forEach(loser -> loser.setStatus(AllocationRequestStatus.LOST));
+        allocationRequestRepository.saveAll(requests);
+
+        window.setSeed(seed);
+        window.setStatus(AllocationWindowStatus.ALLOCATED);
+        window.setAllocatedAt(now);
+        AllocationWindow allocated = allocationWindowRepository.save(window);
+        eventPublisher.publishEvent(new AllocationCompletedEvent(
+                windowId, facility.getId(), result.winners(), result.losers()));
+        log.info("Allocated window {}: {} winners, {} losers", windowId,
+                result.winners().size(), result.losers().size());
+        return allocated;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${booking.allocation.check.ms:10000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void allocateDueWindows() {
+        for (AllocationWindow window : allocationWindowRepository.findByStatusAndClosesAtLessThanEqual(
+                AllocationWindowStatus.OPEN, LocalDateTime.now())) {
+            try {
+                windowTransaction.executeWithoutResult(status -> allocate(window.getId()));
+            } catch (RuntimeException e) {
+                // Most likely claimed by another node between the lookup and the claim.
+                log.debug("Skipped allocation of window {}: {}", window.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.booking.service.impl;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.repository.OutboxEventRepository;
+import com.booking.repository.UserBookingSummaryRepository;
+import com.booking.service.BookingLockService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class BookingLockServiceImpl implements BookingLockService {
+
+    // Puts every user key above every facility key, so facilities-then-users is plain ascending key order.
+    private static final long USER_NAMESPACE = 0x5553_4552L << 32;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserBookingSummaryRepository summaryRepository;
+
+    @Autowired
+    public BookingLockServiceImpl(OutboxEventRepository outboxEventRepository,
+            UserBookingSummaryRepository summaryRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.summaryRepository = summaryRepository;
+    }
+
+    @Override
+    public void lockForChanges(Collection<BookingChangedEvent> events) {
+        SortedSet<Long> facilityKeys = new TreeSet<>();
+        SortedSet<Long> userKeys = new TreeSet<>();
+        for (BookingChangedEvent event : events) {
+            facilityKeys.add(event.getFacilityId());
+            userKeys.add(userKey(event.getUserId()));
+        }
+        facilityKeys.forEach(outboxEventRepository::lockPartition);
+        userKeys.forEach(summaryRepository::lockUser);
+    }
+
+    @Override
+    public void lockForChange(BookingChangedEvent event) {
+        lockForChanges(List.of(event));
+    }
+
+    @Override
+    public void lockUser(String userId) {
+        summaryRepository.lockUser(userKey(userId));
+    }
+
+    private static long userKey(String userId) {
+        return USER_NAMESPACE | (userId.hashCode() & 0xffffffffL);
+    }
+}
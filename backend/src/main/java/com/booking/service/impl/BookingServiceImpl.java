@@ -1,16 +1,28 @@
 package com.booking.service.impl;
 
+import com.booking.event.BookingChangedEvent;
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
+import com.booking.model.AllocationWindowStatus;
 import com.booking.model.Facility;
+import com.booking.repository.AllocationWindowRepository;
 import com.booking.repository.BookingRepository;
 import com.booking.repository.FacilityRepository;
+import com.booking.service.BookingLockService;
 import com.booking.service.BookingService;
+import com.booking.service.QuoteService;
+import com.booking.service.RefundService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,21 +32,61 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final FacilityRepository facilityRepository;
+    private final QuoteService quoteService;
+    private final AllocationWindowRepository allocationWindowRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefundService refundService;
+    private final BookingLockService bookingLockService;
+
+    @Value("${booking.payment.timeout.minutes:15}")
+    private long paymentTimeoutMinutes;
+
+    @Value("${booking.dashboard.history.max-page-size:100}")
+    private int maxHistoryPageSize = 100;
 
     @Autowired
-    public BookingServiceImpl(BookingRepository bookingRepository, FacilityRepository facilityRepository) {
+    public BookingServiceImpl(BookingRepository bookingRepository, FacilityRepository facilityRepository,
+            QuoteService quoteService, AllocationWindowRepository allocationWindowRepository,
+            ApplicationEventPublisher eventPublisher, RefundService refundService,
+            BookingLockService bookingLockService) {
         this.bookingRepository = bookingRepository;
         this.facilityRepository = facilityRepository;
+        this.quoteService = quoteService;
+        this.allocationWindowRepository = allocationWindowRepository;
+        this.eventPublisher = eventPublisher;
+        this.refundService = refundService;
+        this.bookingLockService = bookingLockService;
     }
 
     @Override
     public Booking createBooking(Booking booking) {
-        if (!isSlotAvailable(booking.getFacility().getId(), booking.getStartTime(), booking.getEndTime())) {
-            throw new RuntimeException("Selected time slot is not available");
+        if (booking.getFacility() == null || booking.getFacility().getId() == null) {
+            throw new IllegalArgumentException("Booking must reference a facility");
+        }
+        Long facilityId = booking.getFacility().getId();
+        Facility facility = facilityRepository.findById(facilityId)
+                .orElseThrow(() -> new IllegalArgumentException("Facility not found with id: " + facilityId));
+        if (!Boolean.TRUE.equals(facility.getIsActive())) {
+            throw new IllegalArgumentException("Facility is not accepting bookings: " + facilityId);
+        }
+        booking.setFacility(facility);
+        if (allocationWindowRepository.existsUnallocatedOverlapping(facilityId, AllocationWindowStatus.ALLOCATED,
+                booking.getStartTime(), booking.getEndTime())) {
+            throw new IllegalArgumentException("Selected time slot is released through an allocation window");
+        }
+        if (!isSlotAvailable(facilityId, booking.getStartTime(), booking.getEndTime())) {
+            throw new IllegalArgumentException("Selected time slot is not available");
         }
+        // The client-supplied amount is only a claim; the server-side quote is authoritative.
+        BigDecimal quotedAmount = quoteService.quote(facility, booking.getStartTime(), booking.getEndTime());
+        if (booking.getTotalAmount() != null && booking.getTotalAmount().compareTo(quotedAmount) != 0) {
+            throw new IllegalArgumentException("Total amount " + booking.getTotalAmount()
+                    + " does not match quoted price " + quotedAmount);
+        }
+        booking.setTotalAmount(quotedAmount);
         booking.setStatus(BookingStatus.PENDING);
         booking.setCreatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        return saveAndPublish(booking, null);
     }
 
     @Override
@@ -47,6 +99,16 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findByUserId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> getBookingHistory(String userId, int page, int size) {
+        if (page < 0 || size < 1 || size > maxHistoryPageSize) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and "
+                    + maxHistoryPageSize);
+        }
+        return bookingRepository.findByUserIdOrderByStartTimeDescIdDesc(userId, PageRequest.of(page, size));
+    }
+
     @Override
     public List<Booking> getBookingsByFacilityId(Long facilityId) {
         return bookingRepository.findByFacilityId(facilityId);
@@ -71,11 +133,12 @@ public class BookingServiceImpl implements BookingService {
     public Booking updateBookingStatus(Long id, BookingStatus status) {
         return bookingRepository.findById(id)
                 .map(booking -> {
+                    BookingStatus previousStatus = booking.getStatus();
                     booking.setStatus(status);
                     booking.setUpdatedAt(LocalDateTime.now());
-                    return bookingRepository.save(booking);
+                    return saveAndPublish(booking, previousStatus);
                 })
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with id: " + id));
     }
 
     @Override
@@ -83,14 +146,16 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findById(id)
                 .map(booking -> {
                     if (booking.getStatus() != BookingStatus.CONFIRMED) {
-                        throw new RuntimeException("Only confirmed bookings can be cancelled");
+                        throw new IllegalArgumentException("Only confirmed bookings can be cancelled");
                     }
                     booking.setStatus(BookingStatus.CANCELLED);
                     booking.setCancellationReason(reason);
                     booking.setUpdatedAt(LocalDateTime.now());
-                    return bookingRepository.save(booking);
+                    Booking saved = saveAndPublish(booking, BookingStatus.CONFIRMED);
+                    refundService.requestCancellationRefund(saved);
+                    return saved;
                 })
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with id: " + id));
     }
 
     @Override
@@ -98,14 +163,14 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findById(id)
                 .map(booking -> {
                     if (booking.getStatus() != BookingStatus.PENDING) {
-                        throw new RuntimeException("Only pending bookings can be confirmed");
+                        throw new IllegalArgumentException("Only pending bookings can be confirmed");
                     }
                     booking.setStatus(BookingStatus.CONFIRMED);
                     booking.setPaymentId(paymentId);
                     booking.setUpdatedAt(LocalDateTime.now());
-                    return bookingRepository.save(booking);
+                    return saveAndPublish(booking, BookingStatus.PENDING);
                 })
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with id: " + id));
     }
 
     @Override
@@ -113,13 +178,13 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findById(id)
                 .map(booking -> {
                     if (booking.getStatus() != BookingStatus.PENDING) {
-                        throw new RuntimeException("Only pending bookings can be rejected");
+                        throw new IllegalArgumentException("Only pending bookings can be rejected");
                     }
                     booking.setStatus(BookingStatus.REJECTED);
                     booking.setUpdatedAt(LocalDateTime.now());
-                    return bookingRepository.save(booking);
+                    return saveAndPublish(booking, BookingStatus.PENDING);
                 })
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with id: " + id));
     }
 
     @Override
@@ -130,14 +195,42 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public void processCompletedBookings() {
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> confirmedBookings = bookingRepository.findByStatus(BookingStatus.CONFIRMED);
-
-        confirmedBookings.stream()
-                .filter(booking -> booking.getEndTime().isBefore(now))
-                .forEach(booking -> {
-                    booking.setStatus(BookingStatus.COMPLETED);
-                    booking.setUpdatedAt(now);
-                    bookingRepository.save(booking);
-                });
+        List<BookingChangedEvent> events = new ArrayList<>();
+        for (Booking booking : bookingRepository.findByStatus(BookingStatus.CONFIRMED)) {
+            if (booking.getEndTime().isBefore(now)) {
+                booking.setStatus(BookingStatus.COMPLETED);
+                booking.setUpdatedAt(now);
+                events.add(BookingChangedEvent.of(bookingRepository.save(booking), BookingStatus.CONFIRMED));
+            }
+        }
+        publishAll(events);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${booking.hold.expiry.check.ms:60000}")
+    public void expirePendingBookings() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(paymentTimeoutMinutes);
+        List<BookingChangedEvent> events = new ArrayList<>();
+        for (Booking booking : bookingRepository.findByStatusAndCreatedAtBefore(BookingStatus.PENDING, cutoff)) {
+            booking.setStatus(BookingStatus.EXPIRED);
+            booking.setUpdatedAt(LocalDateTime.now());
+            events.add(BookingChangedEvent.of(bookingRepository.save(booking), BookingStatus.PENDING));
+        }
+        publishAll(events);
+    }
+
+    private Booking saveAndPublish(Booking booking, BookingStatus previousStatus) {
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(saved, previousStatus));
+        return saved;
+    }
+
+    /** Publishes changes to several bookings, taking all their listeners' locks first in one order. */
+    private void publishAll(List<BookingChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        bookingLockService.lockForChanges(events);
+        events.forEach(eventPublisher::publishEvent);
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.booking.service.impl;
+
+import com.booking.calendar.IcsWriter;
+import com.booking.dto.CalendarFeed;
+import com.booking.model.Booking;
+import com.booking.model.Facility;
+import com.booking.service.BookingService;
+import com.booking.service.CalendarFeedService;
+import com.booking.service.FacilityService;
+import com.booking.service.VersionStampService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Rendered feeds are kept in a bounded LRU together with the version stamps
+ * they were rendered from. A poll reads the current stamps, which are bumped
+ * after every committed booking change, and re-renders only when they have
+ * moved. Concurrent polls of a changed feed wait for a single render.
+ */
+@Service
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+
+    private final BookingService bookingService;
+    private final FacilityService facilityService;
+    private final VersionStampService versionStampService;
+    private final ZoneId zone;
+    private final long historyDays;
+    private final Map<String, CalendarFeed> feeds;
+    private final Map<String, CompletableFuture<CalendarFeed>> rendering = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CalendarFeedServiceImpl(BookingService bookingService, FacilityService facilityService,
+            VersionStampService versionStampService,
+            @Value("${booking.calendar.zone:}") String zone,
+            @Value("${booking.calendar.history.days:90}") long historyDays,
+            @Value("${booking.calendar.cache.size:10000}") int cacheSize) {
+        this.bookingService = bookingService;
+        this.facilityService = facilityService;
+        this.versionStampService = versionStampService;
+        this.zone = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.historyDays = historyDays;
+        this.feeds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CalendarFeed> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public Optional<CalendarFeed> getFacilityFeed(Long facilityId) {
+        // The schedule stamp also moves when the facility itself changes.
+        String stamp = Long.toString(versionStampService.getScheduleVersion(facilityId));
+        return Optional.ofNullable(feed("facility:" + facilityId, stamp, () -> renderFacility(facilityId, stamp)));
+    }
+
+    @Override
+    public CalendarFeed getUserFeed(String userId) {
+        // Events show facility names and locations, so catalogue changes count as well.
+        String stamp = versionStampService.getUserScheduleVersion(userId) + "."
+                + versionStampService.getCatalogVersion();
+        return feed("user:" + userId, stamp, () -> renderUser(userId, stamp));
+    }
+
+    private CalendarFeed feed(String key, String stamp, Supplier<CalendarFeed> render) {
+        CalendarFeed cached = feeds.get(key);
+        if (cached != null && cached.getStamp().equals(stamp)) {
+            return cached;
+        }
+        CompletableFuture<CalendarFeed> own = new CompletableFuture<>();
+        CompletableFuture<CalendarFeed> running = rendering.putIfAbsent(key, own);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            CalendarFeed feed = render.get();
+            if (feed != null) {
+                feeds.put(key, feed);
+            }
+            own.complete(feed);
+            return feed;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            rendering.remove(key, own);
+        }
+    }
+
+    private CalendarFeed renderFacility(Long facilityId, String stamp) {
+        Optional<Facility> facility = facilityService.getFacilityById(facilityId);
+        if (facility.isEmpty()) {
+            return null;
+        }
+        String name = facility.get().getName();
+        Instant now = Instant.now();
+        IcsWriter ics = new IcsWriter(name, zone, now);
+        bookingService.getUpcomingBookings(facilityId).stream()
+                .sorted(Comparator.comparing(Booking::getStartTime))
+                .forEach(booking -> ics.event(booking, name + ": booked"));
+        return new CalendarFeed(ics.finish(), stamp, now.toEpochMilli());
+    }
+
+    private CalendarFeed renderUser(String userId, String stamp) {
+        LocalDateTime since = LocalDateTime.now(zone).minusDays(historyDays);
+        List<Booking> bookings = bookingService.getBookingsByUserId(userId).stream()
+                .filter(booking -> booking.getEndTime().isAfter(since))
+                .sorted(Comparator.comparing(Booking::getStartTime))
+                .toList();
+        Instant now = Instant.now();
+        IcsWriter ics = new IcsWriter("My bookings", zone, now);
+        for (Booking booking : bookings) {
+            ics.event(booking, booking.getFacility() == null ? "Booking" : booking.getFacility().getName());
+        }
+        return new CalendarFeed(ics.finish(), stamp, now.toEpochMilli());
+    }
+}
@@ -0,0 +1,134 @@
+package com.booking.service.impl;
+
+import com.booking.cluster.HashRing;
+import com.booking.cluster.MembershipStore;
+import com.booking.event.ClusterTopologyChangedEvent;
+import com.booking.service.ClusterService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Facility ownership across API nodes. Each node renews a lease in the
+ * {@link MembershipStore} on every heartbeat and reads back the live
+ * members; facilities are assigned to members by a {@link HashRing}, so a
+ * join or leave moves only a share of facilities. Nodes can disagree for up
+ * to one heartbeat after a change, during which the database checks in the
+ * booking service still reject conflicting writes.
+ */
+@Service
+public class ClusterServiceImpl implements ClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterServiceImpl.class);
+
+    private final MembershipStore membershipStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String localNodeId;
+    private final String localAddress;
+    private final long leaseMillis;
+    private final int virtualNodes;
+
+    private volatile Map<String, String> members;
+    private volatile HashRing ring;
+
+    @Autowired
+    public ClusterServiceImpl(MembershipStore membershipStore, ApplicationEventPublisher eventPublisher,
+            @Value("${booking.cluster.node-id:}") String nodeId,
+            @Value("${booking.cluster.advertised-url:}") String advertisedUrl,
+            @Value("${server.port:8080}") int port,
+            @Value("${booking.cluster.lease.ms:10000}") long leaseMillis,
+            @Value("${booking.cluster.virtual-nodes:128}") int virtualNodes) {
+        this.membershipStore = membershipStore;
+        this.eventPublisher = eventPublisher;
+        this.localNodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.localAddress = advertisedUrl.isBlank() ? "http://" + localHost() + ":" + port : advertisedUrl;
+        this.leaseMillis = leaseMillis;
+        this.virtualNodes = virtualNodes;
+        this.members = Map.of(localNodeId, localAddress);
+        this.ring = HashRing.of(members.keySet(), virtualNodes);
+    }
+
+    @Override
+    public String getLocalNodeId() {
+        return localNodeId;
+    }
+
+    @Override
+    public Map<String, String> getMembers() {
+        return members;
+    }
+
+    @Override
+    public String getOwner(long facilityId) {
+        return ring.ownerOf(facilityId);
+    }
+
+    @Override
+    public Optional<String> getOwnerAddress(long facilityId) {
+        String owner = ring.ownerOf(facilityId);
+        return owner.equals(localNodeId) ? Optional.empty() : Optional.ofNullable(members.get(owner));
+    }
+
+    @Override
+    public boolean isClustered() {
+        return members.size() > 1;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.cluster.heartbeat.ms:2000}",
+            initialDelayString = "${booking.cluster.heartbeat.ms:2000}")
+    public synchronized void heartbeat() {
+        long now = System.currentTimeMillis();
+        Map<String, String> live;
+        try {
+            membershipStore.heartbeat(localNodeId, localAddress, now + leaseMillis);
+            live = new HashMap<>(membershipStore.members(now));
+        } catch (RuntimeException e) {
+            log.warn("Cluster heartbeat failed; keeping membership of {} nodes", members.size(), e);
+            return;
+        }
+        live.putIfAbsent(localNodeId, localAddress);
+        if (live.equals(members)) {
+            return;
+        }
+        HashRing previous = ring;
+        members = Map.copyOf(live);
+        if (!live.keySet().equals(previous.getNodes())) {
+            ring = HashRing.of(live.keySet(), virtualNodes);
+            log.info("Cluster membership changed to {} nodes: {}", live.size(), live.keySet());
+            eventPublisher.publishEvent(new ClusterTopologyChangedEvent(localNodeId, previous, ring));
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            membershipStore.leave(localNodeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not leave the cluster; the lease will expire instead", e);
+        }
+    }
+
+    private static String localHost() {
+        try {
+            return InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
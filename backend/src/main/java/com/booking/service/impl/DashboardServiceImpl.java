@@ -0,0 +1,176 @@
+package com.booking.service.impl;
+
+import com.booking.dto.UpcomingBooking;
+import com.booking.dto.UserDashboard;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.UserBookingSummary;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.UserBookingSummaryRepository;
+import com.booking.service.BookingLockService;
+import com.booking.service.DashboardService;
+import com.booking.service.VersionStampService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user dashboards served from a maintained summary. Each booking change
+ * is applied to its user's summary in the transaction that makes it, under
+ * a per-user advisory lock taken through {@link BookingLockService} in the
+ * same order as the outbox's facility locks, so the summary commits or rolls
+ * back with the booking. A user's history is counted once, by whichever change or read
+ * first finds the summary missing; the lock makes that count and the
+ * changes racing it see each booking exactly once.
+ *
+ * <p>Dashboards are cached against the user's schedule and catalogue stamps,
+ * and only until the first upcoming booking starts, so a repeat read costs
+ * two stamp lookups.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Set<BookingStatus> UPCOMING_STATUSES = EnumSet.of(BookingStatus.PENDING,
+            BookingStatus.CONFIRMED);
+
+    private record Cached(UserDashboard dashboard, String stamp, LocalDateTime validUntil) {
+    }
+
+    private final UserBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final VersionStampService versionStampService;
+    private final BookingLockService bookingLockService;
+    private final TransactionTemplate summaryTransaction;
+    private final int upcomingLimit;
+    private final Map<String, Cached> dashboards;
+
+    @Autowired
+    public DashboardServiceImpl(UserBookingSummaryRepository summaryRepository, BookingRepository bookingRepository,
+            VersionStampService versionStampService, BookingLockService bookingLockService,
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.dashboard.upcoming:5}") int upcomingLimit,
+            @Value("${booking.dashboard.cache.size:10000}") int cacheSize) {
+        this.summaryRepository = summaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.versionStampService = versionStampService;
+        this.bookingLockService = bookingLockService;
+        this.summaryTransaction = new TransactionTemplate(transactionManager);
+        this.upcomingLimit = upcomingLimit;
+        this.dashboards = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBookingChanged(BookingChangedEvent event) {
+        String userId = event.getUserId();
+        bookingLockService.lockForChange(event);
+        UserBookingSummary summary = summaryRepository.findById(userId).orElse(null);
+        if (summary == null) {
+            // Counting the history now takes in this change as well.
+            summaryRepository.save(summarize(userId, event));
+            return;
+        }
+        BigDecimal amount = bookingRepository.findById(event.getBookingId())
+                .map(Booking::getTotalAmount)
+                .orElse(BigDecimal.ZERO);
+        count(summary, event.getPreviousStatus(), -1, amount);
+        count(summary, event.getStatus(), 1, amount);
+        summary.setUpdatedAt(LocalDateTime.now());
+        summaryRepository.save(summary);
+    }
+
+    @Override
+    public UserDashboard getDashboard(String userId) {
+        // Read before the summary, so a change committed in between leaves the entry stale rather than
+        // hidden. Upcoming bookings carry facility names, so catalogue changes count as well.
+        String stamp = versionStampService.getUserScheduleVersion(userId) + "."
+                + versionStampService.getCatalogVersion();
+        LocalDateTime now = LocalDateTime.now();
+        Cached cached = dashboards.get(userId);
+        if (cached != null && cached.stamp().equals(stamp) && now.isBefore(cached.validUntil())) {
+            return cached.dashboard();
+        }
+
+        UserBookingSummary summary = summaryRepository.findById(userId)
+                .orElseGet(() -> summaryTransaction.execute(status -> initialize(userId)));
+        List<Booking> next = bookingRepository.findByUserIdAndStatusInAndStartTimeAfterOrderByStartTimeAsc(userId,
+                UPCOMING_STATUSES, now, PageRequest.of(0, upcomingLimit));
+        UserDashboard dashboard = dashboard(summary, next);
+        LocalDateTime validUntil = next.isEmpty() ? LocalDateTime.MAX : next.get(0).getStartTime();
+        dashboards.put(userId, new Cached(dashboard, stamp, validUntil));
+        return dashboard;
+    }
+
+    private UserBookingSummary initialize(String userId) {
+        bookingLockService.lockUser(userId);
+        return summaryRepository.findById(userId).orElseGet(() -> summaryRepository.save(summarize(userId, null)));
+    }
+
+    private UserBookingSummary summarize(String userId, BookingChangedEvent change) {
+        UserBookingSummary summary = new UserBookingSummary();
+        summary.setUserId(userId);
+        for (Booking booking : bookingRepository.findByUserId(userId)) {
+            // A bulk update may have left the changed booking's entity behind; the event has its status.
+            BookingStatus status = change != null && booking.getId().equals(change.getBookingId())
+                    ? change.getStatus() : booking.getStatus();
+            count(summary, status, 1, booking.getTotalAmount());
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+        return summary;
+    }
+
+    /** Counts one booking into or out of {@code status}; a null status (a new booking's previous) is skipped. */
+    private static void count(UserBookingSummary summary, BookingStatus status, int delta, BigDecimal amount) {
+        if (status == null) {
+            return;
+        }
+        summary.getCounts().merge(status, (long) delta, Long::sum);
+        BigDecimal signed = delta < 0 ? amount.negate() : amount;
+        if (status == BookingStatus.PENDING) {
+            summary.setOutstandingAmount(summary.getOutstandingAmount().add(signed));
+        } else if (status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED) {
+            summary.setTotalSpend(summary.getTotalSpend().add(signed));
+        }
+    }
+
+    private static UserDashboard dashboard(UserBookingSummary summary, List<Booking> next) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        long total = 0;
+        for (BookingStatus status : BookingStatus.values()) {
+            long count = summary.getCounts().getOrDefault(status, 0L);
+            counts.put(status, count);
+            total += count;
+        }
+        List<UpcomingBooking> upcoming = next.stream()
+                .map(booking -> new UpcomingBooking(booking.getId(),
+                        booking.getFacility() == null ? null : booking.getFacility().getId(),
+                        booking.getFacility() == null ? null : booking.getFacility().getName(),
+                        booking.getStartTime(), booking.getEndTime(), booking.getStatus(),
+                        booking.getTotalAmount()))
+                .toList();
+        return new UserDashboard(summary.getUserId(), counts, total, counts.get(BookingStatus.PENDING),
+                summary.getOutstandingAmount(), summary.getTotalSpend(), upcoming);
+    }
+}
@@ -0,0 +1,123 @@
+package com.booking.service.impl;
+
+import com.booking.dto.BookingExportRequest;
+import com.booking.dto.BookingExportResult;
+import com.booking.export.BookingExportRow;
+import com.booking.export.BookingExportWriter;
+import com.booking.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Exports straight from JDBC rather than through JPA, so no entities are
+ * loaded or kept in the persistence context. The query runs in a read-only
+ * transaction with a fetch size, which makes the PostgreSQL driver read
+ * through a server-side cursor in fixed-size chunks instead of loading the
+ * whole result. At most {@code booking.export.max-concurrent} exports run at
+ * once, each holding one pooled connection, so online requests always keep
+ * the rest of the pool.
+ */
+@Service
+@Profile("!embedded")
+public class ExportServiceImpl implements ExportService {
+
+    private static final String QUERY = "SELECT b.id, b.created_at, b.facility_id, f.name, f.type, b.user_id, "
+            + "b.start_time, b.end_time, b.status, b.total_amount, b.payment_id, "
+            + "p.status, p.amount, p.transaction_id, r.status, r.amount, r.refunded_at "
+            + "FROM bookings b JOIN facilities f ON f.id = b.facility_id "
+            + "LEFT JOIN payments p ON p.booking_id = b.id "
+            + "LEFT JOIN booking_refunds r ON r.booking_id = b.id "
+            + "WHERE b.created_at >= ? AND b.created_at < ? AND b.id > ? "
+            + "ORDER BY b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore running;
+    private final int batchRows;
+
+    @Autowired
+    public ExportServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+            @Value("${booking.export.fetch-size:1000}") int fetchSize,
+            @Value("${booking.export.batch-rows:10000}") int batchRows,
+            @Value("${booking.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.running = new Semaphore(maxConcurrent);
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    public BookingExportResult exportBookings(BookingExportRequest request, OutputStream out) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new IllegalStateException("Too many exports running");
+        }
+        try {
+            BookingExportWriter writer = request.getFormat().open(out, request.getAfterId() != null, batchRows);
+            BookingExportResult result = new BookingExportResult(0, request.getAfterId());
+            RowCallbackHandler handler = rs -> {
+                BookingExportRow row = toRow(rs);
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                result.setRows(result.getRows() + 1);
+                result.setLastBookingId(row.bookingId());
+            };
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(QUERY, handler,
+                        Timestamp.valueOf(request.getFrom()), Timestamp.valueOf(request.getTo()),
+                        request.getAfterId() == null ? 0L : request.getAfterId()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+            return result;
+        } finally {
+            running.release();
+        }
+    }
+
+    private static BookingExportRow toRow(ResultSet rs) throws SQLException {
+        return new BookingExportRow(
+                rs.getLong(1),
+                dateTime(rs.getTimestamp(2)),
+                rs.getObject(3, Long.class),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                dateTime(rs.getTimestamp(7)),
+                dateTime(rs.getTimestamp(8)),
+                rs.getString(9),
+                rs.getBigDecimal(10),
+                rs.getString(11),
+                rs.getString(12),
+                rs.getObject(13, Double.class),
+                rs.getString(14),
+                rs.getString(15),
+                rs.getBigDecimal(16),
+                dateTime(rs.getTimestamp(17)));
+    }
+
+    private static LocalDateTime dateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,251 @@
+package com.booking.service.impl;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.event.FacilityChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingRefund;
+import com.booking.model.BookingStatus;
+import com.booking.model.ClosureStatus;
+import com.booking.model.FacilityClosure;
+import com.booking.model.RefundStatus;
+import com.booking.refund.RefundPolicy;
+import com.booking.repository.BookingRefundRepository;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityClosureRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.service.BookingLockService;
+import com.booking.service.FacilityClosureService;
+import com.booking.service.FacilityRemovalService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Takes a facility offline. Bookings starting after the closure's cutoff are
+ * cancelled in id-ordered chunks, one transaction per chunk: the chunk is
+ * locked, cancelled with a single set-based update, its refunds are queued
+ * and the cursor advances, so a restart resumes at the next chunk. Once all
+ * bookings are cancelled the closure waits for the refund job to settle its
+ * refunds. Reactivating the facility stops further cancellation.
+ */
+@Service
+public class FacilityClosureServiceImpl implements FacilityClosureService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacilityClosureServiceImpl.class);
+
+    private static final Set<BookingStatus> OPEN_STATUSES = EnumSet.of(BookingStatus.PENDING,
+            BookingStatus.CONFIRMED);
+
+    private static final List<String> OPEN_STATUS_NAMES = OPEN_STATUSES.stream().map(Enum::name).toList();
+
+    private final FacilityClosureRepository closureRepository;
+    private final FacilityRepository facilityRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingRefundRepository refundRepository;
+    private final RefundPolicy refundPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingLockService bookingLockService;
+    private final FacilityRemovalService facilityRemovalService;
+    private final TransactionTemplate closureTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${booking.closure.chunk.size:500}")
+    private int chunkSize = 500;
+
+    @Autowired
+    public FacilityClosureServiceImpl(FacilityClosureRepository closureRepository,
+            FacilityRepository facilityRepository, BookingRepository bookingRepository,
+            BookingRefundRepository refundRepository, RefundPolicy refundPolicy,
+            ApplicationEventPublisher eventPublisher, BookingLockService bookingLockService,
+            FacilityRemovalService facilityRemovalService, PlatformTransactionManager transactionManager) {
+        this.closureRepository = closureRepository;
+        this.facilityRepository = facilityRepository;
+        this.bookingRepository = bookingRepository;
+        this.refundRepository = refundRepository;
+        this.refundPolicy = refundPolicy;
+        this.eventPublisher = eventPublisher;
+        this.bookingLockService = bookingLockService;
+        this.facilityRemovalService = facilityRemovalService;
+        this.closureTransaction = new TransactionTemplate(transactionManager);
+        this.closureTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public FacilityClosure beginClosure(Long facilityId, String reason, boolean deleteFacility) {
+        Optional<FacilityClosure> open = closureRepository.findFirstByFacilityIdAndStatusNot(facilityId,
+                ClosureStatus.COMPLETED);
+        if (open.isPresent()) {
+            FacilityClosure closure = open.get();
+            if (deleteFacility && !closure.getDeleteFacility()) {
+                closure.setDeleteFacility(true);
+                return closureRepository.save(closure);
+            }
+            return closure;
+        }
+        FacilityClosure closure = new FacilityClosure();
+        closure.setFacilityId(facilityId);
+        closure.setReason(reason);
+        closure.setDeleteFacility(deleteFacility);
+        closure.setCutoff(LocalDateTime.now());
+        return closureRepository.save(closure);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasOpenBookings(Long facilityId) {
+        return bookingRepository.existsByFacilityIdAndStatusInAndStartTimeAfter(facilityId, OPEN_STATUSES,
+                LocalDateTime.now());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        if (event.getChange() != FacilityChangedEvent.Change.DEACTIVATED) {
+            return;
+        }
+        try {
+            closureTransaction.executeWithoutResult(
+                    status -> beginClosure(event.getFacilityId(), "Facility taken offline", false));
+        } catch (RuntimeException e) {
+            log.warn("Could not start closure for facility {}", event.getFacilityId(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${booking.closure.check.ms:5000}")
+    public int runClosures() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int cancelled = 0;
+        try {
+            for (FacilityClosure closure : closureRepository.findByStatusNotOrderByIdAsc(ClosureStatus.COMPLETED)) {
+                try {
+                    cancelled += advance(closure.getId());
+                } catch (RuntimeException e) {
+                    log.warn("Closure {} of facility {} failed; will resume", closure.getId(),
+                            closure.getFacilityId(), e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+        return cancelled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FacilityClosure> getClosure(Long id) {
+        return closureRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FacilityClosure> getClosuresByFacility(Long facilityId) {
+        return closureRepository.findByFacilityIdOrderByIdDesc(facilityId);
+    }
+
+    private int advance(Long closureId) {
+        int cancelled = 0;
+        Integer chunk;
+        do {
+            chunk = closureTransaction.execute(status -> cancelChunk(closureId));
+            cancelled += chunk == null ? 0 : chunk;
+        } while (chunk != null && chunk == chunkSize);
+        closureTransaction.executeWithoutResult(status -> completeIfSettled(closureId));
+        return cancelled;
+    }
+
+    private int cancelChunk(Long closureId) {
+        FacilityClosure closure = closureRepository.findById(closureId).orElse(null);
+        if (closure == null || closure.getStatus() != ClosureStatus.CANCELLING) {
+            return 0;
+        }
+        boolean reactivated = facilityRepository.findById(closure.getFacilityId())
+                .map(facility -> Boolean.TRUE.equals(facility.getIsActive()))
+                .orElse(false);
+        if (reactivated && !closure.getDeleteFacility()) {
+            log.info("Facility {} was reactivated; stopping closure {}", closure.getFacilityId(), closureId);
+            closure.setStatus(ClosureStatus.REFUNDING);
+            closureRepository.save(closure);
+            return 0;
+        }
+
+        List<Booking> bookings = bookingRepository.findClosable(closure.getFacilityId(), OPEN_STATUSES,
+                closure.getCutoff(), closure.getLastBookingId(), PageRequest.of(0, chunkSize));
+        if (!bookings.isEmpty()) {
+            List<Long> ids = bookings.stream().map(Booking::getId).toList();
+            // Only the rows the update changed get a refund and an event; any other has changed since it was read.
+            Set<Long> cancelled = new HashSet<>(bookingRepository.cancelAll(ids, OPEN_STATUS_NAMES,
+                    closure.getReason(), LocalDateTime.now()));
+            List<BookingRefund> refunds = new ArrayList<>();
+            List<BookingChangedEvent> events = new ArrayList<>(cancelled.size());
+            for (Booking booking : bookings) {
+                if (!cancelled.contains(booking.getId())) {
+                    continue;
+                }
+                if (booking.getStatus() == BookingStatus.CONFIRMED && booking.getPaymentId() != null) {
+                    BigDecimal amount = refundPolicy.forClosure(booking);
+                    if (amount.signum() > 0) {
+                        refunds.add(RefundServiceImpl.pendingRefund(booking, amount, closureId));
+                    }
+                }
+                events.add(new BookingChangedEvent(booking.getId(), closure.getFacilityId(),
+                        booking.getUserId(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(),
+                        BookingStatus.CANCELLED));
+            }
+            refundRepository.saveAll(refunds);
+            bookingLockService.lockForChanges(events);
+            events.forEach(eventPublisher::publishEvent);
+            closure.setLastBookingId(ids.get(ids.size() - 1));
+            closure.setCancelledCount(closure.getCancelledCount() + cancelled.size());
+            closure.setRefundsRequested(closure.getRefundsRequested() + refunds.size());
+        }
+        if (bookings.size() < chunkSize) {
+            closure.setStatus(ClosureStatus.REFUNDING);
+        }
+        closureRepository.save(closure);
+        return bookings.size();
+    }
+
+    private void completeIfSettled(Long closureId) {
+        FacilityClosure closure = closureRepository.findById(closureId).orElse(null);
+        if (closure == null || closure.getStatus() != ClosureStatus.REFUNDING
+                || refundRepository.countByClosureIdAndStatus(closureId, RefundStatus.PENDING) > 0) {
+            return;
+        }
+        closure.setRefundsSucceeded((int) refundRepository.countByClosureIdAndStatus(closureId,
+                RefundStatus.SUCCEEDED));
+        closure.setRefundsFailed((int) refundRepository.countByClosureIdAndStatus(closureId, RefundStatus.FAILED));
+        closure.setStatus(ClosureStatus.COMPLETED);
+        closure.setCompletedAt(LocalDateTime.now());
+        closureRepository.save(closure);
+        if (closure.getDeleteFacility()) {
+            facilityRemovalService.remove(closure.getFacilityId());
+        }
+        log.info("Closure {} of facility {} completed: {} bookings cancelled, {} refunds failed", closureId,
+                closure.getFacilityId(), closure.getCancelledCount(), closure.getRefundsFailed());
+    }
+}
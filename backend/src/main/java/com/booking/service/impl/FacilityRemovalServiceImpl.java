@@ -0,0 +1,53 @@
+package com.booking.service.impl;
+
+import com.booking.event.FacilityChangedEvent;
+import com.booking.repository.AllocationRequestRepository;
+import com.booking.repository.AllocationWindowRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.repository.SlotTemplateRepository;
+import com.booking.repository.WaitlistEntryRepository;
+import com.booking.service.FacilityRemovalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class FacilityRemovalServiceImpl implements FacilityRemovalService {
+
+    private final FacilityRepository facilityRepository;
+    private final SlotTemplateRepository slotTemplateRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final AllocationWindowRepository allocationWindowRepository;
+    private final AllocationRequestRepository allocationRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public FacilityRemovalServiceImpl(FacilityRepository facilityRepository,
+            SlotTemplateRepository slotTemplateRepository, WaitlistEntryRepository waitlistEntryRepository,
+            AllocationWindowRepository allocationWindowRepository,
+            AllocationRequestRepository allocationRequestRepository, ApplicationEventPublisher eventPublisher) {
+        this.facilityRepository = facilityRepository;
+        this.slotTemplateRepository = slotTemplateRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.allocationWindowRepository = allocationWindowRepository;
+        this.allocationRequestRepository = allocationRequestRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void remove(Long facilityId) {
+        if (!facilityRepository.existsById(facilityId)) {
+            return;
+        }
+        // Children first: each of these holds a foreign key to the facility or to a window.
+        slotTemplateRepository.deleteByFacilityId(facilityId);
+        waitlistEntryRepository.deleteByFacilityId(facilityId);
+        allocationRequestRepository.deleteByWindowFacilityId(facilityId);
+        allocationWindowRepository.deleteByFacilityId(facilityId);
+        facilityRepository.deleteById(facilityId);
+        eventPublisher.publishEvent(new FacilityChangedEvent(facilityId, FacilityChangedEvent.Change.DELETED));
+    }
+}
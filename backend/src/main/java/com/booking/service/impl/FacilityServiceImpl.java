@@ -1,9 +1,13 @@
 package com.booking.service.impl;
 
+import com.booking.event.FacilityChangedEvent;
 import com.booking.model.Facility;
 import com.booking.repository.FacilityRepository;
+import com.booking.service.FacilityClosureService;
+import com.booking.service.FacilityRemovalService;
 import com.booking.service.FacilityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +19,17 @@ import java.util.Optional;
 public class FacilityServiceImpl implements FacilityService {
 
     private final FacilityRepository facilityRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FacilityClosureService facilityClosureService;
+    private final FacilityRemovalService facilityRemovalService;
 
     @Autowired
-    public FacilityServiceImpl(FacilityRepository facilityRepository) {
+    public FacilityServiceImpl(FacilityRepository facilityRepository, ApplicationEventPublisher eventPublisher,
+            FacilityClosureService facilityClosureService, FacilityRemovalService facilityRemovalService) {
         this.facilityRepository = facilityRepository;
+        this.eventPublisher = eventPublisher;
+        this.facilityClosureService = facilityClosureService;
+        this.facilityRemovalService = facilityRemovalService;
     }
 
     @Override
@@ -48,24 +59,37 @@ public class FacilityServiceImpl implements FacilityService {
 
     @Override
     public Facility createFacility(Facility facility) {
+        validateCoordinates(facility);
         facility.setIsActive(true);
-        return facilityRepository.save(facility);
+        Facility saved = facilityRepository.save(facility);
+        eventPublisher.publishEvent(new FacilityChangedEvent(saved.getId(), FacilityChangedEvent.Change.CREATED));
+        return saved;
     }
 
     @Override
     public Facility updateFacility(Long id, Facility facility) {
         return facilityRepository.findById(id)
                 .map(existingFacility -> {
+                    validateCoordinates(facility);
                     facility.setId(id);
                     facility.setIsActive(existingFacility.getIsActive());
-                    return facilityRepository.save(facility);
+                    Facility saved = facilityRepository.save(facility);
+                    eventPublisher.publishEvent(new FacilityChangedEvent(id, FacilityChangedEvent.Change.UPDATED));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Facility not found with id: " + id));
     }
 
     @Override
     public void deleteFacility(Long id) {
-        facilityRepository.deleteById(id);
+        if (facilityClosureService.hasOpenBookings(id)) {
+            // Deleting now would cascade to bookings that still need cancelling and refunding;
+            // take the facility offline instead and let the closure delete it when settled.
+            facilityClosureService.beginClosure(id, "Facility removed", true);
+            deactivateFacility(id);
+            return;
+        }
+        facilityRemovalService.remove(id);
     }
 
     @Override
@@ -74,6 +98,9 @@ public class FacilityServiceImpl implements FacilityService {
                 .ifPresent(facility -> {
                     facility.setIsActive(!facility.getIsActive());
                     facilityRepository.save(facility);
+                    eventPublisher.publishEvent(new FacilityChangedEvent(id, facility.getIsActive()
+                            ? FacilityChangedEvent.Change.ACTIVATED
+                            : FacilityChangedEvent.Change.DEACTIVATED));
                 });
     }
 
@@ -83,6 +110,7 @@ public class FacilityServiceImpl implements FacilityService {
                 .ifPresent(facility -> {
                     facility.setIsActive(false);
                     facilityRepository.save(facility);
+                    eventPublisher.publishEvent(new FacilityChangedEvent(id, FacilityChangedEvent.Change.DEACTIVATED));
                 });
     }
 
@@ -92,6 +120,21 @@ public class FacilityServiceImpl implements FacilityService {
                 .ifPresent(facility -> {
                     facility.setIsActive(true);
                     facilityRepository.save(facility);
+                    eventPublisher.publishEvent(new FacilityChangedEvent(id, FacilityChangedEvent.Change.ACTIVATED));
                 });
     }
-}
\ No newline at end of file
+
+    private static void validateCoordinates(Facility facility) {
+        Double latitude = facility.getLatitude();
+        Double longitude = facility.getLongitude();
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
+}
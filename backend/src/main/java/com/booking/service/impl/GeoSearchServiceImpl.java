@@ -0,0 +1,98 @@
+package com.booking.service.impl;
+
+import com.booking.dto.NearbyFacility;
+import com.booking.event.FacilityChangedEvent;
+import com.booking.geo.FacilityKdTree;
+import com.booking.model.Facility;
+import com.booking.repository.FacilityRepository;
+import com.booking.service.GeoSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Nearest-facility search over an in-memory {@link FacilityKdTree}. Queries
+ * read whichever tree is current without locking; facility changes rebuild
+ * the tree after commit and swap it in. The catalog is small enough that a
+ * full rebuild per change is cheaper than keeping a mutable tree balanced.
+ * A periodic reload picks up changes committed by other instances.
+ */
+@Service
+public class GeoSearchServiceImpl implements GeoSearchService {
+
+    private final FacilityRepository facilityRepository;
+    private final Map<Long, Facility> located = new HashMap<>();
+    private volatile FacilityKdTree tree = FacilityKdTree.empty();
+
+    @Value("${booking.geo.default-results:10}")
+    private int defaultResults = 10;
+
+    @Value("${booking.geo.max-results:100}")
+    private int maxResults = 100;
+
+    @Autowired
+    public GeoSearchServiceImpl(FacilityRepository facilityRepository) {
+        this.facilityRepository = facilityRepository;
+    }
+
+    @Override
+    public List<NearbyFacility> findNearby(double latitude, double longitude, Integer limit, Double radiusKm,
+            String type, Boolean active) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+        int results = limit == null ? defaultResults : limit;
+        if (results < 1 || results > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+        Predicate<Facility> filter = facility -> (type == null || type.equalsIgnoreCase(facility.getType()))
+                && (active == null || active.equals(facility.getIsActive()));
+        return tree.nearest(latitude, longitude, results,
+                        radiusKm == null ? Double.POSITIVE_INFINITY : radiusKm, filter)
+                .stream()
+                .map(match -> new NearbyFacility(match.facility(), match.distanceKm()))
+                .toList();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.geo.reload.ms:300000}",
+            initialDelayString = "${booking.geo.reload.ms:300000}")
+    public synchronized void reload() {
+        located.clear();
+        for (Facility facility : facilityRepository.findAll()) {
+            if (FacilityKdTree.isLocated(facility)) {
+                located.put(facility.getId(), facility);
+            }
+        }
+        tree = FacilityKdTree.build(located.values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void onFacilityChanged(FacilityChangedEvent event) {
+        Facility previous = event.getChange() == FacilityChangedEvent.Change.DELETED
+                ? located.remove(event.getFacilityId())
+                : facilityRepository.findById(event.getFacilityId())
+                        .filter(FacilityKdTree::isLocated)
+                        .map(facility -> located.put(facility.getId(), facility))
+                        .orElseGet(() -> located.remove(event.getFacilityId()));
+        if (previous != null || located.containsKey(event.getFacilityId())) {
+            tree = FacilityKdTree.build(located.values());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.booking.service.impl;
+
+import com.booking.idempotency.IdempotencyRecord;
+import com.booking.idempotency.IdempotencyStore;
+import com.booking.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency keys backed by an {@link IdempotencyStore}, with two local
+ * shortcuts: completed responses are kept in a bounded near cache so replays
+ * usually skip the store, and duplicates arriving on this node while the
+ * original is running wait on its future instead of polling.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private record Cached(IdempotencyRecord record, long expiresAt) {
+    }
+
+    private final IdempotencyStore store;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Cached> nearCache;
+
+    @Value("${booking.idempotency.ttl.hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${booking.idempotency.lock.seconds:30}")
+    private long lockSeconds = 30;
+
+    @Value("${booking.idempotency.wait.ms:10000}")
+    private long waitMillis = 10000;
+
+    @Value("${booking.idempotency.poll.ms:50}")
+    private long pollMillis = 50;
+
+    @Autowired
+    public IdempotencyServiceImpl(IdempotencyStore store,
+            @Value("${booking.idempotency.local.max-entries:10000}") int nearCacheSize) {
+        this.store = store;
+        this.nearCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > nearCacheSize;
+            }
+        });
+    }
+
+    @Override
+    public IdempotencyRecord begin(String key, String fingerprint) {
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (true) {
+            Cached cached = nearCache.get(key);
+            if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+                return matching(cached.record(), fingerprint);
+            }
+            CompletableFuture<IdempotencyRecord> pending = new CompletableFuture<>();
+            CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, pending);
+            if (running != null) {
+                IdempotencyRecord record = await(running, deadline);
+                if (record != null) {
+                    return matching(record, fingerprint);
+                }
+                // The original was released; race for the key again.
+                continue;
+            }
+            IdempotencyRecord stored;
+            try {
+                stored = store.claim(key, fingerprint, Duration.ofSeconds(lockSeconds));
+                if (stored == null) {
+                    return null;
+                }
+                matching(stored, fingerprint);
+                if (!stored.isComplete()) {
+                    stored = pollUntilDone(key, deadline);
+                }
+            } catch (RuntimeException e) {
+                settle(key, null);
+                throw e;
+            }
+            settle(key, stored);
+            if (stored != null) {
+                remember(key, stored);
+                return matching(stored, fingerprint);
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record) {
+        store.complete(key, record, Duration.ofHours(ttlHours));
+        remember(key, record);
+        settle(key, record);
+    }
+
+    @Override
+    public void release(String key, String fingerprint) {
+        try {
+            store.release(key, fingerprint);
+        } finally {
+            settle(key, null);
+        }
+    }
+
+    /**
+     * Waits for a request running on another node. Returns null if its claim
+     * was released or lapsed.
+     */
+    private IdempotencyRecord pollUntilDone(String key, long deadline) {
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for request in flight", e);
+            }
+            IdempotencyRecord record = store.get(key);
+            if (record == null || record.isComplete()) {
+                return record;
+            }
+        }
+        throw new IllegalStateException("Request with this idempotency key is still in progress");
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for request in flight", e);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static IdempotencyRecord matching(IdempotencyRecord record, String fingerprint) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different request");
+        }
+        return record;
+    }
+
+    private void remember(String key, IdempotencyRecord record) {
+        nearCache.put(key, new Cached(record, System.currentTimeMillis() + TimeUnit.HOURS.toMillis(ttlHours)));
+    }
+
+    private void settle(String key, IdempotencyRecord record) {
+        CompletableFuture<IdempotencyRecord> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(record);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.booking.service.impl;
+
+import com.booking.dto.NotificationStats;
+import com.booking.event.AllocationCompletedEvent;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.AllocationRequest;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.notification.Channel;
+import com.booking.notification.Notification;
+import com.booking.notification.NotificationDispatcher;
+import com.booking.notification.NotificationType;
+import com.booking.repository.BookingRepository;
+import com.booking.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns booking and allocation events into notifications and hands them to
+ * the {@link NotificationDispatcher} once the change has committed. Nothing
+ * here waits on a provider; if the dispatcher is backed up the notification
+ * is dropped and counted rather than slowing the booking down. Reminders are
+ * the exception: a shed reminder is unclaimed so the next run retries it.
+ */
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("EEE d MMM yyyy HH:mm");
+
+    private static final Map<BookingStatus, NotificationType> STATUS_NOTIFICATIONS = Map.of(
+            BookingStatus.CONFIRMED, NotificationType.BOOKING_CONFIRMED,
+            BookingStatus.CANCELLED, NotificationType.BOOKING_CANCELLED,
+            BookingStatus.REJECTED, NotificationType.BOOKING_REJECTED,
+            BookingStatus.REFUNDED, NotificationType.BOOKING_REFUNDED,
+            BookingStatus.EXPIRED, NotificationType.BOOKING_EXPIRED);
+
+    private final NotificationDispatcher dispatcher;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate reminderTransaction;
+    private final Set<Channel> channels;
+
+    @Value("${booking.notifications.reminder.lead.hours:24}")
+    private long reminderLeadHours = 24;
+
+    @Autowired
+    public NotificationServiceImpl(NotificationDispatcher dispatcher, BookingRepository bookingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.notifications.channels:EMAIL,SMS}") Set<Channel> channels) {
+        this.dispatcher = dispatcher;
+        this.bookingRepository = bookingRepository;
+        this.reminderTransaction = new TransactionTemplate(transactionManager);
+        this.channels = channels;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        NotificationType type = STATUS_NOTIFICATIONS.get(event.getStatus());
+        if (type == null || event.getPreviousStatus() == event.getStatus()) {
+            return;
+        }
+        String subject = "Booking #" + event.getBookingId() + " " + event.getStatus().name().toLowerCase();
+        String body = "Your booking #" + event.getBookingId() + " for " + WHEN.format(event.getStartTime())
+                + " is now " + event.getStatus().name().toLowerCase() + ".";
+        submit(type, event.getUserId(), event.getBookingId(), type.name() + ":" + event.getBookingId(),
+                subject, body);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAllocationCompleted(AllocationCompletedEvent event) {
+        for (AllocationRequest winner : event.getWinners()) {
+            submit(NotificationType.ALLOCATION_WON, winner.getUserId(), winner.getBookingId(),
+                    "ALLOCATION_WON:" + winner.getId(), "Your slot request was successful",
+                    "You have been allocated " + WHEN.format(winner.getStartTime())
+                            + ". Complete payment to confirm booking #" + winner.getBookingId() + ".");
+        }
+        for (AllocationRequest loser : event.getLosers()) {
+            submit(NotificationType.ALLOCATION_LOST, loser.getUserId(), null,
+                    "ALLOCATION_LOST:" + loser.getId(), "Your slot request was not successful",
+                    "The slot at " + WHEN.format(loser.getStartTime()) + " was allocated to another request.");
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${booking.notifications.reminder.check.ms:300000}")
+    public int sendReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        // Claim first, queue after commit: a reminder is never sent for a claim that rolled back.
+        List<Booking> claimed = reminderTransaction.execute(status -> {
+            List<Booking> due = new ArrayList<>();
+            for (Booking booking : bookingRepository.findByStatusAndStartTimeBetweenAndReminderSentAtIsNull(
+                    BookingStatus.CONFIRMED, now, now.plusHours(reminderLeadHours))) {
+                if (bookingRepository.markReminderSent(booking.getId(), now) == 1) {
+                    due.add(booking);
+                }
+            }
+            return due;
+        });
+        if (claimed == null) {
+            return 0;
+        }
+        int queued = 0;
+        List<Long> shed = new ArrayList<>();
+        for (Booking booking : claimed) {
+            int accepted = submit(NotificationType.BOOKING_REMINDER, booking.getUserId(), booking.getId(),
+                    "BOOKING_REMINDER:" + booking.getId(), "Reminder: booking #" + booking.getId(),
+                    "Your booking at " + booking.getFacility().getName() + " starts "
+                            + WHEN.format(booking.getStartTime()) + ".");
+            queued += accepted;
+            if (accepted < channels.size()) {
+                shed.add(booking.getId());
+            }
+        }
+        if (!shed.isEmpty()) {
+            // Reminders are the first thing shed when a channel backs up. Hand the claim back so a later run
+            // tries again; a channel that did take it may then send a second copy, which beats sending none.
+            reminderTransaction.executeWithoutResult(status -> bookingRepository.releaseReminders(shed, now));
+            log.info("Queued {} of {} booking reminders; {} bookings will be retried", queued,
+                    claimed.size() * channels.size(), shed.size());
+        }
+        return queued;
+    }
+
+    @Override
+    public List<NotificationStats> getStats() {
+        return dispatcher.getStats();
+    }
+
+    private int submit(NotificationType type, String recipient, Long bookingId, String id, String subject,
+            String body) {
+        int queued = 0;
+        for (Channel channel : channels) {
+            if (dispatcher.submit(new Notification(id + ":" + channel, channel, recipient, type, bookingId,
+                    subject, body))) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+}
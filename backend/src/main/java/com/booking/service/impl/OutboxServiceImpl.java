@@ -0,0 +1,198 @@
+package com.booking.service.impl;
+
+import com.booking.dto.OutboxStats;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.OutboxEvent;
+import com.booking.outbox.OutboxMessage;
+import com.booking.outbox.OutboxPublisher;
+import com.booking.repository.OutboxEventRepository;
+import com.booking.service.BookingLockService;
+import com.booking.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for booking lifecycle events. Every
+ * {@link BookingChangedEvent} is appended as a row inside the transaction
+ * that published it, so the row exists exactly when the change commits.
+ * The relay drains rows in id order to the configured
+ * {@link OutboxPublisher} and marks them published in the same
+ * transaction; a crash between the two re-delivers the batch.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    static final String BOOKING_AGGREGATE = "Booking";
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate relayTransaction;
+    private final BookingLockService bookingLockService;
+
+    @Value("${booking.outbox.batch.size:200}")
+    private int batchSize = 200;
+
+    @Value("${booking.outbox.relay.max-batches:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Value("${booking.outbox.lag.warn.seconds:30}")
+    private long lagWarnSeconds = 30;
+
+    @Value("${booking.outbox.retention.hours:72}")
+    private long retentionHours = 72;
+
+    private volatile long publishedTotal;
+    private volatile int lastBatchSize;
+    private volatile long lastBatchMaxLagMillis;
+    private volatile LocalDateTime lastRelayAt;
+    private volatile String lastError;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository, OutboxPublisher publisher,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            BookingLockService bookingLockService) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.relayTransaction = new TransactionTemplate(transactionManager);
+        this.bookingLockService = bookingLockService;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBookingChanged(BookingChangedEvent event) {
+        // Takes the user's summary lock as well, so every listener acquires in the same order.
+        bookingLockService.lockForChange(event);
+        OutboxEvent row = new OutboxEvent();
+        row.setAggregateType(BOOKING_AGGREGATE);
+        row.setAggregateId(event.getBookingId());
+        row.setFacilityId(event.getFacilityId());
+        row.setEventType(eventType(event));
+        row.setPayload(payload(event));
+        outboxEventRepository.save(row);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${booking.outbox.relay.ms:500}")
+    public int relay() {
+        int published = 0;
+        try {
+            // Bounded per run so one tick cannot monopolise the scheduler; lag is reported instead.
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer count = relayTransaction.execute(status -> relayBatch());
+                published += count == null ? 0 : count;
+                if (count == null || count < batchSize) {
+                    break;
+                }
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Outbox relay failed after publishing {} events; will retry", published, e);
+        }
+        return published;
+    }
+
+    @Override
+    @Scheduled(cron = "${booking.outbox.purge.cron:0 30 * * * *}")
+    public void purgePublished() {
+        relayTransaction.executeWithoutResult(status -> {
+            int purged = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+            if (purged > 0) {
+                log.debug("Purged {} published outbox events", purged);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OutboxStats getStats() {
+        LocalDateTime oldest = outboxEventRepository.findFirstByPublishedAtIsNullOrderByIdAsc()
+                .map(OutboxEvent::getCreatedAt)
+                .orElse(null);
+        return new OutboxStats(outboxEventRepository.countByPublishedAtIsNull(), oldest, lagMillis(oldest),
+                publishedTotal, lastBatchSize, lastBatchMaxLagMillis, lastRelayAt, lastError);
+    }
+
+    private int relayBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(
+                PageRequest.of(0, batchSize));
+        lastRelayAt = LocalDateTime.now();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> messages = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            messages.add(OutboxMessage.of(event));
+            ids.add(event.getId());
+        }
+        try {
+            publisher.publish(messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+
+        long maxLag = lagMillis(batch.get(0).getCreatedAt());
+        publishedTotal += batch.size();
+        lastBatchSize = batch.size();
+        lastBatchMaxLagMillis = maxLag;
+        if (maxLag > Duration.ofSeconds(lagWarnSeconds).toMillis()) {
+            log.warn("Outbox lag is {} ms for a batch of {} events", maxLag, batch.size());
+        }
+        return batch.size();
+    }
+
+    private static long lagMillis(LocalDateTime createdAt) {
+        return createdAt == null ? 0 : Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis());
+    }
+
+    private static String eventType(BookingChangedEvent event) {
+        return event.getPreviousStatus() == null ? "BOOKING_CREATED" : "BOOKING_" + event.getStatus().name();
+    }
+
+    private String payload(BookingChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", event.getBookingId());
+        payload.put("facilityId", event.getFacilityId());
+        payload.put("userId", event.getUserId());
+        payload.put("startTime", event.getStartTime());
+        payload.put("endTime", event.getEndTime());
+        payload.put("previousStatus", event.getPreviousStatus());
+        payload.put("status", event.getStatus());
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
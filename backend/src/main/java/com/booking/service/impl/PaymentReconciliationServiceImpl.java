@@ -0,0 +1,328 @@
+package com.booking.service.impl;
+
+import com.booking.dto.ReconciliationReport;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Payment;
+import com.booking.model.PaymentStatus;
+import com.booking.model.ReconciliationWatermark;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.PaymentRepository;
+import com.booking.repository.ReconciliationWatermarkRepository;
+import com.booking.service.BookingLockService;
+import com.booking.service.PaymentReconciliationService;
+import com.booking.service.PaymentService;
+import com.stripe.model.Charge;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reconciles bookings with the payment provider in bulk. Rather than fetch
+ * each booking's intent, a run pages through the provider's list of intents
+ * and its list of refunds, newest first, and joins each page to bookings by
+ * the {@code bookingId} metadata set when the intent was created. Each page
+ * is applied in one transaction: payments are recorded, a booking paid but
+ * still PENDING is confirmed, and a CONFIRMED or COMPLETED booking whose
+ * payment was fully refunded is marked REFUNDED.
+ *
+ * <p>Each list is read from a watermark: the start of the last complete run,
+ * less a lookback that covers intents paid, and refunds settled, after they
+ * were created. A run that fails leaves the watermark alone, and pages are
+ * safe to apply twice, so the next run simply reads the window again.
+ */
+@Service
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciliationServiceImpl.class);
+
+    static final String INTENTS = "payment-intents";
+    static final String REFUNDS = "refunds";
+
+    private static final Set<BookingStatus> PAID_STATUSES = EnumSet.of(BookingStatus.CONFIRMED,
+            BookingStatus.COMPLETED);
+
+    private final PaymentService paymentService;
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ReconciliationWatermarkRepository watermarkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingLockService bookingLockService;
+    private final TransactionTemplate pageTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReconciliationReport lastReport;
+
+    @Value("${booking.payments.reconcile.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${booking.payments.reconcile.page.size:100}")
+    private int pageSize = 100;
+
+    @Value("${booking.payments.reconcile.lookback.minutes:60}")
+    private long lookbackMinutes = 60;
+
+    @Value("${booking.payments.reconcile.backfill.days:30}")
+    private long backfillDays = 30;
+
+    /** One page of a provider list, reduced to the intents it touches. */
+    private record Page(List<PaymentIntent> intents, int scanned, String lastId, boolean hasMore) {
+    }
+
+    @FunctionalInterface
+    private interface Lister {
+        Page list(long createdFrom, String startingAfter, int limit) throws Exception;
+    }
+
+    @Autowired
+    public PaymentReconciliationServiceImpl(PaymentService paymentService, BookingRepository bookingRepository,
+            PaymentRepository paymentRepository, ReconciliationWatermarkRepository watermarkRepository,
+            ApplicationEventPublisher eventPublisher, BookingLockService bookingLockService,
+            PlatformTransactionManager transactionManager) {
+        this.paymentService = paymentService;
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.eventPublisher = eventPublisher;
+        this.bookingLockService = bookingLockService;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.payments.reconcile.check.ms:900000}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    @Override
+    public Optional<ReconciliationReport> reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        ReconciliationReport report = new ReconciliationReport();
+        report.setStartedAt(LocalDateTime.now());
+        long runStart = Instant.now().getEpochSecond();
+        try {
+            report.setIntentsCreatedFrom(readFrom(INTENTS, runStart));
+            report.setRefundsCreatedFrom(readFrom(REFUNDS, runStart));
+            int intents = reconcileList(INTENTS, report.getIntentsCreatedFrom(), runStart, this::intentPage, report);
+            report.setIntentsScanned(intents);
+            int refunds = reconcileList(REFUNDS, report.getRefundsCreatedFrom(), runStart, this::refundPage, report);
+            report.setRefundsScanned(refunds);
+        } catch (Exception e) {
+            report.setLastError(e.getMessage());
+            log.warn("Payment reconciliation stopped; the next run reads the same window again", e);
+        } finally {
+            report.setFinishedAt(LocalDateTime.now());
+            lastReport = report;
+            running.set(false);
+        }
+        if (report.getBookingsConfirmed() + report.getBookingsRefunded() + report.getOrphanedPayments() > 0) {
+            log.info("Payment reconciliation confirmed {} and refunded {} bookings; {} payments need attention",
+                    report.getBookingsConfirmed(), report.getBookingsRefunded(), report.getOrphanedPayments());
+        }
+        return Optional.of(report);
+    }
+
+    @Override
+    public Optional<ReconciliationReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private long readFrom(String list, long runStart) {
+        return watermarkRepository.findById(list)
+                .map(watermark -> watermark.getCreatedFrom() - TimeUnit.MINUTES.toSeconds(lookbackMinutes))
+                .orElse(runStart - TimeUnit.DAYS.toSeconds(backfillDays));
+    }
+
+    private int reconcileList(String list, long createdFrom, long runStart, Lister lister,
+            ReconciliationReport report) throws Exception {
+        int scanned = 0;
+        String startingAfter = null;
+        Page page;
+        do {
+            page = lister.list(Math.max(0, createdFrom), startingAfter, pageSize);
+            scanned += page.scanned();
+            List<PaymentIntent> intents = page.intents();
+            if (!intents.isEmpty()) {
+                pageTransaction.executeWithoutResult(status -> apply(intents, report));
+            }
+            startingAfter = page.lastId();
+        } while (page.hasMore() && startingAfter != null);
+
+        ReconciliationWatermark watermark = new ReconciliationWatermark();
+        watermark.setStream(list);
+        watermark.setCreatedFrom(runStart);
+        watermark.setUpdatedAt(LocalDateTime.now());
+        watermarkRepository.save(watermark);
+        return scanned;
+    }
+
+    private Page intentPage(long createdFrom, String startingAfter, int limit) throws Exception {
+        PaymentIntentCollection collection = paymentService.listPaymentIntents(createdFrom, startingAfter, limit);
+        List<PaymentIntent> data = collection.getData();
+        return new Page(data, data.size(), data.isEmpty() ? null : data.get(data.size() - 1).getId(),
+                Boolean.TRUE.equals(collection.getHasMore()));
+    }
+
+    private Page refundPage(long createdFrom, String startingAfter, int limit) throws Exception {
+        RefundCollection collection = paymentService.listRefunds(createdFrom, startingAfter, limit);
+        List<Refund> data = collection.getData();
+        Map<String, PaymentIntent> intents = new LinkedHashMap<>();
+        for (Refund refund : data) {
+            PaymentIntent intent = refund.getPaymentIntentObject();
+            if (intent != null) {
+                intents.putIfAbsent(intent.getId(), intent);
+            }
+        }
+        return new Page(new ArrayList<>(intents.values()), data.size(),
+                data.isEmpty() ? null : data.get(data.size() - 1).getId(), Boolean.TRUE.equals(collection.getHasMore()));
+    }
+
+    private void apply(List<PaymentIntent> intents, ReconciliationReport report) {
+        Map<String, Long> bookingIds = new HashMap<>();
+        for (PaymentIntent intent : intents) {
+            Long bookingId = bookingIdOf(intent);
+            if (bookingId != null) {
+                bookingIds.put(intent.getId(), bookingId);
+            }
+        }
+        Map<Long, Booking> bookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findAllById(new HashSet<>(bookingIds.values()))) {
+            bookings.put(booking.getId(), booking);
+        }
+        Map<String, Payment> payments = new HashMap<>();
+        for (Payment payment : paymentRepository.findByTransactionIdIn(bookingIds.keySet())) {
+            payments.put(payment.getTransactionId(), payment);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> recorded = new ArrayList<>();
+        List<Booking> repaired = new ArrayList<>();
+        List<BookingChangedEvent> events = new ArrayList<>();
+        for (PaymentIntent intent : intents) {
+            Booking booking = bookings.get(bookingIds.get(intent.getId()));
+            if (booking == null) {
+                report.setUnmatched(report.getUnmatched() + 1);
+                continue;
+            }
+            PaymentStatus status = statusOf(intent);
+            Payment payment = record(payments.get(intent.getId()), booking.getId(), intent, status, now);
+            if (payment != null) {
+                recorded.add(payment);
+            }
+
+            BookingStatus previous = booking.getStatus();
+            if (status == PaymentStatus.COMPLETED && previous == BookingStatus.PENDING) {
+                booking.setStatus(BookingStatus.CONFIRMED);
+                booking.setPaymentId(intent.getId());
+                report.setBookingsConfirmed(report.getBookingsConfirmed() + 1);
+            } else if (status == PaymentStatus.REFUNDED && PAID_STATUSES.contains(previous)
+                    && intent.getId().equals(booking.getPaymentId())) {
+                booking.setStatus(BookingStatus.REFUNDED);
+                report.setBookingsRefunded(report.getBookingsRefunded() + 1);
+            } else {
+                if (status == PaymentStatus.COMPLETED && !intent.getId().equals(booking.getPaymentId())) {
+                    report.setOrphanedPayments(report.getOrphanedPayments() + 1);
+                    log.warn("Payment {} was captured for booking {}, which is {} with payment {}", intent.getId(),
+                            booking.getId(), previous, booking.getPaymentId());
+                }
+                continue;
+            }
+            booking.setUpdatedAt(now);
+            repaired.add(booking);
+            events.add(BookingChangedEvent.of(booking, previous));
+        }
+
+        paymentRepository.saveAll(recorded);
+        bookingRepository.saveAll(repaired);
+        bookingLockService.lockForChanges(events);
+        events.forEach(eventPublisher::publishEvent);
+        report.setPaymentsRecorded(report.getPaymentsRecorded() + recorded.size());
+    }
+
+    /** Returns the payment to save, or null when the stored one is already current. */
+    private static Payment record(Payment existing, Long bookingId, PaymentIntent intent, PaymentStatus status,
+            LocalDateTime now) {
+        Charge charge = intent.getLatestChargeObject();
+        long receivedCents = intent.getAmountReceived() != null && intent.getAmountReceived() > 0
+                ? intent.getAmountReceived() : intent.getAmount();
+        Double amount = receivedCents / 100.0;
+        Double refundAmount = charge != null && charge.getAmountRefunded() != null && charge.getAmountRefunded() > 0
+                ? charge.getAmountRefunded() / 100.0 : null;
+        if (existing != null && existing.getStatus() == status && existing.getAmount().equals(amount)
+                && Objects.equals(existing.getRefundAmount(), refundAmount)) {
+            return null;
+        }
+
+        Payment payment = existing != null ? existing : new Payment();
+        if (existing == null) {
+            payment.setBookingId(bookingId);
+            payment.setTransactionId(intent.getId());
+            if (intent.getCreated() != null) {
+                payment.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(intent.getCreated()),
+                        ZoneId.systemDefault()));
+            }
+        }
+        payment.setStatus(status);
+        payment.setAmount(amount);
+        payment.setRefundAmount(refundAmount);
+        if (refundAmount != null && payment.getRefundedAt() == null) {
+            payment.setRefundedAt(now);
+        }
+        return payment;
+    }
+
+    private static PaymentStatus statusOf(PaymentIntent intent) {
+        switch (String.valueOf(intent.getStatus())) {
+            case "succeeded":
+                Charge charge = intent.getLatestChargeObject();
+                return charge != null && Boolean.TRUE.equals(charge.getRefunded())
+                        ? PaymentStatus.REFUNDED : PaymentStatus.COMPLETED;
+            case "canceled":
+                return PaymentStatus.FAILED;
+            default:
+                return PaymentStatus.PENDING;
+        }
+    }
+
+    private static Long bookingIdOf(PaymentIntent intent) {
+        Map<String, String> metadata = intent.getMetadata();
+        String bookingId = metadata == null ? null : metadata.get("bookingId");
+        if (bookingId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(bookingId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -5,8 +5,15 @@ import com.booking.service.PaymentService;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.model.RefundCollection;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentIntentListParams;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -15,6 +22,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "booking.payment.provider", havingValue = "stripe", matchIfMissing = true)
 public class PaymentServiceImpl implements PaymentService {
 
     @Value("${stripe.api.key}")
@@ -55,4 +63,43 @@ public class PaymentServiceImpl implements PaymentService {
     public PaymentIntent getPaymentIntent(String paymentIntentId) throws StripeException {
         return PaymentIntent.retrieve(paymentIntentId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String refundPayment(String paymentIntentId, long amountCents, String idempotencyKey)
+            throws StripeException {
+        RefundCreateParams params = RefundCreateParams.builder()
+                .setPaymentIntent(paymentIntentId)
+                .setAmount(amountCents)
+                .build();
+        RequestOptions options = RequestOptions.builder()
+                .setIdempotencyKey(idempotencyKey)
+                .build();
+
+        return com.stripe.model.Refund.create(params, options).getId();
+    }
+
+    @Override
+    public PaymentIntentCollection listPaymentIntents(long createdFrom, String startingAfter, int limit)
+            throws StripeException {
+        PaymentIntentListParams.Builder params = PaymentIntentListParams.builder()
+                .setCreated(PaymentIntentListParams.Created.builder().setGte(createdFrom).build())
+                .setLimit((long) limit)
+                .addExpand("data.latest_charge");
+        if (startingAfter != null) {
+            params.setStartingAfter(startingAfter);
+        }
+        return PaymentIntent.list(params.build());
+    }
+
+    @Override
+    public RefundCollection listRefunds(long createdFrom, String startingAfter, int limit) throws StripeException {
+        RefundListParams.Builder params = RefundListParams.builder()
+                .setCreated(RefundListParams.Created.builder().setGte(createdFrom).build())
+                .setLimit((long) limit)
+                .addExpand("data.payment_intent.latest_charge");
+        if (startingAfter != null) {
+            params.setStartingAfter(startingAfter);
+        }
+        return com.stripe.model.Refund.list(params.build());
+    }
+}
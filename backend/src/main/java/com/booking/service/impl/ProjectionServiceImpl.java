@@ -0,0 +1,91 @@
+package com.booking.service.impl;
+
+import com.booking.model.BookingStatus;
+import com.booking.projection.FieldProjection;
+import com.booking.service.ProjectionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Profile("!embedded")
+@Transactional(readOnly = true)
+public class ProjectionServiceImpl implements ProjectionService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> getAllFacilities(FieldProjection projection) {
+        return query(projection, null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getFacilityById(Long id, FieldProjection projection) {
+        return query(projection, "e.id = ?1", id).stream().findFirst();
+    }
+
+    @Override
+    public List<Map<String, Object>> getFacilitiesByType(String type, FieldProjection projection) {
+        return query(projection, "e.type = ?1", type);
+    }
+
+    @Override
+    public List<Map<String, Object>> getActiveFacilities(FieldProjection projection) {
+        return query(projection, "e.isActive = true");
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFacilitiesByLocation(String location, FieldProjection projection) {
+        return query(projection, "LOWER(e.location) LIKE LOWER(CONCAT('%', ?1, '%'))", location);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getBookingById(Long id, FieldProjection projection) {
+        return query(projection, "e.id = ?1", id).stream().findFirst();
+    }
+
+    @Override
+    public List<Map<String, Object>> getBookingsByUserId(String userId, FieldProjection projection) {
+        return query(projection, "e.userId = ?1", userId);
+    }
+
+    @Override
+    public List<Map<String, Object>> getBookingsByFacilityId(Long facilityId, FieldProjection projection) {
+        return query(projection, "e.facility.id = ?1", facilityId);
+    }
+
+    @Override
+    public List<Map<String, Object>> getBookingsByStatus(BookingStatus status, FieldProjection projection) {
+        return query(projection, "e.status = ?1", status);
+    }
+
+    @Override
+    public List<Map<String, Object>> getUpcomingBookings(Long facilityId, FieldProjection projection) {
+        return query(projection, "e.facility.id = ?1 AND e.status = ?2 AND e.startTime >= ?3",
+                facilityId, BookingStatus.CONFIRMED, LocalDateTime.now());
+    }
+
+    private List<Map<String, Object>> query(FieldProjection projection, String where, Object... parameters) {
+        TypedQuery<Tuple> query = entityManager.createQuery(projection.jpql(where), Tuple.class);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(projection.toRow(tuple));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,105 @@
+package com.booking.service.impl;
+
+import com.booking.dto.QuoteRequest;
+import com.booking.dto.QuoteResponse;
+import com.booking.event.FacilityChangedEvent;
+import com.booking.model.Facility;
+import com.booking.pricing.PricingPolicy;
+import com.booking.pricing.RateTable;
+import com.booking.repository.FacilityRepository;
+import com.booking.service.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class QuoteServiceImpl implements QuoteService {
+
+    private final FacilityRepository facilityRepository;
+    private final PricingPolicy pricingPolicy;
+    private final Map<Long, RateTable> rateTables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QuoteServiceImpl(FacilityRepository facilityRepository, PricingPolicy pricingPolicy) {
+        this.facilityRepository = facilityRepository;
+        this.pricingPolicy = pricingPolicy;
+    }
+
+    @Override
+    public BigDecimal quote(Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
+        validateRange(startTime, endTime);
+        return BigDecimal.valueOf(rateTable(facility).priceCents(startTime, endTime), 2);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuoteResponse> quote(List<QuoteRequest> requests) {
+        Set<Long> facilityIds = new HashSet<>();
+        for (QuoteRequest request : requests) {
+            if (request.getFacilityId() != null) {
+                facilityIds.add(request.getFacilityId());
+            }
+        }
+        // One read per batch, so every cached table gets the same rate check as a single quote;
+        // the change event only reaches this node.
+        Map<Long, RateTable> tables = new HashMap<>();
+        if (!facilityIds.isEmpty()) {
+            facilityRepository.findAllById(facilityIds).forEach(facility ->
+                    tables.put(facility.getId(), rateTable(facility)));
+        }
+
+        List<QuoteResponse> responses = new ArrayList<>(requests.size());
+        for (QuoteRequest request : requests) {
+            QuoteResponse response = new QuoteResponse();
+            response.setFacilityId(request.getFacilityId());
+            response.setStartTime(request.getStartTime());
+            response.setEndTime(request.getEndTime());
+            RateTable table = request.getFacilityId() == null ? null : tables.get(request.getFacilityId());
+            if (table == null) {
+                response.setError("Facility not found");
+            } else if (!isValidRange(request.getStartTime(), request.getEndTime())) {
+                response.setError("End time must be after start time");
+            } else {
+                response.setTotalAmount(BigDecimal.valueOf(
+                        table.priceCents(request.getStartTime(), request.getEndTime()), 2));
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @EventListener
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        rateTables.remove(event.getFacilityId());
+    }
+
+    private RateTable rateTable(Facility facility) {
+        RateTable table = rateTables.get(facility.getId());
+        if (table == null || table.getHourlyRate().compareTo(facility.getHourlyRate()) != 0) {
+            table = RateTable.compile(facility.getHourlyRate(), pricingPolicy);
+            rateTables.put(facility.getId(), table);
+        }
+        return table;
+    }
+
+    private static void validateRange(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!isValidRange(startTime, endTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+    }
+
+    private static boolean isValidRange(LocalDateTime startTime, LocalDateTime endTime) {
+        return startTime != null && endTime != null && endTime.isAfter(startTime);
+    }
+}
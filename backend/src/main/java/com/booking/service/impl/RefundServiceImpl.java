@@ -0,0 +1,207 @@
+package com.booking.service.impl;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingRefund;
+import com.booking.model.BookingStatus;
+import com.booking.model.RefundStatus;
+import com.booking.refund.RefundPolicy;
+import com.booking.repository.BookingRefundRepository;
+import com.booking.repository.BookingRepository;
+import com.booking.service.BookingLockService;
+import com.booking.service.PaymentService;
+import com.booking.service.RefundService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Issues refunds owed for cancelled bookings. Pending refunds are walked in
+ * id order a page at a time; each page is sent to the provider on a bounded
+ * pool and its outcomes are saved in one transaction. Provider calls carry
+ * an idempotency key derived from the booking, so a page repeated after a
+ * crash, or by a second node, never refunds twice.
+ */
+@Service
+public class RefundServiceImpl implements RefundService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefundServiceImpl.class);
+
+    private static final BigDecimal CENTS = BigDecimal.valueOf(100);
+
+    private final BookingRefundRepository refundRepository;
+    private final BookingRepository bookingRepository;
+    private final PaymentService paymentService;
+    private final RefundPolicy refundPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingLockService bookingLockService;
+    private final TransactionTemplate pageTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${booking.refunds.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${booking.refunds.batch.size:100}")
+    private int batchSize = 100;
+
+    @Value("${booking.refunds.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Autowired
+    public RefundServiceImpl(BookingRefundRepository refundRepository, BookingRepository bookingRepository,
+            PaymentService paymentService, RefundPolicy refundPolicy, ApplicationEventPublisher eventPublisher,
+            BookingLockService bookingLockService, PlatformTransactionManager transactionManager) {
+        this.refundRepository = refundRepository;
+        this.bookingRepository = bookingRepository;
+        this.paymentService = paymentService;
+        this.refundPolicy = refundPolicy;
+        this.eventPublisher = eventPublisher;
+        this.bookingLockService = bookingLockService;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public Optional<BookingRefund> requestCancellationRefund(Booking booking) {
+        if (booking.getPaymentId() == null) {
+            return Optional.empty();
+        }
+        BigDecimal amount = refundPolicy.forCancellation(booking, LocalDateTime.now());
+        if (amount.signum() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(refundRepository.save(pendingRefund(booking, amount, null)));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${booking.refunds.check.ms:10000}")
+    public int processPendingRefunds() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        int settled = 0;
+        try {
+            long afterId = 0;
+            List<BookingRefund> page;
+            do {
+                page = refundRepository.findByStatusAndIdGreaterThanOrderByIdAsc(RefundStatus.PENDING, afterId,
+                        PageRequest.of(0, batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                issueAll(pool, page);
+                List<BookingRefund> outcomes = page;
+                Integer count = pageTransaction.execute(status -> record(outcomes));
+                settled += count == null ? 0 : count;
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Refund run stopped after settling {} refunds; will resume", settled, e);
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+        return settled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPending(Long closureId) {
+        return refundRepository.countByClosureIdAndStatus(closureId, RefundStatus.PENDING);
+    }
+
+    static BookingRefund pendingRefund(Booking booking, BigDecimal amount, Long closureId) {
+        BookingRefund refund = new BookingRefund();
+        refund.setBookingId(booking.getId());
+        refund.setFacilityId(booking.getFacility().getId());
+        refund.setClosureId(closureId);
+        refund.setUserId(booking.getUserId());
+        refund.setPaymentId(booking.getPaymentId());
+        refund.setAmount(amount);
+        return refund;
+    }
+
+    private void issueAll(ExecutorService pool, List<BookingRefund> page) {
+        List<Future<?>> calls = new ArrayList<>(page.size());
+        for (BookingRefund refund : page) {
+            calls.add(pool.submit(() -> issue(refund)));
+        }
+        for (Future<?> call : calls) {
+            try {
+                call.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while issuing refunds", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Refund task failed", e.getCause());
+            }
+        }
+    }
+
+    private void issue(BookingRefund refund) {
+        refund.setAttempts(refund.getAttempts() + 1);
+        try {
+            long cents = refund.getAmount().multiply(CENTS).longValueExact();
+            String providerId = paymentService.refundPayment(refund.getPaymentId(), cents,
+                    "refund-booking-" + refund.getBookingId());
+            refund.setProviderRefundId(providerId);
+            refund.setStatus(RefundStatus.SUCCEEDED);
+            refund.setRefundedAt(LocalDateTime.now());
+            refund.setLastError(null);
+        } catch (Exception e) {
+            refund.setLastError(e.getMessage());
+            if (refund.getAttempts() >= maxAttempts) {
+                refund.setStatus(RefundStatus.FAILED);
+                log.error("Giving up on refund for booking {} after {} attempts", refund.getBookingId(),
+                        refund.getAttempts(), e);
+            }
+        }
+    }
+
+    private int record(List<BookingRefund> page) {
+        refundRepository.saveAll(page);
+        List<Long> refunded = new ArrayList<>();
+        int settled = 0;
+        for (BookingRefund refund : page) {
+            if (refund.getStatus() == RefundStatus.SUCCEEDED) {
+                refunded.add(refund.getBookingId());
+            }
+            if (refund.getStatus() != RefundStatus.PENDING) {
+                settled++;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingChangedEvent> events = new ArrayList<>();
+        for (Booking booking : bookingRepository.findAllById(refunded)) {
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                booking.setStatus(BookingStatus.REFUNDED);
+                booking.setUpdatedAt(now);
+                bookingRepository.save(booking);
+                events.add(BookingChangedEvent.of(booking, BookingStatus.CANCELLED));
+            }
+        }
+        bookingLockService.lockForChanges(events);
+        events.forEach(eventPublisher::publishEvent);
+        return settled;
+    }
+}
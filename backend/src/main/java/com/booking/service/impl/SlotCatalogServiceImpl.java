@@ -0,0 +1,290 @@
+package com.booking.service.impl;
+
+import com.booking.dto.SlotView;
+import com.booking.event.BookingChangedEvent;
+import com.booking.event.ClusterTopologyChangedEvent;
+import com.booking.event.FacilityChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.SlotTemplate;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.repository.SlotTemplateRepository;
+import com.booking.service.SlotCatalogService;
+import com.booking.slot.FacilityIntervals;
+import com.booking.slot.ScheduleSnapshot;
+import com.booking.slot.SlotCatalog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves slot listings from in-memory {@link SlotCatalog}s. Each catalog is
+ * derived from its facility's {@link FacilityIntervals}, which are written
+ * to a memory-mapped {@link ScheduleSnapshot} periodically and on shutdown.
+ * On startup the snapshot is mapped and only bookings changed since its
+ * watermark are read back, instead of every facility's bookings.
+ */
+@Service
+@Transactional
+public class SlotCatalogServiceImpl implements SlotCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotCatalogServiceImpl.class);
+
+    private static final Set<BookingStatus> OCCUPYING_STATUSES =
+            EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+    private final SlotTemplateRepository slotTemplateRepository;
+    private final BookingRepository bookingRepository;
+    private final FacilityRepository facilityRepository;
+    private final int horizonDays;
+    private final Map<Long, SlotCatalog> catalogs = new ConcurrentHashMap<>();
+    private final Map<Long, FacilityIntervals> intervals = new ConcurrentHashMap<>();
+
+    @Value("${booking.slots.snapshot.enabled:true}")
+    private boolean snapshotEnabled = true;
+
+    @Value("${booking.slots.snapshot.path:data/schedule.snapshot}")
+    private String snapshotPath = "data/schedule.snapshot";
+
+    // Changes committed shortly before a snapshot may not have reached the intervals yet.
+    @Value("${booking.slots.snapshot.watermark.margin.seconds:60}")
+    private long watermarkMarginSeconds = 60;
+
+    @Autowired
+    public SlotCatalogServiceImpl(SlotTemplateRepository slotTemplateRepository,
+            BookingRepository bookingRepository,
+            FacilityRepository facilityRepository,
+            @Value("${booking.slots.horizon.days:30}") int horizonDays) {
+        this.slotTemplateRepository = slotTemplateRepository;
+        this.bookingRepository = bookingRepository;
+        this.facilityRepository = facilityRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SlotTemplate> getTemplate(Long facilityId) {
+        return slotTemplateRepository.findByFacilityId(facilityId);
+    }
+
+    @Override
+    public SlotTemplate saveTemplate(Long facilityId, SlotTemplate template) {
+        validate(template);
+        Facility facility = facilityRepository.findById(facilityId)
+                .orElseThrow(() -> new IllegalArgumentException("Facility not found with id: " + facilityId));
+        slotTemplateRepository.findByFacilityId(facilityId)
+                .ifPresent(existing -> template.setId(existing.getId()));
+        template.setFacility(facility);
+        SlotTemplate saved = slotTemplateRepository.save(template);
+        catalogs.put(facilityId, build(saved, LocalDate.now()));
+        return saved;
+    }
+
+    @Override
+    public void deleteTemplate(Long facilityId) {
+        slotTemplateRepository.deleteByFacilityId(facilityId);
+        catalogs.remove(facilityId);
+        intervals.remove(facilityId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotView> getSlots(Long facilityId, LocalDate date) {
+        SlotCatalog catalog = catalogs.get(facilityId);
+        if (catalog == null || !catalog.getFirstDate().equals(LocalDate.now())) {
+            SlotTemplate template = slotTemplateRepository.findByFacilityId(facilityId)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "No slot template defined for facility id: " + facilityId));
+            catalog = catalogs.compute(facilityId, (id, current) ->
+                    current != null && current.getFirstDate().equals(LocalDate.now())
+                            ? current
+                            : build(template, LocalDate.now()));
+        }
+        return catalog.slots(date);
+    }
+
+    /**
+     * Rolls every catalog forward so that it starts today, rebuilding it from
+     * the bookings table. This also reconciles any drift from events that
+     * raced with a previous build.
+     */
+    @Override
+    @Scheduled(cron = "${booking.slots.refresh.cron:0 5 0 * * *}")
+    @Transactional(readOnly = true)
+    public void refreshCatalogs() {
+        LocalDate today = LocalDate.now();
+        for (SlotTemplate template : slotTemplateRepository.findAll()) {
+            catalogs.put(template.getFacility().getId(), build(template, today));
+        }
+    }
+
+    /**
+     * Restores catalogs from the schedule snapshot, if there is one. Facilities
+     * missing from it are built from the bookings table on first read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmStart() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        long began = System.nanoTime();
+        Optional<ScheduleSnapshot> mapped;
+        try {
+            mapped = ScheduleSnapshot.map(Paths.get(snapshotPath));
+        } catch (IOException e) {
+            log.warn("Cannot read schedule snapshot {}; catalogs will be built from bookings", snapshotPath, e);
+            return;
+        }
+        if (mapped.isEmpty()) {
+            return;
+        }
+        ScheduleSnapshot snapshot = mapped.get();
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = today.plusDays(horizonDays);
+        Map<Long, List<Booking>> changed = bookingRepository.findChangedSince(snapshot.getWatermark()).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getFacility().getId()));
+        int restored = 0;
+        for (SlotTemplate template : slotTemplateRepository.findAll()) {
+            Long facilityId = template.getFacility().getId();
+            ScheduleSnapshot.Entry entry = snapshot.getFacilities().get(facilityId);
+            if (entry == null) {
+                continue;
+            }
+            FacilityIntervals facilityIntervals = entry.intervals();
+            if (entry.coveredUntil().isBefore(horizonEnd)) {
+                // Days that entered the horizon after the snapshot was written.
+                apply(facilityIntervals, bookingRepository.findByFacilityIdAndStatusInOverlapping(facilityId,
+                        OCCUPYING_STATUSES, entry.coveredUntil().atStartOfDay(), horizonEnd.atStartOfDay()));
+            }
+            apply(facilityIntervals, changed.getOrDefault(facilityId, List.of()));
+            if (catalogs.putIfAbsent(facilityId, catalog(template, today, facilityIntervals)) == null) {
+                intervals.put(facilityId, facilityIntervals);
+                restored++;
+            }
+        }
+        log.info("Restored {} slot catalogs from {} (watermark {}, {} changed bookings) in {} ms", restored,
+                snapshotPath, snapshot.getWatermark(), changed.values().stream().mapToInt(List::size).sum(),
+                (System.nanoTime() - began) / 1_000_000);
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${booking.slots.snapshot.ms:300000}",
+            initialDelayString = "${booking.slots.snapshot.ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeSnapshot() {
+        if (!snapshotEnabled || intervals.isEmpty()) {
+            return;
+        }
+        LocalDateTime watermark = LocalDateTime.now().minusSeconds(watermarkMarginSeconds);
+        Map<Long, ScheduleSnapshot.Entry> entries = new LinkedHashMap<>();
+        intervals.forEach((facilityId, facilityIntervals) -> {
+            SlotCatalog catalog = catalogs.get(facilityId);
+            if (catalog != null) {
+                entries.put(facilityId, new ScheduleSnapshot.Entry(facilityIntervals,
+                        catalog.getFirstDate().plusDays(horizonDays)));
+            }
+        });
+        try {
+            ScheduleSnapshot.write(Paths.get(snapshotPath), watermark, entries);
+        } catch (IOException e) {
+            log.warn("Cannot write schedule snapshot {}", snapshotPath, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBookingChanged(BookingChangedEvent event) {
+        FacilityIntervals facilityIntervals = intervals.get(event.getFacilityId());
+        if (facilityIntervals != null) {
+            facilityIntervals.apply(event.getBookingId(), event.getStartTime(), event.getEndTime(),
+                    event.getStatus());
+        }
+        SlotCatalog catalog = catalogs.get(event.getFacilityId());
+        if (catalog != null) {
+            catalog.apply(event.getStartTime(), event.getEndTime(), event.getPreviousStatus(), event.getStatus());
+        }
+    }
+
+    /**
+     * Drops catalogs for facilities this node gained or lost. A gained
+     * facility's writes happened elsewhere until now, so its catalog is
+     * rebuilt from the bookings table on the next read.
+     */
+    @EventListener
+    public void onTopologyChanged(ClusterTopologyChangedEvent event) {
+        catalogs.keySet().removeIf(event::ownershipChanged);
+        intervals.keySet().removeIf(event::ownershipChanged);
+    }
+
+    @EventListener
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        if (event.getChange() == FacilityChangedEvent.Change.DELETED) {
+            catalogs.remove(event.getFacilityId());
+            intervals.remove(event.getFacilityId());
+        }
+    }
+
+    private SlotCatalog build(SlotTemplate template, LocalDate firstDate) {
+        Long facilityId = template.getFacility().getId();
+        FacilityIntervals facilityIntervals = FacilityIntervals.empty();
+        apply(facilityIntervals, bookingRepository.findByFacilityIdAndStatusInOverlapping(
+                facilityId,
+                OCCUPYING_STATUSES,
+                firstDate.atStartOfDay(),
+                firstDate.plusDays(horizonDays).atStartOfDay()));
+        intervals.put(facilityId, facilityIntervals);
+        return catalog(template, firstDate, facilityIntervals);
+    }
+
+    private SlotCatalog catalog(SlotTemplate template, LocalDate firstDate, FacilityIntervals facilityIntervals) {
+        SlotCatalog catalog = SlotCatalog.create(template, firstDate, horizonDays);
+        facilityIntervals.applyTo(catalog);
+        return catalog;
+    }
+
+    private static void apply(FacilityIntervals facilityIntervals, List<Booking> bookings) {
+        for (Booking booking : bookings) {
+            facilityIntervals.apply(booking.getId(), booking.getStartTime(), booking.getEndTime(),
+                    booking.getStatus());
+        }
+    }
+
+    private static void validate(SlotTemplate template) {
+        if (template.getOpeningTime() == null || template.getClosingTime() == null
+                || !template.getClosingTime().isAfter(template.getOpeningTime())) {
+            throw new IllegalArgumentException("Closing time must be after opening time");
+        }
+        if (template.getSlotMinutes() == null || template.getSlotMinutes() <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive");
+        }
+        if (template.getBufferMinutes() == null || template.getBufferMinutes() < 0) {
+            throw new IllegalArgumentException("Buffer must not be negative");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.booking.service.impl;
+
+import com.booking.model.Booking;
+import com.booking.service.PaymentService;
+import com.stripe.model.Charge;
+import com.stripe.model.HasId;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.model.StripeCollection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * An in-memory payment provider for load tests and local runs. Intents
+ * follow Stripe's status names, confirm always succeeds, and each call can
+ * be delayed to stand in for the provider's latency. Lists page newest
+ * first like Stripe's, so the reconciliation job can run against it.
+ */
+@Service
+@ConditionalOnProperty(name = "booking.payment.provider", havingValue = "stub")
+public class StubPaymentServiceImpl implements PaymentService {
+
+    private final Map<String, PaymentIntent> intents = new ConcurrentHashMap<>();
+    private final Map<String, Refund> refunds = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Value("${booking.payment.stub.latency.ms:0}")
+    private long latencyMillis;
+
+    public StubPaymentServiceImpl() {
+        this(Clock.systemUTC());
+    }
+
+    public StubPaymentServiceImpl(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(Booking booking) throws InterruptedException {
+        simulateLatency();
+        String id = "pi_stub_" + UUID.randomUUID().toString().replace("-", "");
+        PaymentIntent intent = new PaymentIntent();
+        intent.setId(id);
+        intent.setClientSecret(id + "_secret");
+        intent.setAmount(booking.getTotalAmount().multiply(new BigDecimal("100")).longValue());
+        intent.setCurrency("usd");
+        intent.setStatus("requires_confirmation");
+        intent.setCreated(clock.instant().getEpochSecond());
+        intent.setMetadata(Map.of(
+                "bookingId", booking.getId().toString(),
+                "facilityId", booking.getFacility().getId().toString(),
+                "userId", String.valueOf(booking.getUserId())));
+        intents.put(id, intent);
+        return intent;
+    }
+
+    @Override
+    public PaymentIntent confirmPayment(String paymentIntentId) throws InterruptedException {
+        simulateLatency();
+        return transition(paymentIntentId, "requires_confirmation", "succeeded");
+    }
+
+    @Override
+    public PaymentIntent cancelPayment(String paymentIntentId) throws InterruptedException {
+        simulateLatency();
+        return transition(paymentIntentId, "requires_confirmation", "canceled");
+    }
+
+    @Override
+    public PaymentIntent getPaymentIntent(String paymentIntentId) {
+        return find(paymentIntentId);
+    }
+
+    @Override
+    public String refundPayment(String paymentIntentId, long amountCents, String idempotencyKey)
+            throws InterruptedException {
+        simulateLatency();
+        PaymentIntent intent = find(paymentIntentId);
+        synchronized (intent) {
+            Refund existing = refunds.get(idempotencyKey);
+            if (existing != null) {
+                return existing.getId();
+            }
+            Charge charge = intent.getLatestChargeObject();
+            if (!"succeeded".equals(intent.getStatus())
+                    || charge.getAmountRefunded() + amountCents > charge.getAmountCaptured()) {
+                throw new IllegalArgumentException("Cannot refund " + amountCents + " on " + paymentIntentId);
+            }
+            charge.setAmountRefunded(charge.getAmountRefunded() + amountCents);
+            charge.setRefunded(charge.getAmountRefunded().equals(charge.getAmountCaptured()));
+
+            Refund refund = new Refund();
+            refund.setId("re_stub_" + UUID.randomUUID().toString().replace("-", ""));
+            refund.setAmount(amountCents);
+            refund.setStatus("succeeded");
+            refund.setCreated(clock.instant().getEpochSecond());
+            refund.setPaymentIntentObject(intent);
+            refunds.put(idempotencyKey, refund);
+            return refund.getId();
+        }
+    }
+
+    @Override
+    public PaymentIntentCollection listPaymentIntents(long createdFrom, String startingAfter, int limit) {
+        PaymentIntentCollection page = new PaymentIntentCollection();
+        fill(page, intents.values(), PaymentIntent::getCreated, createdFrom, startingAfter, limit);
+        return page;
+    }
+
+    @Override
+    public RefundCollection listRefunds(long createdFrom, String startingAfter, int limit) {
+        RefundCollection page = new RefundCollection();
+        fill(page, refunds.values(), Refund::getCreated, createdFrom, startingAfter, limit);
+        return page;
+    }
+
+    private static <T extends HasId> void fill(StripeCollection<T> page, Collection<T> all,
+            ToLongFunction<T> created, long createdFrom, String startingAfter, int limit) {
+        List<T> newestFirst = new ArrayList<>();
+        for (T item : all) {
+            if (created.applyAsLong(item) >= createdFrom) {
+                newestFirst.add(item);
+            }
+        }
+        newestFirst.sort(Comparator.comparingLong(created).thenComparing(HasId::getId).reversed());
+        int from = 0;
+        if (startingAfter != null) {
+            while (from < newestFirst.size() && !newestFirst.get(from).getId().equals(startingAfter)) {
+                from++;
+            }
+            from++;
+        }
+        int to = Math.min(newestFirst.size(), from + limit);
+        page.setData(from < to ? new ArrayList<>(newestFirst.subList(from, to)) : new ArrayList<>());
+        page.setHasMore(to < newestFirst.size());
+    }
+
+    private PaymentIntent transition(String paymentIntentId, String from, String to) {
+        PaymentIntent intent = find(paymentIntentId);
+        synchronized (intent) {
+            if (!from.equals(intent.getStatus()) && !to.equals(intent.getStatus())) {
+                throw new IllegalArgumentException("Payment intent " + paymentIntentId + " is " + intent.getStatus());
+            }
+            if ("succeeded".equals(to) && !to.equals(intent.getStatus())) {
+                intent.setAmountReceived(intent.getAmount());
+                Charge charge = new Charge();
+                charge.setId("ch_stub_" + UUID.randomUUID().toString().replace("-", ""));
+                charge.setAmount(intent.getAmount());
+                charge.setAmountCaptured(intent.getAmount());
+                charge.setAmountRefunded(0L);
+                charge.setRefunded(false);
+                intent.setLatestChargeObject(charge);
+            }
+            intent.setStatus(to);
+        }
+        return intent;
+    }
+
+    private PaymentIntent find(String paymentIntentId) {
+        PaymentIntent intent = intents.get(paymentIntentId);
+        if (intent == null) {
+            throw new IllegalArgumentException("No such payment intent: " + paymentIntentId);
+        }
+        return intent;
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+    }
+}
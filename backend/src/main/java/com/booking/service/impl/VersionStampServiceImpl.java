@@ -0,0 +1,58 @@
+package com.booking.service.impl;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.event.FacilityChangedEvent;
+import com.booking.service.VersionStampService;
+import com.booking.version.VersionStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Version stamps for the facility catalog, each facility's schedule and
+ * each user's bookings.
+ * Stamps are bumped after the mutating transaction commits, so a stamp is
+ * never ahead of the data it describes.
+ */
+@Service
+public class VersionStampServiceImpl implements VersionStampService {
+
+    private static final String CATALOG_KEY = "catalog";
+    private static final String SCHEDULE_KEY_PREFIX = "schedule:";
+    private static final String USER_SCHEDULE_KEY_PREFIX = "user-schedule:";
+
+    private final VersionStore versionStore;
+
+    @Autowired
+    public VersionStampServiceImpl(VersionStore versionStore) {
+        this.versionStore = versionStore;
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return versionStore.current(CATALOG_KEY);
+    }
+
+    @Override
+    public long getScheduleVersion(Long facilityId) {
+        return versionStore.current(SCHEDULE_KEY_PREFIX + facilityId);
+    }
+
+    @Override
+    public long getUserScheduleVersion(String userId) {
+        return versionStore.current(USER_SCHEDULE_KEY_PREFIX + userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        versionStore.increment(CATALOG_KEY);
+        // Schedules embed the facility, so they change with it.
+        versionStore.increment(SCHEDULE_KEY_PREFIX + event.getFacilityId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        versionStore.increment(SCHEDULE_KEY_PREFIX + event.getFacilityId());
+        versionStore.increment(USER_SCHEDULE_KEY_PREFIX + event.getUserId());
+    }
+}
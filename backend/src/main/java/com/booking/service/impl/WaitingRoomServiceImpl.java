@@ -0,0 +1,135 @@
+package com.booking.service.impl;
+
+import com.booking.dto.WaitingRoomStatus;
+import com.booking.service.WaitingRoomService;
+import com.booking.waitingroom.AdmissionTokenSigner;
+import com.booking.waitingroom.AdmissionTokenSigner.Claims;
+import com.booking.waitingroom.AdmissionTokenSigner.Kind;
+import com.booking.waitingroom.WaitingRoomStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * Admission control in front of the booking endpoints. Queue state lives in
+ * a {@link WaitingRoomStore}; the set of active rooms is mirrored locally and
+ * refreshed on a short schedule so the request filter never leaves the JVM.
+ */
+@Service
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+    private final WaitingRoomStore store;
+    private final AdmissionTokenSigner signer;
+    private final Clock clock;
+    private volatile Map<Long, Double> activeRooms = Map.of();
+
+    @Value("${booking.waiting-room.ticket.ttl.seconds:3600}")
+    private long ticketTtlSeconds;
+
+    @Value("${booking.waiting-room.admission.ttl.seconds:600}")
+    private long admissionTtlSeconds;
+
+    @Autowired
+    public WaitingRoomServiceImpl(WaitingRoomStore store, AdmissionTokenSigner signer) {
+        this(store, signer, Clock.systemUTC());
+    }
+
+    public WaitingRoomServiceImpl(WaitingRoomStore store, AdmissionTokenSigner signer, Clock clock) {
+        this.store = store;
+        this.signer = signer;
+        this.clock = clock;
+    }
+
+    @Override
+    public void activate(Long facilityId, double admissionsPerSecond) {
+        if (admissionsPerSecond <= 0) {
+            throw new IllegalArgumentException("Admission rate must be positive");
+        }
+        store.activate(facilityId, admissionsPerSecond, clock.millis());
+        refreshActiveRooms();
+    }
+
+    @Override
+    public void deactivate(Long facilityId) {
+        store.deactivate(facilityId);
+        refreshActiveRooms();
+    }
+
+    @Override
+    public Map<Long, Double> getActiveRooms() {
+        return activeRooms;
+    }
+
+    @Override
+    public boolean hasActiveRooms() {
+        return !activeRooms.isEmpty();
+    }
+
+    @Override
+    public boolean isActive(Long facilityId) {
+        return activeRooms.containsKey(facilityId);
+    }
+
+    @Override
+    public WaitingRoomStatus join(Long facilityId, String userId) {
+        long ticket = store.join(facilityId);
+        if (ticket < 0) {
+            throw new IllegalArgumentException("No active waiting room for facility id: " + facilityId);
+        }
+        String signedTicket = signer.sign(new Claims(Kind.TICKET, facilityId, ticket,
+                clock.millis() / 1000 + ticketTtlSeconds, userId));
+        return status(facilityId, ticket, userId, signedTicket);
+    }
+
+    @Override
+    public WaitingRoomStatus getStatus(String ticket) {
+        Claims claims = signer.verify(ticket, Kind.TICKET, clock.millis() / 1000);
+        if (claims == null) {
+            throw new IllegalArgumentException("Invalid or expired waiting room ticket");
+        }
+        return status(claims.facilityId(), claims.ticket(), claims.userId(), ticket);
+    }
+
+    @Override
+    public Claims verifyAdmission(String admissionToken) {
+        return signer.verify(admissionToken, Kind.ADMISSION, clock.millis() / 1000);
+    }
+
+    @Override
+    public boolean redeemAdmission(Claims admission) {
+        // Keyed by ticket rather than token: polling the status again re-signs the same admission.
+        return store.redeem(admission.facilityId(), admission.ticket(), admissionTtlSeconds * 1000);
+    }
+
+    @Override
+    public void releaseAdmission(Claims admission) {
+        store.release(admission.facilityId(), admission.ticket());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.waiting-room.refresh.ms:1000}")
+    public void refreshActiveRooms() {
+        activeRooms = Map.copyOf(store.activeRooms());
+    }
+
+    private WaitingRoomStatus status(long facilityId, long ticket, String userId, String signedTicket) {
+        long admitted = store.admittedUpTo(facilityId, clock.millis());
+        WaitingRoomStatus status = new WaitingRoomStatus();
+        status.setFacilityId(facilityId);
+        status.setTicket(signedTicket);
+        if (admitted < 0 || ticket <= admitted) {
+            // A room closed while users were queued admits everyone still holding a ticket.
+            status.setAdmissionToken(signer.sign(new Claims(Kind.ADMISSION, facilityId, ticket,
+                    clock.millis() / 1000 + admissionTtlSeconds, userId)));
+            return status;
+        }
+        long position = ticket - admitted;
+        double rate = activeRooms.getOrDefault(facilityId, 1.0);
+        status.setPosition(position);
+        status.setRetryAfterSeconds(Math.max(1, (long) Math.ceil(position / rate)));
+        return status;
+    }
+}
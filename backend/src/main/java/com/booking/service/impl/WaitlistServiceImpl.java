@@ -0,0 +1,287 @@
+package com.booking.service.impl;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.UserRole;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.repository.WaitlistEntryRepository;
+import com.booking.service.BookingService;
+import com.booking.service.WaitlistService;
+import com.booking.waitlist.SlotKey;
+import com.booking.waitlist.WaitlistQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+@Service
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    // Larger than any epoch-millisecond timestamp, so a higher tier always sorts ahead of an earlier join.
+    private static final long PRIORITY_WEIGHT = 10_000_000_000_000L;
+    private static final Set<BookingStatus> RELEASED_STATUSES =
+            EnumSet.of(BookingStatus.CANCELLED, BookingStatus.REJECTED, BookingStatus.EXPIRED, BookingStatus.REFUNDED);
+    private static final Set<BookingStatus> BLOCKING_STATUSES =
+            EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final FacilityRepository facilityRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final WaitlistQueue waitlistQueue;
+    private final Environment environment;
+    private final TransactionTemplate promotionTransaction;
+
+    @Value("${booking.waitlist.priority.tiers.enabled:false}")
+    private boolean priorityTiersEnabled;
+
+    @Value("${booking.waitlist.lock.seconds:10}")
+    private long lockSeconds;
+
+    @Autowired
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistEntryRepository,
+            FacilityRepository facilityRepository,
+            BookingRepository bookingRepository,
+            BookingService bookingService,
+            WaitlistQueue waitlistQueue,
+            Environment environment,
+            PlatformTransactionManager transactionManager) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.facilityRepository = facilityRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.waitlistQueue = waitlistQueue;
+        this.environment = environment;
+        this.promotionTransaction = new TransactionTemplate(transactionManager);
+        this.promotionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public WaitlistEntry joinWaitlist(WaitlistEntry entry) {
+        if (entry.getStartTime() == null || entry.getEndTime() == null
+                || !entry.getEndTime().isAfter(entry.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        Long facilityId = entry.getFacility() == null ? null : entry.getFacility().getId();
+        Facility facility = facilityId == null ? null : facilityRepository.findById(facilityId).orElse(null);
+        if (facility == null) {
+            throw new IllegalArgumentException("Facility not found with id: " + facilityId);
+        }
+        entry.setFacility(facility);
+        if (entry.getRole() == null) {
+            entry.setRole(UserRole.CITIZEN);
+        }
+        entry.setPriority(priorityFor(entry.getRole()));
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        afterCommit(() -> waitlistQueue.add(slotOf(saved), saved.getId(), score(saved)));
+        return saved;
+    }
+
+    @Override
+    public WaitlistEntry leaveWaitlist(Long id) {
+        return waitlistEntryRepository.findById(id)
+                .map(entry -> {
+                    if (entry.getStatus() != WaitlistStatus.WAITING) {
+                        throw new IllegalArgumentException("Only waiting entries can leave the waitlist");
+                    }
+                    entry.setStatus(WaitlistStatus.CANCELLED);
+                    afterCommit(() -> waitlistQueue.remove(slotOf(entry), entry.getId()));
+                    return waitlistEntryRepository.save(entry);
+                })
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntry> getEntryById(Long id) {
+        return waitlistEntryRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getEntriesByUserId(String userId) {
+        return waitlistEntryRepository.findByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getPosition(Long id) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry not found with id: " + id));
+        return waitlistQueue.position(slotOf(entry), entry.getId());
+    }
+
+    /**
+     * When a booking stops blocking its slot, offers a pending hold to the
+     * head of every waitlist queued for an overlapping slot. Runs after the
+     * releasing transaction has committed, each promotion in its own
+     * transaction, and never propagates failures back to the releasing caller.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!BLOCKING_STATUSES.contains(event.getPreviousStatus()) || !RELEASED_STATUSES.contains(event.getStatus())) {
+            return;
+        }
+        Set<SlotKey> slots = new LinkedHashSet<>();
+        waitlistEntryRepository.findOverlapping(event.getFacilityId(), WaitlistStatus.WAITING,
+                event.getStartTime(), event.getEndTime())
+                .forEach(entry -> slots.add(slotOf(entry)));
+        for (SlotKey slot : slots) {
+            try {
+                promote(slot);
+            } catch (RuntimeException e) {
+                log.warn("Waitlist promotion failed for slot {}", slot.asString(), e);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reloadQueue() {
+        if (waitlistQueue.isShared()) {
+            return;
+        }
+        for (WaitlistEntry entry : waitlistEntryRepository.findByStatus(WaitlistStatus.WAITING)) {
+            waitlistQueue.add(slotOf(entry), entry.getId(), score(entry));
+        }
+    }
+
+    /**
+     * Offers the slot to waiters in queue order until one gets a hold. A
+     * waiter whose hold cannot be created is logged and skipped, so one bad
+     * entry does not stall everyone behind it.
+     */
+    private void promote(SlotKey slot) {
+        String lock = waitlistQueue.tryLock(slot, Duration.ofSeconds(lockSeconds));
+        if (lock == null) {
+            return; // another node is already promoting into this slot
+        }
+        try {
+            OptionalLong next;
+            while (!isBlocked(slot) && (next = waitlistQueue.poll(slot)).isPresent()) {
+                long entryId = next.getAsLong();
+                try {
+                    // Each attempt gets its own transaction: a failed hold marks its transaction rollback-only.
+                    if (Boolean.TRUE.equals(promotionTransaction.execute(status -> offerHold(entryId)))) {
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    if (isBlocked(slot)) {
+                        // Lost the slot to a booking, not a problem with this waiter; keep their place.
+                        promotionTransaction.executeWithoutResult(status -> requeue(slot, entryId));
+                        return;
+                    }
+                    log.warn("Could not give waitlist entry {} a hold for slot {}; skipping it",
+                            entryId, slot.asString(), e);
+                    promotionTransaction.executeWithoutResult(status -> skip(entryId));
+                }
+            }
+        } finally {
+            waitlistQueue.unlock(slot, lock);
+        }
+    }
+
+    private boolean isBlocked(SlotKey slot) {
+        return !bookingRepository.findByFacilityIdAndStatusInOverlapping(slot.getFacilityId(), BLOCKING_STATUSES,
+                slot.getStartTime(), slot.getEndTime()).isEmpty();
+    }
+
+    /** Returns whether the entry was given a hold; entries that have left are passed over. */
+    private boolean offerHold(long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            return false;
+        }
+        Booking hold = new Booking();
+        hold.setFacility(entry.getFacility());
+        hold.setUserId(entry.getUserId());
+        hold.setStartTime(entry.getStartTime());
+        hold.setEndTime(entry.getEndTime());
+        Booking created = bookingService.createBooking(hold);
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setBookingId(created.getId());
+        waitlistEntryRepository.save(entry);
+        return true;
+    }
+
+    private void requeue(SlotKey slot, long entryId) {
+        waitlistEntryRepository.findById(entryId)
+                .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING)
+                .ifPresent(entry -> waitlistQueue.add(slot, entry.getId(), score(entry)));
+    }
+
+    private void skip(long entryId) {
+        waitlistEntryRepository.findById(entryId)
+                .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING)
+                .ifPresent(entry -> {
+                    entry.setStatus(WaitlistStatus.SKIPPED);
+                    waitlistEntryRepository.save(entry);
+                });
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, so the queue
+     * never holds an entry whose row was rolled back; runs it at once when no
+     * transaction is active.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private int priorityFor(UserRole role) {
+        if (!priorityTiersEnabled) {
+            return 0;
+        }
+        return environment.getProperty("booking.waitlist.priority." + role.name().toLowerCase(), Integer.class, 0);
+    }
+
+    private static long score(WaitlistEntry entry) {
+        long joinedAt = entry.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return joinedAt - entry.getPriority() * PRIORITY_WEIGHT;
+    }
+
+    private static SlotKey slotOf(WaitlistEntry entry) {
+        return new SlotKey(entry.getFacility().getId(), entry.getStartTime(), entry.getEndTime());
+    }
+}
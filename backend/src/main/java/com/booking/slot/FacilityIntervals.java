@@ -0,0 +1,165 @@
+package com.booking.slot;
+
+import com.booking.model.BookingStatus;
+
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * The occupying bookings of one facility as {@code (id, start, end, status)}
+ * entries sorted by booking id, with times in UTC epoch seconds. This is
+ * what a {@link SlotCatalog} is built from and what a schedule snapshot
+ * stores.
+ *
+ * <p>An instance loaded from a snapshot reads straight from the mapped file
+ * and copies its entries onto the heap only when first changed. Applying a
+ * booking replaces any earlier entry for the same id, so replaying a change
+ * twice is harmless.
+ */
+public final class FacilityIntervals {
+
+    /** Longs per entry in the snapshot layout. */
+    static final int ENTRY_LONGS = 4;
+
+    private LongBuffer mapped;
+    private long[] ids;
+    private long[] starts;
+    private long[] ends;
+    private byte[] statuses;
+    private int size;
+
+    private FacilityIntervals() {
+    }
+
+    public static FacilityIntervals empty() {
+        FacilityIntervals intervals = new FacilityIntervals();
+        intervals.allocate(16);
+        return intervals;
+    }
+
+    /** A read-only view over {@code count} snapshot entries starting at the buffer's position. */
+    static FacilityIntervals mapped(LongBuffer entries, int count) {
+        FacilityIntervals intervals = new FacilityIntervals();
+        intervals.mapped = entries.slice().limit(count * ENTRY_LONGS);
+        intervals.size = count;
+        return intervals;
+    }
+
+    public static boolean occupies(BookingStatus status) {
+        return status == BookingStatus.PENDING || status == BookingStatus.CONFIRMED
+                || status == BookingStatus.COMPLETED;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Records the booking's current interval, or drops it once it no longer occupies the facility. */
+    public synchronized void apply(long bookingId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        materialize();
+        int index = Arrays.binarySearch(ids, 0, size, bookingId);
+        if (!occupies(status)) {
+            if (index >= 0) {
+                int tail = size - index - 1;
+                System.arraycopy(ids, index + 1, ids, index, tail);
+                System.arraycopy(starts, index + 1, starts, index, tail);
+                System.arraycopy(ends, index + 1, ends, index, tail);
+                System.arraycopy(statuses, index + 1, statuses, index, tail);
+                size--;
+            }
+            return;
+        }
+        if (index < 0) {
+            index = -index - 1;
+            if (size == ids.length) {
+                grow();
+            }
+            int tail = size - index;
+            System.arraycopy(ids, index, ids, index + 1, tail);
+            System.arraycopy(starts, index, starts, index + 1, tail);
+            System.arraycopy(ends, index, ends, index + 1, tail);
+            System.arraycopy(statuses, index, statuses, index + 1, tail);
+            size++;
+        }
+        ids[index] = bookingId;
+        starts[index] = start.toEpochSecond(ZoneOffset.UTC);
+        ends[index] = end.toEpochSecond(ZoneOffset.UTC);
+        statuses[index] = (byte) status.ordinal();
+    }
+
+    /** Applies every entry to {@code catalog} as a newly seen booking. */
+    public synchronized void applyTo(SlotCatalog catalog) {
+        BookingStatus[] values = BookingStatus.values();
+        for (int i = 0; i < size; i++) {
+            catalog.apply(time(start(i)), time(end(i)), null, values[status(i)]);
+        }
+    }
+
+    /** A copy of the entries in snapshot layout. */
+    synchronized long[] toArray() {
+        long[] entries = new long[size * ENTRY_LONGS];
+        for (int i = 0; i < size; i++) {
+            int at = i * ENTRY_LONGS;
+            entries[at] = id(i);
+            entries[at + 1] = start(i);
+            entries[at + 2] = end(i);
+            entries[at + 3] = status(i);
+        }
+        return entries;
+    }
+
+    private long id(int i) {
+        return mapped != null ? mapped.get(i * ENTRY_LONGS) : ids[i];
+    }
+
+    private long start(int i) {
+        return mapped != null ? mapped.get(i * ENTRY_LONGS + 1) : starts[i];
+    }
+
+    private long end(int i) {
+        return mapped != null ? mapped.get(i * ENTRY_LONGS + 2) : ends[i];
+    }
+
+    private int status(int i) {
+        return mapped != null ? (int) mapped.get(i * ENTRY_LONGS + 3) : statuses[i];
+    }
+
+    private void materialize() {
+        if (mapped == null) {
+            return;
+        }
+        LongBuffer source = mapped;
+        int count = size;
+        allocate(Math.max(16, count + count / 2));
+        for (int i = 0; i < count; i++) {
+            ids[i] = source.get(i * ENTRY_LONGS);
+            starts[i] = source.get(i * ENTRY_LONGS + 1);
+            ends[i] = source.get(i * ENTRY_LONGS + 2);
+            statuses[i] = (byte) source.get(i * ENTRY_LONGS + 3);
+        }
+        size = count;
+        mapped = null;
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        starts = new long[capacity];
+        ends = new long[capacity];
+        statuses = new byte[capacity];
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private static LocalDateTime time(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,134 @@
+package com.booking.slot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Versioned on-disk image of every tracked facility's
+ * {@link FacilityIntervals}, mapped read-only on startup.
+ *
+ * <p>Layout, all big-endian longs: a header of magic, version, watermark
+ * (UTC epoch seconds) and facility count; one directory entry per facility
+ * of id, covered-until (epoch day), entry offset and entry count; then the
+ * entries. Bookings changed after the watermark are not reflected, and a
+ * facility's entries are complete only for days before its covered-until
+ * date.
+ */
+public final class ScheduleSnapshot {
+
+    static final long MAGIC = 0x5343484544554c45L; // "SCHEDULE"
+    static final long VERSION = 1;
+
+    private static final int HEADER_LONGS = 4;
+    private static final int DIRECTORY_LONGS = 4;
+
+    private final LocalDateTime watermark;
+    private final Map<Long, Entry> facilities;
+
+    private ScheduleSnapshot(LocalDateTime watermark, Map<Long, Entry> facilities) {
+        this.watermark = watermark;
+        this.facilities = facilities;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public Map<Long, Entry> getFacilities() {
+        return facilities;
+    }
+
+    /** One facility's intervals and the day its coverage ends. */
+    public record Entry(FacilityIntervals intervals, LocalDate coveredUntil) {
+    }
+
+    /**
+     * Maps the snapshot at {@code file}. Empty when there is none or it was
+     * written by an incompatible version; the caller then rebuilds from the
+     * bookings table.
+     */
+    public static Optional<ScheduleSnapshot> map(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        MappedByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        LongBuffer longs = bytes.asLongBuffer();
+        if (longs.limit() < HEADER_LONGS || longs.get(0) != MAGIC || longs.get(1) != VERSION) {
+            return Optional.empty();
+        }
+        LocalDateTime watermark = LocalDateTime.ofEpochSecond(longs.get(2), 0, ZoneOffset.UTC);
+        int count = (int) longs.get(3);
+        Map<Long, Entry> facilities = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int at = HEADER_LONGS + i * DIRECTORY_LONGS;
+            long facilityId = longs.get(at);
+            LocalDate coveredUntil = LocalDate.ofEpochDay(longs.get(at + 1));
+            int offset = (int) longs.get(at + 2);
+            int entries = (int) longs.get(at + 3);
+            if (offset < 0 || entries < 0 || offset + (long) entries * FacilityIntervals.ENTRY_LONGS > longs.limit()) {
+                return Optional.empty();
+            }
+            FacilityIntervals intervals = FacilityIntervals.mapped(longs.position(offset), entries);
+            facilities.put(facilityId, new Entry(intervals, coveredUntil));
+        }
+        return Optional.of(new ScheduleSnapshot(watermark, facilities));
+    }
+
+    /**
+     * Writes a snapshot of {@code facilities} to a temporary file and
+     * atomically moves it over {@code file}.
+     */
+    public static void write(Path file, LocalDateTime watermark, Map<Long, Entry> facilities) throws IOException {
+        // Each facility is copied under its own lock; changes applied meanwhile go to the next snapshot.
+        Map<Long, long[]> copies = new LinkedHashMap<>(facilities.size() * 2);
+        long total = HEADER_LONGS + (long) facilities.size() * DIRECTORY_LONGS;
+        for (Map.Entry<Long, Entry> facility : facilities.entrySet()) {
+            long[] entries = facility.getValue().intervals().toArray();
+            copies.put(facility.getKey(), entries);
+            total += entries.length;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(total * Long.BYTES));
+        LongBuffer out = bytes.asLongBuffer();
+        out.put(MAGIC).put(VERSION).put(watermark.toEpochSecond(ZoneOffset.UTC)).put(copies.size());
+        long offset = HEADER_LONGS + (long) copies.size() * DIRECTORY_LONGS;
+        for (Map.Entry<Long, long[]> facility : copies.entrySet()) {
+            out.put(facility.getKey())
+                    .put(facilities.get(facility.getKey()).coveredUntil().toEpochDay())
+                    .put(offset)
+                    .put(facility.getValue().length / FacilityIntervals.ENTRY_LONGS);
+            offset += facility.getValue().length;
+        }
+        for (long[] entries : copies.values()) {
+            out.put(entries);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
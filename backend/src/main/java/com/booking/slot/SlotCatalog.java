@@ -0,0 +1,141 @@
+package com.booking.slot;
+
+import com.booking.dto.SlotView;
+import com.booking.model.BookingStatus;
+import com.booking.model.SlotStatus;
+import com.booking.model.SlotTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed slot catalog for one facility over a rolling horizon of days.
+ *
+ * <p>Every day of a facility shares the same slot boundaries, so they are held
+ * once as minute-of-day offsets. Per-slot occupancy is kept in two flat
+ * {@code short} arrays indexed by {@code day * slotsPerDay + slot}: the number
+ * of pending (held) and confirmed (booked) bookings overlapping the slot.
+ * Listing a day is therefore an array scan, with no database access.
+ */
+public final class SlotCatalog {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final LocalDate firstDate;
+    private final int days;
+    private final int slotMinutes;
+    private final int[] slotStarts;
+    private final short[] pending;
+    private final short[] confirmed;
+
+    private SlotCatalog(LocalDate firstDate, int days, int slotMinutes, int[] slotStarts) {
+        this.firstDate = firstDate;
+        this.days = days;
+        this.slotMinutes = slotMinutes;
+        this.slotStarts = slotStarts;
+        this.pending = new short[days * slotStarts.length];
+        this.confirmed = new short[days * slotStarts.length];
+    }
+
+    public static SlotCatalog create(SlotTemplate template, LocalDate firstDate, int days) {
+        return new SlotCatalog(firstDate, days, template.getSlotMinutes(), slotStarts(template));
+    }
+
+    /**
+     * Minute-of-day start offsets generated by a template: slots of
+     * {@code slotMinutes} separated by {@code bufferMinutes}, all of which end
+     * no later than the closing time.
+     */
+    static int[] slotStarts(SlotTemplate template) {
+        int open = template.getOpeningTime().toSecondOfDay() / 60;
+        int close = template.getClosingTime().toSecondOfDay() / 60;
+        int step = template.getSlotMinutes() + template.getBufferMinutes();
+        int count = close - open < template.getSlotMinutes()
+                ? 0
+                : (close - open - template.getSlotMinutes()) / step + 1;
+        int[] starts = new int[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = open + i * step;
+        }
+        return starts;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public boolean covers(LocalDate date) {
+        long offset = ChronoUnit.DAYS.between(firstDate, date);
+        return offset >= 0 && offset < days;
+    }
+
+    /**
+     * Moves the contribution of a booking over {@code [start, end)} from its
+     * previous status to its current one. Either status may be {@code null}.
+     */
+    public synchronized void apply(LocalDateTime start, LocalDateTime end,
+            BookingStatus previousStatus, BookingStatus status) {
+        int pendingDelta = (status == BookingStatus.PENDING ? 1 : 0)
+                - (previousStatus == BookingStatus.PENDING ? 1 : 0);
+        int confirmedDelta = (occupies(status) ? 1 : 0) - (occupies(previousStatus) ? 1 : 0);
+        if (pendingDelta == 0 && confirmedDelta == 0) {
+            return;
+        }
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            if (!covers(date)) {
+                continue;
+            }
+            int fromMinute = date.equals(start.toLocalDate()) ? minuteOfDay(start) : 0;
+            int toMinute = date.equals(end.toLocalDate()) ? minuteOfDay(end) : MINUTES_PER_DAY;
+            int base = (int) ChronoUnit.DAYS.between(firstDate, date) * slotStarts.length;
+            for (int slot = firstSlotEndingAfter(fromMinute); slot < slotStarts.length
+                    && slotStarts[slot] < toMinute; slot++) {
+                pending[base + slot] = adjust(pending[base + slot], pendingDelta);
+                confirmed[base + slot] = adjust(confirmed[base + slot], confirmedDelta);
+            }
+        }
+    }
+
+    public synchronized List<SlotView> slots(LocalDate date) {
+        if (!covers(date)) {
+            throw new IllegalArgumentException("Date " + date + " is outside the slot catalog horizon");
+        }
+        int base = (int) ChronoUnit.DAYS.between(firstDate, date) * slotStarts.length;
+        LocalDateTime midnight = date.atStartOfDay();
+        List<SlotView> views = new ArrayList<>(slotStarts.length);
+        for (int slot = 0; slot < slotStarts.length; slot++) {
+            LocalDateTime slotStart = midnight.plusMinutes(slotStarts[slot]);
+            views.add(new SlotView(slotStart, slotStart.plusMinutes(slotMinutes), status(base + slot)));
+        }
+        return views;
+    }
+
+    private SlotStatus status(int index) {
+        if (confirmed[index] > 0) {
+            return SlotStatus.BOOKED;
+        }
+        return pending[index] > 0 ? SlotStatus.HELD : SlotStatus.FREE;
+    }
+
+    private int firstSlotEndingAfter(int minute) {
+        // Slots are sorted and equally sized, so their end offsets are sorted too.
+        int index = Arrays.binarySearch(slotStarts, minute - slotMinutes);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static boolean occupies(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED;
+    }
+
+    private static short adjust(short count, int delta) {
+        return (short) Math.max(0, Math.min(Short.MAX_VALUE, count + delta));
+    }
+
+    private static int minuteOfDay(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,32 @@
+package com.booking.version;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node version counters.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.version.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryVersionStore implements VersionStore {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public long current(String key) {
+        return counter(key).get();
+    }
+
+    @Override
+    public long increment(String key) {
+        return counter(key).incrementAndGet();
+    }
+
+    private AtomicLong counter(String key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.booking.version;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cluster-wide version counters, so every node hands out the same ETag for
+ * the same state.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.version.store", havingValue = "redis")
+public class RedisVersionStore implements VersionStore {
+
+    private static final String PREFIX = "version:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisVersionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long current(String key) {
+        String value = redisTemplate.opsForValue().get(PREFIX + key);
+        if (value != null) {
+            return Long.parseLong(value);
+        }
+        seed(key);
+        return Long.parseLong(redisTemplate.opsForValue().get(PREFIX + key));
+    }
+
+    @Override
+    public long increment(String key) {
+        seed(key);
+        return redisTemplate.opsForValue().increment(PREFIX + key);
+    }
+
+    private void seed(String key) {
+        redisTemplate.opsForValue().setIfAbsent(PREFIX + key, Long.toString(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.booking.version;
+
+/**
+ * Monotonic counters keyed by name. Counters start from the wall-clock time
+ * in milliseconds the first time they are used, so a counter that is lost
+ * (process restart, cache flush) resumes above any value handed out before.
+ */
+public interface VersionStore {
+
+    long current(String key);
+
+    long increment(String key);
+}
@@ -0,0 +1,84 @@
+package com.booking.waitingroom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signs and verifies waiting room tickets and admission tokens with
+ * HMAC-SHA256. Verification needs only the shared secret, so any node can
+ * check a token without a lookup.
+ *
+ * <p>Format: {@code base64url(kind:facilityId:ticket:expiresAtEpochSecond:userId).base64url(mac)}.
+ * The user id comes last so that it may itself contain colons.
+ */
+@Component
+public class AdmissionTokenSigner {
+
+    public enum Kind {
+        TICKET, // Proves a queue position
+        ADMISSION // Grants access to guarded booking endpoints
+    }
+
+    public record Claims(Kind kind, long facilityId, long ticket, long expiresAt, String userId) {
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public AdmissionTokenSigner(@Value("${booking.waiting-room.secret:${jwt.secret}}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+    }
+
+    public String sign(Claims claims) {
+        byte[] payload = (claims.kind().name() + ":" + claims.facilityId() + ":" + claims.ticket() + ":"
+                + claims.expiresAt() + ":" + claims.userId()).getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(macs.get().doFinal(payload));
+    }
+
+    /**
+     * Returns the claims of a well-formed, correctly signed, unexpired token
+     * of the expected kind, or {@code null} otherwise.
+     */
+    public Claims verify(String token, Kind expectedKind, long nowEpochSecond) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+                return null;
+            }
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split(":", 5);
+            if (parts.length != 5) {
+                return null;
+            }
+            Claims claims = new Claims(Kind.valueOf(parts[0]), Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]), parts[4]);
+            return claims.kind() == expectedKind && claims.expiresAt() > nowEpochSecond ? claims : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
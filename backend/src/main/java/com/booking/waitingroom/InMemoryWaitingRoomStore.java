@@ -0,0 +1,91 @@
+package com.booking.waitingroom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node waiting room state.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.waiting-room.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryWaitingRoomStore implements WaitingRoomStore {
+
+    private static final class Room {
+        final double rate;
+        final Set<Long> redeemed = ConcurrentHashMap.newKeySet();
+        long issued;
+        double watermark;
+        long lastMillis;
+
+        Room(double rate, long lastMillis) {
+            this.rate = rate;
+            this.lastMillis = lastMillis;
+        }
+    }
+
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+
+    @Override
+    public void activate(long facilityId, double admissionsPerSecond, long nowMillis) {
+        rooms.put(facilityId, new Room(admissionsPerSecond, nowMillis));
+    }
+
+    @Override
+    public void deactivate(long facilityId) {
+        rooms.remove(facilityId);
+    }
+
+    @Override
+    public Map<Long, Double> activeRooms() {
+        Map<Long, Double> active = new HashMap<>();
+        rooms.forEach((facilityId, room) -> active.put(facilityId, room.rate));
+        return active;
+    }
+
+    @Override
+    public long join(long facilityId) {
+        Room room = rooms.get(facilityId);
+        if (room == null) {
+            return -1;
+        }
+        synchronized (room) {
+            return ++room.issued;
+        }
+    }
+
+    @Override
+    public long admittedUpTo(long facilityId, long nowMillis) {
+        Room room = rooms.get(facilityId);
+        if (room == null) {
+            return -1;
+        }
+        synchronized (room) {
+            if (nowMillis > room.lastMillis) {
+                double accrued = room.rate * (nowMillis - room.lastMillis) / 1000.0;
+                room.watermark = Math.min(room.issued, room.watermark + accrued);
+            }
+            room.lastMillis = Math.max(room.lastMillis, nowMillis);
+            return (long) room.watermark;
+        }
+    }
+
+    @Override
+    public boolean redeem(long facilityId, long ticket, long ttlMillis) {
+        // Redemptions live as long as the room, which outlasts any admission issued for it.
+        Room room = rooms.get(facilityId);
+        return room == null || room.redeemed.add(ticket);
+    }
+
+    @Override
+    public void release(long facilityId, long ticket) {
+        Room room = rooms.get(facilityId);
+        if (room != null) {
+            room.redeemed.remove(ticket);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.booking.waitingroom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cluster-wide waiting room state. Each room is a Redis hash; joining and
+ * advancing the watermark are single atomic commands, so every node sees one
+ * FIFO order per room.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.waiting-room.store", havingValue = "redis")
+public class RedisWaitingRoomStore implements WaitingRoomStore {
+
+    private static final String ACTIVE_KEY = "waiting-room:active";
+    private static final String ROOM_PREFIX = "waiting-room:room:";
+    private static final String REDEEMED_PREFIX = "waiting-room:redeemed:";
+
+    // Every redemption pushes the set's expiry out by a full admission lifetime, so it outlives
+    // every admission it records.
+    private static final RedisScript<Long> REDEEM = new DefaultRedisScript<>(
+            "if redis.call('SADD', KEYS[1], ARGV[1]) == 0 then return 0 end "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> JOIN = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'rate') == 0 then return -1 end "
+                    + "return redis.call('HINCRBY', KEYS[1], 'issued', 1)",
+            Long.class);
+
+    private static final RedisScript<Long> ADVANCE = new DefaultRedisScript<>(
+            "local rate = tonumber(redis.call('HGET', KEYS[1], 'rate')) "
+                    + "if not rate then return -1 end "
+                    + "local now = tonumber(ARGV[1]) "
+                    + "local issued = tonumber(redis.call('HGET', KEYS[1], 'issued') or '0') "
+                    + "local watermark = tonumber(redis.call('HGET', KEYS[1], 'watermark') or '0') "
+                    + "local last = tonumber(redis.call('HGET', KEYS[1], 'last') or ARGV[1]) "
+                    + "if now > last then watermark = math.min(issued, watermark + rate * (now - last) / 1000) end "
+                    + "redis.call('HSET', KEYS[1], 'watermark', tostring(watermark), 'last', tostring(math.max(now, last))) "
+                    + "return math.floor(watermark)",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisWaitingRoomStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void activate(long facilityId, double admissionsPerSecond, long nowMillis) {
+        redisTemplate.delete(List.of(ROOM_PREFIX + facilityId, REDEEMED_PREFIX + facilityId));
+        redisTemplate.opsForHash().putAll(ROOM_PREFIX + facilityId, Map.of(
+                "rate", Double.toString(admissionsPerSecond),
+                "last", Long.toString(nowMillis)));
+        redisTemplate.opsForSet().add(ACTIVE_KEY, Long.toString(facilityId));
+    }
+
+    @Override
+    public void deactivate(long facilityId) {
+        redisTemplate.opsForSet().remove(ACTIVE_KEY, Long.toString(facilityId));
+        redisTemplate.delete(List.of(ROOM_PREFIX + facilityId, REDEEMED_PREFIX + facilityId));
+    }
+
+    @Override
+    public Map<Long, Double> activeRooms() {
+        Map<Long, Double> active = new HashMap<>();
+        Set<String> members = redisTemplate.opsForSet().members(ACTIVE_KEY);
+        if (members == null) {
+            return active;
+        }
+        for (String member : members) {
+            Object rate = redisTemplate.opsForHash().get(ROOM_PREFIX + member, "rate");
+            if (rate != null) {
+                active.put(Long.parseLong(member), Double.parseDouble(rate.toString()));
+            }
+        }
+        return active;
+    }
+
+    @Override
+    public long join(long facilityId) {
+        Long ticket = redisTemplate.execute(JOIN, List.of(ROOM_PREFIX + facilityId));
+        return ticket == null ? -1 : ticket;
+    }
+
+    @Override
+    public long admittedUpTo(long facilityId, long nowMillis) {
+        Long admitted = redisTemplate.execute(ADVANCE, List.of(ROOM_PREFIX + facilityId), Long.toString(nowMillis));
+        return admitted == null ? -1 : admitted;
+    }
+
+    @Override
+    public boolean redeem(long facilityId, long ticket, long ttlMillis) {
+        Long added = redisTemplate.execute(REDEEM, List.of(REDEEMED_PREFIX + facilityId), Long.toString(ticket),
+                Long.toString(Math.max(1, ttlMillis)));
+        return added != null && added == 1;
+    }
+
+    @Override
+    public void release(long facilityId, long ticket) {
+        redisTemplate.opsForSet().remove(REDEEMED_PREFIX + facilityId, Long.toString(ticket));
+    }
+}
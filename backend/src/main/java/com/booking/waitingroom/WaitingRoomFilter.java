@@ -0,0 +1,77 @@
+package com.booking.waitingroom;
+
+import com.booking.service.WaitingRoomService;
+import com.booking.waitingroom.AdmissionTokenSigner.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects unadmitted traffic to the booking endpoints before it reaches a
+ * controller. Only local state is consulted: the mirrored set of active
+ * rooms and an HMAC check of the admission token.
+ *
+ * <p>When the facility is known from the {@code facilityId} query parameter
+ * the room check happens here. For {@code POST /api/bookings} the facility is
+ * in the body, so the filter only verifies the token and records the admission
+ * as a request attribute for the controller to compare with the facility and
+ * the caller, and to redeem.
+ */
+@Component
+public class WaitingRoomFilter extends OncePerRequestFilter {
+
+    public static final String TOKEN_HEADER = "X-Waiting-Room-Token";
+    public static final String ADMISSION_ATTRIBUTE = "waitingRoom.admission";
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Autowired
+    public WaitingRoomFilter(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean guarded = ("POST".equals(request.getMethod()) && "/api/bookings".equals(path))
+                || ("GET".equals(request.getMethod()) && "/api/bookings/check-availability".equals(path));
+        return !guarded || !waitingRoomService.hasActiveRooms();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (token != null) {
+            Claims admission = waitingRoomService.verifyAdmission(token);
+            if (admission == null) {
+                response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired admission token");
+                return;
+            }
+            request.setAttribute(ADMISSION_ATTRIBUTE, admission);
+        } else {
+            Long facilityId = parseFacilityId(request.getParameter("facilityId"));
+            if (facilityId != null && waitingRoomService.isActive(facilityId)) {
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Join the waiting room first");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static Long parseFacilityId(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.waitingroom;
+
+import java.util.Map;
+
+/**
+ * Queue state for waiting rooms, one room per facility. A room hands out
+ * increasing ticket numbers and keeps an admission watermark that advances
+ * at the room's rate but never past the last ticket issued, so idle time
+ * does not bank capacity for the next spike.
+ */
+public interface WaitingRoomStore {
+
+    void activate(long facilityId, double admissionsPerSecond, long nowMillis);
+
+    void deactivate(long facilityId);
+
+    /**
+     * Active rooms and their admission rates.
+     */
+    Map<Long, Double> activeRooms();
+
+    /**
+     * Issues the next ticket number (starting at 1), or -1 if the room is not active.
+     */
+    long join(long facilityId);
+
+    /**
+     * Advances the watermark to {@code nowMillis} and returns the highest
+     * admitted ticket number, or -1 if the room is not active.
+     */
+    long admittedUpTo(long facilityId, long nowMillis);
+
+    /**
+     * Marks the ticket's admission as used, remembering it for at least
+     * {@code ttlMillis}. Returns {@code false} if it was already used.
+     * Reactivating the room forgets all used admissions.
+     */
+    boolean redeem(long facilityId, long ticket, long ttlMillis);
+
+    /**
+     * Makes a redeemed admission usable again, e.g. when the booking it was
+     * spent on failed.
+     */
+    void release(long facilityId, long ticket);
+}
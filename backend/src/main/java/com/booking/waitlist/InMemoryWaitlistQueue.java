@@ -0,0 +1,82 @@
+package com.booking.waitlist;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Single-node waitlist queue backed by concurrent skip lists, used when no
+ * Redis is available.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.waitlist.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryWaitlistQueue implements WaitlistQueue {
+
+    private record Ticket(long score, long entryId) {
+    }
+
+    private static final Comparator<Ticket> ORDER =
+            Comparator.comparingLong(Ticket::score).thenComparingLong(Ticket::entryId);
+
+    private final Map<SlotKey, ConcurrentSkipListSet<Ticket>> queues = new ConcurrentHashMap<>();
+    private final Map<SlotKey, String> locks = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(SlotKey slot, long entryId, long score) {
+        queues.computeIfAbsent(slot, key -> new ConcurrentSkipListSet<>(ORDER)).add(new Ticket(score, entryId));
+    }
+
+    @Override
+    public OptionalLong poll(SlotKey slot) {
+        ConcurrentSkipListSet<Ticket> queue = queues.get(slot);
+        Ticket ticket = queue == null ? null : queue.pollFirst();
+        return ticket == null ? OptionalLong.empty() : OptionalLong.of(ticket.entryId());
+    }
+
+    @Override
+    public void remove(SlotKey slot, long entryId) {
+        ConcurrentSkipListSet<Ticket> queue = queues.get(slot);
+        if (queue != null) {
+            queue.removeIf(ticket -> ticket.entryId() == entryId);
+        }
+    }
+
+    @Override
+    public long position(SlotKey slot, long entryId) {
+        ConcurrentSkipListSet<Ticket> queue = queues.get(slot);
+        if (queue == null) {
+            return -1;
+        }
+        long position = 0;
+        for (Ticket ticket : queue) {
+            if (ticket.entryId() == entryId) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    @Override
+    public String tryLock(SlotKey slot, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        return locks.putIfAbsent(slot, token) == null ? token : null;
+    }
+
+    @Override
+    public void unlock(SlotKey slot, String token) {
+        locks.remove(slot, token);
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package com.booking.waitlist;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cluster-wide waitlist queue: one Redis sorted set per slot. ZPOPMIN is
+ * atomic, so concurrent promotions on different nodes never receive the same
+ * waiter.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.waitlist.store", havingValue = "redis")
+public class RedisWaitlistQueue implements WaitlistQueue {
+
+    private static final String QUEUE_PREFIX = "waitlist:queue:";
+    private static final String LOCK_PREFIX = "waitlist:lock:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisWaitlistQueue(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void add(SlotKey slot, long entryId, long score) {
+        redisTemplate.opsForZSet().add(QUEUE_PREFIX + slot.asString(), Long.toString(entryId), score);
+    }
+
+    @Override
+    public OptionalLong poll(SlotKey slot) {
+        ZSetOperations.TypedTuple<String> head = redisTemplate.opsForZSet().popMin(QUEUE_PREFIX + slot.asString());
+        return head == null || head.getValue() == null
+                ? OptionalLong.empty()
+                : OptionalLong.of(Long.parseLong(head.getValue()));
+    }
+
+    @Override
+    public void remove(SlotKey slot, long entryId) {
+        redisTemplate.opsForZSet().remove(QUEUE_PREFIX + slot.asString(), Long.toString(entryId));
+    }
+
+    @Override
+    public long position(SlotKey slot, long entryId) {
+        Long rank = redisTemplate.opsForZSet().rank(QUEUE_PREFIX + slot.asString(), Long.toString(entryId));
+        return rank == null ? -1 : rank;
+    }
+
+    @Override
+    public String tryLock(SlotKey slot, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + slot.asString(), token, ttl))
+                ? token : null;
+    }
+
+    @Override
+    public void unlock(SlotKey slot, String token) {
+        // Only the holder may release: a promotion that outlived its TTL must not free the next holder's lock.
+        redisTemplate.execute(RELEASE, List.of(LOCK_PREFIX + slot.asString()), token);
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
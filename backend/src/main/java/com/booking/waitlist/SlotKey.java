@@ -0,0 +1,19 @@
+package com.booking.waitlist;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identifies the exact slot a waitlist entry is queued for.
+ */
+@Value
+public class SlotKey {
+    Long facilityId;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+
+    public String asString() {
+        return facilityId + ":" + startTime + ":" + endTime;
+    }
+}
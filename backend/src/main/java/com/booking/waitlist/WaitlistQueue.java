@@ -0,0 +1,42 @@
+package com.booking.waitlist;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Ordered per-slot queue of waitlist entry ids. Entries with the lowest score
+ * are served first; {@link #poll(SlotKey)} must hand any given entry to at
+ * most one caller, including across nodes for shared implementations.
+ */
+public interface WaitlistQueue {
+
+    void add(SlotKey slot, long entryId, long score);
+
+    OptionalLong poll(SlotKey slot);
+
+    void remove(SlotKey slot, long entryId);
+
+    /**
+     * Zero-based position of the entry, or -1 when it is not queued.
+     */
+    long position(SlotKey slot, long entryId);
+
+    /**
+     * Claims the right to promote a waiter into the slot. Returns a token to
+     * release it with, or {@code null} if another promotion for the same slot
+     * is in progress.
+     */
+    String tryLock(SlotKey slot, Duration ttl);
+
+    /**
+     * Releases the claim if {@code token} still holds it; a claim that has
+     * expired and been taken by another promotion is left alone.
+     */
+    void unlock(SlotKey slot, String token);
+
+    /**
+     * Whether the queue outlives this process, i.e. does not need to be
+     * reloaded from the database on startup.
+     */
+    boolean isShared();
+}
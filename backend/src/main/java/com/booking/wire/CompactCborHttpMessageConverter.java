@@ -0,0 +1,117 @@
+package com.booking.wire;
+
+import com.booking.model.Booking;
+import com.booking.model.Facility;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Writes facilities, bookings and collections or arrays of either as
+ * {@code application/cbor} using {@link CompactWireFormat}. Repeated strings
+ * such as field names and statuses are emitted once per response using CBOR
+ * string references. Other types fall through to the default converters.
+ *
+ * <p>A collection is recognised by its declared element type, so a handler
+ * returning {@code ResponseEntity<?>} must give entity lists as an array,
+ * whose runtime type still names the element; a list there is left to the
+ * reflective converters.
+ */
+public class CompactCborHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final CBORFactory factory = CBORFactory.builder()
+            .enable(CBORGenerator.Feature.STRINGREF)
+            .enable(CBORGenerator.Feature.WRITE_MINIMAL_INTS)
+            .build();
+
+    public CompactCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Booking.class.isAssignableFrom(clazz) || Facility.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && (supports(clazz) || supportedElementType(type) != null
+                || isSupportedArray(clazz));
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(outputMessage.getBody())) {
+            write(generator, value, type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void write(JsonGenerator generator, Object value, Type type) throws IOException {
+        if (value instanceof Booking booking) {
+            CompactWireFormat.writeBooking(generator, booking);
+        } else if (value instanceof Facility facility) {
+            CompactWireFormat.writeFacility(generator, facility);
+        } else if (value instanceof Booking[] bookings) {
+            CompactWireFormat.writeBookings(generator, Arrays.asList(bookings));
+        } else if (value instanceof Facility[] facilities) {
+            CompactWireFormat.writeFacilities(generator, Arrays.asList(facilities));
+        } else if (supportedElementType(type) == Booking.class) {
+            CompactWireFormat.writeBookings(generator, (Collection<Booking>) value);
+        } else {
+            CompactWireFormat.writeFacilities(generator, (Collection<Facility>) value);
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Compact CBOR is a response-only format", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Compact CBOR is a response-only format", inputMessage);
+    }
+
+    private static Class<?> supportedElementType(Type type) {
+        if (type == null) {
+            return null;
+        }
+        ResolvableType collection = ResolvableType.forType(type).as(Collection.class);
+        Class<?> element = collection == ResolvableType.NONE ? null : collection.resolveGeneric(0);
+        if (element != null && Booking.class.isAssignableFrom(element)) {
+            return Booking.class;
+        }
+        if (element != null && Facility.class.isAssignableFrom(element)) {
+            return Facility.class;
+        }
+        return null;
+    }
+
+    private static boolean isSupportedArray(Class<?> clazz) {
+        Class<?> component = clazz == null ? null : clazz.getComponentType();
+        return component != null && (Booking.class.isAssignableFrom(component)
+                || Facility.class.isAssignableFrom(component));
+    }
+}
@@ -0,0 +1,181 @@
+package com.booking.wire;
+
+import com.booking.model.Booking;
+import com.booking.model.Facility;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hand-written streaming writers for the compact representation of
+ * facilities and bookings. No reflection or bean introspection is involved:
+ * field names are pre-encoded once and every property is written explicitly.
+ *
+ * <p>Differences from the JSON representation:
+ * <ul>
+ * <li>Null properties are omitted.</li>
+ * <li>Date-times are integers: seconds since 1970-01-01T00:00 on the same
+ * local time line as the stored {@link LocalDateTime}.</li>
+ * <li>A list of bookings is written as
+ * {@code {"facilities": [...], "bookings": [...]}} where each booking's
+ * {@code facility} is an index into {@code facilities}, so every facility
+ * appears once per response.</li>
+ * <li>{@code Facility.bookings} is never written.</li>
+ * </ul>
+ */
+public final class CompactWireFormat {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString LOCATION = new SerializedString("location");
+    private static final SerializableString HOURLY_RATE = new SerializedString("hourlyRate");
+    private static final SerializableString CAPACITY = new SerializedString("capacity");
+    private static final SerializableString IS_ACTIVE = new SerializedString("isActive");
+    private static final SerializableString IMAGE_URL = new SerializedString("imageUrl");
+    private static final SerializableString CONTACT_NUMBER = new SerializedString("contactNumber");
+    private static final SerializableString EMAIL = new SerializedString("email");
+
+    private static final SerializableString FACILITY = new SerializedString("facility");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString START_TIME = new SerializedString("startTime");
+    private static final SerializableString END_TIME = new SerializedString("endTime");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString PAYMENT_ID = new SerializedString("paymentId");
+    private static final SerializableString CANCELLATION_REASON = new SerializedString("cancellationReason");
+
+    private static final SerializableString FACILITIES = new SerializedString("facilities");
+    private static final SerializableString BOOKINGS = new SerializedString("bookings");
+
+    private CompactWireFormat() {
+    }
+
+    public static void writeFacilities(JsonGenerator generator, Collection<Facility> facilities) throws IOException {
+        generator.writeStartArray(facilities, facilities.size());
+        for (Facility facility : facilities) {
+            writeFacility(generator, facility);
+        }
+        generator.writeEndArray();
+    }
+
+    public static void writeBookings(JsonGenerator generator, Collection<Booking> bookings) throws IOException {
+        Map<Long, Facility> facilities = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getFacility() != null) {
+                facilities.putIfAbsent(booking.getFacility().getId(), booking.getFacility());
+            }
+        }
+        Map<Long, Integer> references = new LinkedHashMap<>();
+        for (Long facilityId : facilities.keySet()) {
+            references.put(facilityId, references.size());
+        }
+
+        generator.writeStartObject();
+        generator.writeFieldName(FACILITIES);
+        writeFacilities(generator, facilities.values());
+        generator.writeFieldName(BOOKINGS);
+        generator.writeStartArray(bookings, bookings.size());
+        for (Booking booking : bookings) {
+            generator.writeStartObject();
+            if (booking.getFacility() != null) {
+                generator.writeFieldName(FACILITY);
+                generator.writeNumber(references.get(booking.getFacility().getId()));
+            }
+            writeBookingFields(generator, booking);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    public static void writeFacility(JsonGenerator generator, Facility facility) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, ID, facility.getId());
+        writeString(generator, NAME, facility.getName());
+        writeString(generator, TYPE, facility.getType());
+        writeString(generator, DESCRIPTION, facility.getDescription());
+        writeString(generator, LOCATION, facility.getLocation());
+        writeDecimal(generator, HOURLY_RATE, facility.getHourlyRate());
+        if (facility.getCapacity() != null) {
+            generator.writeFieldName(CAPACITY);
+            generator.writeNumber(facility.getCapacity());
+        }
+        if (facility.getIsActive() != null) {
+            generator.writeFieldName(IS_ACTIVE);
+            generator.writeBoolean(facility.getIsActive());
+        }
+        writeString(generator, IMAGE_URL, facility.getImageUrl());
+        writeString(generator, CONTACT_NUMBER, facility.getContactNumber());
+        writeString(generator, EMAIL, facility.getEmail());
+        generator.writeEndObject();
+    }
+
+    public static void writeBooking(JsonGenerator generator, Booking booking) throws IOException {
+        generator.writeStartObject();
+        if (booking.getFacility() != null) {
+            generator.writeFieldName(FACILITY);
+            writeFacility(generator, booking.getFacility());
+        }
+        writeBookingFields(generator, booking);
+        generator.writeEndObject();
+    }
+
+    private static void writeBookingFields(JsonGenerator generator, Booking booking) throws IOException {
+        writeNumber(generator, ID, booking.getId());
+        writeString(generator, USER_ID, booking.getUserId());
+        writeDateTime(generator, START_TIME, booking.getStartTime());
+        writeDateTime(generator, END_TIME, booking.getEndTime());
+        writeDecimal(generator, TOTAL_AMOUNT, booking.getTotalAmount());
+        if (booking.getStatus() != null) {
+            generator.writeFieldName(STATUS);
+            generator.writeString(booking.getStatus().name());
+        }
+        writeDateTime(generator, CREATED_AT, booking.getCreatedAt());
+        writeDateTime(generator, UPDATED_AT, booking.getUpdatedAt());
+        writeString(generator, PAYMENT_ID, booking.getPaymentId());
+        writeString(generator, CANCELLATION_REASON, booking.getCancellationReason());
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator generator, SerializableString name, BigDecimal value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator generator, SerializableString name, LocalDateTime value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.booking.reactive;
+
+import com.booking.model.BookingStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * The availability query of {@link com.booking.repository.BookingRepository}
+ * as a non-blocking existence check: the database stops at the first clash
+ * instead of returning every overlapping booking.
+ */
+public class ReactiveBookingRepository {
+
+    private final DatabaseClient client;
+
+    public ReactiveBookingRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /** Same overlap conditions as {@code BookingRepository.findOverlappingBookings}. */
+    public Mono<Boolean> existsOverlappingBooking(Long facilityId, BookingStatus status,
+            LocalDateTime startTime, LocalDateTime endTime) {
+        return client.sql("SELECT EXISTS (SELECT 1 FROM bookings WHERE facility_id = :facilityId "
+                        + "AND status = :status AND ("
+                        + "(start_time <= :startTime AND end_time > :startTime) OR "
+                        + "(start_time < :endTime AND end_time >= :endTime) OR "
+                        + "(start_time >= :startTime AND end_time <= :endTime)))")
+                .bind("facilityId", facilityId)
+                .bind("status", status.name())
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+}
@@ -0,0 +1,81 @@
+package com.booking.reactive;
+
+import com.booking.model.Facility;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking versions of the {@link com.booking.repository.FacilityRepository}
+ * finders used by the catalogue endpoints, over the same {@code facilities}
+ * table. Facilities come back without their bookings.
+ */
+public class ReactiveFacilityRepository {
+
+    private static final String SELECT = "SELECT id, name, type, description, location, latitude, longitude, "
+            + "hourly_rate, capacity, is_active, image_url, contact_number, email FROM facilities";
+
+    private final DatabaseClient client;
+
+    public ReactiveFacilityRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<Facility> findAll() {
+        return client.sql(SELECT)
+                .map(ReactiveFacilityRepository::toFacility)
+                .all();
+    }
+
+    public Mono<Facility> findById(Long id) {
+        return client.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveFacilityRepository::toFacility)
+                .one();
+    }
+
+    public Flux<Facility> findByType(String type) {
+        return client.sql(SELECT + " WHERE type = :type")
+                .bind("type", type)
+                .map(ReactiveFacilityRepository::toFacility)
+                .all();
+    }
+
+    public Flux<Facility> findByIsActiveTrue() {
+        return client.sql(SELECT + " WHERE is_active = TRUE")
+                .map(ReactiveFacilityRepository::toFacility)
+                .all();
+    }
+
+    public Flux<Facility> findByLocationContainingIgnoreCase(String location) {
+        return client.sql(SELECT + " WHERE UPPER(location) LIKE UPPER(:pattern) ESCAPE '\\'")
+                .bind("pattern", "%" + escapeLike(location) + "%")
+                .map(ReactiveFacilityRepository::toFacility)
+                .all();
+    }
+
+    private static Facility toFacility(Readable row) {
+        Facility facility = new Facility();
+        facility.setId(row.get("id", Long.class));
+        facility.setName(row.get("name", String.class));
+        facility.setType(row.get("type", String.class));
+        facility.setDescription(row.get("description", String.class));
+        facility.setLocation(row.get("location", String.class));
+        facility.setLatitude(row.get("latitude", Double.class));
+        facility.setLongitude(row.get("longitude", Double.class));
+        facility.setHourlyRate(row.get("hourly_rate", BigDecimal.class));
+        facility.setCapacity(row.get("capacity", Integer.class));
+        facility.setIsActive(row.get("is_active", Boolean.class));
+        facility.setImageUrl(row.get("image_url", String.class));
+        facility.setContactNumber(row.get("contact_number", String.class));
+        facility.setEmail(row.get("email", String.class));
+        return facility;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
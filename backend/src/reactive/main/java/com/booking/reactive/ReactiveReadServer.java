@@ -0,0 +1,121 @@
+package com.booking.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Serves {@link ReadHandlers} from a Reactor Netty server of its own, next to
+ * the servlet container, so read-heavy clients can be pointed at a separate
+ * port while the write path keeps Tomcat, JPA and the security filter chain.
+ * Only public endpoints are exposed here, so none of them needs a token.
+ *
+ * <p>The R2DBC pool is deliberately not a bean: a {@code ConnectionFactory}
+ * in the context would make Spring Boot add a reactive transaction manager
+ * next to the JPA one.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+public class ReactiveReadServer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final ConnectionPool connectionPool;
+    private final ReadHandlers handlers;
+    private final ObjectMapper objectMapper;
+    private final String host;
+    private final int port;
+    private final int eventLoopThreads;
+    private LoopResources loops;
+    private DisposableServer server;
+
+    @Autowired
+    public ReactiveReadServer(ObjectMapper objectMapper,
+            @Value("${booking.reactive.r2dbc.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${booking.reactive.r2dbc.pool.initial-size:2}") int initialPoolSize,
+            @Value("${booking.reactive.r2dbc.pool.max-size:8}") int maxPoolSize,
+            @Value("${booking.reactive.r2dbc.pool.max-acquire.ms:5000}") long maxAcquireMillis,
+            @Value("${booking.reactive.host:0.0.0.0}") String host,
+            @Value("${booking.reactive.port:8081}") int port,
+            @Value("${booking.reactive.event-loop.threads:4}") int eventLoopThreads) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-read")
+                .initialSize(initialPoolSize)
+                .maxSize(maxPoolSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireMillis))
+                .build());
+        DatabaseClient client = DatabaseClient.create(connectionPool);
+        this.handlers = new ReadHandlers(new ReactiveFacilityRepository(client), new ReactiveBookingRepository(client));
+        this.objectMapper = objectMapper;
+        this.host = host;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        CorsConfiguration cors = new CorsConfiguration().applyPermitDefaultValues();
+        UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+        corsSource.registerCorsConfiguration("/**", cors);
+        // The application's mapper, so dates and numbers serialise exactly as on the servlet side.
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON)))
+                .webFilter(new CorsWebFilter(corsSource))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handlers.routes(), strategies);
+
+        loops = LoopResources.create("reactive-read", eventLoopThreads, true);
+        server = HttpServer.create()
+                .host(host)
+                .port(port)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive read path listening on {}:{} with {} event-loop threads", host, server.port(),
+                eventLoopThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+        if (loops != null) {
+            loops.dispose();
+        }
+        connectionPool.dispose();
+    }
+}
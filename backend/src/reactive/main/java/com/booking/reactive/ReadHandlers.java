@@ -0,0 +1,87 @@
+package com.booking.reactive;
+
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * WebFlux handlers for the public read endpoints, answering at the same paths
+ * and with the same JSON as {@code FacilityController} and
+ * {@code BookingController}. Nothing here blocks, so a few event-loop threads
+ * carry every request in flight.
+ *
+ * <p>Only the plain JSON representation is ported. These routes send no
+ * {@code ETag} and never answer 304, always answer JSON even when a client
+ * asks for {@code application/cbor}, and ignore {@code ?fields=}, returning
+ * every field. Clients that depend on any of those should read through the
+ * servlet port.
+ */
+public class ReadHandlers {
+
+    private final ReactiveFacilityRepository facilityRepository;
+    private final ReactiveBookingRepository bookingRepository;
+
+    public ReadHandlers(ReactiveFacilityRepository facilityRepository, ReactiveBookingRepository bookingRepository) {
+        this.facilityRepository = facilityRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/facilities", request -> facilities(facilityRepository.findAll()))
+                .GET("/api/facilities/active", request -> facilities(facilityRepository.findByIsActiveTrue()))
+                .GET("/api/facilities/search", this::searchFacilities)
+                .GET("/api/facilities/type/{type}",
+                        request -> facilities(facilityRepository.findByType(request.pathVariable("type"))))
+                .GET("/api/facilities/{id}", this::facility)
+                .GET("/api/bookings/check-availability", this::checkAvailability)
+                .build();
+    }
+
+    Mono<ServerResponse> facility(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return facilityRepository.findById(id)
+                .flatMap(facility -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(facility))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    Mono<ServerResponse> searchFacilities(ServerRequest request) {
+        return request.queryParam("location")
+                .map(location -> facilities(facilityRepository.findByLocationContainingIgnoreCase(location)))
+                .orElseGet(() -> ServerResponse.badRequest().build());
+    }
+
+    Mono<ServerResponse> checkAvailability(ServerRequest request) {
+        Long facilityId;
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        try {
+            facilityId = Long.valueOf(request.queryParam("facilityId").orElseThrow());
+            startTime = LocalDateTime.parse(request.queryParam("startTime").orElseThrow());
+            endTime = LocalDateTime.parse(request.queryParam("endTime").orElseThrow());
+        } catch (RuntimeException e) {
+            // Missing parameters, bad numbers and bad timestamps are all the caller's mistake.
+            return ServerResponse.badRequest().build();
+        }
+        return bookingRepository.existsOverlappingBooking(facilityId, BookingStatus.CONFIRMED, startTime, endTime)
+                .flatMap(overlapping -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(!overlapping));
+    }
+
+    private static Mono<ServerResponse> facilities(Flux<Facility> facilities) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(facilities, Facility.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.booking.allocation;
+
+import com.booking.model.AllocationMode;
+import com.booking.model.AllocationRequest;
+import com.booking.model.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchAllocatorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 10, 10, 10, 0);
+
+    private long nextId = 1;
+
+    @Test
+    void allocate_LotteryIsDeterministicForSeed() {
+        List<AllocationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(request("user" + i, 0, 2, 0));
+        }
+
+        List<AllocationRequest> first = new BatchAllocator(List.of()).allocate(requests, AllocationMode.LOTTERY, 42L, 1)
+                .winners();
+        List<AllocationRequest> second = new BatchAllocator(List.of()).allocate(requests, AllocationMode.LOTTERY, 42L, 1)
+                .winners();
+
+        assertEquals(1, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void allocate_WinnersNeverOverlap() {
+        List<AllocationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(request("user" + i, i % 8, 1 + i % 3, 0));
+        }
+
+        BatchAllocator.Result result = new BatchAllocator(List.of())
+                .allocate(requests, AllocationMode.LOTTERY, 7L, 1);
+
+        assertEquals(requests.size(), result.winners().size() + result.losers().size());
+        for (AllocationRequest a : result.winners()) {
+            for (AllocationRequest b : result.winners()) {
+                if (a != b) {
+                    assertFalse(a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void allocate_RespectsExistingBookings() {
+        Booking existing = new Booking();
+        existing.setStartTime(BASE.plusHours(1));
+        existing.setEndTime(BASE.plusHours(3));
+
+        BatchAllocator.Result result = new BatchAllocator(List.of(existing)).allocate(List.of(
+                request("user1", 0, 2, 0),
+                request("user2", 2, 1, 0),
+                request("user3", 3, 1, 0)), AllocationMode.LOTTERY, 1L, 1);
+
+        assertEquals(1, result.winners().size());
+        assertEquals("user3", result.winners().get(0).getUserId());
+    }
+
+    @Test
+    void allocate_PriorityModeServesHigherTierFirst() {
+        AllocationRequest early = request("citizen", 0, 1, 0);
+        AllocationRequest late = request("admin", 0, 1, 1);
+        late.setCreatedAt(early.getCreatedAt().plusMinutes(5));
+
+        BatchAllocator.Result result = new BatchAllocator(List.of())
+                .allocate(List.of(early, late), AllocationMode.PRIORITY, 0L, 1);
+
+        assertEquals(List.of(late), result.winners());
+        assertEquals(List.of(early), result.losers());
+    }
+
+    @Test
+    void allocate_EnforcesMaxWinsPerUser() {
+        BatchAllocator.Result result = new BatchAllocator(List.of()).allocate(List.of(
+                request("user1", 0, 1, 0),
+                request("user1", 1, 1, 0),
+                request("user1", 2, 1, 0)), AllocationMode.PRIORITY, 0L, 2);
+
+        assertEquals(2, result.winners().size());
+        assertEquals(1, result.losers().size());
+    }
+
+    private AllocationRequest request(String userId, int startHour, int hours, int priority) {
+        AllocationRequest request = new AllocationRequest();
+        request.setId(nextId++);
+        request.setUserId(userId);
+        request.setStartTime(BASE.plusHours(startHour));
+        request.setEndTime(BASE.plusHours(startHour + hours));
+        request.setPriority(priority);
+        request.setCreatedAt(BASE.minusDays(1).plusSeconds(request.getId()));
+        return request;
+    }
+}
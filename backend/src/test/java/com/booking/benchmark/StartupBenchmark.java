@@ -0,0 +1,106 @@
+package com.booking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from process launch to the first HTTP response, for the jar built by
+ * {@code mvn -Pfast-startup package}. Every invocation starts a fresh JVM, so
+ * this runs separately from the in-process benchmarks:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=StartupBenchmark -Dbenchmark.args="-f 1"}.
+ * The {@code baseline} mode uses the regular configuration and needs the
+ * database to be reachable; {@code fast-startup} adds AOT, the CDS archive
+ * and the fast-startup profile. Any response status counts as served.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 120_000;
+
+    @Param({ "baseline", "fast-startup" })
+    public String mode;
+
+    private File jar;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jar = new File(System.getProperty("startup.jar", "target/public-infrastructure-booking-0.0.1-SNAPSHOT.jar"))
+                .getAbsoluteFile();
+        if (!jar.isFile()) {
+            throw new IllegalStateException(jar + " not found; build it with mvn -Pfast-startup package");
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .directory(jar.getParentFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        URL url = new URL("http://localhost:" + port + "/api/facilities/active");
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(100);
+                connection.setReadTimeout((int) STARTUP_TIMEOUT_MILLIS);
+                int status = connection.getResponseCode();
+                connection.disconnect();
+                return status;
+            } catch (IOException notListeningYet) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IllegalStateException("No response within " + STARTUP_TIMEOUT_MILLIS + " ms");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if ("fast-startup".equals(mode)) {
+            // Same working directory and jar path as the archive's training run.
+            command.add("-XX:SharedArchiveFile=application.jsa");
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-Dspring.profiles.active=fast-startup");
+        }
+        command.add("-jar");
+        command.add(jar.getName());
+        command.add("--server.port=" + port);
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.booking.benchmark;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.wire.CompactCborHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes and CPU per response for a page of bookings spread over a handful of
+ * facilities, as JSON (the default Jackson mapping) versus compact CBOR.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final Type BOOKING_LIST = new ParameterizedTypeReference<List<Booking>>() {
+    }.getType();
+
+    @Param({ "20", "500" })
+    public int bookingCount;
+
+    private List<Booking> bookings;
+    private ObjectMapper jsonMapper;
+    private CompactCborHttpMessageConverter cborConverter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cborConverter = new CompactCborHttpMessageConverter();
+        List<Facility> facilities = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            Facility facility = new Facility();
+            facility.setId(id);
+            facility.setName("Community Hall " + id);
+            facility.setType("COMMUNITY_HALL");
+            facility.setDescription("A large hall suitable for weddings, meetings and cultural events.");
+            facility.setLocation("Ward " + id + ", Main Road");
+            facility.setHourlyRate(new BigDecimal("1250.00"));
+            facility.setCapacity(300);
+            facility.setIsActive(true);
+            facility.setImageUrl("https://cdn.example.org/facilities/" + id + ".jpg");
+            facility.setContactNumber("+91-20-5550" + id);
+            facility.setEmail("hall" + id + "@example.org");
+            facilities.add(facility);
+        }
+        bookings = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 10, 10, 8, 0);
+        for (long id = 1; id <= bookingCount; id++) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setFacility(facilities.get((int) (id % facilities.size())));
+            booking.setUserId("user-" + (id % 97));
+            booking.setStartTime(base.plusHours(id));
+            booking.setEndTime(base.plusHours(id + 2));
+            booking.setTotalAmount(new BigDecimal("2500.00"));
+            booking.setStatus(id % 3 == 0 ? BookingStatus.PENDING : BookingStatus.CONFIRMED);
+            booking.setCreatedAt(base.minusDays(3));
+            booking.setPaymentId(id % 3 == 0 ? null : "pi_" + id);
+            bookings.add(booking);
+        }
+        System.out.printf("%n[%d bookings] json=%d bytes, compact cbor=%d bytes%n",
+                bookingCount, json().length, cbor().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return jsonMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        cborConverter.write(bookings, BOOKING_LIST, MediaType.APPLICATION_CBOR, output);
+        return output.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTest {
+
+    @Test
+    void ownerOf_IndependentOfMemberOrder() {
+        HashRing first = HashRing.of(List.of("a", "b", "c"), 64);
+        HashRing second = HashRing.of(List.of("c", "a", "b"), 64);
+
+        for (long facilityId = 1; facilityId <= 1000; facilityId++) {
+            assertEquals(first.ownerOf(facilityId), second.ownerOf(facilityId));
+        }
+    }
+
+    @Test
+    void ownerOf_SpreadsFacilitiesAcrossNodes() {
+        HashRing ring = HashRing.of(List.of("a", "b", "c", "d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long facilityId = 1; facilityId <= 10_000; facilityId++) {
+            counts.merge(ring.ownerOf(facilityId), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 1750 && count < 3250, "share " + count));
+    }
+
+    @Test
+    void join_MovesFacilitiesOnlyToTheNewNode() {
+        HashRing before = HashRing.of(List.of("a", "b", "c"), 128);
+        HashRing after = HashRing.of(List.of("a", "b", "c", "d"), 128);
+
+        int moved = 0;
+        for (long facilityId = 1; facilityId <= 10_000; facilityId++) {
+            String previous = before.ownerOf(facilityId);
+            String current = after.ownerOf(facilityId);
+            if (!previous.equals(current)) {
+                assertEquals("d", current);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1500 && moved < 3500, "moved " + moved);
+    }
+
+    @Test
+    void of_RejectsEmptyMembership() {
+        assertThrows(IllegalArgumentException.class, () -> HashRing.of(List.of(), 16));
+    }
+}
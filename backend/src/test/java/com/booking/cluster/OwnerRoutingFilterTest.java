@@ -0,0 +1,193 @@
+package com.booking.cluster;
+
+import com.booking.repository.BookingRepository;
+import com.booking.service.ClusterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerRoutingFilterTest {
+
+    @Mock
+    private ClusterService clusterService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final ForwardSigner forwardSigner = new ForwardSigner("cluster-secret", 30000);
+    private OwnerRoutingFilter filter;
+    private HttpServer owner;
+
+    @BeforeEach
+    void setUp() {
+        filter = new OwnerRoutingFilter(clusterService, bookingRepository, new ObjectMapper(), forwardSigner,
+                16, 200, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (owner != null) {
+            owner.stop(0);
+        }
+    }
+
+    @Test
+    void singleNode_PassesThrough() throws Exception {
+        when(clusterService.isClustered()).thenReturn(false);
+        AtomicInteger executions = new AtomicInteger();
+
+        filter.doFilter(createRequest(7), new MockHttpServletResponse(), (req, res) -> executions.incrementAndGet());
+
+        assertEquals(1, executions.get());
+        verify(clusterService, never()).getOwnerAddress(anyLong());
+    }
+
+    @Test
+    void remoteOwner_ForwardsRequestAndRelaysResponse() throws Exception {
+        AtomicReference<String> receivedBody = new AtomicReference<>();
+        AtomicReference<String> receivedHop = new AtomicReference<>();
+        owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext("/api/bookings", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            receivedHop.set(exchange.getRequestHeaders().getFirst(OwnerRoutingFilter.FORWARDED_HEADER));
+            byte[] response = "{\"id\":42}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(201, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        owner.start();
+        when(clusterService.isClustered()).thenReturn(true);
+        when(clusterService.getLocalNodeId()).thenReturn("node-a");
+        when(clusterService.getOwnerAddress(7L))
+                .thenReturn(Optional.of("http://127.0.0.1:" + owner.getAddress().getPort()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(createRequest(7), response, (req, res) -> fail("handled locally"));
+
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":42}", response.getContentAsString());
+        assertEquals("{\"facility\":{\"id\":7}}", receivedBody.get());
+        assertTrue(forwardSigner.verify(receivedHop.get(), "POST", "/api/bookings"));
+        assertTrue(receivedHop.get().startsWith("node-a:"));
+    }
+
+    @Test
+    void forwardedRequest_IsHandledWhereItLands() throws Exception {
+        when(clusterService.isClustered()).thenReturn(true);
+        MockHttpServletRequest request = createRequest(7);
+        request.addHeader(OwnerRoutingFilter.FORWARDED_HEADER, forwardSigner.sign("node-b", "POST", "/api/bookings"));
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                body.set(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8)));
+
+        assertEquals("{\"facility\":{\"id\":7}}", body.get());
+        verify(clusterService, never()).getOwnerAddress(anyLong());
+    }
+
+    @Test
+    void unverifiedForwardedHeader_IsRoutedLikeAnyOtherRequest() throws Exception {
+        when(clusterService.isClustered()).thenReturn(true);
+        when(clusterService.getLocalNodeId()).thenReturn("node-a");
+        when(clusterService.getOwnerAddress(7L)).thenReturn(Optional.of("http://127.0.0.1:1"));
+        String stale = forwardSigner.sign("node-b", System.currentTimeMillis() - 60000, "POST", "/api/bookings");
+        String otherPath = forwardSigner.sign("node-b", "PATCH", "/api/bookings/5/cancel");
+
+        for (String header : new String[] {"node-b", stale, otherPath,
+                new ForwardSigner("guessed", 30000).sign("node-b", "POST", "/api/bookings")}) {
+            MockHttpServletRequest request = createRequest(7);
+            request.addHeader(OwnerRoutingFilter.FORWARDED_HEADER, header);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, (req, res) -> fail("handled locally"));
+
+            assertEquals(503, response.getStatus());
+        }
+        verify(clusterService, times(4)).getOwnerAddress(7L);
+    }
+
+    @Test
+    void unreachableOwner_ReturnsServiceUnavailable() throws Exception {
+        when(clusterService.isClustered()).thenReturn(true);
+        when(clusterService.getLocalNodeId()).thenReturn("node-a");
+        when(clusterService.getOwnerAddress(7L)).thenReturn(Optional.of("http://127.0.0.1:1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(createRequest(7), response, (req, res) -> fail("handled locally"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void localOwner_SerializesWritesPerFacility() throws Exception {
+        when(clusterService.isClustered()).thenReturn(true);
+        when(clusterService.getOwnerAddress(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findFacilityIdById(5L)).thenReturn(Optional.of(7L));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            entered.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> {
+                filter.doFilter(createRequest(7), new MockHttpServletResponse(), slow);
+                return null;
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletRequest cancel = new MockHttpServletRequest("PATCH", "/api/bookings/5/cancel");
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            filter.doFilter(cancel, blocked, (req, res) -> fail("ran while the facility was locked"));
+            assertEquals(503, blocked.getStatus());
+
+            proceed.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            AtomicInteger executions = new AtomicInteger();
+            filter.doFilter(new MockHttpServletRequest("PATCH", "/api/bookings/5/cancel"),
+                    new MockHttpServletResponse(), (req, res) -> executions.incrementAndGet());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MockHttpServletRequest createRequest(long facilityId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"facility\":{\"id\":" + facilityId + "}}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,180 @@
+package com.booking.controller;
+
+import com.booking.config.WebConfig;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.UserRole;
+import com.booking.projection.FieldProjections;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.BookingService;
+import com.booking.service.DashboardService;
+import com.booking.service.PaymentService;
+import com.booking.service.ProjectionService;
+import com.booking.service.VersionStampService;
+import com.booking.service.WaitingRoomService;
+import com.booking.waitingroom.AdmissionTokenSigner.Claims;
+import com.booking.waitingroom.AdmissionTokenSigner.Kind;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.stripe.model.PaymentIntent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingControllerTest {
+
+    private static final AuthenticatedUser OWNER = new AuthenticatedUser("user-1", UserRole.CITIZEN, Long.MAX_VALUE);
+    private static final AuthenticatedUser OTHER = new AuthenticatedUser("user-2", UserRole.CITIZEN, Long.MAX_VALUE);
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @Mock
+    private VersionStampService versionStampService;
+
+    @Mock
+    private ProjectionService projectionService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    private BookingController controller;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        controller = new BookingController(bookingService, waitingRoomService, versionStampService,
+                projectionService, new FieldProjections(), dashboardService, paymentService);
+        booking = new Booking();
+        booking.setId(10L);
+        booking.setUserId("user-1");
+        booking.setStatus(BookingStatus.PENDING);
+        when(bookingService.getBookingById(10L)).thenReturn(Optional.of(booking));
+    }
+
+    @Test
+    void createBooking_AdmissionIsBoundToTheUserItWasIssuedTo() {
+        Facility facility = new Facility();
+        facility.setId(7L);
+        booking.setFacility(facility);
+        when(waitingRoomService.isActive(7L)).thenReturn(true);
+        Claims admission = new Claims(Kind.ADMISSION, 7L, 3L, Long.MAX_VALUE, "user-1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, controller.createBooking(booking, OTHER, admission).getStatusCode());
+        verify(waitingRoomService, never()).redeemAdmission(any());
+
+        when(waitingRoomService.redeemAdmission(admission)).thenReturn(true, false);
+        when(bookingService.createBooking(booking)).thenReturn(booking);
+        assertEquals(HttpStatus.OK, controller.createBooking(booking, OWNER, admission).getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, controller.createBooking(booking, OWNER, admission).getStatusCode());
+    }
+
+    @Test
+    void cancelBooking_ForbiddenForAnotherUser() {
+        ResponseEntity<Booking> response = controller.cancelBooking(10L, OTHER, Map.of("reason", "mine now"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(bookingService, never()).cancelBooking(anyLong(), anyString());
+    }
+
+    @Test
+    void getBookingById_ForbiddenForAnotherUser() {
+        assertEquals(HttpStatus.FORBIDDEN, controller.getBookingById(10L, OTHER, null).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getBookingById(10L, OWNER, null).getStatusCode());
+    }
+
+    @Test
+    void confirmBooking_OwnerNeedsASucceededPaymentForThisBooking() throws Exception {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setStatus("requires_payment_method");
+        intent.setMetadata(Map.of("bookingId", "10"));
+        when(paymentService.getPaymentIntent("pi_1")).thenReturn(intent);
+
+        assertEquals(HttpStatus.FORBIDDEN,
+                controller.confirmBooking(10L, OWNER, Map.of("paymentId", "pi_1")).getStatusCode());
+        verify(bookingService, never()).confirmBooking(anyLong(), any());
+
+        intent.setStatus("succeeded");
+        when(bookingService.confirmBooking(10L, "pi_1")).thenReturn(booking);
+        assertEquals(HttpStatus.OK,
+                controller.confirmBooking(10L, OWNER, Map.of("paymentId", "pi_1")).getStatusCode());
+    }
+
+    @Test
+    void getUpcomingBookings_AnonymousCallersGetPublicFieldsOnly() {
+        when(projectionService.getUpcomingBookings(eq(7L), any())).thenReturn(List.of());
+
+        ResponseEntity<?> response = controller.getUpcomingBookings(7L, null, null,
+                new ServletWebRequest(new MockHttpServletRequest()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(projectionService).getUpcomingBookings(eq(7L), argThat(projection ->
+                !projection.getProperties().contains("userId") && !projection.getProperties().contains("paymentId")));
+        verify(bookingService, never()).getUpcomingBookings(anyLong());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getUpcomingBookings(7L, null, "userId",
+                new ServletWebRequest(new MockHttpServletRequest())).getStatusCode());
+    }
+
+    @Test
+    void getBookingsByFacilityId_CborListIsCompact() throws Exception {
+        Facility facility = new Facility();
+        facility.setId(7L);
+        facility.setName("Main hall");
+        booking.setFacility(facility);
+        Booking second = new Booking();
+        second.setId(11L);
+        second.setFacility(facility);
+        second.setStatus(BookingStatus.CONFIRMED);
+        when(bookingService.getBookingsByFacilityId(7L)).thenReturn(List.of(booking, second));
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+                new MappingJackson2HttpMessageConverter(), new MappingJackson2CborHttpMessageConverter()));
+        new WebConfig().extendMessageConverters(converters);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).setMessageConverters(
+                converters.toArray(HttpMessageConverter[]::new)).build();
+
+        byte[] body = mockMvc.perform(get("/api/bookings/facility/7").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = new CBORMapper().readTree(body);
+        assertEquals(1, response.path("facilities").size());
+        assertEquals("Main hall", response.path("facilities").path(0).path("name").asText());
+        assertEquals(2, response.path("bookings").size());
+        assertEquals(0, response.path("bookings").path(1).path("facility").asInt());
+        assertFalse(response.path("bookings").path(1).path("facility").isObject());
+    }
+}
@@ -0,0 +1,75 @@
+package com.booking.controller;
+
+import com.booking.calendar.FeedTokenSigner;
+import com.booking.dto.CalendarFeed;
+import com.booking.service.CalendarFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarControllerTest {
+
+    @Mock
+    private CalendarFeedService calendarFeedService;
+
+    private final FeedTokenSigner feedTokenSigner = new FeedTokenSigner("calendar-test-secret");
+    private final CalendarFeed feed = new CalendarFeed(
+            "BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n".getBytes(StandardCharsets.UTF_8), "7.2", 1_700_000_000_000L);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CalendarController(calendarFeedService, feedTokenSigner))
+                .build();
+    }
+
+    @Test
+    void getFacilityFeed_ReturnsCalendarWithValidators() throws Exception {
+        when(calendarFeedService.getFacilityFeed(1L)).thenReturn(Optional.of(feed));
+
+        mockMvc.perform(get("/api/calendar/facilities/1.ics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"ics-7.2\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/calendar;charset=UTF-8"))
+                .andExpect(content().string("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void getFacilityFeed_Returns304ForCurrentETag() throws Exception {
+        when(calendarFeedService.getFacilityFeed(1L)).thenReturn(Optional.of(feed));
+
+        mockMvc.perform(get("/api/calendar/facilities/1.ics").header(HttpHeaders.IF_NONE_MATCH, "\"ics-7.2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getUserFeed_RequiresTheUsersToken() throws Exception {
+        when(calendarFeedService.getUserFeed("user-1")).thenReturn(feed);
+
+        mockMvc.perform(get("/api/calendar/users/user-1.ics").param("token", feedTokenSigner.sign("user-2")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/calendar/users/user-1.ics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/calendar/users/user-1.ics").param("token", feedTokenSigner.sign("user-1")))
+                .andExpect(status().isOk());
+
+        verify(calendarFeedService, times(1)).getUserFeed("user-1");
+    }
+}
@@ -0,0 +1,87 @@
+package com.booking.controller;
+
+import com.booking.dto.BookingExportRequest;
+import com.booking.dto.BookingExportResult;
+import com.booking.export.ExportFormat;
+import com.booking.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ExportControllerTest {
+
+    @Mock
+    private ExportService exportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ExportController(exportService)).build();
+    }
+
+    @Test
+    void exportBookings_GzipsWhenAccepted() throws Exception {
+        when(exportService.exportBookings(any(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("bookingId\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return new BookingExportResult(1, 1L);
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/exports/bookings")
+                        .param("from", "2026-09-01").param("to", "2026-10-01").param("after", "41")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("bookingId\r\n1\r\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        ArgumentCaptor<BookingExportRequest> request = ArgumentCaptor.forClass(BookingExportRequest.class);
+        verify(exportService).exportBookings(request.capture(), any());
+        assertEquals(41L, request.getValue().getAfterId());
+        assertEquals(ExportFormat.CSV, request.getValue().getFormat());
+    }
+
+    @Test
+    void exportBookings_RejectsBadRangeWithoutExporting() throws Exception {
+        mockMvc.perform(get("/api/exports/bookings").param("from", "2026-10-01").param("to", "2026-09-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportBookings_Returns503WhenExportsAreBusy() throws Exception {
+        when(exportService.exportBookings(any(), any())).thenThrow(new IllegalStateException("Too many exports"));
+
+        mockMvc.perform(get("/api/exports/bookings").param("from", "2026-09-01").param("to", "2026-10-01")
+                        .param("format", "columnar").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+}
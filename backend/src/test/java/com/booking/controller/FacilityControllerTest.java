@@ -0,0 +1,152 @@
+package com.booking.controller;
+
+import com.booking.dto.NearbyFacility;
+import com.booking.model.Facility;
+import com.booking.projection.FieldProjection;
+import com.booking.projection.FieldProjections;
+import com.booking.service.FacilityService;
+import com.booking.service.GeoSearchService;
+import com.booking.service.ProjectionService;
+import com.booking.service.VersionStampService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class FacilityControllerTest {
+
+    @Mock
+    private FacilityService facilityService;
+
+    @Mock
+    private VersionStampService versionStampService;
+
+    @Mock
+    private ProjectionService projectionService;
+
+    @Mock
+    private GeoSearchService geoSearchService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        FacilityController controller = new FacilityController(facilityService, versionStampService, projectionService,
+                new FieldProjections(), geoSearchService, 30, 60);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getAllFacilities_ReturnsETagAndCacheHeaders() throws Exception {
+        when(versionStampService.getCatalogVersion()).thenReturn(7L);
+        when(facilityService.getAllFacilities()).thenReturn(List.of(new Facility()));
+
+        mockMvc.perform(get("/api/facilities").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"facilities-7-json\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public, s-maxage=60"));
+    }
+
+    @Test
+    void getAllFacilities_NotModifiedSkipsService() throws Exception {
+        when(versionStampService.getCatalogVersion()).thenReturn(7L);
+
+        mockMvc.perform(get("/api/facilities")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"facilities-7-json\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(facilityService);
+    }
+
+    @Test
+    void getFacilityById_StaleVersionReturnsBody() throws Exception {
+        Facility facility = new Facility();
+        facility.setId(1L);
+        when(versionStampService.getCatalogVersion()).thenReturn(8L);
+        when(facilityService.getFacilityById(any())).thenReturn(Optional.of(facility));
+
+        mockMvc.perform(get("/api/facilities/1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"facility-1-7-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"facility-1-8-json\""));
+    }
+
+    @Test
+    void eTagVariesWithNegotiatedRepresentation() throws Exception {
+        when(versionStampService.getCatalogVersion()).thenReturn(7L);
+
+        mockMvc.perform(get("/api/facilities")
+                        .header(HttpHeaders.ACCEPT, "application/cbor, */*;q=0.5")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"facilities-7-cbor\""))
+                .andExpect(status().isNotModified());
+
+        verify(facilityService, never()).getAllFacilities();
+    }
+
+    @Test
+    void getActiveFacilities_WithFieldsUsesProjection() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("name", "Town Hall");
+        when(versionStampService.getCatalogVersion()).thenReturn(7L);
+        when(projectionService.getActiveFacilities(any(FieldProjection.class))).thenReturn(List.of(row));
+
+        mockMvc.perform(get("/api/facilities/active").param("fields", "name,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Town Hall"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        verify(facilityService, never()).getActiveFacilities();
+    }
+
+    @Test
+    void getAllFacilities_UnknownFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/facilities").param("fields", "id,bookings"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(facilityService, projectionService);
+    }
+
+    @Test
+    void getNearbyFacilities_DefaultsToActive() throws Exception {
+        Facility facility = new Facility();
+        facility.setId(3L);
+        when(geoSearchService.findNearby(51.5, -0.1, 5, null, "HALL", true))
+                .thenReturn(List.of(new NearbyFacility(facility, 1.25)));
+
+        mockMvc.perform(get("/api/facilities/nearby?lat=51.5&lon=-0.1&limit=5&type=HALL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].facility.id").value(3))
+                .andExpect(jsonPath("$[0].distanceKm").value(1.25));
+    }
+
+    @Test
+    void getNearbyFacilities_InvalidQueryIsBadRequest() throws Exception {
+        when(geoSearchService.findNearby(anyDouble(), anyDouble(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 100"));
+
+        mockMvc.perform(get("/api/facilities/nearby?lat=51.5&lon=-0.1&limit=500"))
+                .andExpect(status().isBadRequest());
+    }
+}
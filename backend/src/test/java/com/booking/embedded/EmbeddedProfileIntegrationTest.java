@@ -0,0 +1,238 @@
+package com.booking.embedded;
+
+import com.booking.dto.UserDashboard;
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationRequestStatus;
+import com.booking.model.AllocationWindow;
+import com.booking.model.AllocationWindowStatus;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.ClosureStatus;
+import com.booking.model.Facility;
+import com.booking.model.FacilityClosure;
+import com.booking.model.SlotTemplate;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.service.AllocationService;
+import com.booking.service.BookingService;
+import com.booking.service.DashboardService;
+import com.booking.service.FacilityClosureService;
+import com.booking.service.FacilityService;
+import com.booking.service.OutboxService;
+import com.booking.service.PaymentService;
+import com.booking.service.RefundService;
+import com.booking.service.SlotCatalogService;
+import com.booking.service.WaitlistService;
+import com.stripe.model.PaymentIntent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the whole application under the {@code embedded} profile, with no
+ * database or Redis to connect to, and drives the services end to end. The
+ * scheduled closure, refund and outbox jobs are slowed down so the test
+ * runs them itself.
+ */
+@SpringBootTest(properties = {
+        "booking.payment.provider=stub",
+        "booking.payments.reconcile.enabled=false",
+        "booking.embedded.wal.sync=false",
+        "booking.closure.check.ms=3600000",
+        "booking.refunds.check.ms=3600000",
+        "booking.outbox.relay.ms=3600000"
+})
+@ActiveProfiles("embedded")
+@DirtiesContext
+class EmbeddedProfileIntegrationTest {
+
+    private static final LocalDateTime TEN = LocalDate.now().plusDays(3).atTime(10, 0);
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("booking.embedded.dir", () -> directory.resolve("store").toString());
+        registry.add("booking.slots.snapshot.path", () -> directory.resolve("schedule.snapshot").toString());
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private SlotCatalogService slotCatalogService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private FacilityClosureService closureService;
+
+    @Autowired
+    private RefundService refundService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Test
+    void context_HasNoDataSource() {
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+        assertInstanceOf(EmbeddedTransactionManager.class, context.getBean("transactionManager"));
+    }
+
+    @Test
+    void closingAndDeletingFacility_RemovesEverythingThatReferencesIt() throws Exception {
+        Facility hall = facilityService.createFacility(facility("Hall"));
+        slotCatalogService.saveTemplate(hall.getId(), template());
+
+        Booking paid = bookingService.createBooking(booking(hall, "alice", TEN));
+        PaymentIntent intent = paymentService.createPaymentIntent(paid);
+        paymentService.confirmPayment(intent.getId());
+        assertEquals(BookingStatus.CONFIRMED, bookingService.confirmBooking(paid.getId(), intent.getId()).getStatus());
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(booking(hall, "bob", TEN.plusMinutes(30))));
+        WaitlistEntry waiting = waitlistService.joinWaitlist(waitlistEntry(hall, "bob", TEN));
+        assertEquals(WaitlistStatus.WAITING, waiting.getStatus());
+
+        AllocationWindow window = allocationService.openWindow(window(hall, TEN.plusHours(2), TEN.plusHours(4)));
+        AllocationRequest request = allocationService.submitRequest(window.getId(),
+                allocationRequest("carol", TEN.plusHours(2)));
+        assertEquals(window.getId(), request.getWindow().getId());
+        assertEquals("Hall", request.getWindow().getFacility().getName());
+        assertEquals(AllocationWindowStatus.ALLOCATED, allocationService.allocate(window.getId()).getStatus());
+        assertEquals(AllocationRequestStatus.WON, allocationService.getRequestsByUserId("carol").get(0).getStatus());
+
+        UserDashboard dashboard = dashboardService.getDashboard("alice");
+        assertEquals(1L, dashboard.getCountsByStatus().get(BookingStatus.CONFIRMED));
+        assertTrue(outboxService.relay() > 0);
+        assertEquals(0, outboxService.getStats().getPendingEvents());
+
+        FacilityClosure closure = closureService.beginClosure(hall.getId(), "Flooded", true);
+        assertEquals(2, closureService.runClosures());
+        refundService.processPendingRefunds();
+        closureService.runClosures();
+
+        FacilityClosure completed = closureService.getClosure(closure.getId()).orElseThrow();
+        assertEquals(ClosureStatus.COMPLETED, completed.getStatus());
+        assertEquals(1, completed.getRefundsSucceeded());
+        assertTrue(facilityService.getFacilityById(hall.getId()).isEmpty());
+        assertTrue(slotCatalogService.getTemplate(hall.getId()).isEmpty());
+        assertTrue(waitlistService.getEntryById(waiting.getId()).isEmpty());
+        assertTrue(allocationService.getWindowsByFacilityId(hall.getId()).isEmpty());
+        assertTrue(allocationService.getRequestsByUserId("carol").isEmpty());
+        assertTrue(bookingService.getBookingsByFacilityId(hall.getId()).isEmpty());
+        assertEquals(1L, dashboardService.getDashboard("alice").getCountsByStatus().get(BookingStatus.REFUNDED));
+    }
+
+    @Test
+    void cancelBooking_FreesTheSlot() throws Exception {
+        Facility park = facilityService.createFacility(facility("Park"));
+        Booking booking = bookingService.createBooking(booking(park, "dave", TEN));
+        PaymentIntent intent = paymentService.createPaymentIntent(booking);
+        paymentService.confirmPayment(intent.getId());
+        bookingService.confirmBooking(booking.getId(), intent.getId());
+
+        bookingService.cancelBooking(booking.getId(), "changed plans");
+
+        assertEquals(BookingStatus.CANCELLED, bookingService.getBookingById(booking.getId()).orElseThrow().getStatus());
+        assertTrue(bookingService.isSlotAvailable(park.getId(), TEN, TEN.plusHours(1)));
+        List<Booking> history = bookingService.getBookingHistory("dave", 0, 10);
+        assertEquals(List.of(booking.getId()), history.stream().map(Booking::getId).toList());
+    }
+
+    private static Facility facility(String name) {
+        Facility facility = new Facility();
+        facility.setName(name);
+        facility.setType("HALL");
+        facility.setDescription(name);
+        facility.setLocation("Town centre");
+        facility.setHourlyRate(new BigDecimal("100.00"));
+        facility.setCapacity(50);
+        facility.setIsActive(true);
+        facility.setContactNumber("1234567890");
+        facility.setEmail(name.toLowerCase() + "@example.com");
+        return facility;
+    }
+
+    private static SlotTemplate template() {
+        SlotTemplate template = new SlotTemplate();
+        template.setOpeningTime(LocalTime.of(8, 0));
+        template.setClosingTime(LocalTime.of(20, 0));
+        template.setSlotMinutes(60);
+        return template;
+    }
+
+    private static Booking booking(Facility facility, String userId, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setFacility(reference(facility));
+        booking.setUserId(userId);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        return booking;
+    }
+
+    private static WaitlistEntry waitlistEntry(Facility facility, String userId, LocalDateTime start) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setFacility(reference(facility));
+        entry.setUserId(userId);
+        entry.setStartTime(start);
+        entry.setEndTime(start.plusHours(1));
+        return entry;
+    }
+
+    private static AllocationWindow window(Facility facility, LocalDateTime releaseStart, LocalDateTime releaseEnd) {
+        AllocationWindow window = new AllocationWindow();
+        window.setFacility(reference(facility));
+        window.setReleaseStart(releaseStart);
+        window.setReleaseEnd(releaseEnd);
+        window.setOpensAt(LocalDateTime.now().minusHours(1));
+        window.setClosesAt(LocalDateTime.now().plusHours(1));
+        return window;
+    }
+
+    private static AllocationRequest allocationRequest(String userId, LocalDateTime start) {
+        AllocationRequest request = new AllocationRequest();
+        request.setUserId(userId);
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(1));
+        return request;
+    }
+
+    private static Facility reference(Facility facility) {
+        Facility reference = new Facility();
+        reference.setId(facility.getId());
+        return reference;
+    }
+}
@@ -0,0 +1,263 @@
+package com.booking.embedded;
+
+import com.booking.model.AllocationRequest;
+import com.booking.model.AllocationRequestStatus;
+import com.booking.model.AllocationWindow;
+import com.booking.model.AllocationWindowStatus;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.UserBookingSummary;
+import com.booking.repository.AllocationWindowRepository;
+import com.booking.service.BookingLockService;
+import com.booking.service.QuoteService;
+import com.booking.service.RefundService;
+import com.booking.service.impl.BookingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmbeddedStoreTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 5, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedStore store;
+    private EmbeddedFacilityRepository facilities;
+    private EmbeddedBookingRepository bookings;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reopen();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void save_AssignsIdsAndReadsBackDetachedCopies() {
+        Facility hall = facilities.save(facility("Hall"));
+        Booking booking = bookings.save(booking(hall, "alice", NINE, BookingStatus.CONFIRMED));
+
+        assertEquals(1L, hall.getId());
+        assertEquals(1L, booking.getId());
+        assertNotNull(booking.getCreatedAt());
+        Booking loaded = bookings.findById(booking.getId()).orElseThrow();
+        assertEquals("Hall", loaded.getFacility().getName());
+        assertEquals(new BigDecimal("100.00"), loaded.getTotalAmount());
+        assertEquals(NINE, loaded.getStartTime());
+
+        loaded.setStatus(BookingStatus.CANCELLED);
+        assertEquals(BookingStatus.CONFIRMED, bookings.findById(booking.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void finders_MatchJpaQueries() {
+        Facility hall = facilities.save(facility("Hall"));
+        Facility park = facilities.save(facility("Park"));
+        Booking first = bookings.save(booking(hall, "alice", NINE, BookingStatus.CONFIRMED));
+        bookings.save(booking(hall, "bob", NINE.plusHours(2), BookingStatus.PENDING));
+        bookings.save(booking(park, "alice", NINE, BookingStatus.CONFIRMED));
+
+        assertEquals(List.of(first.getId()), ids(bookings.findOverlappingBookings(hall.getId(),
+                BookingStatus.CONFIRMED, NINE.plusMinutes(30), NINE.plusMinutes(90))));
+        assertEquals(2, bookings.findByFacilityIdAndStatusInOverlapping(hall.getId(),
+                EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED), NINE, NINE.plusHours(3)).size());
+        assertEquals(List.of(1L, 3L), ids(bookings.findByUserId("alice")));
+        assertEquals(List.of(1L, 3L), ids(bookings.findByStatus(BookingStatus.CONFIRMED)));
+        assertEquals(List.of(2L), ids(bookings.findClosable(hall.getId(),
+                EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED), NINE.minusDays(1), 1L,
+                PageRequest.of(0, 10))));
+        assertTrue(bookings.findByUserId("nobody").isEmpty());
+    }
+
+    @Test
+    void setBasedUpdates_OnlyTouchMatchingRows() {
+        Facility hall = facilities.save(facility("Hall"));
+        bookings.save(booking(hall, "alice", NINE, BookingStatus.CONFIRMED));
+        bookings.save(booking(hall, "bob", NINE.plusHours(2), BookingStatus.COMPLETED));
+
+        List<Long> cancelled = bookings.cancelAll(List.of(1L, 2L), List.of(BookingStatus.CONFIRMED.name()), "closed",
+                NINE);
+
+        assertEquals(List.of(1L), cancelled);
+        assertEquals(BookingStatus.CANCELLED, bookings.findById(1L).orElseThrow().getStatus());
+        assertEquals(BookingStatus.COMPLETED, bookings.findById(2L).orElseThrow().getStatus());
+        assertEquals(1, bookings.markReminderSent(2L, NINE));
+        assertEquals(0, bookings.markReminderSent(2L, NINE));
+        assertEquals(0, bookings.releaseReminders(List.of(2L), NINE.minusMinutes(5)));
+        assertEquals(1, bookings.releaseReminders(List.of(2L), NINE));
+        assertEquals(1, bookings.markReminderSent(2L, NINE));
+    }
+
+    @Test
+    void deleteFacility_CascadesToBookings() {
+        Facility hall = facilities.save(facility("Hall"));
+        Facility park = facilities.save(facility("Park"));
+        bookings.save(booking(hall, "alice", NINE, BookingStatus.CONFIRMED));
+        bookings.save(booking(park, "alice", NINE, BookingStatus.CONFIRMED));
+
+        facilities.deleteById(hall.getId());
+
+        assertEquals(1, bookings.count());
+        assertEquals(List.of(2L), ids(bookings.findByUserId("alice")));
+        assertFalse(facilities.existsById(hall.getId()));
+    }
+
+    @Test
+    void open_ReplaysLogAfterCrash() throws IOException {
+        Facility hall = facilities.save(facility("Hall"));
+        bookings.save(booking(hall, "alice", NINE, BookingStatus.PENDING));
+        bookings.deleteById(bookings.save(booking(hall, "bob", NINE, BookingStatus.PENDING)).getId());
+
+        reopen(); // no close(): nothing beyond the log survives
+
+        assertEquals(1, bookings.count());
+        assertEquals("alice", bookings.findById(1L).orElseThrow().getUserId());
+        assertEquals(3L, bookings.save(booking(hall, "carol", NINE, BookingStatus.PENDING)).getId());
+    }
+
+    @Test
+    void snapshot_CoversOlderSegmentsAndLaterWritesReplay() throws IOException {
+        Facility hall = facilities.save(facility("Hall"));
+        bookings.save(booking(hall, "alice", NINE, BookingStatus.PENDING));
+        store.snapshot();
+        bookings.save(booking(hall, "bob", NINE, BookingStatus.PENDING));
+
+        reopen();
+
+        assertEquals(List.of(1L, 2L), ids(bookings.findAll()));
+        assertEquals(List.of(WriteAheadLog.segment(directory, 1)), WriteAheadLog.segments(directory));
+    }
+
+    @Test
+    void open_DropsTornTail() throws IOException {
+        Facility hall = facilities.save(facility("Hall"));
+        bookings.save(booking(hall, "alice", NINE, BookingStatus.PENDING));
+        Files.write(WriteAheadLog.segment(directory, 0), new byte[]{0, 0, 0, 40, 1, 2, 3},
+                StandardOpenOption.APPEND);
+
+        reopen();
+        bookings.save(booking(hall, "bob", NINE, BookingStatus.PENDING));
+        reopen();
+
+        assertEquals(List.of(1L, 2L), ids(bookings.findAll()));
+    }
+
+    @Test
+    void aggregates_SurviveSnapshotAndReplay() throws IOException {
+        Facility hall = facilities.save(facility("Hall"));
+        AllocationWindow window = new AllocationWindow();
+        window.setFacility(hall);
+        window.setReleaseStart(NINE);
+        window.setReleaseEnd(NINE.plusHours(4));
+        window.setOpensAt(NINE.minusDays(2));
+        window.setClosesAt(NINE.minusDays(1));
+        window.setStatus(AllocationWindowStatus.OPEN);
+        new EmbeddedAllocationWindowRepository(store).save(window);
+        AllocationRequest request = new AllocationRequest();
+        request.setWindow(window);
+        request.setUserId("alice");
+        request.setStartTime(NINE);
+        request.setEndTime(NINE.plusHours(1));
+        request.setStatus(AllocationRequestStatus.SUBMITTED);
+        new EmbeddedAllocationRequestRepository(store).save(request);
+        store.snapshot();
+        UserBookingSummary summary = new UserBookingSummary();
+        summary.setUserId("alice");
+        summary.getCounts().put(BookingStatus.PENDING, 2L);
+        summary.setUpdatedAt(NINE);
+        new EmbeddedUserBookingSummaryRepository(store, new TransactionLocks()).save(summary);
+        assertEquals(1, new EmbeddedAllocationWindowRepository(store).transitionStatus(window.getId(),
+                AllocationWindowStatus.OPEN, AllocationWindowStatus.ALLOCATING));
+
+        reopen();
+
+        EmbeddedAllocationRequestRepository requests = new EmbeddedAllocationRequestRepository(store);
+        AllocationRequest loaded = requests.findById(request.getId()).orElseThrow();
+        assertNotNull(loaded.getCreatedAt());
+        assertEquals(AllocationWindowStatus.ALLOCATING, loaded.getWindow().getStatus());
+        assertEquals("Hall", loaded.getWindow().getFacility().getName());
+        assertEquals(2L, new EmbeddedUserBookingSummaryRepository(store, new TransactionLocks()).findById("alice")
+                .orElseThrow().getCounts().get(BookingStatus.PENDING));
+        request.setId(null);
+        assertEquals(2L, requests.save(request).getId());
+        assertEquals(2, requests.deleteByWindowFacilityId(hall.getId()));
+    }
+
+    @Test
+    void bookingService_RunsOnEmbeddedRepositories() {
+        Facility hall = facilities.save(facility("Hall"));
+        QuoteService quoteService = mock(QuoteService.class);
+        when(quoteService.quote(any(), any(), any())).thenReturn(new BigDecimal("100.00"));
+        BookingServiceImpl service = new BookingServiceImpl(bookings, facilities, quoteService,
+                mock(AllocationWindowRepository.class), mock(ApplicationEventPublisher.class),
+                mock(RefundService.class), mock(BookingLockService.class));
+
+        Booking created = service.createBooking(booking(hall, "alice", NINE, null));
+        service.confirmBooking(created.getId(), "pi_1");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.createBooking(booking(hall, "bob", NINE.plusMinutes(30), null)));
+        assertEquals(BookingStatus.CANCELLED, service.cancelBooking(created.getId(), "changed plans").getStatus());
+        assertTrue(service.isSlotAvailable(hall.getId(), NINE, NINE.plusHours(1)));
+    }
+
+    private void reopen() throws IOException {
+        store = new EmbeddedStore(directory.toString(), false, 10_000);
+        store.open();
+        facilities = new EmbeddedFacilityRepository(store);
+        bookings = new EmbeddedBookingRepository(store);
+    }
+
+    private static Facility facility(String name) {
+        Facility facility = new Facility();
+        facility.setName(name);
+        facility.setType("HALL");
+        facility.setDescription(name);
+        facility.setLocation("Town centre");
+        facility.setHourlyRate(new BigDecimal("100.00"));
+        facility.setCapacity(50);
+        facility.setIsActive(true);
+        facility.setImageUrl("http://example.com/" + name);
+        facility.setContactNumber("1234567890");
+        facility.setEmail(name + "@example.com");
+        return facility;
+    }
+
+    private static Booking booking(Facility facility, String userId, LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setFacility(facility);
+        booking.setUserId(userId);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setTotalAmount(new BigDecimal("100.00"));
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.booking.export;
+
+import com.booking.dto.BookingExportRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingExportWriterTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 9, 1, 9, 0);
+
+    @Test
+    void csv_WritesHeaderQuotesTextAndLeavesNullsEmpty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookingExportWriter writer = ExportFormat.CSV.open(out, false, 100);
+
+        writer.write(row(7, "Hall \"A\", east wing", new BigDecimal("150.50"), null));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("bookingId,createdAt,facilityId,facilityName,"));
+        assertEquals("7,2026-09-01T09:00,3,\"Hall \"\"A\"\", east wing\",HALL,user-1,2026-09-01T09:00,"
+                + "2026-09-01T11:00,CONFIRMED,150.50,pi_7,,,,,,", lines[1]);
+    }
+
+    @Test
+    void csv_ResumedExportHasNoHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookingExportWriter writer = ExportFormat.CSV.open(out, true, 100);
+
+        writer.write(row(8, "Hall", BigDecimal.TEN, null));
+        writer.finish();
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("8,"));
+    }
+
+    @Test
+    void columnar_WritesSchemaThenBoundedRecordBatches() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookingExportWriter writer = ExportFormat.COLUMNAR.open(out, false, 2);
+
+        for (int id = 1; id <= 5; id++) {
+            writer.write(row(id, "Hall " + id, new BigDecimal("100.00"), id == 2 ? "REFUNDED" : null));
+        }
+        writer.finish();
+
+        List<JsonNode> items = new ArrayList<>();
+        try (MappingIterator<JsonNode> values = new CBORMapper().readerFor(JsonNode.class).readValues(out.toByteArray())) {
+            values.forEachRemaining(items::add);
+        }
+        assertEquals(4, items.size()); // schema, then batches of 2, 2 and 1
+        assertEquals(BookingExportRow.COLUMNS.size(), items.get(0).get("columns").size());
+        assertEquals("totalAmount", items.get(0).get("columns").get(9).get("name").asText());
+        assertEquals("decimal", items.get(0).get("columns").get(9).get("type").asText());
+
+        JsonNode first = items.get(1).get("columns");
+        assertEquals(2, items.get(1).get("rows").asInt());
+        assertEquals(2, first.get("bookingId").get(1).asLong());
+        assertEquals("REFUNDED", first.get("refundStatus").get(1).asText());
+        assertTrue(first.get("refundStatus").get(0).isNull());
+        assertEquals(NINE.toEpochSecond(ZoneOffset.UTC), first.get("startTime").get(0).asLong());
+        assertEquals(0, new BigDecimal("100.00").compareTo(first.get("totalAmount").get(0).decimalValue()));
+        assertEquals(1, items.get(3).get("rows").asInt());
+        assertEquals(5, items.get(3).get("columns").get("bookingId").get(0).asLong());
+    }
+
+    @Test
+    void request_ParsesDatesAndRejectsEmptyRanges() {
+        BookingExportRequest request = BookingExportRequest.of("2026-09-01", "2026-10-01T06:30", 42L, "Columnar");
+
+        assertEquals(LocalDateTime.of(2026, 9, 1, 0, 0), request.getFrom());
+        assertEquals(LocalDateTime.of(2026, 10, 1, 6, 30), request.getTo());
+        assertEquals(ExportFormat.COLUMNAR, request.getFormat());
+        assertThrows(IllegalArgumentException.class,
+                () -> BookingExportRequest.of("2026-10-01", "2026-09-01", null, "csv"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BookingExportRequest.of("September", "2026-10-01", null, "csv"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BookingExportRequest.of("2026-09-01", "2026-10-01", null, "parquet"));
+    }
+
+    private static BookingExportRow row(long id, String facilityName, BigDecimal amount, String refundStatus) {
+        return new BookingExportRow(id, NINE, 3L, facilityName, "HALL", "user-1", NINE, NINE.plusHours(2),
+                "CONFIRMED", amount, "pi_" + id, null, null, null, refundStatus,
+                refundStatus == null ? null : amount, null);
+    }
+}
@@ -0,0 +1,98 @@
+package com.booking.geo;
+
+import com.booking.model.Facility;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacilityKdTreeTest {
+
+    @Test
+    void distanceKm_LondonToParis() {
+        assertEquals(343.5, FacilityKdTree.distanceKm(51.5074, -0.1278, 48.8566, 2.3522), 1.0);
+    }
+
+    @Test
+    void nearest_MatchesBruteForce() {
+        Random random = new Random(42);
+        List<Facility> facilities = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            facilities.add(facility(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, "HALL", true));
+        }
+        FacilityKdTree tree = FacilityKdTree.build(facilities);
+
+        for (int query = 0; query < 50; query++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            List<Long> expected = facilities.stream()
+                    .sorted(Comparator.comparingDouble(f ->
+                            FacilityKdTree.distanceKm(lat, lon, f.getLatitude(), f.getLongitude())))
+                    .limit(7)
+                    .map(Facility::getId)
+                    .toList();
+
+            List<Long> actual = tree.nearest(lat, lon, 7, Double.POSITIVE_INFINITY, f -> true).stream()
+                    .map(match -> match.facility().getId())
+                    .toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void nearest_AcrossAntimeridian() {
+        FacilityKdTree tree = FacilityKdTree.build(List.of(
+                facility(1L, 0, 179.9, "HALL", true),
+                facility(2L, 0, 170.0, "HALL", true)));
+
+        List<FacilityKdTree.Match> matches = tree.nearest(0, -179.9, 1, Double.POSITIVE_INFINITY, f -> true);
+
+        assertEquals(1L, matches.get(0).facility().getId());
+        assertEquals(22.2, matches.get(0).distanceKm(), 0.1);
+    }
+
+    @Test
+    void nearest_RespectsRadiusAndFilter() {
+        FacilityKdTree tree = FacilityKdTree.build(List.of(
+                facility(1L, 51.50, -0.12, "HALL", true),
+                facility(2L, 51.51, -0.13, "PARK", true),
+                facility(3L, 51.52, -0.12, "HALL", false),
+                facility(4L, 48.85, 2.35, "HALL", true)));
+
+        List<FacilityKdTree.Match> matches = tree.nearest(51.5, -0.12, 10, 50,
+                f -> "HALL".equals(f.getType()) && f.getIsActive());
+
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).facility().getId());
+    }
+
+    @Test
+    void build_SkipsUnlocatedAndDetachesBookings() {
+        Facility unlocated = facility(1L, 0, 0, "HALL", true);
+        unlocated.setLatitude(null);
+        Facility located = facility(2L, 10, 10, "HALL", true);
+        located.setBookings(new ArrayList<>());
+
+        FacilityKdTree tree = FacilityKdTree.build(List.of(unlocated, located));
+
+        assertEquals(1, tree.size());
+        Facility result = tree.nearest(10, 10, 1, Double.POSITIVE_INFINITY, f -> true).get(0).facility();
+        assertNotSame(located, result);
+        assertNull(result.getBookings());
+    }
+
+    private static Facility facility(Long id, double lat, double lon, String type, boolean active) {
+        Facility facility = new Facility();
+        facility.setId(id);
+        facility.setType(type);
+        facility.setIsActive(active);
+        facility.setLatitude(lat);
+        facility.setLongitude(lon);
+        return facility;
+    }
+}
@@ -0,0 +1,126 @@
+package com.booking.idempotency;
+
+import com.booking.service.impl.IdempotencyServiceImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyServiceImpl(new InMemoryIdempotencyStore(), 100));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void replayReturnsStoredResponseWithoutExecuting() throws Exception {
+        MockHttpServletResponse first = perform("key-1", "{\"facility\":{\"id\":1}}", echo(200));
+        MockHttpServletResponse second = perform("key-1", "{\"facility\":{\"id\":1}}", echo(200));
+
+        assertEquals(1, executions.get());
+        assertEquals(200, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        perform("key-1", "{\"facility\":{\"id\":1}}", echo(200));
+        MockHttpServletResponse response = perform("key-1", "{\"facility\":{\"id\":2}}", echo(200));
+
+        assertEquals(422, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void retryableFailureIsNotStored() throws Exception {
+        perform("key-1", "{}", echo(429));
+        MockHttpServletResponse response = perform("key-1", "{}", echo(200));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForInFlightResult() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo(200).doFilter(request, response);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> original = executor.submit(() -> perform("key-1", "{}", slow));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> perform("key-1", "{}", echo(200)));
+            Thread.sleep(100);
+            assertFalse(duplicate.isDone());
+            proceed.countDown();
+
+            assertEquals(original.get(5, TimeUnit.SECONDS).getContentAsString(),
+                    duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void requestsWithoutKeyPassThrough() throws Exception {
+        perform(null, "{}", echo(200));
+        perform(null, "{}", echo(200));
+
+        assertEquals(2, executions.get());
+    }
+
+    private MockHttpServletResponse perform(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /**
+     * Stands in for the controller: echoes the body with a per-execution id.
+     */
+    private FilterChain echo(int status) {
+        return (request, response) -> {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) response).setStatus(status);
+            response.getWriter().write("{\"execution\":" + executions.incrementAndGet() + ",\"request\":" + body + "}");
+            response.getWriter().flush();
+        };
+    }
+}
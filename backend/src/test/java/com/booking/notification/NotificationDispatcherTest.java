@@ -0,0 +1,159 @@
+package com.booking.notification;
+
+import com.booking.dto.NotificationStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void deliversQueuedNotificationsInBatches() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        NotificationSender email = sender(Channel.EMAIL, batch -> {
+            release.await(5, TimeUnit.SECONDS);
+            batchSizes.add(batch.size());
+            return List.of();
+        });
+        dispatcher = start(List.of(email), 100, 10, 5);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(dispatcher.submit(notification(Channel.EMAIL, i, NotificationType.BOOKING_CONFIRMED)));
+        }
+        release.countDown();
+
+        awaitTrue(() -> stats(Channel.EMAIL).getSent() == 25);
+        assertTrue(batchSizes.size() < 25, "expected notifications to be sent in batches");
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    void retriesFailedDeliveriesWithBackoff() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NotificationSender sms = sender(Channel.SMS, batch -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("provider unavailable");
+            }
+            return List.of();
+        });
+        dispatcher = start(List.of(sms), 100, 10, 5);
+
+        dispatcher.submit(notification(Channel.SMS, 1, NotificationType.BOOKING_CANCELLED));
+
+        awaitTrue(() -> stats(Channel.SMS).getSent() == 1);
+        assertEquals(3, calls.get());
+        assertEquals(2, stats(Channel.SMS).getRetried());
+        assertEquals(0, stats(Channel.SMS).getFailed());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        NotificationSender email = sender(Channel.EMAIL, batch -> batch);
+        dispatcher = start(List.of(email), 100, 10, 3);
+
+        dispatcher.submit(notification(Channel.EMAIL, 1, NotificationType.BOOKING_CONFIRMED));
+
+        awaitTrue(() -> stats(Channel.EMAIL).getFailed() == 1);
+        assertEquals(0, stats(Channel.EMAIL).getSent());
+        assertEquals(2, stats(Channel.EMAIL).getRetried());
+    }
+
+    @Test
+    void shedsBulkThenDropsWhenBackedUpWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        NotificationSender email = sender(Channel.EMAIL, batch -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        dispatcher = start(List.of(email), 10, 1, 5);
+        dispatcher.submit(notification(Channel.EMAIL, 0, NotificationType.BOOKING_CONFIRMED));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(dispatcher.submit(notification(Channel.EMAIL, i, NotificationType.BOOKING_CONFIRMED)));
+        }
+        assertFalse(dispatcher.submit(notification(Channel.EMAIL, 6, NotificationType.BOOKING_REMINDER)));
+        for (int i = 7; i <= 11; i++) {
+            assertTrue(dispatcher.submit(notification(Channel.EMAIL, i, NotificationType.BOOKING_CONFIRMED)));
+        }
+        assertFalse(dispatcher.submit(notification(Channel.EMAIL, 12, NotificationType.BOOKING_CONFIRMED)));
+        release.countDown();
+
+        NotificationStats stats = stats(Channel.EMAIL);
+        assertEquals(1, stats.getShed());
+        assertEquals(1, stats.getDropped());
+        awaitTrue(() -> stats(Channel.EMAIL).getSent() == 11);
+    }
+
+    @Test
+    void unknownChannelIsRejected() {
+        dispatcher = start(List.of(new StubNotificationSender(Channel.EMAIL)), 10, 10, 5);
+
+        assertFalse(dispatcher.submit(notification(Channel.SMS, 1, NotificationType.BOOKING_CONFIRMED)));
+    }
+
+    private interface SendFunction {
+        List<Notification> send(List<Notification> batch) throws Exception;
+    }
+
+    private static NotificationSender sender(Channel channel, SendFunction function) {
+        return new NotificationSender() {
+            @Override
+            public Channel getChannel() {
+                return channel;
+            }
+
+            @Override
+            public List<Notification> send(List<Notification> batch) throws Exception {
+                return function.send(batch);
+            }
+        };
+    }
+
+    private static NotificationDispatcher start(List<NotificationSender> senders, int capacity, int batchSize,
+            int maxAttempts) {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(senders, capacity, batchSize, 0.5,
+                maxAttempts, 10, 40);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private NotificationStats stats(Channel channel) {
+        return dispatcher.getStats().stream()
+                .filter(stats -> stats.getChannel() == channel)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Notification notification(Channel channel, int id, NotificationType type) {
+        return new Notification("n-" + id, channel, "user-" + id, type, (long) id, "subject", "body");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.booking.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTableTest {
+
+    private RateTable rateTable;
+
+    @BeforeEach
+    void setUp() {
+        PricingPolicy policy = new PricingPolicy(17, 22,
+                new BigDecimal("1.25"), BigDecimal.ONE, new BigDecimal("1.50"));
+        rateTable = RateTable.compile(new BigDecimal("100.00"), policy);
+    }
+
+    @Test
+    void priceCents_OffPeakWeekday() {
+        // 2024-03-04 is a Monday
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 9, 0);
+        assertEquals(20_000, rateTable.priceCents(start, start.plusHours(2)));
+    }
+
+    @Test
+    void priceCents_SpansIntoPeak() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 16, 30);
+        // 30 minutes off-peak (50.00) + 60 minutes peak (125.00)
+        assertEquals(17_500, rateTable.priceCents(start, start.plusMinutes(90)));
+    }
+
+    @Test
+    void priceCents_WeekendPeakCompounds() {
+        // 2024-03-09 is a Saturday
+        LocalDateTime start = LocalDateTime.of(2024, 3, 9, 18, 0);
+        assertEquals(18_750, rateTable.priceCents(start, start.plusHours(1)));
+    }
+
+    @Test
+    void priceCents_SpansWeekBoundary() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 10, 23, 0);
+        // Sunday 23:00-24:00 at weekend rate, Monday 00:00-01:00 at base rate
+        assertEquals(25_000, rateTable.priceCents(start, start.plusHours(2)));
+    }
+
+    @Test
+    void priceCents_MultiWeekMatchesSumOfWeeks() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 6, 12, 15);
+        long oneWeek = rateTable.priceCents(start, start.plusWeeks(1));
+        assertEquals(3 * oneWeek, rateTable.priceCents(start, start.plusWeeks(3)));
+    }
+
+    @Test
+    void compile_RejectsNegativeRate() {
+        PricingPolicy policy = new PricingPolicy(17, 22, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(new BigDecimal("-1"), policy));
+    }
+}
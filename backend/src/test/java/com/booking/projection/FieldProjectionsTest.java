@@ -0,0 +1,44 @@
+package com.booking.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldProjectionsTest {
+
+    private final FieldProjections fieldProjections = new FieldProjections();
+
+    @Test
+    void forFacility_SelectsOnlyRequestedColumnsInDeclaredOrder() {
+        FieldProjection projection = fieldProjections.forFacility("isActive, name,id");
+
+        assertEquals(List.of("id", "name", "isActive"), projection.getProperties());
+        assertEquals("SELECT e.id, e.name, e.isActive FROM Facility e WHERE e.isActive = true",
+                projection.jpql("e.isActive = true"));
+    }
+
+    @Test
+    void forFacility_SameFieldSetIsCompiledOnce() {
+        FieldProjection first = fieldProjections.forFacility("id,name,type");
+        FieldProjection second = fieldProjections.forFacility("type,id,name,id");
+
+        assertSame(first, second);
+        assertEquals(first.getKey(), second.getKey());
+    }
+
+    @Test
+    void forBooking_FacilityIdReadsForeignKey() {
+        FieldProjection projection = fieldProjections.forBooking("id,facilityId,status");
+
+        assertEquals("SELECT e.id, e.facility.id, e.status FROM Booking e", projection.jpql(null));
+        assertEquals(List.of("id", "facilityId", "status"), projection.getProperties());
+    }
+
+    @Test
+    void forFacility_UnknownFieldRejected() {
+        assertThrows(IllegalArgumentException.class, () -> fieldProjections.forFacility("id,bookings"));
+        assertThrows(IllegalArgumentException.class, () -> fieldProjections.forFacility(" , "));
+    }
+}
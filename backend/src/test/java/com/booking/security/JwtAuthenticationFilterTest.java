@@ -0,0 +1,126 @@
+package com.booking.security;
+
+import com.booking.model.UserRole;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256-signing";
+
+    private JwtService jwtService;
+    private ClaimsCache claimsCache;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService(SECRET, 60_000, 0));
+        claimsCache = new ClaimsCache(100);
+        filter = new JwtAuthenticationFilter(jwtService, claimsCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validToken_AuthenticatesWithRoleAuthorities() throws Exception {
+        String token = jwtService.issue("user-1", UserRole.ADMIN);
+
+        Authentication authentication = filterWith("Bearer " + token, new MockHttpServletResponse());
+
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals("user-1", user.userId());
+        assertEquals("user-1", authentication.getName());
+        assertTrue(user.hasRole(UserRole.CITIZEN));
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void repeatedToken_IsVerifiedOnce() throws Exception {
+        String token = jwtService.issue("user-1", UserRole.CITIZEN);
+
+        filterWith("Bearer " + token, new MockHttpServletResponse());
+        Authentication second = filterWith("Bearer " + token, new MockHttpServletResponse());
+
+        verify(jwtService, times(1)).verify(token);
+        assertEquals("user-1", second.getName());
+        assertEquals(1, claimsCache.size());
+    }
+
+    @Test
+    void tamperedToken_Returns401WithoutCallingChain() throws Exception {
+        String forged = new JwtService("another-secret-that-is-long-enough-for-hs256", 60_000, 0)
+                .issue("user-1", UserRole.ADMIN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/me");
+        request.addHeader("Authorization", "Bearer " + forged);
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getHeader("WWW-Authenticate").contains("invalid_token"));
+        assertNull(chain.getRequest());
+        assertNull(claimsCache.get(forged, System.currentTimeMillis()));
+    }
+
+    @Test
+    void missingToken_ContinuesUnauthenticated() throws Exception {
+        Authentication authentication = filterWith(null, new MockHttpServletResponse());
+
+        assertNull(authentication);
+    }
+
+    @Test
+    void claimsCache_DropsExpiredAndLeastRecentlyUsedEntries() {
+        ClaimsCache cache = new ClaimsCache(2);
+        cache.put("a", new AuthenticatedUser("a", UserRole.CITIZEN, 1_000));
+        cache.put("b", new AuthenticatedUser("b", UserRole.CITIZEN, 5_000));
+        cache.get("a", 500);
+        cache.put("c", new AuthenticatedUser("c", UserRole.CITIZEN, 5_000));
+
+        assertNull(cache.get("b", 500));
+        assertNull(cache.get("a", 1_000));
+        assertEquals("c", cache.get("c", 1_000).userId());
+    }
+
+    @Test
+    void canActFor_AllowsOwnerAndAdminOnly() {
+        AuthenticatedUser citizen = new AuthenticatedUser("user-1", UserRole.CITIZEN, Long.MAX_VALUE);
+        AuthenticatedUser admin = new AuthenticatedUser("admin", UserRole.ADMIN, Long.MAX_VALUE);
+
+        assertTrue(citizen.canActFor("user-1"));
+        assertFalse(citizen.canActFor("user-2"));
+        assertFalse(citizen.hasRole(UserRole.ADMIN));
+        assertTrue(admin.canActFor("user-2"));
+    }
+
+    private Authentication filterWith(String authorization, MockHttpServletResponse response)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/me");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) ->
+                seen.set(SecurityContextHolder.getContext().getAuthentication()));
+        return seen.get();
+    }
+}
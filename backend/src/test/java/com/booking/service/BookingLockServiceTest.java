@@ -0,0 +1,60 @@
+package com.booking.service;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.BookingStatus;
+import com.booking.repository.OutboxEventRepository;
+import com.booking.repository.UserBookingSummaryRepository;
+import com.booking.service.impl.BookingLockServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingLockServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private UserBookingSummaryRepository summaryRepository;
+
+    private BookingLockServiceImpl lockService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        lockService = new BookingLockServiceImpl(outboxEventRepository, summaryRepository);
+    }
+
+    @Test
+    void lockForChanges_TakesFacilitiesThenUsersInAscendingOrderOnce() {
+        lockService.lockForChanges(List.of(change(9L, "zoe"), change(2L, "adam"), change(9L, "adam"),
+                change(5L, "mia")));
+
+        InOrder order = inOrder(outboxEventRepository, summaryRepository);
+        order.verify(outboxEventRepository).lockPartition(2L);
+        order.verify(outboxEventRepository).lockPartition(5L);
+        order.verify(outboxEventRepository).lockPartition(9L);
+        ArgumentCaptor<Long> userKeys = ArgumentCaptor.forClass(Long.class);
+        order.verify(summaryRepository, times(3)).lockUser(userKeys.capture());
+        verifyNoMoreInteractions(outboxEventRepository, summaryRepository);
+
+        List<Long> keys = userKeys.getAllValues();
+        assertTrue(keys.get(0) < keys.get(1) && keys.get(1) < keys.get(2));
+        assertTrue(keys.get(0) > 9L); // user keys sort after every facility key
+    }
+
+    private static BookingChangedEvent change(Long facilityId, String userId) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        return new BookingChangedEvent(1L, facilityId, userId, start, start.plusHours(1), BookingStatus.PENDING,
+                BookingStatus.EXPIRED);
+    }
+}
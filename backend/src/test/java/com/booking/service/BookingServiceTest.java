@@ -3,6 +3,7 @@ package com.booking.service;
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
 import com.booking.model.Facility;
+import com.booking.repository.AllocationWindowRepository;
 import com.booking.repository.BookingRepository;
 import com.booking.repository.FacilityRepository;
 import com.booking.service.impl.BookingServiceImpl;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,12 +25,27 @@ import static org.mockito.Mockito.*;
 
 class BookingServiceTest {
 
+    @Mock
+    private BookingLockService bookingLockService;
+
     @Mock
     private BookingRepository bookingRepository;
 
     @Mock
     private FacilityRepository facilityRepository;
 
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private AllocationWindowRepository allocationWindowRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RefundService refundService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -63,6 +80,7 @@ class BookingServiceTest {
         when(facilityRepository.findById(1L)).thenReturn(Optional.of(facility));
         when(bookingRepository.findOverlappingBookings(any(), any(), any(), any()))
                 .thenReturn(List.of());
+        when(quoteService.quote(any(Facility.class), any(), any())).thenReturn(new BigDecimal("100.00"));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         Booking result = bookingService.createBooking(booking);
@@ -72,6 +90,17 @@ class BookingServiceTest {
         verify(bookingRepository).save(any(Booking.class));
     }
 
+    @Test
+    void createBooking_PriceMismatch() {
+        when(facilityRepository.findById(1L)).thenReturn(Optional.of(facility));
+        when(bookingRepository.findOverlappingBookings(any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(quoteService.quote(any(Facility.class), any(), any())).thenReturn(new BigDecimal("125.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(booking));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void createBooking_FacilityNotFound() {
         when(facilityRepository.findById(1L)).thenReturn(Optional.empty());
@@ -79,6 +108,15 @@ class BookingServiceTest {
         assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(booking));
     }
 
+    @Test
+    void createBooking_FacilityInactive() {
+        facility.setIsActive(false);
+        when(facilityRepository.findById(1L)).thenReturn(Optional.of(facility));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(booking));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void createBooking_TimeSlotUnavailable() {
         when(facilityRepository.findById(1L)).thenReturn(Optional.of(facility));
@@ -154,6 +192,7 @@ class BookingServiceTest {
 
         assertNotNull(result);
         assertEquals(BookingStatus.CANCELLED, result.getStatus());
+        verify(refundService).requestCancellationRefund(booking);
     }
 
     @Test
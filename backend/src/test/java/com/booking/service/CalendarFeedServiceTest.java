@@ -0,0 +1,130 @@
+package com.booking.service;
+
+import com.booking.dto.CalendarFeed;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.service.impl.CalendarFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CalendarFeedServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private FacilityService facilityService;
+
+    @Mock
+    private VersionStampService versionStampService;
+
+    private CalendarFeedService calendarFeedService;
+    private Facility facility;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        calendarFeedService = new CalendarFeedServiceImpl(bookingService, facilityService, versionStampService,
+                "Europe/Oslo", 90, 100);
+        facility = new Facility();
+        facility.setId(1L);
+        facility.setName("Town Hall");
+        facility.setLocation("Main Street 1, Springfield; north entrance");
+        when(facilityService.getFacilityById(1L)).thenReturn(Optional.of(facility));
+    }
+
+    @Test
+    void getFacilityFeed_RendersOncePerScheduleVersion() {
+        when(versionStampService.getScheduleVersion(1L)).thenReturn(3L);
+        when(bookingService.getUpcomingBookings(1L)).thenReturn(List.of(booking(10L, BookingStatus.CONFIRMED)));
+
+        CalendarFeed first = calendarFeedService.getFacilityFeed(1L).orElseThrow();
+        CalendarFeed second = calendarFeedService.getFacilityFeed(1L).orElseThrow();
+
+        assertSame(first, second);
+        verify(bookingService, times(1)).getUpcomingBookings(1L);
+
+        when(versionStampService.getScheduleVersion(1L)).thenReturn(4L);
+        CalendarFeed third = calendarFeedService.getFacilityFeed(1L).orElseThrow();
+
+        assertNotSame(first, third);
+        assertEquals("4", third.getStamp());
+        verify(bookingService, times(2)).getUpcomingBookings(1L);
+    }
+
+    @Test
+    void getFacilityFeed_RendersEventsInUtcWithEscapedFoldedText() {
+        when(bookingService.getUpcomingBookings(1L)).thenReturn(List.of(booking(10L, BookingStatus.CONFIRMED)));
+
+        String ics = new String(calendarFeedService.getFacilityFeed(1L).orElseThrow().getContent(),
+                StandardCharsets.UTF_8);
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.contains("UID:booking-10@public-infrastructure-booking\r\n"));
+        assertTrue(ics.contains("DTSTART:20260901T070000Z\r\n")); // 09:00 in Oslo, summer time
+        assertTrue(ics.contains("DTEND:20260901T090000Z\r\n"));
+        assertTrue(ics.contains("LOCATION:Main Street 1\\, Springfield\\; north entrance\r\n"));
+        assertTrue(ics.contains("STATUS:CONFIRMED\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+    }
+
+    @Test
+    void getFacilityFeed_UnknownFacilityIsEmptyAndNotCached() {
+        when(facilityService.getFacilityById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(calendarFeedService.getFacilityFeed(2L).isEmpty());
+        assertTrue(calendarFeedService.getFacilityFeed(2L).isEmpty());
+
+        verify(facilityService, times(2)).getFacilityById(2L);
+        verify(bookingService, never()).getUpcomingBookings(2L);
+    }
+
+    @Test
+    void getUserFeed_SkipsOldBookingsAndFollowsCatalogVersion() {
+        Booking recent = booking(10L, BookingStatus.CANCELLED);
+        Booking old = booking(11L, BookingStatus.COMPLETED);
+        old.setStartTime(LocalDateTime.now().minusDays(200));
+        old.setEndTime(old.getStartTime().plusHours(1));
+        when(bookingService.getBookingsByUserId("user-1")).thenReturn(List.of(recent, old));
+        when(versionStampService.getUserScheduleVersion("user-1")).thenReturn(5L);
+        when(versionStampService.getCatalogVersion()).thenReturn(1L);
+
+        CalendarFeed feed = calendarFeedService.getUserFeed("user-1");
+        String ics = new String(feed.getContent(), StandardCharsets.UTF_8);
+
+        assertTrue(ics.contains("UID:booking-10@"));
+        assertTrue(ics.contains("STATUS:CANCELLED"));
+        assertTrue(ics.contains("SUMMARY:Town Hall"));
+        assertFalse(ics.contains("UID:booking-11@"));
+        assertSame(feed, calendarFeedService.getUserFeed("user-1"));
+
+        when(versionStampService.getCatalogVersion()).thenReturn(2L);
+        assertEquals("5.2", calendarFeedService.getUserFeed("user-1").getStamp());
+        verify(bookingService, times(2)).getBookingsByUserId("user-1");
+    }
+
+    private Booking booking(Long id, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacility(facility);
+        booking.setUserId("user-1");
+        booking.setStartTime(LocalDateTime.of(2026, 9, 1, 9, 0));
+        booking.setEndTime(LocalDateTime.of(2026, 9, 1, 11, 0));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,92 @@
+package com.booking.service;
+
+import com.booking.cluster.InMemoryMembershipStore;
+import com.booking.event.ClusterTopologyChangedEvent;
+import com.booking.service.impl.ClusterServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterServiceTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private InMemoryMembershipStore membershipStore;
+    private ClusterServiceImpl nodeA;
+    private ClusterServiceImpl nodeB;
+
+    @BeforeEach
+    void setUp() {
+        membershipStore = new InMemoryMembershipStore();
+        nodeA = new ClusterServiceImpl(membershipStore, eventPublisher, "a", "http://a:8080", 8080, 10_000, 64);
+        nodeB = new ClusterServiceImpl(membershipStore, eventPublisher, "b", "http://b:8080", 8080, 10_000, 64);
+    }
+
+    @Test
+    void alone_OwnsEveryFacility() {
+        nodeA.heartbeat();
+
+        assertFalse(nodeA.isClustered());
+        assertEquals(Optional.empty(), nodeA.getOwnerAddress(1L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void join_NodesAgreeOnOwners() {
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        nodeA.heartbeat();
+
+        assertTrue(nodeA.isClustered());
+        assertTrue(nodeB.isClustered());
+        for (long facilityId = 1; facilityId <= 100; facilityId++) {
+            String owner = nodeA.getOwner(facilityId);
+            assertEquals(owner, nodeB.getOwner(facilityId));
+            assertEquals(owner.equals("a"), nodeA.getOwnerAddress(facilityId).isEmpty());
+            assertEquals(owner.equals("b") ? Optional.empty() : Optional.of("http://a:8080"),
+                    nodeB.getOwnerAddress(facilityId));
+        }
+    }
+
+    @Test
+    void join_PublishesTopologyChangeForMovedFacilities() {
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        nodeA.heartbeat();
+
+        ArgumentCaptor<ClusterTopologyChangedEvent> captor = ArgumentCaptor.forClass(ClusterTopologyChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        ClusterTopologyChangedEvent event = captor.getAllValues().get(1);
+        assertEquals("a", event.getLocalNodeId());
+        for (long facilityId = 1; facilityId <= 100; facilityId++) {
+            assertEquals("b".equals(nodeA.getOwner(facilityId)), event.ownershipChanged(facilityId));
+        }
+    }
+
+    @Test
+    void leave_ReturnsFacilitiesToRemainingNode() {
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        nodeA.heartbeat();
+
+        nodeB.leave();
+        nodeA.heartbeat();
+
+        assertFalse(nodeA.isClustered());
+        for (long facilityId = 1; facilityId <= 100; facilityId++) {
+            assertEquals("a", nodeA.getOwner(facilityId));
+        }
+    }
+}
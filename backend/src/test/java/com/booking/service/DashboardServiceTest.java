@@ -0,0 +1,136 @@
+package com.booking.service;
+
+import com.booking.dto.UserDashboard;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.UserBookingSummary;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.UserBookingSummaryRepository;
+import com.booking.service.impl.DashboardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private UserBookingSummaryRepository summaryRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private VersionStampService versionStampService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardServiceImpl dashboardService;
+    private Facility facility;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dashboardService = new DashboardServiceImpl(summaryRepository, bookingRepository, versionStampService,
+                bookingLockService, transactionManager, 5, 100);
+        facility = new Facility();
+        facility.setId(7L);
+        facility.setName("Main hall");
+        when(summaryRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void onBookingChanged_MovesCountAndAmountBetweenStatuses() {
+        UserBookingSummary summary = new UserBookingSummary();
+        summary.setUserId("user-1");
+        summary.getCounts().put(BookingStatus.PENDING, 1L);
+        summary.setOutstandingAmount(new BigDecimal("50.00"));
+        when(summaryRepository.findById("user-1")).thenReturn(Optional.of(summary));
+        Booking booking = booking(10L, BookingStatus.CONFIRMED, "50.00", LocalDateTime.now().plusDays(1));
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+
+        BookingChangedEvent event = BookingChangedEvent.of(booking, BookingStatus.PENDING);
+        dashboardService.onBookingChanged(event);
+
+        verify(bookingLockService).lockForChange(event);
+        assertEquals(0L, summary.getCounts().get(BookingStatus.PENDING));
+        assertEquals(1L, summary.getCounts().get(BookingStatus.CONFIRMED));
+        assertEquals(0, summary.getOutstandingAmount().signum());
+        assertEquals(new BigDecimal("50.00"), summary.getTotalSpend());
+        verify(bookingRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void onBookingChanged_CountsHistoryOnceWhenSummaryIsMissing() {
+        when(summaryRepository.findById("user-1")).thenReturn(Optional.empty());
+        Booking past = booking(9L, BookingStatus.COMPLETED, "30.00", LocalDateTime.now().minusDays(3));
+        // Left CONFIRMED in memory by a bulk update that cancelled it.
+        Booking changed = booking(10L, BookingStatus.CONFIRMED, "50.00", LocalDateTime.now().plusDays(1));
+        when(bookingRepository.findByUserId("user-1")).thenReturn(List.of(past, changed));
+
+        dashboardService.onBookingChanged(new BookingChangedEvent(10L, 7L, "user-1", changed.getStartTime(),
+                changed.getEndTime(), BookingStatus.CONFIRMED, BookingStatus.CANCELLED));
+
+        ArgumentCaptor<UserBookingSummary> saved = ArgumentCaptor.forClass(UserBookingSummary.class);
+        verify(summaryRepository).save(saved.capture());
+        assertEquals(1L, saved.getValue().getCounts().get(BookingStatus.COMPLETED));
+        assertEquals(1L, saved.getValue().getCounts().get(BookingStatus.CANCELLED));
+        assertNull(saved.getValue().getCounts().get(BookingStatus.CONFIRMED));
+        assertEquals(new BigDecimal("30.00"), saved.getValue().getTotalSpend());
+    }
+
+    @Test
+    void getDashboard_ServesCachedCopyUntilStampMoves() {
+        Booking pending = booking(10L, BookingStatus.PENDING, "50.00", LocalDateTime.now().plusDays(1));
+        when(bookingRepository.findByUserId("user-1")).thenReturn(List.of(pending));
+        when(bookingRepository.findByUserIdAndStatusInAndStartTimeAfterOrderByStartTimeAsc(eq("user-1"), any(),
+                any(), any())).thenReturn(List.of(pending));
+        when(summaryRepository.findById("user-1")).thenReturn(Optional.empty());
+        when(versionStampService.getUserScheduleVersion("user-1")).thenReturn(1L);
+
+        UserDashboard first = dashboardService.getDashboard("user-1");
+
+        assertEquals(1, first.getTotalBookings());
+        assertEquals(1, first.getOutstandingPayments());
+        assertEquals(new BigDecimal("50.00"), first.getOutstandingAmount());
+        assertEquals(0L, first.getCountsByStatus().get(BookingStatus.REFUNDED));
+        assertEquals("Main hall", first.getUpcoming().get(0).getFacilityName());
+        verify(bookingLockService).lockUser("user-1");
+
+        assertSame(first, dashboardService.getDashboard("user-1"));
+        verify(summaryRepository, times(2)).findById("user-1");
+
+        when(versionStampService.getUserScheduleVersion("user-1")).thenReturn(2L);
+        assertNotSame(first, dashboardService.getDashboard("user-1"));
+    }
+
+    private Booking booking(Long id, BookingStatus status, String amount, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacility(facility);
+        booking.setUserId("user-1");
+        booking.setStatus(status);
+        booking.setTotalAmount(new BigDecimal(amount));
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        return booking;
+    }
+}
@@ -0,0 +1,220 @@
+package com.booking.service;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.event.FacilityChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingRefund;
+import com.booking.model.BookingStatus;
+import com.booking.model.ClosureStatus;
+import com.booking.model.Facility;
+import com.booking.model.FacilityClosure;
+import com.booking.model.RefundStatus;
+import com.booking.refund.RefundPolicy;
+import com.booking.repository.BookingRefundRepository;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityClosureRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.service.impl.FacilityClosureServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FacilityClosureServiceTest {
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private FacilityClosureRepository closureRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingRefundRepository refundRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FacilityRemovalService facilityRemovalService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FacilityClosureServiceImpl closureService;
+    private Facility facility;
+    private FacilityClosure closure;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        closureService = new FacilityClosureServiceImpl(closureRepository, facilityRepository, bookingRepository,
+                refundRepository, new RefundPolicy(24, new BigDecimal("80"), new BigDecimal("100")),
+                eventPublisher, bookingLockService, facilityRemovalService, transactionManager);
+        ReflectionTestUtils.setField(closureService, "chunkSize", 2);
+
+        facility = new Facility();
+        facility.setId(7L);
+        facility.setIsActive(false);
+        closure = new FacilityClosure();
+        closure.setId(1L);
+        closure.setFacilityId(7L);
+        closure.setReason("Facility taken offline");
+        closure.setCutoff(LocalDateTime.now());
+        when(closureRepository.findById(1L)).thenReturn(Optional.of(closure));
+        when(closureRepository.findByStatusNotOrderByIdAsc(ClosureStatus.COMPLETED)).thenReturn(List.of(closure));
+        when(facilityRepository.findById(7L)).thenReturn(Optional.of(facility));
+    }
+
+    @Test
+    void onFacilityChanged_DeactivationStartsClosure() {
+        when(closureRepository.findFirstByFacilityIdAndStatusNot(7L, ClosureStatus.COMPLETED))
+                .thenReturn(Optional.empty());
+
+        closureService.onFacilityChanged(new FacilityChangedEvent(7L, FacilityChangedEvent.Change.DEACTIVATED));
+
+        ArgumentCaptor<FacilityClosure> saved = ArgumentCaptor.forClass(FacilityClosure.class);
+        verify(closureRepository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getFacilityId());
+        assertEquals(ClosureStatus.CANCELLING, saved.getValue().getStatus());
+        assertFalse(saved.getValue().getDeleteFacility());
+    }
+
+    @Test
+    void beginClosure_ReusesOpenClosure() {
+        when(closureRepository.findFirstByFacilityIdAndStatusNot(7L, ClosureStatus.COMPLETED))
+                .thenReturn(Optional.of(closure));
+        when(closureRepository.save(closure)).thenReturn(closure);
+
+        FacilityClosure result = closureService.beginClosure(7L, "Facility removed", true);
+
+        assertSame(closure, result);
+        assertTrue(closure.getDeleteFacility());
+        verify(closureRepository, times(1)).save(any(FacilityClosure.class));
+    }
+
+    @Test
+    void runClosures_CancelsInChunksAndQueuesRefunds() {
+        Booking paid = booking(10L, BookingStatus.CONFIRMED, "pi_10");
+        Booking held = booking(11L, BookingStatus.PENDING, null);
+        Booking late = booking(12L, BookingStatus.CONFIRMED, "pi_12");
+        when(bookingRepository.findClosable(eq(7L), anyCollection(), any(), eq(0L), any()))
+                .thenReturn(List.of(paid, held));
+        when(bookingRepository.findClosable(eq(7L), anyCollection(), any(), eq(11L), any()))
+                .thenReturn(List.of(late));
+        when(bookingRepository.cancelAll(anyCollection(), anyCollection(), anyString(), any()))
+                .thenAnswer(invocation -> List.copyOf(invocation.getArgument(0, List.class)));
+        when(refundRepository.countByClosureIdAndStatus(1L, RefundStatus.PENDING)).thenReturn(2L);
+
+        int cancelled = closureService.runClosures();
+
+        assertEquals(3, cancelled);
+        assertEquals(3, closure.getCancelledCount());
+        assertEquals(2, closure.getRefundsRequested());
+        assertEquals(12L, closure.getLastBookingId());
+        assertEquals(ClosureStatus.REFUNDING, closure.getStatus());
+        verify(bookingRepository).cancelAll(eq(List.of(10L, 11L)), anyCollection(), eq("Facility taken offline"),
+                any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookingRefund>> refunds = ArgumentCaptor.forClass(List.class);
+        verify(refundRepository, times(2)).saveAll(refunds.capture());
+        BookingRefund first = refunds.getAllValues().get(0).get(0);
+        assertEquals(10L, first.getBookingId());
+        assertEquals(new BigDecimal("50.00"), first.getAmount());
+        assertEquals(1L, first.getClosureId());
+
+        ArgumentCaptor<BookingChangedEvent> events = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(BookingStatus.PENDING, events.getAllValues().get(1).getPreviousStatus());
+        assertEquals(BookingStatus.CANCELLED, events.getAllValues().get(1).getStatus());
+        verify(facilityRemovalService, never()).remove(any());
+    }
+
+    @Test
+    void runClosures_SkipsBookingsTheUpdateDidNotCancel() {
+        Booking paid = booking(10L, BookingStatus.CONFIRMED, "pi_10");
+        // Confirmed, then cancelled by its user, after the chunk was read.
+        Booking raced = booking(11L, BookingStatus.CONFIRMED, "pi_11");
+        when(bookingRepository.findClosable(eq(7L), anyCollection(), any(), eq(0L), any()))
+                .thenReturn(List.of(paid, raced));
+        when(bookingRepository.findClosable(eq(7L), anyCollection(), any(), eq(11L), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.cancelAll(anyCollection(), anyCollection(), anyString(), any()))
+                .thenReturn(List.of(10L));
+        when(refundRepository.countByClosureIdAndStatus(1L, RefundStatus.PENDING)).thenReturn(1L);
+
+        closureService.runClosures();
+
+        assertEquals(1, closure.getCancelledCount());
+        assertEquals(1, closure.getRefundsRequested());
+        assertEquals(11L, closure.getLastBookingId());
+        ArgumentCaptor<BookingChangedEvent> events = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertEquals(10L, events.getValue().getBookingId());
+        verify(bookingLockService).lockForChanges(List.of(events.getValue()));
+    }
+
+    @Test
+    void runClosures_CompletesAndDeletesFacilityOnceRefundsSettle() {
+        closure.setStatus(ClosureStatus.REFUNDING);
+        closure.setDeleteFacility(true);
+        when(refundRepository.countByClosureIdAndStatus(1L, RefundStatus.PENDING)).thenReturn(0L);
+        when(refundRepository.countByClosureIdAndStatus(1L, RefundStatus.SUCCEEDED)).thenReturn(4L);
+        when(refundRepository.countByClosureIdAndStatus(1L, RefundStatus.FAILED)).thenReturn(1L);
+
+        closureService.runClosures();
+
+        assertEquals(ClosureStatus.COMPLETED, closure.getStatus());
+        assertEquals(4, closure.getRefundsSucceeded());
+        assertEquals(1, closure.getRefundsFailed());
+        assertNotNull(closure.getCompletedAt());
+        verify(facilityRemovalService).remove(7L);
+    }
+
+    @Test
+    void runClosures_ReactivationStopsCancelling() {
+        facility.setIsActive(true);
+
+        int cancelled = closureService.runClosures();
+
+        assertEquals(0, cancelled);
+        assertEquals(ClosureStatus.COMPLETED, closure.getStatus());
+        verify(bookingRepository, never()).cancelAll(anyCollection(), anyCollection(), anyString(), any());
+        verify(facilityRemovalService, never()).remove(any());
+    }
+
+    private Booking booking(Long id, BookingStatus status, String paymentId) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacility(facility);
+        booking.setUserId("user-" + id);
+        booking.setStartTime(LocalDateTime.now().plusDays(3));
+        booking.setEndTime(LocalDateTime.now().plusDays(3).plusHours(1));
+        booking.setTotalAmount(new BigDecimal("50.00"));
+        booking.setStatus(status);
+        booking.setPaymentId(paymentId);
+        return booking;
+    }
+}
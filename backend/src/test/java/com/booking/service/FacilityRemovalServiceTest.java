@@ -0,0 +1,72 @@
+package com.booking.service;
+
+import com.booking.event.FacilityChangedEvent;
+import com.booking.repository.AllocationRequestRepository;
+import com.booking.repository.AllocationWindowRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.repository.SlotTemplateRepository;
+import com.booking.repository.WaitlistEntryRepository;
+import com.booking.service.impl.FacilityRemovalServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FacilityRemovalServiceTest {
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private SlotTemplateRepository slotTemplateRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private AllocationWindowRepository allocationWindowRepository;
+
+    @Mock
+    private AllocationRequestRepository allocationRequestRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FacilityRemovalServiceImpl removalService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        removalService = new FacilityRemovalServiceImpl(facilityRepository, slotTemplateRepository,
+                waitlistEntryRepository, allocationWindowRepository, allocationRequestRepository, eventPublisher);
+    }
+
+    @Test
+    void remove_DeletesTemplateAndOtherDependentsBeforeTheFacility() {
+        when(facilityRepository.existsById(7L)).thenReturn(true);
+
+        removalService.remove(7L);
+
+        InOrder order = inOrder(slotTemplateRepository, waitlistEntryRepository, allocationRequestRepository,
+                allocationWindowRepository, facilityRepository, eventPublisher);
+        order.verify(slotTemplateRepository).deleteByFacilityId(7L);
+        order.verify(waitlistEntryRepository).deleteByFacilityId(7L);
+        order.verify(allocationRequestRepository).deleteByWindowFacilityId(7L);
+        order.verify(allocationWindowRepository).deleteByFacilityId(7L);
+        order.verify(facilityRepository).deleteById(7L);
+        order.verify(eventPublisher).publishEvent(new FacilityChangedEvent(7L, FacilityChangedEvent.Change.DELETED));
+    }
+
+    @Test
+    void remove_MissingFacilityIsANoOp() {
+        removalService.remove(7L);
+
+        verify(facilityRepository, never()).deleteById(any());
+        verifyNoInteractions(slotTemplateRepository, eventPublisher);
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -16,6 +17,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class FacilityServiceTest {
@@ -23,6 +26,15 @@ class FacilityServiceTest {
     @Mock
     private FacilityRepository facilityRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FacilityClosureService facilityClosureService;
+
+    @Mock
+    private FacilityRemovalService facilityRemovalService;
+
     @InjectMocks
     private FacilityServiceImpl facilityService;
 
@@ -95,10 +107,21 @@ class FacilityServiceTest {
     }
 
     @Test
-    void deleteFacility_ShouldCallRepository() {
-        doNothing().when(facilityRepository).deleteById(1L);
+    void deleteFacility_RemovesFacilityWithItsDependents() {
         facilityService.deleteFacility(1L);
-        verify(facilityRepository, times(1)).deleteById(1L);
+        verify(facilityRemovalService, times(1)).remove(1L);
+    }
+
+    @Test
+    void deleteFacility_WithFutureBookings_DefersToClosure() {
+        when(facilityClosureService.hasOpenBookings(1L)).thenReturn(true);
+        when(facilityRepository.findById(1L)).thenReturn(Optional.of(testFacility));
+
+        facilityService.deleteFacility(1L);
+
+        verify(facilityClosureService).beginClosure(eq(1L), anyString(), eq(true));
+        verify(facilityRemovalService, never()).remove(1L);
+        assertFalse(testFacility.getIsActive());
     }
 
     @Test
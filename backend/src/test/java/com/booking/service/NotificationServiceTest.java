@@ -0,0 +1,89 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.notification.Channel;
+import com.booking.notification.Notification;
+import com.booking.notification.NotificationDispatcher;
+import com.booking.repository.BookingRepository;
+import com.booking.service.impl.NotificationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationDispatcher dispatcher;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        notificationService = new NotificationServiceImpl(dispatcher, bookingRepository, transactionManager,
+                EnumSet.of(Channel.EMAIL, Channel.SMS));
+        Facility facility = new Facility();
+        facility.setName("Hall");
+        when(bookingRepository.findByStatusAndStartTimeBetweenAndReminderSentAtIsNull(eq(BookingStatus.CONFIRMED),
+                any(), any())).thenReturn(List.of(booking(1L, facility), booking(2L, facility)));
+        when(bookingRepository.markReminderSent(anyLong(), any())).thenReturn(1);
+    }
+
+    @Test
+    void sendReminders_AllQueued_KeepsClaims() {
+        when(dispatcher.submit(any())).thenReturn(true);
+
+        assertEquals(4, notificationService.sendReminders());
+
+        verify(bookingRepository, never()).releaseReminders(any(), any());
+    }
+
+    @Test
+    void sendReminders_ShedReminders_AreReleasedForTheNextRun() {
+        when(dispatcher.submit(any())).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            return notification.bookingId() == 1L || notification.channel() == Channel.EMAIL;
+        });
+
+        assertEquals(3, notificationService.sendReminders());
+
+        ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository).markReminderSent(eq(2L), claimedAt.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> released = ArgumentCaptor.forClass(Collection.class);
+        verify(bookingRepository).releaseReminders(released.capture(), eq(claimedAt.getValue()));
+        assertEquals(List.of(2L), List.copyOf(released.getValue()));
+    }
+
+    private Booking booking(Long id, Facility facility) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUserId("user-" + id);
+        booking.setFacility(facility);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setStartTime(LocalDateTime.now().plusHours(3));
+        return booking;
+    }
+}
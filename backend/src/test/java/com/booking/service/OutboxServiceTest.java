@@ -0,0 +1,136 @@
+package com.booking.service;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.BookingStatus;
+import com.booking.model.OutboxEvent;
+import com.booking.outbox.OutboxMessage;
+import com.booking.outbox.OutboxPublisher;
+import com.booking.repository.OutboxEventRepository;
+import com.booking.service.impl.OutboxServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        outboxService = new OutboxServiceImpl(outboxEventRepository, publisher, objectMapper, transactionManager,
+                bookingLockService);
+        ReflectionTestUtils.setField(outboxService, "batchSize", 2);
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void onBookingChanged_AppendsRowUnderFacilityLock() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        BookingChangedEvent event = new BookingChangedEvent(5L, 3L, "user-1", start, start.plusHours(1),
+                BookingStatus.PENDING, BookingStatus.CONFIRMED);
+        outboxService.onBookingChanged(event);
+
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(bookingLockService).lockForChange(event);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals("BOOKING_CONFIRMED", saved.getValue().getEventType());
+        assertEquals(5L, saved.getValue().getAggregateId());
+        assertEquals(3L, saved.getValue().getFacilityId());
+        assertTrue(saved.getValue().getPayload().contains("\"previousStatus\":\"PENDING\""));
+    }
+
+    @Test
+    void onBookingChanged_NewBookingIsCreatedEvent() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        outboxService.onBookingChanged(new BookingChangedEvent(5L, 3L, "user-1", start, start.plusHours(1),
+                null, BookingStatus.PENDING));
+
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals("BOOKING_CREATED", saved.getValue().getEventType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_PublishesBatchesInOrderUntilDrained() throws Exception {
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(row(1L), row(2L)), List.of(row(3L)));
+
+        assertEquals(3, outboxService.relay());
+
+        ArgumentCaptor<List<OutboxMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(publisher, times(2)).publish(batches.capture());
+        assertEquals(List.of(1L, 2L), batches.getAllValues().get(0).stream().map(OutboxMessage::id).toList());
+        assertEquals(List.of(3L), batches.getAllValues().get(1).stream().map(OutboxMessage::id).toList());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any());
+        assertEquals(3, outboxService.getStats().getPublishedTotal());
+    }
+
+    @Test
+    void relay_PublisherFailureLeavesBatchPending() throws Exception {
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(row(1L)));
+        doThrow(new IOException("broker down")).when(publisher).publish(any());
+
+        assertEquals(0, outboxService.relay());
+
+        verify(outboxEventRepository, never()).markPublished(any(), any());
+        assertNotNull(outboxService.getStats().getLastError());
+    }
+
+    @Test
+    void relay_SkipsWhenAnotherNodeHoldsTheRelay() throws Exception {
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(false);
+
+        assertEquals(0, outboxService.relay());
+
+        verify(outboxEventRepository, never()).findByPublishedAtIsNullOrderByIdAsc(any());
+        verifyNoInteractions(publisher);
+    }
+
+    private static OutboxEvent row(Long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateType("Booking");
+        event.setAggregateId(id);
+        event.setFacilityId(1L);
+        event.setEventType("BOOKING_CREATED");
+        event.setPayload("{}");
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+}
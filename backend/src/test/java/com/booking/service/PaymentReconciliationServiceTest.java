@@ -0,0 +1,189 @@
+package com.booking.service;
+
+import com.booking.dto.ReconciliationReport;
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.Payment;
+import com.booking.model.PaymentStatus;
+import com.booking.model.ReconciliationWatermark;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.PaymentRepository;
+import com.booking.repository.ReconciliationWatermarkRepository;
+import com.booking.service.impl.PaymentReconciliationServiceImpl;
+import com.booking.service.impl.StubPaymentServiceImpl;
+import com.stripe.model.PaymentIntent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PaymentReconciliationServiceTest {
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ReconciliationWatermarkRepository watermarkRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StubPaymentServiceImpl provider;
+    private PaymentReconciliationServiceImpl reconciliationService;
+    private final List<Payment> savedPayments = new ArrayList<>();
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        provider = new StubPaymentServiceImpl();
+        reconciliationService = reconciliationService(provider);
+
+        Facility facility = new Facility();
+        facility.setId(7L);
+        facility.setName("Main hall");
+        booking = new Booking();
+        booking.setId(10L);
+        booking.setFacility(facility);
+        booking.setUserId("user-1");
+        booking.setTotalAmount(new BigDecimal("50.00"));
+        booking.setStatus(BookingStatus.PENDING);
+
+        when(watermarkRepository.findById(any())).thenReturn(Optional.empty());
+        when(bookingRepository.findAllById(any())).thenReturn(List.of(booking));
+        when(paymentRepository.saveAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterable<Payment>>getArgument(0).forEach(savedPayments::add);
+            return List.of();
+        });
+    }
+
+    @Test
+    void reconcile_ConfirmsPendingBookingThatWasPaid() throws Exception {
+        PaymentIntent intent = provider.createPaymentIntent(booking);
+        provider.confirmPayment(intent.getId());
+
+        ReconciliationReport report = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals(1, report.getIntentsScanned());
+        assertEquals(1, report.getBookingsConfirmed());
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        assertEquals(intent.getId(), booking.getPaymentId());
+        ArgumentCaptor<BookingChangedEvent> event = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(BookingStatus.PENDING, event.getValue().getPreviousStatus());
+
+        assertEquals(1, savedPayments.size());
+        Payment payment = savedPayments.get(0);
+        assertEquals(10L, payment.getBookingId());
+        assertEquals(intent.getId(), payment.getTransactionId());
+        assertEquals(PaymentStatus.COMPLETED, payment.getStatus());
+        assertEquals(50.0, payment.getAmount());
+    }
+
+    @Test
+    void reconcile_MarksConfirmedBookingRefundedOnceProviderRefundedInFull() throws Exception {
+        PaymentIntent intent = provider.createPaymentIntent(booking);
+        provider.confirmPayment(intent.getId());
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setPaymentId(intent.getId());
+        provider.refundPayment(intent.getId(), 5000L, "dashboard-refund");
+
+        ReconciliationReport report = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals(1, report.getRefundsScanned());
+        assertEquals(1, report.getBookingsRefunded());
+        assertEquals(BookingStatus.REFUNDED, booking.getStatus());
+        Payment payment = savedPayments.get(0);
+        assertEquals(PaymentStatus.REFUNDED, payment.getStatus());
+        assertEquals(50.0, payment.getRefundAmount());
+        assertNotNull(payment.getRefundedAt());
+    }
+
+    @Test
+    void reconcile_LeavesCapturedPaymentOfExpiredBookingForAPerson() throws Exception {
+        PaymentIntent intent = provider.createPaymentIntent(booking);
+        provider.confirmPayment(intent.getId());
+        booking.setStatus(BookingStatus.EXPIRED);
+
+        ReconciliationReport report = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals(1, report.getOrphanedPayments());
+        assertEquals(BookingStatus.EXPIRED, booking.getStatus());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void reconcile_PagesThroughListsThenReadsOnlyFromWatermark() throws Exception {
+        Instant twoDaysAgo = Instant.now().minus(Duration.ofDays(2));
+        provider = new StubPaymentServiceImpl(Clock.fixed(twoDaysAgo, ZoneOffset.UTC));
+        reconciliationService = reconciliationService(provider);
+        ReflectionTestUtils.setField(reconciliationService, "pageSize", 2);
+        when(bookingRepository.findAllById(any())).thenReturn(List.of());
+        for (int i = 0; i < 5; i++) {
+            provider.createPaymentIntent(booking);
+        }
+
+        ReconciliationReport first = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals(5, first.getIntentsScanned());
+        assertEquals(5, first.getUnmatched());
+        ArgumentCaptor<ReconciliationWatermark> saved = ArgumentCaptor.forClass(ReconciliationWatermark.class);
+        verify(watermarkRepository, times(2)).save(saved.capture());
+        ReconciliationWatermark watermark = saved.getAllValues().get(0);
+        assertTrue(watermark.getCreatedFrom() > twoDaysAgo.getEpochSecond());
+
+        when(watermarkRepository.findById(any())).thenReturn(Optional.of(watermark));
+        ReconciliationReport second = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals(watermark.getCreatedFrom() - 3600, second.getIntentsCreatedFrom());
+        assertEquals(0, second.getIntentsScanned());
+    }
+
+    @Test
+    void reconcile_KeepsWatermarkWhenProviderFails() throws Exception {
+        PaymentService failing = mock(PaymentService.class);
+        when(failing.listPaymentIntents(anyLong(), any(), anyInt())).thenThrow(new IllegalStateException("rate limited"));
+        reconciliationService = reconciliationService(failing);
+
+        ReconciliationReport report = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals("rate limited", report.getLastError());
+        assertEquals(report, reconciliationService.getLastReport().orElseThrow());
+        verify(watermarkRepository, never()).save(any());
+    }
+
+    private PaymentReconciliationServiceImpl reconciliationService(PaymentService paymentService) {
+        return new PaymentReconciliationServiceImpl(paymentService, bookingRepository, paymentRepository,
+                watermarkRepository, eventPublisher, bookingLockService, transactionManager);
+    }
+}
@@ -0,0 +1,143 @@
+package com.booking.service;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingRefund;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.RefundStatus;
+import com.booking.refund.RefundPolicy;
+import com.booking.repository.BookingRefundRepository;
+import com.booking.repository.BookingRepository;
+import com.booking.service.impl.RefundServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefundServiceTest {
+
+    @Mock
+    private BookingLockService bookingLockService;
+
+    @Mock
+    private BookingRefundRepository refundRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RefundServiceImpl refundService;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        refundService = new RefundServiceImpl(refundRepository, bookingRepository, paymentService,
+                new RefundPolicy(24, new BigDecimal("80"), new BigDecimal("100")), eventPublisher,
+                bookingLockService, transactionManager);
+        ReflectionTestUtils.setField(refundService, "maxAttempts", 2);
+
+        Facility facility = new Facility();
+        facility.setId(7L);
+        booking = new Booking();
+        booking.setId(10L);
+        booking.setFacility(facility);
+        booking.setUserId("user-1");
+        booking.setPaymentId("pi_10");
+        booking.setTotalAmount(new BigDecimal("50.00"));
+        booking.setStartTime(LocalDateTime.now().plusDays(2));
+        booking.setEndTime(LocalDateTime.now().plusDays(2).plusHours(1));
+        booking.setStatus(BookingStatus.CANCELLED);
+        when(refundRepository.save(any(BookingRefund.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void requestCancellationRefund_AppliesPolicyPercentage() {
+        Optional<BookingRefund> refund = refundService.requestCancellationRefund(booking);
+
+        assertTrue(refund.isPresent());
+        assertEquals(new BigDecimal("40.00"), refund.get().getAmount());
+        assertEquals(RefundStatus.PENDING, refund.get().getStatus());
+        assertNull(refund.get().getClosureId());
+    }
+
+    @Test
+    void requestCancellationRefund_NothingOwedInsideThreshold() {
+        booking.setStartTime(LocalDateTime.now().plusHours(3));
+
+        assertTrue(refundService.requestCancellationRefund(booking).isEmpty());
+        verify(refundRepository, never()).save(any());
+    }
+
+    @Test
+    void processPendingRefunds_IssuesWithIdempotencyKeyAndMarksBookingRefunded() throws Exception {
+        BookingRefund refund = refund(1L, 10L);
+        when(refundRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq(RefundStatus.PENDING), eq(0L), any()))
+                .thenReturn(List.of(refund));
+        when(paymentService.refundPayment("pi_10", 4000L, "refund-booking-10")).thenReturn("re_1");
+        when(bookingRepository.findAllById(List.of(10L))).thenReturn(List.of(booking));
+
+        int settled = refundService.processPendingRefunds();
+
+        assertEquals(1, settled);
+        assertEquals(RefundStatus.SUCCEEDED, refund.getStatus());
+        assertEquals("re_1", refund.getProviderRefundId());
+        assertEquals(BookingStatus.REFUNDED, booking.getStatus());
+        ArgumentCaptor<BookingChangedEvent> event = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(BookingStatus.CANCELLED, event.getValue().getPreviousStatus());
+        assertEquals(BookingStatus.REFUNDED, event.getValue().getStatus());
+    }
+
+    @Test
+    void processPendingRefunds_RetriesThenGivesUp() throws Exception {
+        BookingRefund refund = refund(1L, 10L);
+        when(refundRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq(RefundStatus.PENDING), anyLong(), any()))
+                .thenReturn(List.of(refund));
+        when(paymentService.refundPayment(any(), anyLong(), any())).thenThrow(new IllegalStateException("declined"));
+
+        assertEquals(0, refundService.processPendingRefunds());
+        assertEquals(RefundStatus.PENDING, refund.getStatus());
+        assertEquals(1, refund.getAttempts());
+
+        assertEquals(1, refundService.processPendingRefunds());
+        assertEquals(RefundStatus.FAILED, refund.getStatus());
+        assertEquals("declined", refund.getLastError());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private BookingRefund refund(Long id, Long bookingId) {
+        BookingRefund refund = new BookingRefund();
+        refund.setId(id);
+        refund.setBookingId(bookingId);
+        refund.setFacilityId(7L);
+        refund.setUserId("user-1");
+        refund.setPaymentId("pi_" + bookingId);
+        refund.setAmount(new BigDecimal("40.00"));
+        return refund;
+    }
+}
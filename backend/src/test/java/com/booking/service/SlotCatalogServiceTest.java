@@ -0,0 +1,120 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.SlotStatus;
+import com.booking.model.SlotTemplate;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.repository.SlotTemplateRepository;
+import com.booking.service.impl.SlotCatalogServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SlotCatalogServiceTest {
+
+    @Mock
+    private SlotTemplateRepository slotTemplateRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @TempDir
+    Path directory;
+
+    private SlotTemplate template;
+    private Booking morning;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Facility facility = new Facility();
+        facility.setId(1L);
+        template = new SlotTemplate();
+        template.setFacility(facility);
+        template.setOpeningTime(LocalTime.of(9, 0));
+        template.setClosingTime(LocalTime.of(17, 0));
+        template.setSlotMinutes(60);
+        template.setBufferMinutes(0);
+        when(slotTemplateRepository.findByFacilityId(1L)).thenReturn(Optional.of(template));
+        when(slotTemplateRepository.findAll()).thenReturn(List.of(template));
+
+        tomorrow = LocalDate.now().plusDays(1);
+        morning = booking(10L, tomorrow.atTime(9, 0), BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void warmStart_RestoresFromSnapshotAndReplaysOnlyChanges() {
+        SlotCatalogServiceImpl first = service();
+        when(bookingRepository.findByFacilityIdAndStatusInOverlapping(eq(1L), anyCollection(), any(), any()))
+                .thenReturn(List.of(morning));
+        assertEquals(SlotStatus.BOOKED, first.getSlots(1L, tomorrow).get(0).getStatus());
+        first.writeSnapshot();
+
+        clearInvocations(bookingRepository);
+        Booking afternoon = booking(11L, tomorrow.atTime(14, 0), BookingStatus.PENDING);
+        Booking cancelled = booking(10L, tomorrow.atTime(9, 0), BookingStatus.CANCELLED);
+        when(bookingRepository.findChangedSince(any())).thenReturn(List.of(cancelled, afternoon));
+
+        SlotCatalogServiceImpl restarted = service();
+        restarted.warmStart();
+
+        List<SlotStatus> slots = restarted.getSlots(1L, tomorrow).stream().map(slot -> slot.getStatus()).toList();
+        assertEquals(SlotStatus.FREE, slots.get(0));
+        assertEquals(SlotStatus.HELD, slots.get(5));
+        verify(bookingRepository, never()).findByFacilityIdAndStatusInOverlapping(any(), anyCollection(), any(),
+                any());
+    }
+
+    @Test
+    void warmStart_WithoutSnapshotBuildsLazily() {
+        SlotCatalogServiceImpl service = service();
+        service.warmStart();
+
+        verify(bookingRepository, never()).findChangedSince(any());
+        when(bookingRepository.findByFacilityIdAndStatusInOverlapping(eq(1L), anyCollection(), any(), any()))
+                .thenReturn(List.of(morning));
+        assertEquals(SlotStatus.BOOKED, service.getSlots(1L, tomorrow).get(0).getStatus());
+    }
+
+    private SlotCatalogServiceImpl service() {
+        SlotCatalogServiceImpl service = new SlotCatalogServiceImpl(slotTemplateRepository, bookingRepository,
+                facilityRepository, 7);
+        ReflectionTestUtils.setField(service, "snapshotPath", directory.resolve("schedule.snapshot").toString());
+        return service;
+    }
+
+    private Booking booking(Long id, LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacility(template.getFacility());
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setTotalAmount(new BigDecimal("100.00"));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,136 @@
+package com.booking.service;
+
+import com.booking.dto.WaitingRoomStatus;
+import com.booking.service.impl.WaitingRoomServiceImpl;
+import com.booking.waitingroom.AdmissionTokenSigner;
+import com.booking.waitingroom.AdmissionTokenSigner.Claims;
+import com.booking.waitingroom.InMemoryWaitingRoomStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitingRoomServiceTest {
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-10-10T10:00:00Z");
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private MutableClock clock;
+    private WaitingRoomServiceImpl waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        waitingRoomService = new WaitingRoomServiceImpl(new InMemoryWaitingRoomStore(),
+                new AdmissionTokenSigner("test-secret-test-secret-test-secret"), clock);
+        ReflectionTestUtils.setField(waitingRoomService, "ticketTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(waitingRoomService, "admissionTtlSeconds", 600L);
+        waitingRoomService.activate(1L, 2.0);
+    }
+
+    @Test
+    void join_QueuesUntilRateAdmits() {
+        WaitingRoomStatus first = waitingRoomService.join(1L, "user-1");
+        WaitingRoomStatus second = waitingRoomService.join(1L, "user-1");
+        WaitingRoomStatus third = waitingRoomService.join(1L, "user-1");
+
+        assertNull(third.getAdmissionToken());
+        assertEquals(3, third.getPosition());
+
+        clock.advanceMillis(1000);
+        assertNotNull(waitingRoomService.getStatus(first.getTicket()).getAdmissionToken());
+        assertNotNull(waitingRoomService.getStatus(second.getTicket()).getAdmissionToken());
+        WaitingRoomStatus stillWaiting = waitingRoomService.getStatus(third.getTicket());
+        assertNull(stillWaiting.getAdmissionToken());
+        assertEquals(1, stillWaiting.getPosition());
+        assertEquals(1, stillWaiting.getRetryAfterSeconds());
+    }
+
+    @Test
+    void join_IdleTimeDoesNotBankCapacity() {
+        clock.advanceMillis(60_000);
+        WaitingRoomStatus first = waitingRoomService.join(1L, "user-1"); // watermark only catches up with issued tickets
+
+        WaitingRoomStatus second = waitingRoomService.join(1L, "user-1");
+        WaitingRoomStatus third = waitingRoomService.join(1L, "user-1");
+
+        assertNotNull(first.getAdmissionToken());
+        assertNull(second.getAdmissionToken());
+        assertEquals(1, second.getPosition());
+        assertEquals(2, third.getPosition());
+    }
+
+    @Test
+    void verifyAdmission_AcceptsOnlyUntamperedUnexpiredTokens() {
+        WaitingRoomStatus ticket = waitingRoomService.join(1L, "user-1");
+        clock.advanceMillis(1000);
+        String token = waitingRoomService.getStatus(ticket.getTicket()).getAdmissionToken();
+
+        Claims admission = waitingRoomService.verifyAdmission(token);
+        assertEquals(1L, admission.facilityId());
+        assertEquals("user-1", admission.userId());
+        assertNull(waitingRoomService.verifyAdmission(token.substring(1)));
+        assertNull(waitingRoomService.verifyAdmission(ticket.getTicket())); // a ticket is not an admission
+        clock.advanceMillis(601_000);
+        assertNull(waitingRoomService.verifyAdmission(token));
+    }
+
+    @Test
+    void redeemAdmission_OncePerTicketUntilReleased() {
+        WaitingRoomStatus ticket = waitingRoomService.join(1L, "user-1");
+        clock.advanceMillis(1000);
+        Claims admission = waitingRoomService.verifyAdmission(
+                waitingRoomService.getStatus(ticket.getTicket()).getAdmissionToken());
+        // Polling again re-signs the same admission; it must not buy a second booking.
+        Claims again = waitingRoomService.verifyAdmission(
+                waitingRoomService.getStatus(ticket.getTicket()).getAdmissionToken());
+
+        assertTrue(waitingRoomService.redeemAdmission(admission));
+        assertFalse(waitingRoomService.redeemAdmission(again));
+        waitingRoomService.releaseAdmission(admission);
+        assertTrue(waitingRoomService.redeemAdmission(again));
+    }
+
+    @Test
+    void join_InactiveRoom() {
+        assertThrows(IllegalArgumentException.class, () -> waitingRoomService.join(2L, "user-1"));
+    }
+
+    @Test
+    void deactivate_AdmitsRemainingTicketHolders() {
+        WaitingRoomStatus ticket = waitingRoomService.join(1L, "user-1");
+        waitingRoomService.join(1L, "user-1");
+        WaitingRoomStatus last = waitingRoomService.join(1L, "user-1");
+        waitingRoomService.deactivate(1L);
+
+        assertFalse(waitingRoomService.isActive(1L));
+        assertNotNull(waitingRoomService.getStatus(ticket.getTicket()).getAdmissionToken());
+        assertNotNull(waitingRoomService.getStatus(last.getTicket()).getAdmissionToken());
+    }
+}
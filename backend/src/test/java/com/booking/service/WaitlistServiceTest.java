@@ -0,0 +1,216 @@
+package com.booking.service;
+
+import com.booking.event.BookingChangedEvent;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.booking.model.UserRole;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.FacilityRepository;
+import com.booking.repository.WaitlistEntryRepository;
+import com.booking.service.impl.WaitlistServiceImpl;
+import com.booking.waitlist.InMemoryWaitlistQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private Environment environment;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WaitlistServiceImpl waitlistService;
+    private Facility facility;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private final Map<Long, WaitlistEntry> entries = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        waitlistService = new WaitlistServiceImpl(waitlistEntryRepository, facilityRepository, bookingRepository,
+                bookingService, new InMemoryWaitlistQueue(), environment, transactionManager);
+        ReflectionTestUtils.setField(waitlistService, "lockSeconds", 10L);
+
+        facility = new Facility();
+        facility.setId(1L);
+        start = LocalDateTime.now().plusDays(1);
+        end = start.plusHours(2);
+
+        when(facilityRepository.findById(1L)).thenReturn(Optional.of(facility));
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0);
+            if (entry.getId() == null) {
+                entry.setId(ids.incrementAndGet());
+                entry.setCreatedAt(LocalDateTime.now().plusNanos(entry.getId() * 1_000_000));
+            }
+            entries.put(entry.getId(), entry);
+            return entry;
+        });
+        when(waitlistEntryRepository.findById(any())).thenAnswer(
+                invocation -> Optional.ofNullable(entries.get(invocation.<Long>getArgument(0))));
+        when(waitlistEntryRepository.findOverlapping(eq(1L), eq(WaitlistStatus.WAITING), any(), any()))
+                .thenAnswer(invocation -> entries.values().stream()
+                        .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING)
+                        .toList());
+        when(bookingRepository.findByFacilityIdAndStatusInOverlapping(any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(bookingService.createBooking(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(100L);
+            return booking;
+        });
+    }
+
+    @Test
+    void joinWaitlist_QueuesInArrivalOrder() {
+        WaitlistEntry first = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+        WaitlistEntry second = waitlistService.joinWaitlist(entry("user2", UserRole.CITIZEN));
+
+        assertEquals(WaitlistStatus.WAITING, first.getStatus());
+        assertEquals(0, waitlistService.getPosition(first.getId()));
+        assertEquals(1, waitlistService.getPosition(second.getId()));
+    }
+
+    @Test
+    void joinWaitlist_PriorityTierJumpsAhead() {
+        ReflectionTestUtils.setField(waitlistService, "priorityTiersEnabled", true);
+        when(environment.getProperty("booking.waitlist.priority.admin", Integer.class, 0)).thenReturn(1);
+        when(environment.getProperty("booking.waitlist.priority.citizen", Integer.class, 0)).thenReturn(0);
+
+        WaitlistEntry citizen = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+        WaitlistEntry admin = waitlistService.joinWaitlist(entry("admin1", UserRole.ADMIN));
+
+        assertEquals(0, waitlistService.getPosition(admin.getId()));
+        assertEquals(1, waitlistService.getPosition(citizen.getId()));
+    }
+
+    @Test
+    void onBookingChanged_CancellationPromotesHeadOfQueue() {
+        WaitlistEntry first = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+        WaitlistEntry second = waitlistService.joinWaitlist(entry("user2", UserRole.CITIZEN));
+
+        waitlistService.onBookingChanged(released(BookingStatus.CONFIRMED, BookingStatus.CANCELLED));
+
+        ArgumentCaptor<Booking> hold = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingService, times(1)).createBooking(hold.capture());
+        assertEquals("user1", hold.getValue().getUserId());
+        assertEquals(WaitlistStatus.PROMOTED, first.getStatus());
+        assertEquals(100L, first.getBookingId());
+        assertEquals(WaitlistStatus.WAITING, second.getStatus());
+        assertEquals(0, waitlistService.getPosition(second.getId()));
+    }
+
+    @Test
+    void onBookingChanged_SkipsWaitersWhoLeft() {
+        WaitlistEntry first = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+        WaitlistEntry second = waitlistService.joinWaitlist(entry("user2", UserRole.CITIZEN));
+        waitlistService.leaveWaitlist(first.getId());
+
+        waitlistService.onBookingChanged(released(BookingStatus.PENDING, BookingStatus.EXPIRED));
+
+        assertEquals(WaitlistStatus.CANCELLED, first.getStatus());
+        assertEquals(WaitlistStatus.PROMOTED, second.getStatus());
+    }
+
+    @Test
+    void onBookingChanged_NoPromotionWhileSlotStillBlocked() {
+        WaitlistEntry first = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+        when(bookingRepository.findByFacilityIdAndStatusInOverlapping(any(), any(), any(), any()))
+                .thenReturn(List.of(new Booking()));
+
+        waitlistService.onBookingChanged(released(BookingStatus.CONFIRMED, BookingStatus.CANCELLED));
+
+        verify(bookingService, never()).createBooking(any(Booking.class));
+        assertEquals(WaitlistStatus.WAITING, first.getStatus());
+        assertEquals(0, waitlistService.getPosition(first.getId()));
+    }
+
+    @Test
+    void onBookingChanged_SkipsWaiterWhoseHoldFailsAndPromotesTheNext() {
+        WaitlistEntry first = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+        WaitlistEntry second = waitlistService.joinWaitlist(entry("user2", UserRole.CITIZEN));
+        when(bookingService.createBooking(argThat(booking -> "user1".equals(booking.getUserId()))))
+                .thenThrow(new IllegalArgumentException("Facility is not accepting bookings"));
+
+        waitlistService.onBookingChanged(released(BookingStatus.CONFIRMED, BookingStatus.CANCELLED));
+
+        assertEquals(WaitlistStatus.SKIPPED, first.getStatus());
+        assertEquals(WaitlistStatus.PROMOTED, second.getStatus());
+        assertEquals(-1, waitlistService.getPosition(first.getId()));
+    }
+
+    @Test
+    void joinWaitlist_QueuesOnlyOnceCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            WaitlistEntry entry = waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+            assertEquals(-1, waitlistService.getPosition(entry.getId()));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(0, waitlistService.getPosition(entry.getId()));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onBookingChanged_IgnoresNonReleasingTransitions() {
+        waitlistService.joinWaitlist(entry("user1", UserRole.CITIZEN));
+
+        waitlistService.onBookingChanged(released(BookingStatus.PENDING, BookingStatus.CONFIRMED));
+
+        verify(bookingService, never()).createBooking(any(Booking.class));
+    }
+
+    private WaitlistEntry entry(String userId, UserRole role) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setFacility(facility);
+        entry.setUserId(userId);
+        entry.setRole(role);
+        entry.setStartTime(start);
+        entry.setEndTime(end);
+        return entry;
+    }
+
+    private BookingChangedEvent released(BookingStatus previousStatus, BookingStatus status) {
+        return new BookingChangedEvent(50L, 1L, "holder", start, end, previousStatus, status);
+    }
+}
@@ -0,0 +1,95 @@
+package com.booking.slot;
+
+import com.booking.model.BookingStatus;
+import com.booking.model.SlotStatus;
+import com.booking.model.SlotTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSnapshotTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 3, 4, 8, 15, 30);
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private SlotTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("schedule.snapshot");
+        template = new SlotTemplate();
+        template.setOpeningTime(LocalTime.of(9, 0));
+        template.setClosingTime(LocalTime.of(17, 0));
+        template.setSlotMinutes(60);
+        template.setBufferMinutes(0);
+    }
+
+    @Test
+    void writeThenMap_RestoresIntervalsAndWatermark() throws IOException {
+        FacilityIntervals hall = FacilityIntervals.empty();
+        hall.apply(7L, TODAY.atTime(9, 0), TODAY.atTime(10, 0), BookingStatus.CONFIRMED);
+        hall.apply(3L, TODAY.atTime(11, 0), TODAY.atTime(12, 0), BookingStatus.PENDING);
+        FacilityIntervals park = FacilityIntervals.empty();
+        Map<Long, ScheduleSnapshot.Entry> entries = new LinkedHashMap<>();
+        entries.put(1L, new ScheduleSnapshot.Entry(hall, TODAY.plusDays(7)));
+        entries.put(2L, new ScheduleSnapshot.Entry(park, TODAY.plusDays(7)));
+
+        ScheduleSnapshot.write(file, WATERMARK, entries);
+        ScheduleSnapshot snapshot = ScheduleSnapshot.map(file).orElseThrow();
+
+        assertEquals(WATERMARK, snapshot.getWatermark());
+        assertEquals(List.of(1L, 2L), List.copyOf(snapshot.getFacilities().keySet()));
+        assertEquals(TODAY.plusDays(7), snapshot.getFacilities().get(1L).coveredUntil());
+        assertEquals(0, snapshot.getFacilities().get(2L).intervals().size());
+        assertEquals(List.of(SlotStatus.BOOKED, SlotStatus.FREE, SlotStatus.HELD, SlotStatus.FREE),
+                statuses(snapshot.getFacilities().get(1L).intervals()).subList(0, 4));
+    }
+
+    @Test
+    void mappedIntervals_CopyOnWriteAndReplayIsIdempotent() throws IOException {
+        FacilityIntervals hall = FacilityIntervals.empty();
+        hall.apply(7L, TODAY.atTime(9, 0), TODAY.atTime(10, 0), BookingStatus.CONFIRMED);
+        ScheduleSnapshot.write(file, WATERMARK, Map.of(1L, new ScheduleSnapshot.Entry(hall, TODAY.plusDays(7))));
+        FacilityIntervals mapped = ScheduleSnapshot.map(file).orElseThrow().getFacilities().get(1L).intervals();
+
+        mapped.apply(7L, TODAY.atTime(9, 0), TODAY.atTime(10, 0), BookingStatus.CANCELLED);
+        mapped.apply(9L, TODAY.atTime(13, 0), TODAY.atTime(14, 0), BookingStatus.CONFIRMED);
+        mapped.apply(9L, TODAY.atTime(13, 0), TODAY.atTime(14, 0), BookingStatus.CONFIRMED);
+
+        assertEquals(1, mapped.size());
+        assertEquals(SlotStatus.FREE, statuses(mapped).get(0));
+        assertEquals(SlotStatus.BOOKED, statuses(mapped).get(4));
+        FacilityIntervals reread = ScheduleSnapshot.map(file).orElseThrow().getFacilities().get(1L).intervals();
+        assertEquals(SlotStatus.BOOKED, statuses(reread).get(0));
+    }
+
+    @Test
+    void map_IgnoresMissingOrForeignFiles() throws IOException {
+        assertTrue(ScheduleSnapshot.map(file).isEmpty());
+
+        Files.write(file, new byte[64]);
+        assertTrue(ScheduleSnapshot.map(file).isEmpty());
+    }
+
+    private List<SlotStatus> statuses(FacilityIntervals intervals) {
+        SlotCatalog catalog = SlotCatalog.create(template, TODAY, 7);
+        intervals.applyTo(catalog);
+        return catalog.slots(TODAY).stream().map(slot -> slot.getStatus()).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.booking.slot;
+
+import com.booking.dto.SlotView;
+import com.booking.model.BookingStatus;
+import com.booking.model.SlotStatus;
+import com.booking.model.SlotTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotCatalogTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 4);
+
+    private SlotTemplate template;
+    private SlotCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        template = new SlotTemplate();
+        template.setOpeningTime(LocalTime.of(9, 0));
+        template.setClosingTime(LocalTime.of(17, 0));
+        template.setSlotMinutes(60);
+        template.setBufferMinutes(30);
+        catalog = SlotCatalog.create(template, TODAY, 7);
+    }
+
+    @Test
+    void slotStarts_RespectBufferAndClosingTime() {
+        // 09:00, 10:30, 12:00, 13:30, 15:00 - a 16:30 slot would end after closing
+        assertArrayEquals(new int[] { 540, 630, 720, 810, 900 }, SlotCatalog.slotStarts(template));
+    }
+
+    @Test
+    void apply_PendingThenConfirmed() {
+        catalog.apply(TODAY.atTime(10, 30), TODAY.atTime(12, 30), null, BookingStatus.PENDING);
+
+        List<SlotView> slots = catalog.slots(TODAY);
+        assertEquals(SlotStatus.FREE, slots.get(0).getStatus());
+        assertEquals(SlotStatus.HELD, slots.get(1).getStatus());
+        assertEquals(SlotStatus.HELD, slots.get(2).getStatus());
+        assertEquals(SlotStatus.FREE, slots.get(3).getStatus());
+
+        catalog.apply(TODAY.atTime(10, 30), TODAY.atTime(12, 30), BookingStatus.PENDING, BookingStatus.CONFIRMED);
+        assertEquals(SlotStatus.BOOKED, catalog.slots(TODAY).get(1).getStatus());
+    }
+
+    @Test
+    void apply_CancellationFreesSlot() {
+        catalog.apply(TODAY.atTime(9, 0), TODAY.atTime(10, 0), null, BookingStatus.CONFIRMED);
+        catalog.apply(TODAY.atTime(9, 0), TODAY.atTime(10, 0), BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+
+        assertEquals(SlotStatus.FREE, catalog.slots(TODAY).get(0).getStatus());
+    }
+
+    @Test
+    void apply_BufferGapDoesNotTouchNeighbours() {
+        catalog.apply(TODAY.atTime(10, 0), TODAY.atTime(10, 30), null, BookingStatus.CONFIRMED);
+
+        catalog.slots(TODAY).forEach(slot -> assertEquals(SlotStatus.FREE, slot.getStatus()));
+    }
+
+    @Test
+    void apply_MultiDayBookingMarksEveryDay() {
+        catalog.apply(TODAY.atTime(15, 30), TODAY.plusDays(2).atTime(10, 0), null, BookingStatus.CONFIRMED);
+
+        assertEquals(SlotStatus.BOOKED, catalog.slots(TODAY).get(4).getStatus());
+        catalog.slots(TODAY.plusDays(1)).forEach(slot -> assertEquals(SlotStatus.BOOKED, slot.getStatus()));
+        assertEquals(SlotStatus.BOOKED, catalog.slots(TODAY.plusDays(2)).get(0).getStatus());
+        assertEquals(SlotStatus.FREE, catalog.slots(TODAY.plusDays(2)).get(1).getStatus());
+    }
+
+    @Test
+    void slots_OutsideHorizon() {
+        assertThrows(IllegalArgumentException.class, () -> catalog.slots(TODAY.plusDays(7)));
+    }
+}
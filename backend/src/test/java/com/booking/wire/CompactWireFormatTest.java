@@ -0,0 +1,105 @@
+package com.booking.wire;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Facility;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactWireFormatTest {
+
+    private final CompactCborHttpMessageConverter converter = new CompactCborHttpMessageConverter();
+    private final ObjectMapper cborReader = new ObjectMapper(new CBORFactory());
+
+    @Test
+    void writeBookings_DeduplicatesFacilities() throws Exception {
+        Facility hall = facility(1L, "Hall");
+        Facility park = facility(2L, "Park");
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bookings.add(booking((long) i, i % 2 == 0 ? hall : park));
+        }
+
+        JsonNode root = write(bookings, new ParameterizedTypeReference<List<Booking>>() {
+        });
+
+        assertEquals(2, root.get("facilities").size());
+        assertEquals("Hall", root.get("facilities").get(0).get("name").asText());
+        assertEquals(10, root.get("bookings").size());
+        assertEquals(1, root.get("bookings").get(1).get("facility").asInt());
+        assertEquals("CONFIRMED", root.get("bookings").get(9).get("status").asText());
+        assertEquals(LocalDateTime.of(2024, 10, 10, 10, 0).toEpochSecond(ZoneOffset.UTC),
+                root.get("bookings").get(0).get("startTime").asLong());
+        assertFalse(root.get("bookings").get(0).has("paymentId"));
+    }
+
+    @Test
+    void writeFacilities_WritesPlainArray() throws Exception {
+        JsonNode root = write(List.of(facility(1L, "Hall"), facility(2L, "Park")),
+                new ParameterizedTypeReference<List<Facility>>() {
+                });
+
+        assertTrue(root.isArray());
+        assertEquals(0, new BigDecimal("100.00").compareTo(root.get(1).get("hourlyRate").decimalValue()));
+        assertTrue(root.get(1).get("isActive").asBoolean());
+    }
+
+    @Test
+    void canWrite_OnlyCborAndSupportedTypes() {
+        assertTrue(converter.canWrite(new ParameterizedTypeReference<List<Booking>>() {
+        }.getType(), List.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<List<Booking>>() {
+        }.getType(), List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<List<String>>() {
+        }.getType(), List.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canRead(Booking.class, MediaType.APPLICATION_CBOR));
+    }
+
+    private JsonNode write(Object value, ParameterizedTypeReference<?> type) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, type.getType(), MediaType.APPLICATION_CBOR, output);
+        return cborReader.readTree(output.getBodyAsBytes());
+    }
+
+    private static Facility facility(Long id, String name) {
+        Facility facility = new Facility();
+        facility.setId(id);
+        facility.setName(name);
+        facility.setType("HALL");
+        facility.setDescription("Description");
+        facility.setLocation("Location");
+        facility.setHourlyRate(new BigDecimal("100.00"));
+        facility.setCapacity(100);
+        facility.setIsActive(true);
+        facility.setImageUrl("http://test.com/image.jpg");
+        facility.setContactNumber("1234567890");
+        facility.setEmail("test@example.com");
+        return facility;
+    }
+
+    private static Booking booking(Long id, Facility facility) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacility(facility);
+        booking.setUserId("user" + id);
+        booking.setStartTime(LocalDateTime.of(2024, 10, 10, 10, 0));
+        booking.setEndTime(LocalDateTime.of(2024, 10, 10, 12, 0));
+        booking.setTotalAmount(new BigDecimal("200.00"));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setCreatedAt(LocalDateTime.of(2024, 10, 1, 9, 0));
+        return booking;
+    }
+}
@@ -37,6 +37,7 @@ const FacilityBooking: React.FC = () => {
   const [error, setError] = useState<string | null>(null);
   const [isCheckingAvailability, setIsCheckingAvailability] = useState(false);
   const [isAvailable, setIsAvailable] = useState<boolean | null>(null);
+  const [quotedAmount, setQuotedAmount] = useState<number | null>(null);
 
   useEffect(() => {
     fetchFacility();
@@ -78,6 +79,7 @@ const FacilityBooking: React.FC = () => {
         setError("Selected time slot is not available");
       } else {
         setError(null);
+        await fetchQuote();
       }
     } catch (error) {
       setError("Failed to check availability");
@@ -86,8 +88,21 @@ const FacilityBooking: React.FC = () => {
     }
   };
 
+  // The server prices peak and weekend hours, so the amount comes from its quote.
+  const fetchQuote = async () => {
+    if (!startTime || !endTime) return;
+    const response = await axios.get("http://localhost:8080/api/quotes", {
+      params: {
+        facilityId,
+        startTime: startTime.toISOString(),
+        endTime: endTime.toISOString(),
+      },
+    });
+    setQuotedAmount(response.data.totalAmount);
+  };
+
   const handleBooking = async () => {
-    if (!startTime || !endTime || !isAvailable) {
+    if (!startTime || !endTime || !isAvailable || quotedAmount === null) {
       return;
     }
 
@@ -97,7 +112,7 @@ const FacilityBooking: React.FC = () => {
         userId: "user123", // TODO: Replace with actual user ID from auth
         startTime: startTime.toISOString(),
         endTime: endTime.toISOString(),
-        totalAmount: calculateTotalAmount(),
+        totalAmount: quotedAmount,
       });
 
       navigate(`/booking-confirmation/${response.data.id}`);
@@ -106,12 +121,6 @@ const FacilityBooking: React.FC = () => {
     }
   };
 
-  const calculateTotalAmount = () => {
-    if (!facility || !startTime || !endTime) return 0;
-    const hours = (endTime.getTime() - startTime.getTime()) / (1000 * 60 * 60);
-    return facility.hourlyRate * hours;
-  };
-
   if (loading) {
     return (
       <Box
@@ -176,6 +185,7 @@ const FacilityBooking: React.FC = () => {
                     onChange={(newValue) => {
                       setStartTime(newValue);
                       setIsAvailable(null);
+                      setQuotedAmount(null);
                     }}
                     renderInput={(params) => (
                       <TextField {...params} fullWidth />
@@ -190,6 +200,7 @@ const FacilityBooking: React.FC = () => {
                     onChange={(newValue) => {
                       setEndTime(newValue);
                       setIsAvailable(null);
+                      setQuotedAmount(null);
                     }}
                     renderInput={(params) => (
                       <TextField {...params} fullWidth />
@@ -227,15 +238,15 @@ const FacilityBooking: React.FC = () => {
                   variant="contained"
                   color="primary"
                   onClick={handleBooking}
-                  disabled={!isAvailable}
+                  disabled={!isAvailable || quotedAmount === null}
                 >
                   Book Now
                 </Button>
               </Box>
 
-              {startTime && endTime && (
+              {quotedAmount !== null && (
                 <Typography variant="body2" sx={{ mt: 2 }}>
-                  Total Amount: ${calculateTotalAmount().toFixed(2)}
+                  Total Amount: ${quotedAmount.toFixed(2)}
                 </Typography>
               )}
             </CardContent>
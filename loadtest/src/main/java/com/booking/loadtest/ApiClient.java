@@ -0,0 +1,100 @@
+package com.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * JSON over HTTP against the backend, as the user whose Authorization
+ * header is passed; untimed calls run as the ADMIN from {@link Tokens}. Timed calls are asynchronous, so the
+ * number of requests in flight is set by the arrival rate rather than by a
+ * thread pool.
+ */
+final class ApiClient {
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final LoadTestOptions options;
+    private final Tokens tokens;
+    private final Latencies latencies;
+
+    ApiClient(LoadTestOptions options, Tokens tokens, Latencies latencies) {
+        this.options = options;
+        this.tokens = tokens;
+        this.latencies = latencies;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(options.timeoutMillis))
+                .build();
+    }
+
+    /**
+     * Sends a request with the {@code authorization} header and records it under {@code endpoint}, timed from
+     * {@code intendedNanos}.
+     */
+    CompletableFuture<Response> send(String endpoint, String authorization, String method, String path, Object body,
+            long intendedNanos) {
+        return httpClient.sendAsync(request(authorization, method, path, body), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, failure) -> {
+                    long completed = System.nanoTime();
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        latencies.record(endpoint, intendedNanos, completed,
+                                cause instanceof HttpTimeoutException ? "timeout" : "io-error");
+                        return new Response(-1, MissingNode.getInstance());
+                    }
+                    latencies.record(endpoint, intendedNanos, completed, Integer.toString(response.statusCode()));
+                    return new Response(response.statusCode(), parse(response.body()));
+                });
+    }
+
+    /** An untimed call, for setup and for the checks after the run. */
+    Response call(String method, String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request(tokens.admin(), method, path, body),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), parse(response.body()));
+    }
+
+    private HttpRequest request(String authorization, String method, String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(Duration.ofMillis(options.timeoutMillis))
+                .header("Accept", "application/json")
+                .header("Authorization", authorization);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot encode request body", e);
+        }
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Invariants checked against the backend once the run has drained:
+ * <ul>
+ *   <li>no two CONFIRMED bookings of a facility overlap;</li>
+ *   <li>no orphan payments: every intent the run paid belongs to a booking
+ *       that ended up CONFIRMED with that payment (or was refunded since);</li>
+ *   <li>every booking the run saw confirmed carries a payment the run made.</li>
+ * </ul>
+ */
+final class CorrectnessChecks {
+
+    private static final String FIELDS = "id,status,startTime,endTime,paymentId";
+    private static final Set<String> SETTLED_STATUSES = Set.of("CONFIRMED", "COMPLETED", "REFUNDED");
+
+    private final ApiClient client;
+
+    CorrectnessChecks(ApiClient client) {
+        this.client = client;
+    }
+
+    List<String> run(List<Long> facilityIds, StampedeWorkload workload) throws IOException, InterruptedException {
+        List<String> violations = new ArrayList<>();
+        Map<Long, JsonNode> bookings = new HashMap<>();
+        for (Long facilityId : facilityIds) {
+            ApiClient.Response response = client.call("GET",
+                    "/api/bookings/facility/" + facilityId + "?fields=" + FIELDS, null);
+            if (!response.ok()) {
+                violations.add("Cannot list bookings of facility " + facilityId + ": HTTP " + response.status());
+                continue;
+            }
+            List<JsonNode> confirmed = new ArrayList<>();
+            for (JsonNode booking : response.body()) {
+                bookings.put(booking.path("id").asLong(), booking);
+                if ("CONFIRMED".equals(booking.path("status").asText())) {
+                    confirmed.add(booking);
+                }
+            }
+            checkOverlaps(facilityId, confirmed, violations);
+        }
+
+        workload.capturedPayments.forEach((paymentIntentId, bookingId) -> {
+            JsonNode booking = bookings.get(bookingId);
+            if (booking == null) {
+                violations.add("Orphan payment " + paymentIntentId + ": booking " + bookingId + " not found");
+            } else if (!SETTLED_STATUSES.contains(booking.path("status").asText())
+                    || !paymentIntentId.equals(booking.path("paymentId").asText())) {
+                violations.add("Orphan payment " + paymentIntentId + ": booking " + bookingId + " is "
+                        + booking.path("status").asText() + " with payment " + booking.path("paymentId").asText());
+            }
+        });
+
+        for (Long bookingId : workload.createdBookings.keySet()) {
+            JsonNode booking = bookings.get(bookingId);
+            if (booking != null && "CONFIRMED".equals(booking.path("status").asText())
+                    && !workload.capturedPayments.containsKey(booking.path("paymentId").asText())) {
+                violations.add("Booking " + bookingId + " is CONFIRMED without a captured payment");
+            }
+        }
+        return violations;
+    }
+
+    private static void checkOverlaps(Long facilityId, List<JsonNode> confirmed, List<String> violations) {
+        confirmed.sort(Comparator.comparing(booking -> start(booking)));
+        JsonNode latest = null;
+        for (JsonNode booking : confirmed) {
+            if (latest != null && start(booking).isBefore(end(latest))) {
+                violations.add("Facility " + facilityId + ": CONFIRMED bookings " + latest.path("id").asLong()
+                        + " and " + booking.path("id").asLong() + " overlap");
+            }
+            if (latest == null || end(booking).isAfter(end(latest))) {
+                latest = booking;
+            }
+        }
+    }
+
+    private static LocalDateTime start(JsonNode booking) {
+        return LocalDateTime.parse(booking.path("startTime").asText());
+    }
+
+    private static LocalDateTime end(JsonNode booking) {
+        return LocalDateTime.parse(booking.path("endTime").asText());
+    }
+}
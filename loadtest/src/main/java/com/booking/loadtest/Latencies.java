@@ -0,0 +1,68 @@
+package com.booking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times and status codes per endpoint. Times are recorded in
+ * microseconds from when a request was meant to be sent, not when it was,
+ * so a backend that stalls the generator is charged for the wait.
+ */
+final class Latencies {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, ConcurrentHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> outcomes = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long intendedNanos, long completedNanos, String outcome) {
+        long micros = Math.max(0, (completedNanos - intendedNanos) / 1_000);
+        histograms.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        outcomes.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, o -> new LongAdder())
+                .increment();
+    }
+
+    void report(PrintStream out, double elapsedSeconds) {
+        out.printf("%-20s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+        for (Map.Entry<String, ConcurrentHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.printf("%-20s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    new TreeMap<>(outcomes.get(entry.getKey())));
+        }
+    }
+
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, ConcurrentHistogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, 1_000.0); // in milliseconds
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.booking.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Entry point: sets up the facilities, starts sessions at Poisson arrival
+ * times regardless of how the backend keeps up (open loop), waits for them
+ * to finish, then prints per-endpoint latency percentiles and runs the
+ * correctness checks. Exits with status 1 if any check fails.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        Latencies latencies = new Latencies();
+        Tokens tokens = new Tokens(options.jwtSecret);
+        ApiClient client = new ApiClient(options, tokens, latencies);
+        List<Long> facilityIds = options.facilityIds.isEmpty() ? createFacilities(client, options)
+                : options.facilityIds;
+        System.out.printf("Driving %s: %d sessions at %.0f/s onto facilities %s, %d slots each on %s%n",
+                options.baseUrl, options.users, options.rate, facilityIds, options.slots, options.releaseDate);
+
+        StampedeWorkload workload = new StampedeWorkload(options, client, tokens, facilityIds);
+        Random arrivals = new Random(options.seed ^ 0x5deece66dL);
+        List<CompletableFuture<Void>> sessions = new ArrayList<>(options.users);
+        long started = System.nanoTime();
+        double offsetNanos = 0;
+        long lagNanos = 0;
+        for (int user = 0; user < options.users; user++) {
+            offsetNanos += -Math.log(1 - arrivals.nextDouble()) / options.rate * 1e9;
+            long intended = started + (long) offsetNanos;
+            StampedeWorkload.Plan plan = workload.plan(user);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            lagNanos = Math.max(lagNanos, -wait);
+            sessions.add(workload.run(plan, intended));
+        }
+        long arrived = System.nanoTime();
+
+        try {
+            CompletableFuture.allOf(sessions.toArray(new CompletableFuture[0]))
+                    .get(options.timeoutMillis * 5 + options.thinkMillis * 20, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("Some sessions did not finish; reporting what completed");
+        } catch (ExecutionException e) {
+            System.out.println("A session failed unexpectedly: " + e.getCause());
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("%nArrivals took %.1f s (worst generator lag %.1f ms); run took %.1f s%n",
+                (arrived - started) / 1e9, lagNanos / 1e6, elapsedSeconds);
+        latencies.report(System.out, elapsedSeconds);
+        System.out.println("Sessions: " + counts(workload));
+        if (options.histogramDir != null) {
+            latencies.writeDistributions(Path.of(options.histogramDir));
+        }
+
+        List<String> violations;
+        try {
+            violations = new CorrectnessChecks(client).run(facilityIds, workload);
+        } catch (IOException e) {
+            System.out.println("Cannot run correctness checks: " + e);
+            System.exit(1);
+            return;
+        }
+        if (violations.isEmpty()) {
+            System.out.printf("Correctness checks passed (%d bookings created, %d payments captured)%n",
+                    workload.createdBookings.size(), workload.capturedPayments.size());
+            System.exit(0);
+        }
+        System.out.println("Correctness checks FAILED:");
+        violations.stream().limit(50).forEach(violation -> System.out.println("  " + violation));
+        if (violations.size() > 50) {
+            System.out.println("  ... and " + (violations.size() - 50) + " more");
+        }
+        System.exit(1);
+    }
+
+    private static List<Long> createFacilities(ApiClient client, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= options.facilities; i++) {
+            ApiClient.Response response = client.call("POST", "/api/facilities", Map.of(
+                    "name", "Load test hall " + i,
+                    "type", "HALL",
+                    "description", "Created by the load generator",
+                    "location", "Load test",
+                    "hourlyRate", 100,
+                    "capacity", 100,
+                    "imageUrl", "https://example.invalid/hall.png",
+                    "contactNumber", "000",
+                    "email", "loadtest@example.invalid"));
+            if (!response.ok()) {
+                throw new IllegalStateException("Cannot create facility: HTTP " + response.status());
+            }
+            ids.add(response.body().path("id").asLong());
+        }
+        return ids;
+    }
+
+    private static Map<String, Long> counts(StampedeWorkload workload) {
+        Map<String, Long> counts = new TreeMap<>();
+        workload.sessionOutcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+}
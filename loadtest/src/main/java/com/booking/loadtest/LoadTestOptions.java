@@ -0,0 +1,104 @@
+package com.booking.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line options. Every option has a default, so a bare run drives a
+ * local backend with the standard stampede.
+ */
+final class LoadTestOptions {
+
+    String baseUrl = "http://localhost:8080";
+    String jwtSecret = "your-secret-key-here-make-it-long-and-secure-in-production";
+    int users = 10_000;
+    double rate = 2_000;
+    int facilities = 3;
+    List<Long> facilityIds = new ArrayList<>();
+    int slots = 8;
+    int slotMinutes = 60;
+    LocalDate releaseDate = LocalDate.now().plusDays(7);
+    double hotSkew = 1.2;
+    double checkFirst = 0.8;
+    double abandon = 0.1;
+    long thinkMillis = 200;
+    long timeoutMillis = 10_000;
+    long seed = 42;
+    String histogramDir;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if ("--help".equals(name)) {
+                throw new IllegalArgumentException(usage());
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name + "\n" + usage());
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--base-url" -> options.baseUrl = value.replaceAll("/+$", "");
+                case "--jwt-secret" -> options.jwtSecret = value;
+                case "--users" -> options.users = positive(name, Integer.parseInt(value));
+                case "--rate" -> options.rate = positive(name, Double.parseDouble(value));
+                case "--facilities" -> options.facilities = positive(name, Integer.parseInt(value));
+                case "--facility-ids" -> {
+                    for (String id : value.split(",")) {
+                        options.facilityIds.add(Long.valueOf(id.trim()));
+                    }
+                }
+                case "--slots" -> options.slots = positive(name, Integer.parseInt(value));
+                case "--slot-minutes" -> options.slotMinutes = positive(name, Integer.parseInt(value));
+                case "--release-date" -> options.releaseDate = LocalDate.parse(value);
+                case "--hot-skew" -> options.hotSkew = Double.parseDouble(value);
+                case "--check-first" -> options.checkFirst = probability(name, Double.parseDouble(value));
+                case "--abandon" -> options.abandon = probability(name, Double.parseDouble(value));
+                case "--think-ms" -> options.thinkMillis = Long.parseLong(value);
+                case "--timeout-ms" -> options.timeoutMillis = positive(name, Long.parseLong(value));
+                case "--seed" -> options.seed = Long.parseLong(value);
+                case "--histogram-dir" -> options.histogramDir = value;
+                default -> throw new IllegalArgumentException("Unknown option " + name + "\n" + usage());
+            }
+        }
+        return options;
+    }
+
+    static String usage() {
+        return """
+                Options (defaults in brackets):
+                  --base-url URL        backend to drive [http://localhost:8080]
+                  --jwt-secret S        the backend's jwt.secret, to sign each user's token [the default in
+                                        application.properties]
+                  --users N             sessions to start [10000]
+                  --rate R              session arrivals per second, Poisson, open loop [2000]
+                  --facilities N        facilities to create for the run [3]
+                  --facility-ids A,B    use existing facilities instead of creating them
+                  --slots N             slots released per facility [8]
+                  --slot-minutes M      slot length [60]
+                  --release-date D      day the slots are on, from 09:00 [today + 7]
+                  --hot-skew S          Zipf exponent for slot popularity; 0 is uniform [1.2]
+                  --check-first P       share of sessions that check availability first [0.8]
+                  --abandon P           share of sessions that stop after creating the payment intent [0.1]
+                  --think-ms T          mean think time between a session's steps [200]
+                  --timeout-ms T        per-request timeout [10000]
+                  --seed S              random seed for the workload [42]
+                  --histogram-dir DIR   also write each endpoint's percentile distribution (.hgrm)
+                """;
+    }
+
+    private static <N extends Number> N positive(String name, N value) {
+        if (value.doubleValue() <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static double probability(String name, double value) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,159 @@
+package com.booking.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The scripted user session for a slot release: users pile onto a few
+ * facilities whose slots open at the same moment, most of them going for
+ * the first few slots. Each session may check availability, then creates a
+ * booking, creates a payment intent, pays and confirms the booking, with
+ * exponentially distributed think time between steps. Some sessions walk
+ * away after creating the intent, leaving a pending booking behind.
+ *
+ * <p>Every session's choices are drawn up front from one seeded random
+ * source, in arrival order, so a run with the same seed and options replays
+ * the same workload.
+ */
+final class StampedeWorkload {
+
+    record Plan(int user, long facilityId, LocalDateTime start, LocalDateTime end, boolean checkFirst,
+            boolean abandon, long[] thinkMillis) {
+    }
+
+    private final LoadTestOptions options;
+    private final ApiClient client;
+    private final Tokens tokens;
+    private final List<Long> facilityIds;
+    private final Random random;
+    private final double[] slotWeights;
+
+    /** Bookings created during the run, by id, with the user that created them. */
+    final Map<Long, String> createdBookings = new ConcurrentHashMap<>();
+    /** Payment intents the run paid, with the booking each was for. */
+    final Map<String, Long> capturedPayments = new ConcurrentHashMap<>();
+    final Map<String, LongAdder> sessionOutcomes = new ConcurrentHashMap<>();
+
+    StampedeWorkload(LoadTestOptions options, ApiClient client, Tokens tokens, List<Long> facilityIds) {
+        this.options = options;
+        this.client = client;
+        this.tokens = tokens;
+        this.facilityIds = facilityIds;
+        this.random = new Random(options.seed);
+        this.slotWeights = zipfCumulative(options.slots, options.hotSkew);
+    }
+
+    /** Draws the next session's plan; called from the arrival thread only. */
+    Plan plan(int user) {
+        long facilityId = facilityIds.get(random.nextInt(facilityIds.size()));
+        int slot = sample(slotWeights, random.nextDouble());
+        LocalDateTime start = options.releaseDate.atTime(9, 0).plusMinutes((long) slot * options.slotMinutes);
+        long[] thinkMillis = new long[4];
+        for (int i = 0; i < thinkMillis.length; i++) {
+            thinkMillis[i] = (long) (-Math.log(1 - random.nextDouble()) * options.thinkMillis);
+        }
+        return new Plan(user, facilityId, start, start.plusMinutes(options.slotMinutes),
+                random.nextDouble() < options.checkFirst, random.nextDouble() < options.abandon, thinkMillis);
+    }
+
+    CompletableFuture<Void> run(Plan plan, long intendedNanos) {
+        String userId = "loadtest-" + plan.user();
+        String authorization = tokens.citizen(userId);
+        CompletableFuture<String> checked = plan.checkFirst()
+                ? client.send("check-availability", authorization, "GET",
+                        "/api/bookings/check-availability?facilityId=" + plan.facilityId()
+                                + "&startTime=" + plan.start() + "&endTime=" + plan.end(),
+                        null, intendedNanos)
+                        .thenApply(response -> !response.ok() ? "check-failed"
+                                : response.body().asBoolean() ? null : "slot-taken")
+                : CompletableFuture.completedFuture(null);
+
+        return checked.thenCompose(stopped -> {
+            if (stopped != null) {
+                return done(stopped);
+            }
+            return after(plan.thinkMillis()[0], intended -> client.send("create-booking", authorization, "POST",
+                    "/api/bookings",
+                    Map.of("facility", Map.of("id", plan.facilityId()),
+                            "startTime", plan.start().toString(),
+                            "endTime", plan.end().toString()),
+                    intended))
+                    .thenCompose(created -> {
+                        if (!created.ok()) {
+                            return done(created.status() == 400 ? "create-rejected" : "create-failed");
+                        }
+                        long bookingId = created.body().path("id").asLong();
+                        createdBookings.put(bookingId, userId);
+                        return pay(plan, authorization, bookingId);
+                    });
+        }).exceptionallyCompose(failure -> done("session-error"));
+    }
+
+    private CompletableFuture<Void> pay(Plan plan, String authorization, long bookingId) {
+        return after(plan.thinkMillis()[1], intended -> client.send("create-intent", authorization, "POST",
+                "/api/payments/create-intent/" + bookingId, null, intended))
+                .thenCompose(intent -> {
+                    if (!intent.ok()) {
+                        return done("intent-failed");
+                    }
+                    if (plan.abandon()) {
+                        return done("abandoned");
+                    }
+                    String paymentIntentId = intent.body().path("paymentIntentId").asText();
+                    return after(plan.thinkMillis()[2], intended -> client.send("confirm-payment", authorization,
+                            "POST", "/api/payments/confirm/" + paymentIntentId, null, intended))
+                            .thenCompose(paid -> {
+                                if (!paid.ok()) {
+                                    return done("payment-failed");
+                                }
+                                capturedPayments.put(paymentIntentId, bookingId);
+                                return after(plan.thinkMillis()[3], intended -> client.send("confirm-booking",
+                                        authorization, "PATCH", "/api/bookings/" + bookingId + "/confirm",
+                                        Map.of("paymentId", paymentIntentId), intended))
+                                        .thenCompose(confirmed -> done(confirmed.ok()
+                                                ? "confirmed" : "confirm-rejected"));
+                            });
+                });
+    }
+
+    private static <T> CompletableFuture<T> after(long thinkMillis, Function<Long, CompletableFuture<T>> step) {
+        long intended = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        Executor delayed = CompletableFuture.delayedExecutor(thinkMillis, TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> intended, delayed).thenCompose(step);
+    }
+
+    private CompletableFuture<Void> done(String outcome) {
+        sessionOutcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, double u) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (u < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.booking.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mints the bearer tokens the backend expects: HS256 JWTs signed with its
+ * {@code jwt.secret}, whose subject is the user id and whose {@code role}
+ * claim a user role. Setup and the checks run as an ADMIN; each simulated
+ * user books and pays as a CITIZEN of its own, so bookings are owned by
+ * distinct users and confirmations go through the payment check.
+ */
+final class Tokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    private static final long LIFETIME_SECONDS = 24 * 60 * 60;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadLocal<Mac> macs;
+    private final String admin;
+
+    Tokens(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+        this.admin = bearer("loadtest-admin", "ADMIN");
+    }
+
+    /** The Authorization header for setup and the checks after the run. */
+    String admin() {
+        return admin;
+    }
+
+    /** The Authorization header of simulated user {@code userId}. */
+    String citizen(String userId) {
+        return bearer(userId, "CITIZEN");
+    }
+
+    private String bearer(String userId, String role) {
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", userId);
+        claims.put("role", role);
+        claims.put("iat", now);
+        claims.put("exp", now + LIFETIME_SECONDS);
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode token claims", e);
+        }
+        String unsigned = HEADER + "." + payload;
+        byte[] signature = macs.get().doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+        return "Bearer " + unsigned + "." + ENCODER.encodeToString(signature);
+    }
+}